@@ -1,7 +1,20 @@
 package com.example.tareas;
 
+import com.example.tareas.reactivo.TareasReactivaApplication;
 import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.util.Arrays;
 
 /**
  * Clase principal de la aplicación de gestión de tareas.
@@ -10,24 +23,83 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * Configura y arranca el contexto de la aplicación, habilitando la
  * autoconfiguración de Spring Boot y el escaneo de componentes.
  * </p>
+ * <p>
+ * La pila por defecto es Spring MVC + JPA. Con el perfil {@code reactivo}
+ * se arranca en su lugar {@link TareasReactivaApplication} (WebFlux + R2DBC),
+ * por lo que el paquete {@code reactivo} y la autoconfiguración de R2DBC
+ * quedan excluidos de este contexto.
+ * </p>
+ * <p>
+ * Con la opción {@code --importar=ruta} se importa un fichero de tareas y la
+ * aplicación termina (perfil {@code importacion}, sin servidor web).
+ * </p>
  *
  * @author Desarrollador
  * @version 1.0.0
  * @since 1.0.0
  */
-@SpringBootApplication
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {
+		R2dbcAutoConfiguration.class,
+		R2dbcTransactionManagerAutoConfiguration.class
+})
+@ComponentScan(excludeFilters = {
+		@ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+		@ComponentScan.Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class),
+		@ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.example\\.tareas\\.reactivo\\..*")
+})
+@ConfigurationPropertiesScan
 public class TareasApplication {
 
+	/**
+	 * Perfil que selecciona la variante reactiva de la API.
+	 */
+	public static final String PERFIL_REACTIVO = "reactivo";
+
+	/**
+	 * Perfil del modo de importación de ficheros.
+	 */
+	public static final String PERFIL_IMPORTACION = "importacion";
+
+	/**
+	 * Opción de línea de comandos con el fichero a importar.
+	 */
+	public static final String OPCION_IMPORTAR = "importar";
+
 	/**
 	 * Método principal que inicia la aplicación Spring Boot.
 	 * <p>
 	 * Este método configura y ejecuta la aplicación utilizando
-	 * {@link SpringApplication#run(Class, String...)}.
+	 * {@link SpringApplication#run(Class, String...)}. Si el perfil
+	 * {@code reactivo} está activo (por argumento, propiedad del sistema o
+	 * variable de entorno), arranca la variante reactiva. Con
+	 * {@code --importar} importa el fichero indicado y termina con el código
+	 * de salida de la importación.
 	 * </p>
 	 *
 	 * @param args argumentos de línea de comandos pasados a la aplicación
 	 */
 	public static void main(String[] args) {
-		SpringApplication.run(TareasApplication.class, args);
+		if (new SimpleCommandLinePropertySource(args).containsProperty(OPCION_IMPORTAR)) {
+			SpringApplication aplicacion = new SpringApplication(TareasApplication.class);
+			aplicacion.setAdditionalProfiles(PERFIL_IMPORTACION);
+			System.exit(SpringApplication.exit(aplicacion.run(args)));
+		} else if (perfilReactivoActivo(args)) {
+			SpringApplication.run(TareasReactivaApplication.class, args);
+		} else {
+			SpringApplication.run(TareasApplication.class, args);
+		}
+	}
+
+	/**
+	 * Determina si el perfil reactivo está activo antes de crear el contexto.
+	 *
+	 * @param args argumentos de línea de comandos
+	 * @return {@code true} si {@code spring.profiles.active} incluye {@code reactivo}
+	 */
+	static boolean perfilReactivoActivo(String[] args) {
+		StandardEnvironment entorno = new StandardEnvironment();
+		entorno.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+		return Arrays.asList(entorno.getActiveProfiles()).contains(PERFIL_REACTIVO);
 	}
 }
@@ -0,0 +1,194 @@
+package com.example.tareas.archivo;
+
+import com.example.tareas.config.CachesConfig;
+import com.example.tareas.config.MetricasConfig;
+import com.example.tareas.config.TareasProperties;
+import com.example.tareas.repository.TareaArchivadaRepository;
+import com.example.tareas.repository.TareaRepository;
+import com.example.tareas.service.TareaEvento;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Traslada las tareas completadas antiguas de "tareas" a "tareas_archivo".
+ * <p>
+ * Recorre la tabla por ID y, cada {@code tareas.archivo.pausa}, traslada un
+ * lote de hasta {@code tareas.archivo.tamanio-lote} tareas completadas sin
+ * modificar desde hace {@code tareas.archivo.antiguedad}. Cada lote es una
+ * transacción corta con tres sentencias: un {@code SELECT ... FOR UPDATE}
+ * que bloquea las filas (para que una modificación concurrente no se
+ * pierda), un {@code INSERT ... SELECT} al archivo y un {@code DELETE}. Un
+ * solo lote por ejecución, en lugar de un bucle con esperas, limita el ritmo
+ * del traslado sin ocupar uno de los hilos de las tareas programadas, que
+ * comparten el sondeo del feed de cambios y las podas. Al llegar al final de la tabla
+ * se espera {@code tareas.archivo.intervalo} antes de empezar otro recorrido.
+ * </p>
+ * <p>
+ * Cada tarea trasladada publica un {@link TareaEvento} {@code ARCHIVADA}:
+ * sale del índice de búsqueda y aparece en el feed de cambios, pero sigue
+ * contando como completada en las estadísticas. Sus entradas de la caché
+ * {@code tareas} se invalidan al confirmar el lote, para que la caché solo
+ * guarde tareas activas; la lectura por ID las busca después en el archivo.
+ * </p>
+ * <p>
+ * Las tareas creadas antes de existir la columna {@code modificada} no
+ * tienen momento de modificación y no se archivan: al arrancar, el
+ * archivador les asigna el momento actual por lotes, de modo que se
+ * archivan pasada la antigüedad desde el despliegue y no todas en el primer
+ * recorrido.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see com.example.tareas.model.TareaArchivada
+ */
+@Component
+@ConditionalOnProperty(prefix = "tareas.archivo", name = "habilitada", havingValue = "true", matchIfMissing = true)
+public class ArchivadorTareas {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchivadorTareas.class);
+
+    private final TareaRepository repository;
+
+    private final TareaArchivadaRepository archivo;
+
+    private final TransactionTemplate transacciones;
+
+    private final ApplicationEventPublisher eventos;
+
+    private final Cache cache;
+
+    private final TareasProperties.Archivo configuracion;
+
+    private final Counter archivadas;
+
+    /**
+     * ID de la última tarea archivada en el recorrido en curso.
+     */
+    private long ultimoId;
+
+    /**
+     * Tareas archivadas en el recorrido en curso.
+     */
+    private long archivadasRecorrido;
+
+    /**
+     * Momento, según {@link System#nanoTime()}, en que puede empezar el siguiente recorrido.
+     */
+    private long siguienteRecorrido = System.nanoTime();
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param repository repositorio de tareas
+     * @param archivo repositorio de tareas archivadas
+     * @param transacciones plantilla de transacciones de la aplicación
+     * @param eventos publicador de los eventos de modificación
+     * @param cacheManager gestor de cachés de la aplicación
+     * @param properties propiedades de configuración de la aplicación
+     * @param registry registro de métricas de la aplicación
+     */
+    public ArchivadorTareas(TareaRepository repository, TareaArchivadaRepository archivo,
+                            TransactionTemplate transacciones, ApplicationEventPublisher eventos,
+                            CacheManager cacheManager, TareasProperties properties, MeterRegistry registry) {
+        this.repository = repository;
+        this.archivo = archivo;
+        this.transacciones = transacciones;
+        this.eventos = eventos;
+        this.cache = cacheManager.getCache(CachesConfig.CACHE_TAREAS);
+        this.configuracion = properties.getArchivo();
+        this.archivadas = Counter.builder(MetricasConfig.METRICA_ARCHIVADAS)
+                .description("Tareas completadas trasladadas a la tabla de archivo")
+                .register(registry);
+    }
+
+    /**
+     * Asigna el momento actual como última modificación a las tareas que no
+     * tienen ninguna, por lotes de {@code tareas.archivo.tamanio-lote}.
+     *
+     * @return número de tareas actualizadas
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized int fijarModificadas() {
+        LocalDateTime ahora = LocalDateTime.now();
+        Limit lote = Limit.of(configuracion.getTamanioLote());
+        int total = 0;
+        int fijadas;
+        do {
+            fijadas = transacciones.execute(estado -> {
+                List<Long> ids = repository.buscarSinModificada(lote);
+                if (!ids.isEmpty()) {
+                    repository.fijarModificada(ids, ahora);
+                }
+                return ids.size();
+            });
+            total += fijadas;
+        } while (fijadas == configuracion.getTamanioLote());
+        if (total > 0) {
+            logger.info("Asignado {} como última modificación a {} tareas anteriores a esa columna", ahora, total);
+        }
+        return total;
+    }
+
+    /**
+     * Traslada el siguiente lote, salvo que se esté esperando al próximo recorrido.
+     */
+    @Scheduled(fixedDelayString = "${tareas.archivo.pausa:PT1S}")
+    public synchronized void programado() {
+        if (System.nanoTime() - siguienteRecorrido < 0) {
+            return;
+        }
+        int trasladadas = archivarLote();
+        archivadasRecorrido += trasladadas;
+        if (trasladadas < configuracion.getTamanioLote()) {
+            if (archivadasRecorrido > 0) {
+                logger.info("Archivo de tareas completadas: {} tareas trasladadas", archivadasRecorrido);
+            }
+            ultimoId = 0;
+            archivadasRecorrido = 0;
+            siguienteRecorrido = System.nanoTime() + configuracion.getIntervalo().toNanos();
+        }
+    }
+
+    /**
+     * Traslada al archivo un lote de tareas a partir de la última archivada.
+     *
+     * @return número de tareas trasladadas; menos que el tamaño del lote al llegar al final de la tabla
+     */
+    public synchronized int archivarLote() {
+        LocalDateTime limite = LocalDateTime.now().minus(configuracion.getAntiguedad());
+        Limit lote = Limit.of(configuracion.getTamanioLote());
+        List<Long> ids = transacciones.execute(estado -> {
+            List<Long> bloqueados = repository.bloquearArchivables(limite, ultimoId, lote);
+            if (!bloqueados.isEmpty()) {
+                archivo.copiarDesdeTareas(bloqueados);
+                repository.eliminarPorIds(bloqueados);
+                bloqueados.forEach(id -> eventos.publishEvent(TareaEvento.archivada(id)));
+            }
+            return bloqueados;
+        });
+        if (!ids.isEmpty()) {
+            ids.forEach(cache::evict);
+            ultimoId = ids.get(ids.size() - 1);
+            archivadas.increment(ids.size());
+            logger.debug("Archivadas {} tareas completadas antes de {}", ids.size(), limite);
+        }
+        return ids.size();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.tareas.busqueda;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Analizador de texto en español para el índice de búsqueda.
+ * <p>
+ * Convierte un texto en la lista de términos que se indexan o buscan:
+ * </p>
+ * <ul>
+ *   <li>Pasa a minúsculas y elimina tildes y diéresis (conserva la ñ).</li>
+ *   <li>Separa por cualquier carácter que no sea letra o dígito.</li>
+ *   <li>Descarta las palabras vacías más frecuentes (artículos, preposiciones, etc.).</li>
+ *   <li>Reduce cada palabra a su raíz con un stemming ligero, de modo que
+ *       {@code tarea}/{@code tareas}, {@code reunión}/{@code reuniones} o
+ *       {@code luz}/{@code luces} son el mismo término.</li>
+ * </ul>
+ * <p>
+ * Se aplica el mismo análisis a los documentos y a las consultas, de modo
+ * que "Reunión", "reuniones" y "REUNION" encuentran las mismas tareas.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+public final class AnalizadorEspanol {
+
+    /**
+     * Longitud máxima de un término; los tokens más largos se truncan.
+     */
+    static final int LONGITUD_MAXIMA_TERMINO = 40;
+
+    /**
+     * Palabras vacías que no se indexan (ya sin tildes).
+     */
+    private static final Set<String> PALABRAS_VACIAS = Set.of(
+            "a", "al", "algo", "ante", "antes", "como", "con", "contra", "cual", "cuando", "de", "del",
+            "desde", "donde", "durante", "e", "el", "ella", "ellas", "ellos", "en", "entre", "era", "es",
+            "esa", "esas", "ese", "eso", "esos", "esta", "estas", "este", "esto", "estos", "fue", "ha",
+            "hay", "hasta", "la", "las", "le", "les", "lo", "los", "mas", "me", "mi", "mis", "muy", "ni",
+            "no", "nos", "o", "para", "pero", "por", "que", "se", "ser", "si", "sin", "sobre", "su", "sus",
+            "tambien", "te", "tu", "un", "una", "unas", "uno", "unos", "y", "ya", "yo");
+
+    private AnalizadorEspanol() {
+    }
+
+    /**
+     * Obtiene los términos de un texto, en orden de aparición y con repeticiones.
+     *
+     * @param texto texto a analizar (puede ser nulo)
+     * @return términos normalizados; vacía si el texto es nulo o no contiene términos
+     */
+    public static List<String> analizar(String texto) {
+        List<String> terminos = new ArrayList<>();
+        if (texto == null || texto.isEmpty()) {
+            return terminos;
+        }
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= texto.length(); i++) {
+            char c = i < texto.length() ? normalizar(texto.charAt(i)) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (token.length() < LONGITUD_MAXIMA_TERMINO) {
+                    token.append(c);
+                }
+            } else if (!token.isEmpty()) {
+                String termino = token.toString();
+                token.setLength(0);
+                if (!PALABRAS_VACIAS.contains(termino)) {
+                    terminos.add(raiz(termino));
+                }
+            }
+        }
+        return terminos;
+    }
+
+    /**
+     * Pasa un carácter a minúsculas y elimina tildes y diéresis.
+     *
+     * @param c carácter original
+     * @return carácter normalizado
+     */
+    private static char normalizar(char c) {
+        char minuscula = Character.toLowerCase(c);
+        return switch (minuscula) {
+            case 'á', 'à', 'â', 'ä' -> 'a';
+            case 'é', 'è', 'ê', 'ë' -> 'e';
+            case 'í', 'ì', 'î', 'ï' -> 'i';
+            case 'ó', 'ò', 'ô', 'ö' -> 'o';
+            case 'ú', 'ù', 'û', 'ü' -> 'u';
+            default -> minuscula;
+        };
+    }
+
+    /**
+     * Aplica un stemming ligero: elimina la vocal final y las terminaciones
+     * de plural regulares, de modo que singular y plural (y a menudo
+     * masculino y femenino) comparten raíz.
+     *
+     * @param termino término en minúsculas y sin tildes
+     * @return raíz del término; los términos de menos de 5 caracteres no se modifican
+     */
+    static String raiz(String termino) {
+        int n = termino.length();
+        if (n < 5 || Character.isDigit(termino.charAt(0))) {
+            return termino;
+        }
+        char ultima = termino.charAt(n - 1);
+        if (ultima == 'a' || ultima == 'e' || ultima == 'o') {
+            return termino.substring(0, n - 1);
+        }
+        if (ultima == 's') {
+            char penultima = termino.charAt(n - 2);
+            if (penultima == 'e' && termino.charAt(n - 3) == 'c') {
+                return termino.substring(0, n - 3) + 'z';
+            }
+            if (penultima == 'a' || penultima == 'e' || penultima == 'o') {
+                return termino.substring(0, n - 2);
+            }
+        }
+        return termino;
+    }
+}
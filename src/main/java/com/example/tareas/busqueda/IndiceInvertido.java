@@ -0,0 +1,440 @@
+package com.example.tareas.busqueda;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido en memoria sobre el título y la descripción de las tareas.
+ * <p>
+ * Para cada término guarda la lista ordenada de IDs de las tareas que lo
+ * contienen junto con su frecuencia en cada campo (postings). Una búsqueda
+ * interseca las listas de los términos de la consulta empezando por la más
+ * corta, de modo que su coste depende del número de coincidencias y no del
+ * número de tareas indexadas.
+ * </p>
+ * <p>
+ * Los resultados se ordenan por relevancia con BM25, dando el doble de peso
+ * a las apariciones en el título. Además se mantiene un índice directo
+ * (término por tarea) para poder actualizar o eliminar una tarea sin
+ * recorrer todo el índice.
+ * </p>
+ * <p>
+ * Es seguro para uso concurrente: las búsquedas se ejecutan en paralelo y
+ * las modificaciones son exclusivas.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see AnalizadorEspanol
+ */
+public class IndiceInvertido {
+
+    /**
+     * Saturación de la frecuencia de término en BM25.
+     */
+    private static final double K1 = 1.2;
+
+    /**
+     * Peso de la normalización por longitud en BM25.
+     */
+    private static final double B = 0.75;
+
+    /**
+     * Peso de una aparición en el título respecto a una en la descripción.
+     */
+    private static final int PESO_TITULO = 2;
+
+    /**
+     * Frecuencia máxima por campo que se almacena en los postings (8 bits).
+     */
+    private static final int MAXIMO_FRECUENCIA = 0xFF;
+
+    /**
+     * Longitud ponderada máxima de documento que se almacena en los postings (16 bits).
+     */
+    private static final int MAXIMO_LONGITUD = 0xFFFF;
+
+    /**
+     * Cerrojo que protege todas las estructuras del índice.
+     */
+    private final ReadWriteLock cerrojo = new ReentrantReadWriteLock();
+
+    /**
+     * Índice invertido: término → postings.
+     */
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /**
+     * Índice directo: ID de tarea → términos indexados.
+     */
+    private final Map<Long, Documento> documentos = new HashMap<>();
+
+    /**
+     * Suma de las longitudes ponderadas de todos los documentos, para la longitud media de BM25.
+     */
+    private long longitudTotal;
+
+    /**
+     * Indexa una tarea, sustituyendo su entrada anterior si existía.
+     *
+     * @param id ID de la tarea
+     * @param titulo título de la tarea
+     * @param descripcion descripción de la tarea (puede ser nula)
+     */
+    public void indexar(long id, String titulo, String descripcion) {
+        Documento nuevo = Documento.de(AnalizadorEspanol.analizar(titulo), AnalizadorEspanol.analizar(descripcion));
+        cerrojo.writeLock().lock();
+        try {
+            reemplazar(id, nuevo);
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Actualiza solo los campos indicados de una tarea ya indexada.
+     * <p>
+     * Los campos nulos conservan los términos indexados. Si la tarea no está
+     * en el índice no se hace nada: la reconstrucción la indexará completa.
+     * </p>
+     *
+     * @param id ID de la tarea
+     * @param titulo nuevo título, o {@code null} si no cambia
+     * @param descripcion nueva descripción, o {@code null} si no cambia
+     */
+    public void actualizar(long id, String titulo, String descripcion) {
+        if (titulo == null && descripcion == null) {
+            return;
+        }
+        List<String> terminosTitulo = titulo == null ? null : AnalizadorEspanol.analizar(titulo);
+        List<String> terminosDescripcion = descripcion == null ? null : AnalizadorEspanol.analizar(descripcion);
+        cerrojo.writeLock().lock();
+        try {
+            Documento anterior = documentos.get(id);
+            if (anterior != null) {
+                reemplazar(id, anterior.con(terminosTitulo, terminosDescripcion));
+            }
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina una tarea del índice.
+     *
+     * @param id ID de la tarea
+     */
+    public void eliminar(long id) {
+        cerrojo.writeLock().lock();
+        try {
+            reemplazar(id, null);
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Vacía el índice.
+     */
+    public void vaciar() {
+        cerrojo.writeLock().lock();
+        try {
+            postings.clear();
+            documentos.clear();
+            longitudTotal = 0;
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene el número de tareas indexadas.
+     *
+     * @return número de tareas en el índice
+     */
+    public int tamanio() {
+        cerrojo.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca las tareas que contienen todos los términos de la consulta.
+     *
+     * @param consulta texto de la consulta
+     * @param desde número de resultados a saltar (posición del primero devuelto)
+     * @param cantidad número máximo de resultados a devolver
+     * @return total de coincidencias y resultados solicitados, ordenados por relevancia
+     */
+    public Resultado buscar(String consulta, int desde, int cantidad) {
+        List<String> terminos = new ArrayList<>(new LinkedHashSet<>(AnalizadorEspanol.analizar(consulta)));
+        if (terminos.isEmpty() || cantidad <= 0) {
+            return new Resultado(0, List.of());
+        }
+        cerrojo.readLock().lock();
+        try {
+            Postings[] listas = new Postings[terminos.size()];
+            for (int i = 0; i < listas.length; i++) {
+                listas[i] = postings.get(terminos.get(i));
+                if (listas[i] == null) {
+                    return new Resultado(0, List.of());
+                }
+            }
+            Arrays.sort(listas, Comparator.comparingInt(lista -> lista.tamanio));
+            return intersecar(listas, desde, cantidad);
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recorre la lista más corta y busca cada ID en las demás, acumulando
+     * los mejores {@code desde + cantidad} resultados en un montículo.
+     *
+     * @param listas postings de los términos, de menor a mayor tamaño
+     * @param desde número de resultados a saltar
+     * @param cantidad número máximo de resultados a devolver
+     * @return total de coincidencias y resultados solicitados
+     */
+    private Resultado intersecar(Postings[] listas, int desde, int cantidad) {
+        int n = documentos.size();
+        double longitudMedia = n == 0 ? 1 : Math.max(1, (double) longitudTotal / n);
+        double[] idf = new double[listas.length];
+        for (int t = 0; t < listas.length; t++) {
+            idf[t] = Math.log(1 + (n - listas[t].tamanio + 0.5) / (listas[t].tamanio + 0.5));
+        }
+
+        int limite = desde + cantidad;
+        PriorityQueue<Acierto> mejores = new PriorityQueue<>(Math.min(limite, 1024),
+                Comparator.comparingDouble(Acierto::puntuacion).thenComparing(Acierto::id, Comparator.reverseOrder()));
+        int[] posiciones = new int[listas.length];
+        long total = 0;
+
+        Postings base = listas[0];
+        siguiente:
+        for (int i = 0; i < base.tamanio; i++) {
+            long id = base.ids[i];
+            posiciones[0] = i;
+            for (int t = 1; t < listas.length; t++) {
+                int posicion = listas[t].buscarDesde(id, posiciones[t]);
+                if (posicion < 0) {
+                    posiciones[t] = -posicion - 1;
+                    continue siguiente;
+                }
+                posiciones[t] = posicion;
+            }
+            total++;
+            double puntuacion = 0;
+            for (int t = 0; t < listas.length; t++) {
+                int dato = listas[t].datos[posiciones[t]];
+                double frecuencia = PESO_TITULO * (dato >>> 24) + ((dato >>> 16) & MAXIMO_FRECUENCIA);
+                double normalizacion = K1 * (1 - B + B * (dato & MAXIMO_LONGITUD) / longitudMedia);
+                puntuacion += idf[t] * frecuencia * (K1 + 1) / (frecuencia + normalizacion);
+            }
+            if (mejores.size() < limite) {
+                mejores.add(new Acierto(id, puntuacion));
+            } else {
+                // Solo se crea el acierto si desplaza al peor guardado (a igual puntuación gana el ID menor)
+                Acierto peor = mejores.peek();
+                if (puntuacion > peor.puntuacion() || (puntuacion == peor.puntuacion() && id < peor.id())) {
+                    mejores.poll();
+                    mejores.add(new Acierto(id, puntuacion));
+                }
+            }
+        }
+
+        List<Acierto> ordenados = new ArrayList<>(mejores);
+        ordenados.sort(mejores.comparator().reversed());
+        List<Acierto> pagina = desde >= ordenados.size() ? List.of() : ordenados.subList(desde, ordenados.size());
+        return new Resultado(total, List.copyOf(pagina));
+    }
+
+    /**
+     * Sustituye la entrada de una tarea en el índice directo y en los postings.
+     * Debe llamarse con el cerrojo de escritura adquirido.
+     *
+     * @param id ID de la tarea
+     * @param nuevo nuevos términos de la tarea, o {@code null} para eliminarla
+     */
+    private void reemplazar(long id, Documento nuevo) {
+        Documento anterior = nuevo == null ? documentos.remove(id) : documentos.put(id, nuevo);
+        if (anterior != null) {
+            longitudTotal -= anterior.longitud();
+            for (String termino : anterior.terminos) {
+                Postings lista = postings.get(termino);
+                if (lista != null && lista.quitar(id) && lista.tamanio == 0) {
+                    postings.remove(termino);
+                }
+            }
+        }
+        if (nuevo != null) {
+            longitudTotal += nuevo.longitud();
+            int longitud = Math.min(nuevo.longitud(), MAXIMO_LONGITUD);
+            for (int i = 0; i < nuevo.terminos.length; i++) {
+                int dato = Math.min(nuevo.frecuenciasTitulo[i], MAXIMO_FRECUENCIA) << 24
+                        | Math.min(nuevo.frecuenciasDescripcion[i], MAXIMO_FRECUENCIA) << 16
+                        | longitud;
+                Postings lista = postings.computeIfAbsent(nuevo.terminos[i], termino -> new Postings());
+                lista.poner(id, dato);
+            }
+        }
+    }
+
+    /**
+     * Coincidencia de una búsqueda.
+     *
+     * @param id ID de la tarea
+     * @param puntuacion relevancia BM25
+     */
+    public record Acierto(long id, double puntuacion) {
+    }
+
+    /**
+     * Resultado de una búsqueda.
+     *
+     * @param total número total de tareas que coinciden con la consulta
+     * @param aciertos coincidencias solicitadas, de mayor a menor relevancia
+     */
+    public record Resultado(long total, List<Acierto> aciertos) {
+    }
+
+    /**
+     * Términos indexados de una tarea, con su frecuencia en cada campo.
+     */
+    private static final class Documento {
+
+        private final String[] terminos;
+        private final int[] frecuenciasTitulo;
+        private final int[] frecuenciasDescripcion;
+        private final int longitudTitulo;
+        private final int longitudDescripcion;
+
+        private Documento(String[] terminos, int[] frecuenciasTitulo, int[] frecuenciasDescripcion,
+                          int longitudTitulo, int longitudDescripcion) {
+            this.terminos = terminos;
+            this.frecuenciasTitulo = frecuenciasTitulo;
+            this.frecuenciasDescripcion = frecuenciasDescripcion;
+            this.longitudTitulo = longitudTitulo;
+            this.longitudDescripcion = longitudDescripcion;
+        }
+
+        static Documento de(List<String> titulo, List<String> descripcion) {
+            Map<String, int[]> frecuencias = new HashMap<>();
+            for (String termino : titulo) {
+                frecuencias.computeIfAbsent(termino, t -> new int[2])[0]++;
+            }
+            for (String termino : descripcion) {
+                frecuencias.computeIfAbsent(termino, t -> new int[2])[1]++;
+            }
+            String[] terminos = new String[frecuencias.size()];
+            int[] frecuenciasTitulo = new int[terminos.length];
+            int[] frecuenciasDescripcion = new int[terminos.length];
+            int i = 0;
+            for (Map.Entry<String, int[]> entrada : frecuencias.entrySet()) {
+                terminos[i] = entrada.getKey();
+                frecuenciasTitulo[i] = entrada.getValue()[0];
+                frecuenciasDescripcion[i] = entrada.getValue()[1];
+                i++;
+            }
+            return new Documento(terminos, frecuenciasTitulo, frecuenciasDescripcion,
+                    titulo.size(), descripcion.size());
+        }
+
+        /**
+         * Crea una copia con los campos indicados sustituidos.
+         *
+         * @param titulo nuevos términos del título, o {@code null} para conservarlos
+         * @param descripcion nuevos términos de la descripción, o {@code null} para conservarlos
+         * @return documento actualizado
+         */
+        Documento con(List<String> titulo, List<String> descripcion) {
+            return de(titulo != null ? titulo : campo(frecuenciasTitulo),
+                    descripcion != null ? descripcion : campo(frecuenciasDescripcion));
+        }
+
+        private List<String> campo(int[] frecuencias) {
+            List<String> terminosCampo = new ArrayList<>();
+            for (int i = 0; i < terminos.length; i++) {
+                for (int f = 0; f < frecuencias[i]; f++) {
+                    terminosCampo.add(terminos[i]);
+                }
+            }
+            return terminosCampo;
+        }
+
+        int longitud() {
+            return PESO_TITULO * longitudTitulo + longitudDescripcion;
+        }
+    }
+
+    /**
+     * Lista de IDs ordenada de un término, con las frecuencias y la longitud
+     * del documento empaquetadas en un entero por ID.
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int[] datos = new int[4];
+        private int tamanio;
+
+        /**
+         * Inserta o sustituye la entrada de un ID manteniendo el orden.
+         * Las tareas nuevas suelen tener el ID mayor, por lo que en la
+         * práctica se añaden al final sin desplazar elementos.
+         */
+        void poner(long id, int dato) {
+            int posicion = tamanio > 0 && ids[tamanio - 1] < id ? -tamanio - 1 : buscarDesde(id, 0);
+            if (posicion >= 0) {
+                datos[posicion] = dato;
+                return;
+            }
+            posicion = -posicion - 1;
+            if (tamanio == ids.length) {
+                ids = Arrays.copyOf(ids, tamanio * 2);
+                datos = Arrays.copyOf(datos, tamanio * 2);
+            }
+            System.arraycopy(ids, posicion, ids, posicion + 1, tamanio - posicion);
+            System.arraycopy(datos, posicion, datos, posicion + 1, tamanio - posicion);
+            ids[posicion] = id;
+            datos[posicion] = dato;
+            tamanio++;
+        }
+
+        /**
+         * Elimina la entrada de un ID.
+         *
+         * @return {@code true} si el ID estaba en la lista
+         */
+        boolean quitar(long id) {
+            int posicion = buscarDesde(id, 0);
+            if (posicion < 0) {
+                return false;
+            }
+            System.arraycopy(ids, posicion + 1, ids, posicion, tamanio - posicion - 1);
+            System.arraycopy(datos, posicion + 1, datos, posicion, tamanio - posicion - 1);
+            tamanio--;
+            return true;
+        }
+
+        /**
+         * Búsqueda binaria de un ID a partir de una posición.
+         *
+         * @return posición del ID, o {@code -(punto de inserción) - 1} si no está
+         */
+        int buscarDesde(long id, int desde) {
+            return Arrays.binarySearch(ids, Math.min(desde, tamanio), tamanio, id);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.tareas.busqueda;
+
+import com.example.tareas.config.TareasProperties;
+import com.example.tareas.model.CambioTarea;
+import com.example.tareas.model.Tarea;
+import com.example.tareas.replica.ContextoReplica;
+import com.example.tareas.repository.TareaRepository;
+import com.example.tareas.service.TareaEvento;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Índice de búsqueda de las tareas de la aplicación.
+ * <p>
+ * Mantiene un {@link IndiceInvertido} sincronizado con la tabla de tareas:
+ * se reconstruye al arrancar la aplicación y después se actualiza de forma
+ * incremental con los {@link TareaEvento} que publica el servicio, una vez
+ * confirmada cada transacción.
+ * </p>
+ * <p>
+ * También aplica los cambios que el feed lee de la tabla outbox
+ * ({@link #aplicarCambios(List)}): así recoge las modificaciones hechas por
+ * otras instancias o por la variante reactiva, que no publican eventos en
+ * este proceso. Las propias no se vuelven a aplicar: el sondeo llega más
+ * tarde y podría devolver a una tarea un estado anterior al de su último
+ * evento.
+ * </p>
+ * <p>
+ * La reconstrucción se hace sobre un índice nuevo mientras el actual sigue
+ * atendiendo búsquedas. Las tareas modificadas durante la reconstrucción se
+ * vuelven a leer al terminar, de modo que el índice resultante no pierde
+ * ninguna modificación concurrente. Esas lecturas se hacen fuera del monitor
+ * de esta instancia, para no bloquear a los hilos que confirman escrituras.
+ * </p>
+ * <p>
+ * Con {@code tareas.busqueda.habilitada=false} el índice queda vacío: ni se
+ * reconstruye al arrancar ni se actualiza con los eventos.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see IndiceInvertido
+ */
+@Component
+public class IndiceTareas {
+
+    /**
+     * Logger para registrar la reconstrucción del índice.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(IndiceTareas.class);
+
+    /**
+     * Repositorio de tareas, usado para reconstruir el índice.
+     */
+    private final TareaRepository repository;
+
+    /**
+     * Propiedades de configuración de la aplicación.
+     */
+    private final TareasProperties properties;
+
+    /**
+     * Índice en uso.
+     */
+    private volatile IndiceInvertido indice = new IndiceInvertido();
+
+    /**
+     * IDs modificados durante la reconstrucción en curso, o {@code null} si no hay ninguna.
+     * Protegido por el monitor de esta instancia.
+     */
+    private Set<Long> modificadasDuranteReconstruccion;
+
+    /**
+     * Constructor que inyecta el repositorio y la configuración.
+     *
+     * @param repository repositorio de tareas
+     * @param properties propiedades de configuración de la aplicación
+     */
+    public IndiceTareas(TareaRepository repository, TareasProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+    }
+
+    /**
+     * Aplica al índice una modificación confirmada.
+     *
+     * @param evento modificación de una tarea
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void alModificarTarea(TareaEvento evento) {
+        if (!properties.getBusqueda().isHabilitada()) {
+            return;
+        }
+        aplicar(evento.getTipo(), evento.getId(), evento.getTitulo(), evento.getDescripcion());
+    }
+
+    /**
+     * Aplica al índice los cambios leídos de la tabla outbox, en orden de ID.
+     *
+     * @param cambios cambios confirmados
+     */
+    public synchronized void aplicarCambios(List<CambioTarea> cambios) {
+        if (!properties.getBusqueda().isHabilitada()) {
+            return;
+        }
+        for (CambioTarea cambio : cambios) {
+            TareaEvento.Tipo tipo = TareaEvento.Tipo.valueOf(cambio.getTipo().toUpperCase(Locale.ROOT));
+            aplicar(tipo, cambio.getTareaId(), cambio.getTitulo(), cambio.getDescripcion());
+        }
+    }
+
+    /**
+     * Aplica una modificación al índice en uso y la anota si hay una reconstrucción en curso.
+     * Debe llamarse con el monitor de esta instancia.
+     *
+     * @param tipo tipo de modificación
+     * @param id ID de la tarea
+     * @param titulo título tras la modificación
+     * @param descripcion descripción tras la modificación
+     */
+    private void aplicar(TareaEvento.Tipo tipo, long id, String titulo, String descripcion) {
+        switch (tipo) {
+            case CREADA, ACTUALIZADA -> indice.indexar(id, titulo, descripcion);
+            case ACTUALIZADA_PARCIALMENTE -> indice.actualizar(id, titulo, descripcion);
+            case ELIMINADA, ARCHIVADA -> indice.eliminar(id);
+        }
+        if (modificadasDuranteReconstruccion != null) {
+            modificadasDuranteReconstruccion.add(id);
+        }
+    }
+
+    /**
+     * Reconstruye el índice al arrancar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void alArrancar() {
+        if (properties.getBusqueda().isHabilitada()) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Reconstruye el índice completo leyendo la tabla por páginas de ID.
+     *
+     * @return número de tareas indexadas
+     */
+    public int reconstruir() {
+        return ContextoReplica.enPrimaria(this::reconstruirDesdePrimaria);
+    }
+
+    /**
+     * Reconstruye el índice leyendo de la primaria, para no partir de datos
+     * que la réplica todavía no haya recibido.
+     *
+     * @return número de tareas indexadas
+     */
+    private int reconstruirDesdePrimaria() {
+        long inicio = System.nanoTime();
+        synchronized (this) {
+            modificadasDuranteReconstruccion = new HashSet<>();
+        }
+        IndiceInvertido nuevo = new IndiceInvertido();
+        Limit lote = Limit.of(properties.getBusqueda().getTamanioLoteReconstruccion());
+        long ultimoId = 0;
+        List<Tarea> tareas;
+        do {
+            tareas = repository.findByIdGreaterThanOrderByIdAsc(ultimoId, lote);
+            for (Tarea tarea : tareas) {
+                nuevo.indexar(tarea.getId(), tarea.getTitulo(), tarea.getDescripcion());
+            }
+            if (!tareas.isEmpty()) {
+                ultimoId = tareas.get(tareas.size() - 1).getId();
+            }
+        } while (!tareas.isEmpty());
+
+        // Las tareas modificadas se releen sin el monitor; las que cambien
+        // mientras tanto se anotan de nuevo y se releen en la siguiente vuelta.
+        Set<Long> modificadas = tomarModificadas();
+        while (modificadas != null) {
+            Map<Long, Tarea> actuales = repository.findAllById(modificadas).stream()
+                    .collect(Collectors.toMap(Tarea::getId, Function.identity()));
+            for (Long id : modificadas) {
+                Tarea tarea = actuales.get(id);
+                if (tarea == null) {
+                    nuevo.eliminar(id);
+                } else {
+                    nuevo.indexar(id, tarea.getTitulo(), tarea.getDescripcion());
+                }
+            }
+            modificadas = tomarModificadasOSustituir(nuevo);
+        }
+
+        int total = nuevo.tamanio();
+        logger.info("Índice de búsqueda reconstruido: {} tareas en {} ms",
+                total, (System.nanoTime() - inicio) / 1_000_000);
+        return total;
+    }
+
+    /**
+     * Toma las tareas modificadas hasta ahora y empieza a anotar las siguientes.
+     *
+     * @return IDs modificados desde el inicio de la reconstrucción
+     */
+    private synchronized Set<Long> tomarModificadas() {
+        Set<Long> modificadas = modificadasDuranteReconstruccion;
+        modificadasDuranteReconstruccion = new HashSet<>();
+        return modificadas;
+    }
+
+    /**
+     * Pone en uso el índice reconstruido si no se ha modificado ninguna tarea
+     * desde la última lectura; si no, toma las modificadas para releerlas.
+     *
+     * @param nuevo índice reconstruido
+     * @return IDs que releer, o {@code null} si el índice ya está en uso
+     */
+    private synchronized Set<Long> tomarModificadasOSustituir(IndiceInvertido nuevo) {
+        if (modificadasDuranteReconstruccion.isEmpty()) {
+            modificadasDuranteReconstruccion = null;
+            indice = nuevo;
+            return null;
+        }
+        return tomarModificadas();
+    }
+
+    /**
+     * Busca tareas por texto en el índice en uso.
+     *
+     * @param consulta texto de la consulta
+     * @param desde número de resultados a saltar
+     * @param cantidad número máximo de resultados a devolver
+     * @return total de coincidencias y resultados solicitados, ordenados por relevancia
+     */
+    public IndiceInvertido.Resultado buscar(String consulta, int desde, int cantidad) {
+        return indice.buscar(consulta, desde, cantidad);
+    }
+}
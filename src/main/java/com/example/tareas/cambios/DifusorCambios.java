@@ -0,0 +1,479 @@
+package com.example.tareas.cambios;
+
+import com.example.tareas.busqueda.IndiceTareas;
+import com.example.tareas.config.TareasProperties;
+import com.example.tareas.model.CambioTarea;
+import com.example.tareas.replica.ContextoReplica;
+import com.example.tareas.repository.CambioTareaRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Difunde por Server-Sent Events los cambios registrados en la tabla outbox.
+ * <p>
+ * Un único sondeo por instancia lee los cambios nuevos cada
+ * {@code tareas.cambios.intervalo-sondeo} y los pone en la cola de envío
+ * de cada suscriptor, de modo que el coste no crece con el número de
+ * clientes. Los envíos, que pueden bloquearse con un cliente lento, los
+ * hacen {@code tareas.cambios.hilos-envio} hilos propios, nunca el hilo de
+ * las tareas programadas. Un cliente con más de
+ * {@code tareas.cambios.maximo-pendientes} eventos sin enviar se desconecta
+ * y se reanuda al reconectarse.
+ * Como lee de la tabla, también difunde los cambios hechos por otras
+ * instancias de la aplicación y por la variante reactiva; por eso los
+ * cambios leídos que no registró esta instancia se aplican también al
+ * índice de búsqueda.
+ * </p>
+ * <p>
+ * Los IDs del outbox se asignan al insertar, no al confirmar, así que una
+ * transacción lenta puede dejar momentáneamente un hueco en la secuencia.
+ * El sondeo no avanza más allá de un hueco hasta que se rellena o pasa
+ * {@code tareas.cambios.espera-hueco} (una transacción revertida), para que
+ * ningún cliente reciba un ID mayor antes que uno menor. Si un hueco
+ * saltado se rellena después, durante {@code tareas.cambios.vigilancia-hueco},
+ * ese cambio ya no puede difundirse en orden: se envía a los suscriptores un
+ * evento {@value #EVENTO_REINICIO} para que recarguen el estado.
+ * </p>
+ * <p>
+ * Un cliente que se reconecta con {@code Last-Event-ID} recibe primero los
+ * cambios que se perdió y después los nuevos. Si esos cambios ya se podaron,
+ * recibe antes un evento {@value #EVENTO_REINICIO} para que recargue el listado.
+ * </p>
+ * <p>
+ * El outbox se lee siempre de la primaria: con el retraso de una réplica,
+ * la espera de huecos podría saltarse cambios ya confirmados.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see RegistroCambios
+ */
+@Component
+public class DifusorCambios {
+
+    /**
+     * Evento que indica al cliente que debe recargar el estado completo.
+     */
+    public static final String EVENTO_REINICIO = "reinicio";
+
+    /**
+     * Logger para registrar eventos del feed de cambios.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(DifusorCambios.class);
+
+    /**
+     * Repositorio de la tabla outbox.
+     */
+    private final CambioTareaRepository repository;
+
+    /**
+     * Parámetros del feed de cambios.
+     */
+    private final TareasProperties.Cambios configuracion;
+
+    /**
+     * Índice de búsqueda, que recibe los cambios de otras instancias.
+     */
+    private final IndiceTareas indice;
+
+    /**
+     * Identificador de esta instancia en el outbox.
+     */
+    private final String origen;
+
+    /**
+     * Clientes conectados.
+     */
+    private final Set<Suscriptor> suscriptores = ConcurrentHashMap.newKeySet();
+
+    /**
+     * ID del último cambio difundido, o {@code -1} antes del primer sondeo.
+     */
+    private volatile long ultimoDifundido = -1;
+
+    /**
+     * ID que falta en la secuencia y momento (en milisegundos) en que se detectó.
+     */
+    private long huecoId = -1;
+    private long huecoDesde;
+
+    /**
+     * IDs de huecos saltados que se siguen vigilando y momento (en milisegundos) hasta el que se vigilan.
+     */
+    private final Map<Long, Long> huecosSaltados = new LinkedHashMap<>();
+
+    /**
+     * Hilos que envían los eventos a los suscriptores.
+     */
+    private final ExecutorService envios;
+
+    /**
+     * Momento (en milisegundos) del último envío a los suscriptores.
+     */
+    private long ultimoEnvio = System.currentTimeMillis();
+
+    /**
+     * Constructor que inyecta el repositorio, la configuración, el índice de búsqueda y el registro de cambios.
+     *
+     * @param repository repositorio de la tabla outbox
+     * @param properties propiedades de configuración de la aplicación
+     * @param indice índice de búsqueda de las tareas
+     * @param registro registro de los cambios de esta instancia
+     */
+    public DifusorCambios(CambioTareaRepository repository, TareasProperties properties, IndiceTareas indice,
+                          RegistroCambios registro) {
+        this.repository = repository;
+        this.configuracion = properties.getCambios();
+        this.indice = indice;
+        this.origen = registro.getOrigen();
+        this.envios = Executors.newFixedThreadPool(configuracion.getHilosEnvio(), fabricaHilos());
+    }
+
+    /**
+     * Suscribe un cliente al feed de cambios.
+     *
+     * @param ultimoIdRecibido valor de {@code Last-Event-ID}, o {@code null} para recibir solo cambios nuevos
+     * @return emisor SSE del cliente
+     */
+    public SseEmitter suscribir(Long ultimoIdRecibido) {
+        SseEmitter emisor = new SseEmitter(configuracion.getTiempoConexion().toMillis());
+        Suscriptor suscriptor = new Suscriptor(emisor, ultimoIdRecibido);
+        emisor.onCompletion(() -> suscriptores.remove(suscriptor));
+        emisor.onTimeout(() -> suscriptores.remove(suscriptor));
+        emisor.onError(error -> suscriptores.remove(suscriptor));
+        suscriptores.add(suscriptor);
+        if (ultimoIdRecibido != null) {
+            recuperar(suscriptor, ultimoIdRecibido);
+        }
+        logger.info("Nuevo suscriptor al feed de cambios (Last-Event-ID {}); {} conectados",
+                ultimoIdRecibido, suscriptores.size());
+        return emisor;
+    }
+
+    /**
+     * Envía al suscriptor los cambios posteriores a su último ID que ya se
+     * difundieron y después los que llegaron mientras tanto.
+     *
+     * @param suscriptor suscriptor que se reconecta
+     * @param ultimoIdRecibido último ID que recibió el cliente
+     */
+    private void recuperar(Suscriptor suscriptor, long ultimoIdRecibido) {
+        // Se lee después de registrar al suscriptor: lo difundido a partir de ahora queda en su buffer
+        long hasta = ultimoDifundido >= 0
+                ? ultimoDifundido
+                : ContextoReplica.enPrimaria(repository::buscarUltimoId).orElse(0L);
+        if (ultimoIdRecibido > 0 && ultimoIdRecibido < hasta
+                && !ContextoReplica.enPrimaria(() -> repository.existsByIdLessThanEqual(ultimoIdRecibido))) {
+            suscriptor.reiniciar();
+        }
+        List<CambioTarea> perdidos = ContextoReplica.enPrimaria(() -> leerRango(ultimoIdRecibido, hasta));
+        if (!suscriptor.completarRecuperacion(perdidos)) {
+            suscriptores.remove(suscriptor);
+        }
+    }
+
+    /**
+     * Lee por páginas los cambios con ID en {@code (desde, hasta]}.
+     *
+     * @param desde ID a partir del cual leer (excluido)
+     * @param hasta ID máximo a leer (incluido)
+     * @return cambios del rango en orden de ID
+     */
+    private List<CambioTarea> leerRango(long desde, long hasta) {
+        Limit lote = Limit.of(configuracion.getTamanioLote());
+        List<CambioTarea> cambios = new ArrayList<>();
+        List<CambioTarea> pagina;
+        do {
+            pagina = repository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(desde, hasta, lote);
+            cambios.addAll(pagina);
+            if (!pagina.isEmpty()) {
+                desde = pagina.get(pagina.size() - 1).getId();
+            }
+        } while (pagina.size() == configuracion.getTamanioLote());
+        return cambios;
+    }
+
+    /**
+     * Lee los cambios nuevos del outbox y los pone en la cola de envío de los suscriptores.
+     */
+    @Scheduled(fixedDelayString = "${tareas.cambios.intervalo-sondeo:PT0.5S}")
+    public synchronized void sondear() {
+        if (ultimoDifundido < 0) {
+            ultimoDifundido = ContextoReplica.enPrimaria(repository::buscarUltimoId).orElse(0L);
+            return;
+        }
+        List<CambioTarea> nuevos = ContextoReplica.enPrimaria(() -> repository.findByIdGreaterThanOrderByIdAsc(
+                ultimoDifundido, Limit.of(configuracion.getTamanioLote())));
+        List<CambioTarea> difundibles = new ArrayList<>(nuevos.size());
+        long ultimo = ultimoDifundido;
+        for (CambioTarea cambio : nuevos) {
+            if (cambio.getId() != ultimo + 1) {
+                if (!huecoVencido(ultimo + 1)) {
+                    break;
+                }
+                vigilarHueco(ultimo + 1, cambio.getId());
+            }
+            difundibles.add(cambio);
+            ultimo = cambio.getId();
+        }
+        ultimoDifundido = ultimo;
+
+        // Después de leer los nuevos: un cambio posterior a uno tardío no se aplica antes que este
+        List<CambioTarea> tardios = buscarHuecosRellenados();
+        if (!tardios.isEmpty()) {
+            logger.warn("{} cambios del outbox confirmados después de saltar su hueco; se pide a los "
+                    + "suscriptores que recarguen", tardios.size());
+            indice.aplicarCambios(ajenos(tardios));
+            suscriptores.removeIf(suscriptor -> !suscriptor.reiniciar());
+        }
+
+        long ahora = System.currentTimeMillis();
+        if (!difundibles.isEmpty()) {
+            indice.aplicarCambios(ajenos(difundibles));
+            suscriptores.removeIf(suscriptor -> !suscriptor.enviar(difundibles));
+            ultimoEnvio = ahora;
+        } else if (ahora - ultimoEnvio >= configuracion.getLatido().toMillis()) {
+            suscriptores.removeIf(suscriptor -> !suscriptor.latido());
+            ultimoEnvio = ahora;
+        }
+    }
+
+    /**
+     * Indica si un ID que falta en la secuencia lleva ausente más de la espera configurada.
+     *
+     * @param id ID que falta
+     * @return {@code true} si puede saltarse
+     */
+    private boolean huecoVencido(long id) {
+        long ahora = System.currentTimeMillis();
+        if (huecoId != id) {
+            huecoId = id;
+            huecoDesde = ahora;
+            return false;
+        }
+        return ahora - huecoDesde >= configuracion.getEsperaHueco().toMillis();
+    }
+
+    /**
+     * Sigue vigilando los IDs saltados, por si una transacción lenta los confirma más tarde.
+     *
+     * @param desde primer ID saltado
+     * @param hasta ID del primer cambio tras el hueco (excluido)
+     */
+    private void vigilarHueco(long desde, long hasta) {
+        long limite = System.currentTimeMillis() + configuracion.getVigilanciaHueco().toMillis();
+        for (long id = desde; id < hasta; id++) {
+            huecosSaltados.put(id, limite);
+        }
+        // Un salto grande de la secuencia no es un hueco que rellenar: se vigilan solo los últimos
+        Iterator<Long> antiguos = huecosSaltados.keySet().iterator();
+        while (huecosSaltados.size() > configuracion.getTamanioLote()) {
+            antiguos.next();
+            antiguos.remove();
+        }
+    }
+
+    /**
+     * Lee los cambios que han rellenado huecos saltados y deja de vigilar
+     * esos huecos y los que han superado la vigilancia.
+     *
+     * @return cambios confirmados después de saltar su hueco, en orden de ID
+     */
+    private List<CambioTarea> buscarHuecosRellenados() {
+        long ahora = System.currentTimeMillis();
+        huecosSaltados.values().removeIf(limite -> limite <= ahora);
+        if (huecosSaltados.isEmpty()) {
+            return List.of();
+        }
+        List<CambioTarea> tardios = ContextoReplica.enPrimaria(
+                () -> repository.findByIdInOrderByIdAsc(huecosSaltados.keySet()));
+        tardios.forEach(cambio -> huecosSaltados.remove(cambio.getId()));
+        return tardios;
+    }
+
+    /**
+     * Filtra los cambios que no registró esta instancia.
+     * <p>
+     * Los propios ya se aplicaron al índice con su evento, y el sondeo
+     * podría llegar después de otro evento posterior de la misma tarea.
+     * </p>
+     *
+     * @param cambios cambios leídos del outbox
+     * @return cambios de otras instancias o aplicaciones
+     */
+    private List<CambioTarea> ajenos(List<CambioTarea> cambios) {
+        return cambios.stream()
+                .filter(cambio -> !origen.equals(cambio.getOrigen()))
+                .toList();
+    }
+
+    /**
+     * Elimina del outbox los cambios más antiguos que el periodo de retención.
+     *
+     * @return número de cambios eliminados
+     */
+    @Scheduled(fixedDelayString = "${tareas.cambios.intervalo-poda:PT1H}")
+    public int podar() {
+        int eliminados = repository.eliminarAnterioresA(LocalDateTime.now().minus(configuracion.getRetencion()));
+        if (eliminados > 0) {
+            logger.info("Poda del feed de cambios: {} cambios eliminados", eliminados);
+        }
+        return eliminados;
+    }
+
+    /**
+     * Detiene los hilos de envío al cerrar la aplicación.
+     */
+    @PreDestroy
+    public void detener() {
+        envios.shutdownNow();
+    }
+
+    /**
+     * Crea los hilos de envío, que no impiden que termine la JVM.
+     *
+     * @return fábrica de hilos de envío
+     */
+    private static ThreadFactory fabricaHilos() {
+        AtomicInteger contador = new AtomicInteger();
+        return tarea -> {
+            Thread hilo = new Thread(tarea, "difusion-cambios-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+    }
+
+    /**
+     * Construye el evento SSE de un cambio.
+     *
+     * @param cambio cambio registrado
+     * @return evento con el ID del cambio, su tipo como nombre y el cambio en JSON
+     */
+    private static SseEmitter.SseEventBuilder evento(CambioTarea cambio) {
+        return SseEmitter.event()
+                .id(Long.toString(cambio.getId()))
+                .name(cambio.getTipo())
+                .data(cambio, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Cliente conectado al feed, con el último ID que se puso en su cola.
+     * <p>
+     * Mientras se le envían los cambios perdidos, los nuevos se acumulan en
+     * un buffer para no desordenarlos. Los eventos se envían en orden desde
+     * su cola, con una sola tarea de envío en curso por suscriptor.
+     * </p>
+     */
+    private final class Suscriptor {
+
+        private final SseEmitter emisor;
+        private long ultimoEncolado;
+        private List<CambioTarea> pendientes;
+        private final Queue<SseEmitter.SseEventBuilder> cola = new ArrayDeque<>();
+        private boolean enviando;
+        private boolean cerrado;
+
+        private Suscriptor(SseEmitter emisor, Long ultimoIdRecibido) {
+            this.emisor = emisor;
+            this.ultimoEncolado = ultimoIdRecibido == null ? 0 : ultimoIdRecibido;
+            this.pendientes = ultimoIdRecibido == null ? null : new ArrayList<>();
+        }
+
+        synchronized boolean enviar(List<CambioTarea> cambios) {
+            if (pendientes != null) {
+                pendientes.addAll(cambios);
+                return !cerrado;
+            }
+            for (CambioTarea cambio : cambios) {
+                if (cambio.getId() > ultimoEncolado) {
+                    encolar(evento(cambio));
+                    ultimoEncolado = cambio.getId();
+                }
+            }
+            return !cerrado;
+        }
+
+        synchronized boolean completarRecuperacion(List<CambioTarea> perdidos) {
+            List<CambioTarea> recibidosEntretanto = pendientes;
+            pendientes = null;
+            return enviar(perdidos) && enviar(recibidosEntretanto);
+        }
+
+        synchronized boolean reiniciar() {
+            encolar(SseEmitter.event().name(EVENTO_REINICIO).data(""));
+            return !cerrado;
+        }
+
+        synchronized boolean latido() {
+            encolar(SseEmitter.event().comment("latido"));
+            return !cerrado;
+        }
+
+        private void encolar(SseEmitter.SseEventBuilder evento) {
+            if (cerrado) {
+                return;
+            }
+            if (cola.size() >= configuracion.getMaximoPendientes()) {
+                cerrar(new IllegalStateException("Cliente del feed de cambios demasiado lento"));
+                return;
+            }
+            cola.add(evento);
+            if (!enviando) {
+                enviando = true;
+                envios.execute(this::vaciarCola);
+            }
+        }
+
+        private void vaciarCola() {
+            SseEmitter.SseEventBuilder evento;
+            while (true) {
+                synchronized (this) {
+                    evento = cerrado ? null : cola.poll();
+                    if (evento == null) {
+                        enviando = false;
+                        return;
+                    }
+                }
+                try {
+                    emisor.send(evento);
+                } catch (IOException | IllegalStateException e) {
+                    synchronized (this) {
+                        cerrar(e);
+                        enviando = false;
+                    }
+                    suscriptores.remove(this);
+                    return;
+                }
+            }
+        }
+
+        private void cerrar(Throwable causa) {
+            cerrado = true;
+            cola.clear();
+            emisor.completeWithError(causa);
+        }
+    }
+}
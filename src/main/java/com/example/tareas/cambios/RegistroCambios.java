@@ -0,0 +1,119 @@
+package com.example.tareas.cambios;
+
+import com.example.tareas.service.TareaEvento;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Escribe en la tabla outbox {@code tareas_cambios} un registro por cada
+ * {@link TareaEvento}, dentro de la transacción que lo publica.
+ * <p>
+ * Los registros de una transacción se acumulan y se insertan en un único
+ * batch JDBC justo antes del commit, de modo que una creación por lotes no
+ * añade una sentencia por tarea. Si la transacción se revierte, no se
+ * escribe nada.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see DifusorCambios
+ */
+@Component
+public class RegistroCambios {
+
+    /**
+     * Sentencia de inserción de un cambio.
+     */
+    private static final String INSERTAR = "insert into tareas_cambios "
+            + "(tarea_id, tipo, titulo, descripcion, completada, creado, origen) values (?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Identificador de esta instancia de la aplicación, que se guarda con cada cambio.
+     */
+    private final String origen = UUID.randomUUID().toString();
+
+    /**
+     * Acceso JDBC, que comparte la conexión de la transacción JPA en curso.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor que inyecta el acceso JDBC.
+     *
+     * @param jdbcTemplate plantilla JDBC de la aplicación
+     */
+    public RegistroCambios(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Obtiene el identificador de esta instancia, para distinguir sus propios cambios en el outbox.
+     *
+     * @return identificador guardado en {@link com.example.tareas.model.CambioTarea#getOrigen()}
+     */
+    public String getOrigen() {
+        return origen;
+    }
+
+    /**
+     * Registra un cambio en la transacción en curso.
+     *
+     * @param evento modificación de una tarea
+     */
+    @EventListener
+    public void alModificarTarea(TareaEvento evento) {
+        Object[] fila = {
+                evento.getId(),
+                evento.getTipo().name().toLowerCase(Locale.ROOT),
+                evento.getTitulo(),
+                evento.getDescripcion(),
+                evento.getCompletada(),
+                Timestamp.valueOf(LocalDateTime.now()),
+                origen
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            jdbcTemplate.update(INSERTAR, fila);
+            return;
+        }
+        pendientesDeLaTransaccion().add(fila);
+    }
+
+    /**
+     * Obtiene los cambios pendientes de la transacción en curso, registrando
+     * su inserción antes del commit la primera vez.
+     *
+     * @return filas pendientes de insertar
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object[]> pendientesDeLaTransaccion() {
+        List<Object[]> pendientes = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (pendientes != null) {
+            return pendientes;
+        }
+        List<Object[]> nuevas = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, nuevas);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                jdbcTemplate.batchUpdate(INSERTAR, nuevas);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(RegistroCambios.this);
+            }
+        });
+        return nuevas;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.tareas.concurrencia;
+
+import com.example.tareas.config.TareasProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuración del límite adaptativo de peticiones concurrentes.
+ * <p>
+ * Se activa con {@code tareas.concurrencia.habilitada=true}, el valor por
+ * defecto, y solo en la variante Spring MVC.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "tareas.concurrencia", name = "habilitada", havingValue = "true")
+public class ConcurrenciaConfig {
+
+    /**
+     * Registra el filtro de límite de concurrencia justo después del de
+     * registro de accesos, para que los rechazos también se registren y midan.
+     *
+     * @param properties propiedades de configuración de la aplicación
+     * @param registry registro de métricas de la aplicación
+     * @param conversores conversores de mensajes de Spring MVC, para escribir los rechazos
+     * @return registro del filtro sobre {@code /api/*}
+     */
+    @Bean
+    public FilterRegistrationBean<FiltroLimiteConcurrencia> filtroLimiteConcurrencia(TareasProperties properties,
+                                                                                   MeterRegistry registry,
+                                                                                   HttpMessageConverters conversores) {
+        FilterRegistrationBean<FiltroLimiteConcurrencia> registro = new FilterRegistrationBean<>(
+                new FiltroLimiteConcurrencia(properties.getConcurrencia(), registry, conversores.getConverters()));
+        registro.addUrlPatterns("/api/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registro;
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.tareas.concurrencia;
+
+import com.example.tareas.config.MetricasConfig;
+import com.example.tareas.config.TareasProperties;
+import com.example.tareas.dto.ErrorResponse;
+import com.example.tareas.exception.CuerpoError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Filtro que limita las peticiones concurrentes a la API y rechaza las que sobran.
+ * <p>
+ * Cuando la base de datos se ralentiza, las peticiones se acumulan en los
+ * hilos del servidor esperando conexión y acaban expirando todas a la vez.
+ * Este filtro admite como mucho tantas peticiones en curso como indica un
+ * {@link LimiteAdaptativo}, que baja al aumentar la latencia y sube al
+ * recuperarse; las que no caben reciben al instante un {@code 503} con
+ * {@code Retry-After} en lugar de esperar en cola. Las lecturas
+ * ({@code GET}, {@code HEAD}, {@code OPTIONS}) y las escrituras tienen
+ * límites independientes, para que una ráfaga de escrituras lentas no deje
+ * sin servicio a las lecturas. Las operaciones en lote
+ * ({@code /api/tareas/lote} y {@code /api/tareas/lote/*}) tienen un tercer
+ * límite con su propia latencia objetivo: con la de las escrituras de una
+ * tarea, cada lote contaría como sobrecarga y reduciría el límite hasta
+ * rechazar las escrituras normales.
+ * </p>
+ * <p>
+ * Las peticiones asíncronas (el feed de cambios, la exportación o las
+ * escrituras diferidas) liberan su hueco en cuanto el controlador termina,
+ * sin contar como muestra de latencia.
+ * </p>
+ * <p>
+ * Publica por clase de petición el límite ({@code tareas.concurrencia.limite}),
+ * las peticiones en curso ({@code tareas.concurrencia.en_curso}) y los
+ * rechazos ({@code tareas.concurrencia.rechazos}).
+ * </p>
+ * <p>
+ * El cuerpo del rechazo es el error común de la API, serializado con los
+ * mismos conversores de mensajes que los controladores en el formato que
+ * pide la cabecera {@code Accept}; si no pide ninguno que se pueda
+ * escribir, en JSON.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see LimiteAdaptativo
+ */
+public class FiltroLimiteConcurrencia extends OncePerRequestFilter {
+
+    /**
+     * Prefijo de las rutas de las operaciones en lote.
+     */
+    private static final String RUTA_LOTES = "/api/tareas/lote";
+
+    private static final String MENSAJE_RECHAZO = "El servicio está saturado, inténtelo de nuevo más tarde";
+
+    private final LimiteAdaptativo lecturas;
+
+    private final LimiteAdaptativo escrituras;
+
+    private final LimiteAdaptativo lotes;
+
+    private final Counter rechazosLectura;
+
+    private final Counter rechazosEscritura;
+
+    private final Counter rechazosLote;
+
+    private final List<HttpMessageConverter<?>> conversores;
+
+    /**
+     * Crea el filtro con un límite para lecturas, otro para escrituras y otro para lotes y registra sus métricas.
+     *
+     * @param configuracion parámetros de los límites
+     * @param registry registro de métricas de la aplicación
+     * @param conversores conversores de mensajes con los que se escribe el cuerpo de los rechazos
+     */
+    public FiltroLimiteConcurrencia(TareasProperties.Concurrencia configuracion, MeterRegistry registry,
+                                    List<HttpMessageConverter<?>> conversores) {
+        this.conversores = conversores;
+        this.lecturas = new LimiteAdaptativo(configuracion.getLecturas(), configuracion.getFactorReduccion());
+        this.escrituras = new LimiteAdaptativo(configuracion.getEscrituras(), configuracion.getFactorReduccion());
+        this.lotes = new LimiteAdaptativo(configuracion.getLotes(), configuracion.getFactorReduccion());
+        this.rechazosLectura = registrarMetricas(registry, "lectura", lecturas);
+        this.rechazosEscritura = registrarMetricas(registry, "escritura", escrituras);
+        this.rechazosLote = registrarMetricas(registry, "lote", lotes);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        LimiteAdaptativo limite;
+        Counter rechazos;
+        if (esLectura(request)) {
+            limite = lecturas;
+            rechazos = rechazosLectura;
+        } else if (esLote(request)) {
+            limite = lotes;
+            rechazos = rechazosLote;
+        } else {
+            limite = escrituras;
+            rechazos = rechazosEscritura;
+        }
+        if (!limite.adquirir()) {
+            rechazos.increment();
+            rechazar(request, response);
+            return;
+        }
+        long inicio = System.nanoTime();
+        boolean fallida = true;
+        try {
+            chain.doFilter(request, response);
+            fallida = false;
+        } finally {
+            if (!fallida && request.isAsyncStarted()) {
+                limite.descartar();
+            } else {
+                limite.liberar(inicio, fallida || response.getStatus() >= 500);
+            }
+        }
+    }
+
+    /**
+     * Obtiene el límite de las peticiones de lectura.
+     *
+     * @return límite de lecturas
+     */
+    public LimiteAdaptativo getLecturas() {
+        return lecturas;
+    }
+
+    /**
+     * Obtiene el límite de las peticiones de escritura.
+     *
+     * @return límite de escrituras
+     */
+    public LimiteAdaptativo getEscrituras() {
+        return escrituras;
+    }
+
+    /**
+     * Obtiene el límite de las operaciones en lote.
+     *
+     * @return límite de lotes
+     */
+    public LimiteAdaptativo getLotes() {
+        return lotes;
+    }
+
+    /**
+     * Indica si la petición solo lee datos.
+     *
+     * @param request petición HTTP
+     * @return {@code true} para {@code GET}, {@code HEAD} y {@code OPTIONS}
+     */
+    private static boolean esLectura(HttpServletRequest request) {
+        HttpMethod metodo = HttpMethod.valueOf(request.getMethod());
+        return HttpMethod.GET.equals(metodo) || HttpMethod.HEAD.equals(metodo) || HttpMethod.OPTIONS.equals(metodo);
+    }
+
+    /**
+     * Indica si la petición es una operación en lote.
+     *
+     * @param request petición HTTP
+     * @return {@code true} para {@code /api/tareas/lote} y las rutas bajo ella
+     */
+    private static boolean esLote(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        int inicio = request.getContextPath().length();
+        int fin = inicio + RUTA_LOTES.length();
+        return uri.startsWith(RUTA_LOTES, inicio) && (uri.length() == fin || uri.charAt(fin) == '/');
+    }
+
+    /**
+     * Responde {@code 503} con {@code Retry-After} y el cuerpo de error común de la API.
+     *
+     * @param request petición rechazada
+     * @param response respuesta HTTP
+     */
+    private void rechazar(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponse cuerpo = CuerpoError.crear(HttpStatus.SERVICE_UNAVAILABLE, MENSAJE_RECHAZO,
+                request.getRequestURI());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, CuerpoError.SEGUNDOS_REINTENTO);
+        for (MediaType tipo : tiposAceptados(request)) {
+            if (escribir(cuerpo, tipo, response)) {
+                return;
+            }
+        }
+        escribir(cuerpo, MediaType.APPLICATION_JSON, response);
+    }
+
+    /**
+     * Obtiene los tipos de la cabecera {@code Accept}, del preferido al menos preferido.
+     *
+     * @param request petición HTTP
+     * @return tipos aceptados; vacío si la cabecera falta o no es válida o tiene demasiados tipos
+     */
+    private static List<MediaType> tiposAceptados(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return List.of();
+        }
+        try {
+            List<MediaType> tipos = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(tipos);
+            return tipos;
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    /**
+     * Escribe el error con el primer conversor capaz de hacerlo en el tipo indicado.
+     *
+     * @param cuerpo error a escribir
+     * @param tipo tipo de contenido aceptado, que puede contener comodines
+     * @param response respuesta HTTP
+     * @return {@code true} si algún conversor lo escribió
+     */
+    @SuppressWarnings("unchecked")
+    private boolean escribir(ErrorResponse cuerpo, MediaType tipo, HttpServletResponse response) throws IOException {
+        for (HttpMessageConverter<?> conversor : conversores) {
+            if (conversor.canWrite(ErrorResponse.class, tipo)) {
+                MediaType concreto = tipo.isConcrete() ? tipo : null;
+                ((HttpMessageConverter<Object>) conversor).write(cuerpo, concreto,
+                        new ServletServerHttpResponse(response));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Registra las métricas de un límite.
+     *
+     * @param registry registro de métricas
+     * @param clase etiqueta de la clase de petición ({@code lectura}, {@code escritura} o {@code lote})
+     * @param limite límite de esa clase
+     * @return contador de rechazos de la clase
+     */
+    private static Counter registrarMetricas(MeterRegistry registry, String clase, LimiteAdaptativo limite) {
+        Gauge.builder(MetricasConfig.METRICA_LIMITE_CONCURRENCIA, limite, LimiteAdaptativo::getLimite)
+                .description("Peticiones concurrentes admitidas")
+                .tag("clase", clase)
+                .register(registry);
+        Gauge.builder(MetricasConfig.METRICA_EN_CURSO_CONCURRENCIA, limite, LimiteAdaptativo::getEnCurso)
+                .description("Peticiones en curso")
+                .tag("clase", clase)
+                .register(registry);
+        return Counter.builder(MetricasConfig.METRICA_RECHAZOS_CONCURRENCIA)
+                .description("Peticiones rechazadas con 503 por superar el límite de concurrencia")
+                .tag("clase", clase)
+                .register(registry);
+    }
+}
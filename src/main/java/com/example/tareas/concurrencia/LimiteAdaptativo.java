@@ -0,0 +1,142 @@
+package com.example.tareas.concurrencia;
+
+import com.example.tareas.config.TareasProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Límite de peticiones concurrentes que se ajusta según la latencia observada.
+ * <p>
+ * Sigue el esquema AIMD (aumento aditivo, reducción multiplicativa) de TCP:
+ * cada petición que termina por debajo de la latencia objetivo suma
+ * {@code 1/límite}, es decir, el límite crece en una unidad por cada
+ * «ventana» completa de peticiones correctas; una petición más lenta que el
+ * objetivo o que termina con error de servidor lo multiplica por el factor
+ * de reducción. El límite solo crece si se está usando al menos a la mitad,
+ * para que no se infle durante los periodos tranquilos.
+ * </p>
+ * <p>
+ * Tras una reducción se ignoran las señales de las peticiones que ya estaban
+ * en curso, que reflejan la carga anterior: así una sola ráfaga lenta reduce
+ * el límite una vez y no tantas veces como peticiones afectó.
+ * </p>
+ * <p>
+ * La adquisición no espera nunca: si el límite está alcanzado, devuelve
+ * {@code false} y la petición se rechaza.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see FiltroLimiteConcurrencia
+ */
+public class LimiteAdaptativo {
+
+    private final int minimo;
+
+    private final int maximo;
+
+    private final long latenciaObjetivoNanos;
+
+    private final double factorReduccion;
+
+    private final AtomicInteger enCurso = new AtomicInteger();
+
+    /**
+     * Límite exacto, con decimales; solo se modifica dentro de {@link #ajustar}.
+     */
+    private double limiteExacto;
+
+    /**
+     * Parte entera de {@link #limiteExacto}, leída sin bloqueo al adquirir.
+     */
+    private volatile int limite;
+
+    /**
+     * Instante ({@link System#nanoTime()}) de la última reducción del límite.
+     */
+    private long ultimaReduccion = System.nanoTime();
+
+    /**
+     * Crea un límite a partir de su configuración.
+     *
+     * @param configuracion valores inicial, mínimo y máximo y latencia objetivo
+     * @param factorReduccion factor por el que se multiplica el límite ante sobrecarga
+     */
+    public LimiteAdaptativo(TareasProperties.Limite configuracion, double factorReduccion) {
+        this.minimo = Math.max(1, configuracion.getMinimo());
+        this.maximo = Math.max(minimo, configuracion.getMaximo());
+        this.latenciaObjetivoNanos = configuracion.getLatenciaObjetivo().toNanos();
+        this.factorReduccion = factorReduccion;
+        this.limiteExacto = Math.min(maximo, Math.max(minimo, configuracion.getInicial()));
+        this.limite = (int) limiteExacto;
+    }
+
+    /**
+     * Intenta ocupar un hueco para una petición.
+     *
+     * @return {@code true} si la petición puede atenderse; {@code false} si el límite está alcanzado
+     */
+    public boolean adquirir() {
+        int actual;
+        do {
+            actual = enCurso.get();
+            if (actual >= limite) {
+                return false;
+            }
+        } while (!enCurso.compareAndSet(actual, actual + 1));
+        return true;
+    }
+
+    /**
+     * Libera el hueco de una petición terminada y ajusta el límite con su resultado.
+     *
+     * @param inicio instante ({@link System#nanoTime()}) en que empezó la petición
+     * @param sobrecarga si la petición terminó con un error que indica sobrecarga
+     */
+    public void liberar(long inicio, boolean sobrecarga) {
+        int enVuelo = enCurso.getAndDecrement();
+        ajustar(inicio, System.nanoTime(), sobrecarga, enVuelo);
+    }
+
+    /**
+     * Libera el hueco de una petición sin usarla como muestra, por ejemplo
+     * cuando continúa de forma asíncrona y su duración no es representativa.
+     */
+    public void descartar() {
+        enCurso.decrementAndGet();
+    }
+
+    /**
+     * Obtiene el límite actual.
+     *
+     * @return número de peticiones concurrentes admitidas
+     */
+    public int getLimite() {
+        return limite;
+    }
+
+    /**
+     * Obtiene el número de peticiones en curso.
+     *
+     * @return peticiones que ocupan un hueco
+     */
+    public int getEnCurso() {
+        return enCurso.get();
+    }
+
+    private synchronized void ajustar(long inicio, long fin, boolean sobrecarga, int enVuelo) {
+        if (sobrecarga || fin - inicio > latenciaObjetivoNanos) {
+            if (inicio - ultimaReduccion < 0) {
+                return;
+            }
+            limiteExacto = Math.max(minimo, limiteExacto * factorReduccion);
+            ultimaReduccion = fin;
+        } else if (enVuelo * 2 >= limite) {
+            limiteExacto = Math.min(maximo, limiteExacto + 1.0 / limiteExacto);
+        } else {
+            return;
+        }
+        limite = (int) limiteExacto;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.tareas.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Configuración de la caché en memoria de la aplicación.
+ * <p>
+ * Habilita la abstracción de caché de Spring. El proveedor es Caffeine
+ * (política de desalojo W-TinyLFU), configurado a partir de
+ * {@code spring.cache.caffeine.spec}, donde se fijan el tamaño máximo, el
+ * tiempo de expiración y el registro de estadísticas.
+ * </p>
+ * <p>
+ * El gestor se envuelve en un {@link TransactionAwareCacheManagerProxy}: las
+ * escrituras e invalidaciones hechas dentro de una transacción se aplican
+ * cuando esta se confirma, y se descartan si se revierte. Así la caché nunca
+ * contiene cambios sin confirmar.
+ * </p>
+ * <p>
+ * El proxy no protege de una lectura concurrente que carga la fila anterior a
+ * la confirmación y la guarda después de la invalidación, porque esa lectura
+ * no forma parte de la transacción del escritor. Para evitarlo, las lecturas
+ * llenan la caché con la operación atómica {@code get(clave, cargador)} de
+ * Caffeine: una invalidación sobre un ID que se está cargando espera a que la
+ * carga termine y elimina su resultado.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CachesConfig {
+
+    /**
+     * Nombre de la caché de tareas indexada por ID.
+     */
+    public static final String CACHE_TAREAS = "tareas";
+
+    /**
+     * Gestor de cachés de la aplicación.
+     * <p>
+     * Con {@code spring.cache.type=none} (usado en las comparativas de
+     * rendimiento) las cachés no guardan nada.
+     * </p>
+     *
+     * @param properties propiedades {@code spring.cache.*}
+     * @return gestor de cachés de Caffeine que aplica los cambios al confirmar la transacción
+     */
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties) {
+        if (properties.getType() == CacheType.NONE) {
+            return new NoOpCacheManager();
+        }
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        String especificacion = properties.getCaffeine().getSpec();
+        if (StringUtils.hasText(especificacion)) {
+            caffeine.setCacheSpecification(especificacion);
+        }
+        if (!properties.getCacheNames().isEmpty()) {
+            caffeine.setCacheNames(properties.getCacheNames());
+        }
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
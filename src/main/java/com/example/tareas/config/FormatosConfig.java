@@ -0,0 +1,173 @@
+package com.example.tareas.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.CodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Configuración de los formatos de intercambio de la API.
+ * <p>
+ * Además de JSON, la API acepta y produce CBOR ({@code application/cbor},
+ * RFC 8949), una representación binaria del mismo modelo de datos que es más
+ * barata de generar y de leer y ocupa menos. El formato se negocia con las
+ * cabeceras {@code Accept} y {@code Content-Type}; JSON sigue siendo el
+ * formato por defecto. El {@link ObjectMapper} de CBOR se construye con el
+ * {@link Jackson2ObjectMapperBuilder} de Spring Boot, así que aplica la misma
+ * configuración {@code spring.jackson.*} que el de JSON.
+ * </p>
+ * <p>
+ * La compresión gzip de las respuestas grandes se configura aparte, con
+ * {@code server.compression.*}.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Configuration(proxyBeanMethods = false)
+public class FormatosConfig {
+
+    /**
+     * Crea el {@link ObjectMapper} de CBOR a partir de la configuración de Jackson de la aplicación.
+     *
+     * @param builder builder de Jackson configurado por Spring Boot
+     * @return mapper que lee y escribe CBOR
+     */
+    static ObjectMapper mapperCbor(Jackson2ObjectMapperBuilder builder) {
+        return builder.createXmlMapper(false).factory(new CBORFactory()).build();
+    }
+
+    /**
+     * Formatos de la API basada en Spring MVC.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class Servlet implements WebMvcConfigurer {
+
+        /**
+         * Conversor CBOR; sustituye al que Spring MVC registra por defecto,
+         * que no aplica la configuración de Jackson de la aplicación.
+         *
+         * @param builder builder de Jackson configurado por Spring Boot
+         * @return conversor de mensajes CBOR
+         */
+        @Bean
+        MappingJackson2CborHttpMessageConverter conversorCbor(Jackson2ObjectMapperBuilder builder) {
+            return new MappingJackson2CborHttpMessageConverter(mapperCbor(builder));
+        }
+
+        /**
+         * Marca las respuestas de la API con {@code Vary: Accept}, ya que su
+         * representación depende de esa cabecera.
+         */
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new HandlerInterceptor() {
+                @Override
+                public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                                         Object handler) {
+                    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                    return true;
+                }
+            }).addPathPatterns("/api/**");
+        }
+    }
+
+    /**
+     * Formatos de la variante reactiva, que no registra CBOR por defecto.
+     * <p>
+     * WebFlux consulta los codecs personalizados antes que los propios, así
+     * que se registran también los de JSON, y en primer lugar, para que JSON
+     * siga siendo el formato cuando la petición no indica ninguno.
+     * </p>
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class Reactiva {
+
+        /**
+         * Registra los codecs JSON y CBOR de Jackson, en ese orden.
+         *
+         * @param objectMapper mapper JSON configurado por Spring Boot
+         * @param builder builder de Jackson configurado por Spring Boot
+         * @return personalizador de los codecs de WebFlux
+         */
+        @Bean
+        CodecCustomizer codecsJackson(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder builder) {
+            ObjectMapper mapper = mapperCbor(builder);
+            return configurer -> {
+                CodecConfigurer.CustomCodecs codecs = configurer.customCodecs();
+                codecs.registerWithDefaultConfig(new Jackson2JsonEncoder(objectMapper));
+                codecs.registerWithDefaultConfig(new Jackson2JsonDecoder(objectMapper));
+                codecs.registerWithDefaultConfig(new CodificadorCbor(mapper));
+                codecs.registerWithDefaultConfig(new Jackson2CborDecoder(mapper, MediaType.APPLICATION_CBOR));
+            };
+        }
+    }
+
+    /**
+     * Codificador CBOR para WebFlux.
+     * <p>
+     * {@link Jackson2CborEncoder} solo sabe codificar valores sueltos y rechaza
+     * cualquier {@link Publisher}, incluso un {@link Mono}. Este codificador
+     * escribe los {@link Mono} como un valor y los {@link Flux} como un array
+     * CBOR de longitud indefinida: cada elemento se codifica y se entrega en
+     * cuanto llega, de modo que el flujo conserva la contrapresión del
+     * cliente, y el array se cierra cuando el flujo termina.
+     * </p>
+     */
+    static final class CodificadorCbor extends Jackson2CborEncoder {
+
+        /**
+         * Cabecera CBOR de un array de longitud indefinida (tipo mayor 4, información adicional 31).
+         */
+        private static final byte INICIO_ARRAY_INDEFINIDO = (byte) 0x9F;
+
+        /**
+         * Marca CBOR de fin de un elemento de longitud indefinida ("break").
+         */
+        private static final byte FIN_INDEFINIDO = (byte) 0xFF;
+
+        CodificadorCbor(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> valores, DataBufferFactory bufferFactory,
+                                       ResolvableType tipo, MimeType mimeType, Map<String, Object> hints) {
+            if (valores instanceof Mono<?> valor) {
+                return valor.map(v -> encodeValue(v, bufferFactory, tipo, mimeType, hints)).flux();
+            }
+            return Flux.concat(
+                    Mono.fromSupplier(() -> bufferFactory.wrap(new byte[] {INICIO_ARRAY_INDEFINIDO})),
+                    Flux.from(valores).map(v -> encodeValue(v, bufferFactory, tipo, mimeType, hints)),
+                    Mono.fromSupplier(() -> bufferFactory.wrap(new byte[] {FIN_INDEFINIDO})));
+        }
+    }
+}
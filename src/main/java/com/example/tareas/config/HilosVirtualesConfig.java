@@ -0,0 +1,50 @@
+package com.example.tareas.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Comprobación del modo de ejecución con hilos virtuales.
+ * <p>
+ * El modo se activa con el perfil {@code virtual}
+ * ({@code spring.threads.virtual.enabled=true}). Spring Boot ignora la
+ * propiedad en silencio cuando la JVM es anterior a Java 21, por lo que esta
+ * clase avisa al arrancar si el modo se pidió pero no puede aplicarse.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class HilosVirtualesConfig {
+
+    /**
+     * Logger para registrar el estado del modo de hilos virtuales.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(HilosVirtualesConfig.class);
+
+    /**
+     * Versión mínima de Java que admite hilos virtuales.
+     */
+    private static final int VERSION_MINIMA_JAVA = 21;
+
+    /**
+     * Informa al arrancar de si las peticiones se atienden con hilos virtuales.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verificarSoporte() {
+        int version = Runtime.version().feature();
+        if (version < VERSION_MINIMA_JAVA) {
+            logger.warn("Se solicitaron hilos virtuales pero la JVM es Java {}; se requiere Java {}. "
+                    + "Se usará el pool de hilos de plataforma.", version, VERSION_MINIMA_JAVA);
+        } else {
+            logger.info("Atendiendo peticiones con hilos virtuales (Java {})", version);
+        }
+    }
+}
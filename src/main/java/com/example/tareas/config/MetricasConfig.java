@@ -0,0 +1,80 @@
+package com.example.tareas.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de las métricas de la aplicación.
+ * <p>
+ * Registra el aspecto que convierte las anotaciones
+ * {@link io.micrometer.core.annotation.Timed} de los servicios en
+ * temporizadores de Micrometer. Las métricas se publican en
+ * {@code /actuator/prometheus} junto con las de Hikari, la caché y las
+ * peticiones HTTP que Spring Boot registra automáticamente.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Configuration
+public class MetricasConfig {
+
+    /**
+     * Nombre del temporizador de las operaciones de {@code TareaService}.
+     */
+    public static final String METRICA_OPERACIONES = "tareas.operacion";
+
+    /**
+     * Nombre del contador de errores de la API, etiquetado por tipo.
+     */
+    public static final String METRICA_ERRORES = "tareas.errores";
+
+    /**
+     * Nombre del resumen del número de escrituras confirmadas en cada grupo.
+     */
+    public static final String METRICA_GRUPOS_ESCRITURA = "tareas.escritura.grupo";
+
+    /**
+     * Nombre del indicador de escrituras agrupadas pendientes en la cola.
+     */
+    public static final String METRICA_COLA_ESCRITURA = "tareas.escritura.cola";
+
+    /**
+     * Nombre del contador de eventos de registro descartados por cola llena.
+     */
+    public static final String METRICA_REGISTROS_DESCARTADOS = "tareas.registro.descartados";
+
+    /**
+     * Nombre del indicador del límite de peticiones concurrentes, etiquetado por clase.
+     */
+    public static final String METRICA_LIMITE_CONCURRENCIA = "tareas.concurrencia.limite";
+
+    /**
+     * Nombre del indicador de peticiones en curso, etiquetado por clase.
+     */
+    public static final String METRICA_EN_CURSO_CONCURRENCIA = "tareas.concurrencia.en_curso";
+
+    /**
+     * Nombre del contador de peticiones rechazadas por el límite de concurrencia.
+     */
+    public static final String METRICA_RECHAZOS_CONCURRENCIA = "tareas.concurrencia.rechazos";
+
+    /**
+     * Nombre del contador de tareas trasladadas al archivo.
+     */
+    public static final String METRICA_ARCHIVADAS = "tareas.archivo.archivadas";
+
+    /**
+     * Aspecto que mide los métodos anotados con {@code @Timed}.
+     *
+     * @param registry registro de métricas de la aplicación
+     * @return aspecto de temporización
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.tareas.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas ({@code @Scheduled}) de la aplicación.
+ * <p>
+ * El planificador tiene {@code spring.task.scheduling.pool.size} hilos, para
+ * que una ejecución lenta no retrase a las demás tareas programadas. Con el
+ * perfil {@code virtual} se ejecutan en hilos virtuales.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Configuration
+@EnableScheduling
+public class ProgramacionConfig {
+}
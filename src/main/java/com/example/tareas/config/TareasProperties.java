@@ -0,0 +1,499 @@
+package com.example.tareas.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración propias de la aplicación de tareas.
+ * <p>
+ * Agrupa bajo el prefijo {@code tareas} los parámetros ajustables de la
+ * aplicación, de modo que puedan modificarse desde
+ * {@code application.properties} o variables de entorno sin recompilar.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Data
+@ConfigurationProperties(prefix = "tareas")
+public class TareasProperties {
+
+    /**
+     * Configuración de la paginación por cursor del listado de tareas.
+     */
+    private final Paginacion paginacion = new Paginacion();
+
+    /**
+     * Configuración de la exportación masiva en NDJSON.
+     */
+    private final Exportacion exportacion = new Exportacion();
+
+    /**
+     * Configuración de la creación de tareas por lotes.
+     */
+    private final Lote lote = new Lote();
+
+    /**
+     * Configuración de la búsqueda de texto completo.
+     */
+    private final Busqueda busqueda = new Busqueda();
+
+    /**
+     * Configuración de la escritura agrupada (group commit).
+     */
+    private final EscrituraAgrupada escrituraAgrupada = new EscrituraAgrupada();
+
+    /**
+     * Configuración de la réplica de lectura.
+     */
+    private final Replica replica = new Replica();
+
+    /**
+     * Configuración del feed de cambios en tiempo real.
+     */
+    private final Cambios cambios = new Cambios();
+
+    /**
+     * Configuración del registro de accesos y del registro de SQL por petición.
+     */
+    private final Registro registro = new Registro();
+
+    /**
+     * Configuración del límite adaptativo de peticiones concurrentes.
+     */
+    private final Concurrencia concurrencia = new Concurrencia();
+
+    /**
+     * Configuración de las claves de idempotencia de la creación de tareas.
+     */
+    private final Idempotencia idempotencia = new Idempotencia();
+
+    /**
+     * Configuración de las operaciones masivas sobre tareas existentes.
+     */
+    private final Masiva masiva = new Masiva();
+
+    /**
+     * Configuración del archivo de tareas completadas.
+     */
+    private final Archivo archivo = new Archivo();
+
+    /**
+     * Configuración de la importación masiva desde ficheros.
+     */
+    private final Importacion importacion = new Importacion();
+
+    /**
+     * Parámetros de la paginación por cursor (keyset).
+     */
+    @Data
+    public static class Paginacion {
+
+        /**
+         * Número de tareas por página cuando el cliente no indica un tamaño.
+         */
+        private int tamanioPorDefecto = 20;
+
+        /**
+         * Número máximo de tareas que se devuelven en una sola página.
+         * Los tamaños solicitados por encima de este valor se recortan.
+         */
+        private int tamanioMaximo = 100;
+    }
+
+    /**
+     * Parámetros de la exportación en streaming.
+     */
+    @Data
+    public static class Exportacion {
+
+        /**
+         * Número de tareas escritas entre cada vaciado del contexto de
+         * persistencia y del buffer de salida.
+         */
+        private int tamanioLote = 1000;
+    }
+
+    /**
+     * Parámetros de la creación de tareas por lotes.
+     */
+    @Data
+    public static class Lote {
+
+        /**
+         * Número máximo de tareas aceptadas en una sola petición.
+         */
+        private int tamanioMaximo = 5000;
+
+        /**
+         * Número de inserciones agrupadas en cada batch JDBC. Debe coincidir
+         * con {@code hibernate.jdbc.batch_size}.
+         */
+        private int tamanioBatch = 50;
+    }
+
+    /**
+     * Parámetros de la búsqueda de texto completo.
+     */
+    @Data
+    public static class Busqueda {
+
+        /**
+         * Mantiene el índice en memoria. Se desactiva en procesos que no
+         * atienden búsquedas, como el modo de importación.
+         */
+        private boolean habilitada = true;
+
+        /**
+         * Longitud máxima, en caracteres, del texto de una consulta.
+         */
+        private int longitudMaximaConsulta = 200;
+
+        /**
+         * Posición máxima alcanzable paginando un resultado de búsqueda.
+         * Limita la memoria necesaria para ordenar por relevancia.
+         */
+        private int maximoResultados = 10000;
+
+        /**
+         * Número de tareas leídas en cada consulta al reconstruir el índice.
+         */
+        private int tamanioLoteReconstruccion = 1000;
+    }
+
+    /**
+     * Parámetros de la escritura agrupada de {@code /api/tareas/diferidas}.
+     */
+    @Data
+    public static class EscrituraAgrupada {
+
+        /**
+         * Activa los endpoints de escritura agrupada.
+         */
+        private boolean habilitada = false;
+
+        /**
+         * Número máximo de escrituras pendientes; por encima se responde 503.
+         */
+        private int capacidadCola = 10000;
+
+        /**
+         * Número máximo de escrituras confirmadas en una misma transacción.
+         */
+        private int tamanioMaximoGrupo = 200;
+
+        /**
+         * Tiempo máximo que se espera a más escrituras antes de confirmar un grupo.
+         */
+        private Duration ventana = Duration.ofMillis(5);
+    }
+
+    /**
+     * Parámetros de la réplica de lectura. La conexión se configura en
+     * {@code tareas.replica.datasource.*} con las propiedades de Hikari.
+     */
+    @Data
+    public static class Replica {
+
+        /**
+         * Envía las transacciones de solo lectura a la réplica.
+         */
+        private boolean habilitada = false;
+
+        /**
+         * Tiempo durante el que un cliente lee de la primaria tras escribir.
+         * Si el retraso medido de la réplica lo alcanza, todas las lecturas
+         * se sirven desde la primaria.
+         */
+        private Duration ventanaLecturaPropia = Duration.ofSeconds(5);
+
+        /**
+         * Intervalo entre latidos con los que se mide el retraso de la réplica.
+         */
+        private Duration intervaloLatido = Duration.ofSeconds(1);
+
+        /**
+         * Intervalo entre comprobaciones de la disponibilidad de la réplica.
+         */
+        private Duration intervaloComprobacion = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Parámetros del feed de cambios ({@code GET /api/tareas/cambios}).
+     */
+    @Data
+    public static class Cambios {
+
+        /**
+         * Intervalo entre consultas a la tabla outbox en busca de cambios nuevos.
+         */
+        private Duration intervaloSondeo = Duration.ofMillis(500);
+
+        /**
+         * Número máximo de cambios leídos en cada consulta.
+         */
+        private int tamanioLote = 500;
+
+        /**
+         * Tiempo que se espera a que aparezca un ID que falta en la secuencia
+         * (una transacción aún sin confirmar) antes de darlo por perdido.
+         */
+        private Duration esperaHueco = Duration.ofSeconds(2);
+
+        /**
+         * Tiempo durante el que se sigue comprobando un hueco saltado: si se
+         * rellena, los suscriptores reciben un evento de reinicio.
+         */
+        private Duration vigilanciaHueco = Duration.ofMinutes(5);
+
+        /**
+         * Número de hilos que envían los eventos a los suscriptores.
+         */
+        private int hilosEnvio = 2;
+
+        /**
+         * Número máximo de eventos pendientes de enviar a un suscriptor antes de desconectarlo.
+         */
+        private int maximoPendientes = 10_000;
+
+        /**
+         * Intervalo sin cambios tras el que se envía un comentario de latido.
+         */
+        private Duration latido = Duration.ofSeconds(15);
+
+        /**
+         * Duración máxima de una conexión; el cliente se reconecta con {@code Last-Event-ID}.
+         */
+        private Duration tiempoConexion = Duration.ofMinutes(30);
+
+        /**
+         * Tiempo que se conservan los cambios para poder reanudar.
+         */
+        private Duration retencion = Duration.ofHours(24);
+
+        /**
+         * Intervalo entre ejecuciones de la poda de la tabla outbox.
+         */
+        private Duration intervaloPoda = Duration.ofHours(1);
+    }
+
+    /**
+     * Parámetros del registro de accesos muestreado y del registro de SQL por
+     * petición (perfil {@code produccion}).
+     */
+    @Data
+    public static class Registro {
+
+        /**
+         * Activa el filtro de registro de accesos y el inspector de SQL.
+         */
+        private boolean habilitado = false;
+
+        /**
+         * Fracción de peticiones correctas y rápidas que se registran, entre 0 y 1.
+         */
+        private double muestreoAccesos = 0.01;
+
+        /**
+         * Duración a partir de la cual una petición se registra siempre.
+         */
+        private Duration umbralLento = Duration.ofMillis(500);
+
+        /**
+         * Permite activar el registro de SQL de una petición con la cabecera
+         * {@code X-Registro-Sql}. Solo debe habilitarse si un proxy de
+         * confianza elimina la cabecera de las peticiones externas.
+         */
+        private boolean sqlPorPeticion = false;
+
+        /**
+         * Registra el SQL de las peticiones cuya traza W3C ({@code traceparent}) viene muestreada.
+         */
+        private boolean sqlEnTrazasMuestreadas = false;
+    }
+
+    /**
+     * Parámetros del límite adaptativo de peticiones concurrentes a la API.
+     * Las lecturas ({@code GET}, {@code HEAD}), las escrituras de una tarea y
+     * las operaciones en lote ({@code /api/tareas/lote/**}) tienen límites
+     * independientes.
+     */
+    @Data
+    public static class Concurrencia {
+
+        /**
+         * Activa el límite; las peticiones que lo superan reciben {@code 503} al instante.
+         */
+        private boolean habilitada = true;
+
+        /**
+         * Factor por el que se multiplica el límite al detectar sobrecarga, entre 0 y 1.
+         */
+        private double factorReduccion = 0.9;
+
+        /**
+         * Límite de las peticiones de lectura.
+         */
+        private final Limite lecturas = new Limite(20, 2, 200, Duration.ofMillis(250));
+
+        /**
+         * Límite de las peticiones de escritura.
+         */
+        private final Limite escrituras = new Limite(10, 1, 100, Duration.ofMillis(500));
+
+        /**
+         * Límite de las operaciones en lote, que procesan miles de tareas y
+         * tardan mucho más que una escritura sin que eso indique sobrecarga.
+         */
+        private final Limite lotes = new Limite(4, 1, 16, Duration.ofSeconds(10));
+    }
+
+    /**
+     * Parámetros de las claves de idempotencia ({@code Idempotency-Key}) de
+     * {@code POST /api/tareas}.
+     */
+    @Data
+    public static class Idempotencia {
+
+        /**
+         * Tiempo durante el que se recuerda una clave y se repite su respuesta.
+         */
+        private Duration retencion = Duration.ofHours(24);
+
+        /**
+         * Número máximo de claves recordadas en memoria; al superarlo se olvidan las más antiguas.
+         */
+        private int maximoClaves = 100_000;
+
+        /**
+         * Número de franjas en que se reparten las claves en memoria, cada una
+         * con su propio cerrojo. Se redondea a una potencia de dos.
+         */
+        private int franjas = 64;
+
+        /**
+         * Tiempo máximo que una petición repetida espera a que termine la original.
+         */
+        private Duration espera = Duration.ofSeconds(30);
+
+        /**
+         * Guarda además las claves en la tabla {@code tareas_idempotencia},
+         * compartida por todas las instancias.
+         */
+        private boolean persistente = false;
+
+        /**
+         * Intervalo entre ejecuciones de la poda de la tabla {@code tareas_idempotencia}.
+         */
+        private Duration intervaloPoda = Duration.ofHours(1);
+    }
+
+    /**
+     * Parámetros de las operaciones masivas ({@code POST /api/tareas/lote/completar},
+     * {@code /reabrir} y {@code /eliminar}).
+     */
+    @Data
+    public static class Masiva {
+
+        /**
+         * Número de tareas modificadas por cada sentencia y transacción.
+         */
+        private int tamanioBloque = 1000;
+
+        /**
+         * Número máximo de IDs aceptados en una sola petición.
+         */
+        private int maximoIds = 10_000;
+    }
+
+    /**
+     * Parámetros del traslado de tareas completadas a la tabla {@code tareas_archivo}.
+     */
+    @Data
+    public static class Archivo {
+
+        /**
+         * Activa el traslado periódico.
+         */
+        private boolean habilitada = true;
+
+        /**
+         * Tiempo sin modificarse tras el que se archiva una tarea completada.
+         */
+        private Duration antiguedad = Duration.ofDays(30);
+
+        /**
+         * Número de tareas trasladadas en cada transacción.
+         */
+        private int tamanioLote = 500;
+
+        /**
+         * Pausa entre dos lotes de un mismo recorrido, que limita el ritmo del traslado.
+         */
+        private Duration pausa = Duration.ofSeconds(1);
+
+        /**
+         * Tiempo entre el final de un recorrido de la tabla y el comienzo del siguiente.
+         */
+        private Duration intervalo = Duration.ofHours(1);
+    }
+
+    /**
+     * Parámetros de la importación de ficheros CSV o NDJSON ({@code --importar}).
+     */
+    @Data
+    public static class Importacion {
+
+        /**
+         * Número de registros analizados, validados e insertados en cada transacción.
+         */
+        private int tamanioBloque = 5000;
+
+        /**
+         * Número de inserciones de cada batch JDBC.
+         */
+        private int tamanioBatch = 500;
+
+        /**
+         * Número de hilos que procesan bloques en paralelo.
+         */
+        private int hilos = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Intervalo entre dos mensajes de progreso.
+         */
+        private Duration intervaloProgreso = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Parámetros de un límite de concurrencia adaptativo.
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Limite {
+
+        /**
+         * Peticiones concurrentes admitidas al arrancar.
+         */
+        private int inicial;
+
+        /**
+         * Valor por debajo del cual nunca baja el límite.
+         */
+        private int minimo;
+
+        /**
+         * Valor por encima del cual nunca sube el límite.
+         */
+        private int maximo;
+
+        /**
+         * Latencia a partir de la cual una petición se considera señal de sobrecarga.
+         */
+        private Duration latenciaObjetivo;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.tareas.console;
 import com.example.tareas.model.Tarea;
 import com.example.tareas.service.TareaService;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
@@ -17,6 +18,10 @@ import java.util.Scanner;
  * automáticamente al iniciar la aplicación, presentando un menú
  * de opciones al usuario para crear, listar, actualizar y eliminar tareas.
  * </p>
+ * <p>
+ * Puede desactivarse con {@code tareas.consola.habilitada=false}, por ejemplo
+ * en los tests, donde no hay una entrada estándar interactiva.
+ * </p>
  *
  * @author Desarrollador
  * @version 1.0.0
@@ -26,6 +31,7 @@ import java.util.Scanner;
  */
 @Component
 @Profile("!docker")
+@ConditionalOnProperty(name = "tareas.consola.habilitada", havingValue = "true", matchIfMissing = true)
 public class MenuConsola implements CommandLineRunner {
 
     /**
@@ -130,7 +136,7 @@ public class MenuConsola implements CommandLineRunner {
                     datos.setDescripcion(nuevaDescripcion);
                     datos.setCompletada(completada);
 
-                    tareaService.actualizar(id, datos);
+                    tareaService.actualizar(id, datos, null);
 
                     System.out.println("✔ Tarea actualizada.");
                 }
@@ -0,0 +1,112 @@
+package com.example.tareas.controller;
+
+import com.example.tareas.dto.PaginaProyecciones;
+import com.example.tareas.dto.PaginaTareas;
+import com.example.tareas.dto.ProyeccionTarea;
+import com.example.tareas.model.Tarea;
+
+/**
+ * Cálculo de las ETags de la API de tareas.
+ * <p>
+ * La ETag de una tarea es su versión, que cambia con cada modificación. La
+ * de una página del listado es un hash de los IDs y versiones que contiene,
+ * calculado sin serializar la respuesta, de modo que un
+ * {@code If-None-Match} coincidente se responde con 304 (Not Modified) sin
+ * generar el cuerpo JSON.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see TareaController
+ * @see com.example.tareas.reactivo.TareaReactivaController
+ */
+public final class EtagsTarea {
+
+    /**
+     * Valor devuelto para una cabecera {@code If-Match} que no puede
+     * coincidir con ninguna versión (ETag débil o con formato desconocido).
+     */
+    public static final long VERSION_IMPOSIBLE = -1L;
+
+    private EtagsTarea() {
+    }
+
+    /**
+     * Calcula la ETag fuerte de una tarea.
+     *
+     * @param tarea tarea de la respuesta
+     * @return ETag entre comillas, por ejemplo {@code "3"}
+     */
+    public static String deTarea(Tarea tarea) {
+        return "\"" + tarea.getVersion() + "\"";
+    }
+
+    /**
+     * Calcula la ETag fuerte de una tarea obtenida como proyección.
+     *
+     * @param tarea proyección de la respuesta
+     * @return ETag entre comillas, igual a la de la tarea completa
+     */
+    public static String deTarea(ProyeccionTarea tarea) {
+        return "\"" + tarea.getVersion() + "\"";
+    }
+
+    /**
+     * Calcula la ETag fuerte de una página del listado.
+     *
+     * @param pagina página de la respuesta
+     * @return ETag entre comillas, por ejemplo {@code "p-1f3a9c..."}
+     */
+    public static String dePagina(PaginaTareas pagina) {
+        long hash = pagina.getTamanio();
+        for (Tarea tarea : pagina.getContenido()) {
+            hash = 31 * hash + tarea.getId();
+            hash = 31 * hash + tarea.getVersion();
+        }
+        return etagPagina(hash, pagina.getSiguienteCursor());
+    }
+
+    /**
+     * Calcula la ETag fuerte de una página del listado con solo algunos campos.
+     *
+     * @param pagina página de la respuesta
+     * @return ETag entre comillas, por ejemplo {@code "p-1f3a9c..."}
+     */
+    public static String dePagina(PaginaProyecciones pagina) {
+        long hash = pagina.getTamanio();
+        for (ProyeccionTarea tarea : pagina.getContenido()) {
+            hash = 31 * hash + tarea.getId();
+            hash = 31 * hash + tarea.getVersion();
+        }
+        return etagPagina(hash, pagina.getSiguienteCursor());
+    }
+
+    private static String etagPagina(long hash, String cursor) {
+        hash = 31 * hash + (cursor == null ? 0 : cursor.hashCode());
+        return "\"p-" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Extrae la versión esperada de la cabecera {@code If-Match}.
+     *
+     * @param ifMatch valor de la cabecera (puede ser nulo)
+     * @return versión esperada, {@code null} si no hay que comprobarla
+     *         (cabecera ausente o {@code *}), o {@link #VERSION_IMPOSIBLE}
+     *         si la ETag no puede coincidir
+     */
+    public static Long versionDe(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.length() < 3 || !etag.startsWith("\"") || !etag.endsWith("\"")) {
+            return VERSION_IMPOSIBLE;
+        }
+        try {
+            return Long.parseLong(etag.substring(1, etag.length() - 1));
+        } catch (NumberFormatException e) {
+            return VERSION_IMPOSIBLE;
+        }
+    }
+}
@@ -1,12 +1,34 @@
 package com.example.tareas.controller;
 
+import com.example.tareas.dto.EstadisticasCache;
+import com.example.tareas.dto.EstadisticasTareas;
+import com.example.tareas.dto.PaginaProyecciones;
+import com.example.tareas.dto.PaginaTareas;
+import com.example.tareas.dto.ProyeccionTarea;
+import com.example.tareas.dto.ResultadoBusqueda;
+import com.example.tareas.dto.ResultadoLote;
+import com.example.tareas.dto.ResultadoMasivo;
+import com.example.tareas.dto.SeleccionTareas;
+import com.example.tareas.dto.TareaParcial;
+import com.example.tareas.dto.VistaTarea;
+import com.example.tareas.idempotencia.IdempotenciaTareas;
+import com.example.tareas.idempotencia.RespuestaIdempotente;
 import com.example.tareas.model.Tarea;
+import com.example.tareas.service.CamposTarea;
+import com.example.tareas.service.OperacionesMasivas;
 import com.example.tareas.service.TareaService;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -34,33 +56,146 @@ public class TareaController {
      */
     private static final Logger logger = LoggerFactory.getLogger(TareaController.class);
 
+    /**
+     * Campos de la respuesta de una actualización cuya nueva versión no se conoce.
+     */
+    private static final CamposTarea CAMPOS_SIN_VERSION = CamposTarea.de("id,titulo,descripcion,completada");
+
     /**
      * Servicio de tareas para realizar las operaciones de negocio.
      */
     private final TareaService service;
 
+    /**
+     * Creación de tareas con clave de idempotencia.
+     */
+    private final IdempotenciaTareas idempotencia;
+
+    /**
+     * Operaciones masivas sobre tareas existentes.
+     */
+    private final OperacionesMasivas masivas;
+
     /**
      * Constructor que inyecta el servicio de tareas.
      *
      * @param service servicio de tareas para las operaciones de negocio
+     * @param idempotencia creación de tareas con clave de idempotencia
+     * @param masivas operaciones masivas sobre tareas existentes
      */
-    public TareaController(TareaService service) {
+    public TareaController(TareaService service, IdempotenciaTareas idempotencia, OperacionesMasivas masivas) {
         this.service = service;
+        this.idempotencia = idempotencia;
+        this.masivas = masivas;
     }
 
     /**
-     * Lista todas las tareas disponibles.
+     * Lista las tareas paginadas por cursor.
      * <p>
-     * Endpoint: {@code GET /api/tareas}
+     * Endpoint: {@code GET /api/tareas?cursor=&tamanio=&completada=}
+     * </p>
+     * <p>
+     * La respuesta incluye una ETag calculada a partir de los IDs y versiones
+     * de la página; si coincide con {@code If-None-Match} se responde con
+     * HTTP 304 (Not Modified) sin cuerpo.
+     * </p>
+     *
+     * <p>
+     * Con {@code fields=id,titulo,...} cada tarea incluye solo los campos
+     * indicados, y la consulta lee solo las columnas necesarias.
      * </p>
      *
-     * @return ResponseEntity con la lista de tareas y código HTTP 200 (OK)
+     * @param cursor cursor opaco devuelto por la página anterior (opcional)
+     * @param tamanio número de tareas por página (opcional, limitado al máximo configurado)
+     * @param completada filtro opcional por estado de completitud
+     * @param fields campos de cada tarea a incluir, separados por comas (opcional)
+     * @return ResponseEntity con la página de tareas y código HTTP 200 (OK)
+     * @throws com.example.tareas.exception.BadRequestException si el cursor, el tamaño o los campos no son válidos
      */
     @GetMapping
-    public ResponseEntity<List<Tarea>> listar() {
-        logger.info("GET /api/tareas - Listando todas las tareas");
-        List<Tarea> tareas = service.listar();
-        return ResponseEntity.ok(tareas);
+    public ResponseEntity<?> listar(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanio,
+            @RequestParam(required = false) Boolean completada,
+            @RequestParam(required = false) String fields) {
+        logger.info("GET /api/tareas - Listando tareas paginadas");
+        if (fields != null) {
+            CamposTarea campos = CamposTarea.de(fields);
+            PaginaProyecciones pagina = service.listarPagina(cursor, tamanio, completada, campos);
+            return ResponseEntity.ok().eTag(EtagsTarea.dePagina(pagina)).body(conCampos(pagina, campos));
+        }
+        PaginaTareas pagina = service.listarPagina(cursor, tamanio, completada);
+        return ResponseEntity.ok().eTag(EtagsTarea.dePagina(pagina)).body(pagina);
+    }
+
+    /**
+     * Busca tareas por texto en el título y la descripción.
+     * <p>
+     * Endpoint: {@code GET /api/tareas/buscar?q=&pagina=&tamanio=}
+     * </p>
+     * <p>
+     * Devuelve las tareas que contienen todos los términos de la consulta,
+     * sin distinguir mayúsculas, tildes ni singular y plural, ordenadas por
+     * relevancia.
+     * </p>
+     *
+     * @param q texto a buscar
+     * @param pagina número de página, empezando en 0 (opcional)
+     * @param tamanio número de tareas por página (opcional, limitado al máximo configurado)
+     * @return ResponseEntity con la página de resultados y código HTTP 200 (OK)
+     * @throws com.example.tareas.exception.BadRequestException si la consulta, la página o el tamaño no son válidos
+     */
+    @GetMapping("/buscar")
+    public ResponseEntity<ResultadoBusqueda> buscar(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer pagina,
+            @RequestParam(required = false) Integer tamanio) {
+        logger.info("GET /api/tareas/buscar - Buscando tareas");
+        return ResponseEntity.ok(service.buscar(q, pagina, tamanio));
+    }
+
+    /**
+     * Lista las tareas archivadas paginadas por cursor.
+     * <p>
+     * Endpoint: {@code GET /api/tareas/archivo?cursor=&tamanio=}
+     * </p>
+     * <p>
+     * Son las tareas completadas trasladadas a la tabla de archivo; se
+     * siguen pudiendo obtener por ID con {@code GET /api/tareas/{id}}.
+     * </p>
+     *
+     * @param cursor cursor devuelto por la página anterior (opcional)
+     * @param tamanio número de tareas por página (opcional, limitado al máximo configurado)
+     * @return ResponseEntity con la página de tareas archivadas y código HTTP 200 (OK)
+     * @throws com.example.tareas.exception.BadRequestException si el cursor o el tamaño no son válidos
+     */
+    @GetMapping("/archivo")
+    public ResponseEntity<PaginaTareas> listarArchivadas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanio) {
+        logger.info("GET /api/tareas/archivo - Listando tareas archivadas");
+        return ResponseEntity.ok(service.listarArchivadas(cursor, tamanio));
+    }
+
+    /**
+     * Exporta todas las tareas en formato NDJSON (una tarea JSON por línea).
+     * <p>
+     * Endpoint: {@code GET /api/tareas/exportar}
+     * </p>
+     * <p>
+     * La respuesta se escribe en streaming a medida que se leen las filas,
+     * sin acumular el resultado en memoria.
+     * </p>
+     *
+     * @return ResponseEntity con el cuerpo en streaming y código HTTP 200 (OK)
+     */
+    @GetMapping(value = "/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        logger.info("GET /api/tareas/exportar - Exportando tareas");
+        StreamingResponseBody cuerpo = service::exportar;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(cuerpo);
     }
 
     /**
@@ -68,15 +203,104 @@ public class TareaController {
      * <p>
      * Endpoint: {@code POST /api/tareas}
      * </p>
+     * <p>
+     * Con la cabecera {@code Idempotency-Key}, los reintentos con la misma
+     * clave no crean otra tarea: reciben la respuesta original con la
+     * cabecera {@code Idempotent-Replayed: true}.
+     * </p>
      *
+     * @param clave clave de idempotencia opcional
      * @param tarea objeto Tarea con los datos de la nueva tarea
      * @return ResponseEntity con la tarea creada y código HTTP 201 (Created)
      */
     @PostMapping
-    public ResponseEntity<Tarea> crear(@RequestBody Tarea tarea) {
+    public ResponseEntity<Tarea> crear(
+            @RequestHeader(name = IdempotenciaTareas.CABECERA_CLAVE, required = false) String clave,
+            @RequestBody Tarea tarea) {
         logger.info("POST /api/tareas - Creando nueva tarea");
-        Tarea tareaCreada = service.crear(tarea);
-        return ResponseEntity.status(HttpStatus.CREATED).body(tareaCreada);
+        if (clave == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(service.crear(tarea));
+        }
+        RespuestaIdempotente respuesta = idempotencia.crear(clave, tarea);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IdempotenciaTareas.CABECERA_REPETIDA, Boolean.toString(respuesta.repetida()))
+                .body(respuesta.tarea());
+    }
+
+    /**
+     * Crea varias tareas en una sola petición.
+     * <p>
+     * Endpoint: {@code POST /api/tareas/lote}
+     * </p>
+     * <p>
+     * Los elementos inválidos se informan individualmente y no impiden la
+     * creación del resto. Si todos los elementos son válidos se responde con
+     * HTTP 201 (Created); si alguno se rechaza, con HTTP 207 (Multi-Status).
+     * </p>
+     *
+     * @param tareas lista de tareas a crear
+     * @return ResponseEntity con el resultado del lote
+     * @throws com.example.tareas.exception.BadRequestException si el lote está vacío o es demasiado grande
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<ResultadoLote> crearLote(@RequestBody List<Tarea> tareas) {
+        logger.info("POST /api/tareas/lote - Creando lote de tareas");
+        ResultadoLote resultado = service.crearLote(tareas);
+        HttpStatus estado = resultado.getErrores().isEmpty() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(estado).body(resultado);
+    }
+
+    /**
+     * Marca como completadas varias tareas en una sola petición.
+     * <p>
+     * Endpoint: {@code POST /api/tareas/lote/completar}
+     * </p>
+     * <p>
+     * El cuerpo indica los IDs de las tareas ({@code "ids"}), su estado
+     * ({@code "completada"}) o ambos, por ejemplo {@code {"completada": false}}
+     * para completar todas las pendientes.
+     * </p>
+     *
+     * @param seleccion IDs y/o estado de las tareas
+     * @return ResponseEntity con el número de tareas completadas
+     * @throws com.example.tareas.exception.BadRequestException si la selección no es válida
+     */
+    @PostMapping("/lote/completar")
+    public ResponseEntity<ResultadoMasivo> completarLote(@RequestBody SeleccionTareas seleccion) {
+        logger.info("POST /api/tareas/lote/completar - Completando tareas en bloque");
+        return ResponseEntity.ok(masivas.completar(seleccion));
+    }
+
+    /**
+     * Marca como pendientes varias tareas en una sola petición.
+     * <p>
+     * Endpoint: {@code POST /api/tareas/lote/reabrir}
+     * </p>
+     *
+     * @param seleccion IDs y/o estado de las tareas
+     * @return ResponseEntity con el número de tareas reabiertas
+     * @throws com.example.tareas.exception.BadRequestException si la selección no es válida
+     */
+    @PostMapping("/lote/reabrir")
+    public ResponseEntity<ResultadoMasivo> reabrirLote(@RequestBody SeleccionTareas seleccion) {
+        logger.info("POST /api/tareas/lote/reabrir - Reabriendo tareas en bloque");
+        return ResponseEntity.ok(masivas.reabrir(seleccion));
+    }
+
+    /**
+     * Elimina varias tareas en una sola petición.
+     * <p>
+     * Endpoint: {@code POST /api/tareas/lote/eliminar}
+     * </p>
+     *
+     * @param seleccion IDs y/o estado de las tareas
+     * @return ResponseEntity con el número de tareas eliminadas
+     * @throws com.example.tareas.exception.BadRequestException si la selección no es válida
+     */
+    @PostMapping("/lote/eliminar")
+    public ResponseEntity<ResultadoMasivo> eliminarLote(@RequestBody SeleccionTareas seleccion) {
+        logger.info("POST /api/tareas/lote/eliminar - Eliminando tareas en bloque");
+        return ResponseEntity.ok(masivas.eliminar(seleccion));
     }
 
     /**
@@ -84,16 +308,31 @@ public class TareaController {
      * <p>
      * Endpoint: {@code GET /api/tareas/{id}}
      * </p>
+     * <p>
+     * La ETag de la respuesta es la versión de la tarea; si coincide con
+     * {@code If-None-Match} se responde con HTTP 304 (Not Modified) sin cuerpo.
+     * </p>
+     *
+     * <p>
+     * Con {@code fields=} la respuesta incluye solo los campos indicados y se
+     * lee directamente de la base de datos, sin pasar por la caché.
+     * </p>
      *
      * @param id identificador único de la tarea a obtener
+     * @param fields campos a incluir, separados por comas (opcional)
      * @return ResponseEntity con la tarea encontrada y código HTTP 200 (OK)
      * @throws com.example.tareas.exception.ResourceNotFoundException si la tarea no existe
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Tarea> obtener(@PathVariable Long id) {
+    public ResponseEntity<?> obtener(@PathVariable Long id, @RequestParam(required = false) String fields) {
         logger.info("GET /api/tareas/{} - Obteniendo tarea", id);
+        if (fields != null) {
+            CamposTarea campos = CamposTarea.de(fields);
+            ProyeccionTarea tarea = service.obtener(id, campos);
+            return ResponseEntity.ok().eTag(EtagsTarea.deTarea(tarea)).body(conCampos(tarea, campos));
+        }
         Tarea tarea = service.obtener(id);
-        return ResponseEntity.ok(tarea);
+        return ResponseEntity.ok().eTag(EtagsTarea.deTarea(tarea)).body(tarea);
     }
 
     /**
@@ -101,19 +340,59 @@ public class TareaController {
      * <p>
      * Endpoint: {@code PUT /api/tareas/{id}}
      * </p>
+     * <p>
+     * Con la cabecera {@code If-Match} la actualización solo se aplica si la
+     * tarea conserva la versión indicada; si otro cliente la modificó se
+     * responde con HTTP 412 (Precondition Failed). Sin la cabecera, la última
+     * escritura prevalece; la actualización se aplica con una sola sentencia
+     * que no devuelve la nueva versión, por lo que la respuesta no incluye
+     * ETag ni el campo {@code version}.
+     * </p>
      *
      * @param id identificador único de la tarea a actualizar
      * @param tarea objeto Tarea con los nuevos datos
-     * @return ResponseEntity con la tarea actualizada y código HTTP 200 (OK)
+     * @param ifMatch ETag de la versión leída por el cliente (opcional)
+     * @return ResponseEntity con la tarea actualizada, su nueva ETag si se indicó {@code If-Match}
+     *         y código HTTP 200 (OK)
      * @throws com.example.tareas.exception.ResourceNotFoundException si la tarea no existe
+     * @throws com.example.tareas.exception.PreconditionFailedException si la versión no coincide
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Tarea> actualizar(
+    public ResponseEntity<?> actualizar(
             @PathVariable Long id,
-            @RequestBody Tarea tarea) {
+            @RequestBody Tarea tarea,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         logger.info("PUT /api/tareas/{} - Actualizando tarea", id);
-        Tarea tareaActualizada = service.actualizar(id, tarea);
-        return ResponseEntity.ok(tareaActualizada);
+        Long versionEsperada = EtagsTarea.versionDe(ifMatch);
+        Tarea tareaActualizada = service.actualizar(id, tarea, versionEsperada);
+        if (versionEsperada == null) {
+            return ResponseEntity.ok(sinVersion(tareaActualizada));
+        }
+        return ResponseEntity.ok().eTag(EtagsTarea.deTarea(tareaActualizada)).body(tareaActualizada);
+    }
+
+    /**
+     * Actualiza solo los campos indicados de una tarea.
+     * <p>
+     * Endpoint: {@code PATCH /api/tareas/{id}}
+     * </p>
+     * <p>
+     * Los campos ausentes o nulos conservan su valor actual. La modificación
+     * se aplica sin cargar la tarea, por lo que no se devuelve cuerpo.
+     * </p>
+     *
+     * @param id identificador único de la tarea a actualizar
+     * @param cambios campos a modificar
+     * @return ResponseEntity vacío con código HTTP 204 (No Content)
+     * @throws com.example.tareas.exception.ResourceNotFoundException si la tarea no existe
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> actualizarParcialmente(
+            @PathVariable Long id,
+            @RequestBody TareaParcial cambios) {
+        logger.info("PATCH /api/tareas/{} - Actualizando parcialmente tarea", id);
+        service.actualizarParcialmente(id, cambios);
+        return ResponseEntity.noContent().build();
     }
 
     /**
@@ -132,4 +411,79 @@ public class TareaController {
         service.eliminar(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Obtiene el número de tareas total, completadas y pendientes.
+     * <p>
+     * Endpoint: {@code GET /api/tareas/estadisticas}
+     * </p>
+     *
+     * @return ResponseEntity con los recuentos por estado y código HTTP 200 (OK)
+     */
+    @GetMapping("/estadisticas")
+    public ResponseEntity<EstadisticasTareas> estadisticas() {
+        logger.info("GET /api/tareas/estadisticas - Consultando recuentos por estado");
+        return ResponseEntity.ok(service.obtenerEstadisticas());
+    }
+
+    /**
+     * Abre un feed de Server-Sent Events con los cambios de las tareas.
+     * <p>
+     * Endpoint: {@code GET /api/tareas/cambios}
+     * </p>
+     * <p>
+     * Cada creación, actualización o eliminación confirmada se envía como un
+     * evento cuyo nombre es el tipo de cambio y cuyo ID permite reanudar el
+     * feed: al reconectarse con la cabecera {@code Last-Event-ID} se reciben
+     * los cambios perdidos antes que los nuevos.
+     * </p>
+     *
+     * @param ultimoEventoId ID del último evento recibido (opcional)
+     * @return emisor SSE que permanece abierto hasta que el cliente se desconecta
+     * @throws com.example.tareas.exception.BadRequestException si el ID del último evento no es numérico
+     */
+    @GetMapping(value = "/cambios", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter cambios(@RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        logger.info("GET /api/tareas/cambios - Suscribiendo al feed de cambios");
+        return service.suscribirCambios(ultimoEventoId);
+    }
+
+    /**
+     * Obtiene las estadísticas de la caché de tareas por ID.
+     * <p>
+     * Endpoint: {@code GET /api/tareas/cache}
+     * </p>
+     *
+     * @return ResponseEntity con aciertos, fallos, desalojos y tamaño de la caché
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<EstadisticasCache> estadisticasCache() {
+        logger.info("GET /api/tareas/cache - Consultando estadísticas de la caché");
+        return ResponseEntity.ok(service.obtenerEstadisticasCache());
+    }
+
+    /**
+     * Envuelve una respuesta para que Jackson serialice solo los campos pedidos de cada tarea.
+     *
+     * @param cuerpo cuerpo de la respuesta, con una o varias {@link ProyeccionTarea}
+     * @param campos campos pedidos por el cliente
+     * @return cuerpo con el filtro {@value ProyeccionTarea#FILTRO} configurado
+     */
+    private static MappingJacksonValue conCampos(Object cuerpo, CamposTarea campos) {
+        MappingJacksonValue valor = new MappingJacksonValue(cuerpo);
+        valor.setFilters(new SimpleFilterProvider().addFilter(ProyeccionTarea.FILTRO,
+                SimpleBeanPropertyFilter.filterOutAllExcept(campos.nombres())));
+        return valor;
+    }
+
+    /**
+     * Prepara el cuerpo de una tarea actualizada sin comprobar la versión, que
+     * no incluye el campo {@code version} porque la actualización no lo devuelve.
+     *
+     * @param tarea tarea actualizada
+     * @return cuerpo con todos los campos de la tarea salvo la versión
+     */
+    static MappingJacksonValue sinVersion(Tarea tarea) {
+        return conCampos(VistaTarea.de(tarea), CAMPOS_SIN_VERSION);
+    }
+}
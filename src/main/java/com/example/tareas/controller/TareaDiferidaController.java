@@ -0,0 +1,94 @@
+package com.example.tareas.controller;
+
+import com.example.tareas.model.Tarea;
+import com.example.tareas.service.EscrituraAgrupada;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Controlador REST de las escrituras agrupadas (group commit).
+ * <p>
+ * Ofrece variantes de alta y actualización bajo {@code /api/tareas/diferidas}
+ * que se confirman junto con otras escrituras concurrentes en una misma
+ * transacción. La respuesta se envía de forma asíncrona cuando el grupo se
+ * ha confirmado, con el mismo cuerpo que los endpoints síncronos.
+ * Solo está disponible con {@code tareas.escritura-agrupada.habilitada=true}.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see EscrituraAgrupada
+ */
+@RestController
+@RequestMapping("/api/tareas/diferidas")
+@CrossOrigin("*")
+@ConditionalOnProperty(name = "tareas.escritura-agrupada.habilitada", havingValue = "true")
+public class TareaDiferidaController {
+
+    /**
+     * Logger para registrar eventos y mensajes del controlador.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(TareaDiferidaController.class);
+
+    /**
+     * Cola de escrituras agrupadas.
+     */
+    private final EscrituraAgrupada escritura;
+
+    /**
+     * Constructor que inyecta la cola de escrituras agrupadas.
+     *
+     * @param escritura cola de escrituras agrupadas
+     */
+    public TareaDiferidaController(EscrituraAgrupada escritura) {
+        this.escritura = escritura;
+    }
+
+    /**
+     * Crea una tarea confirmándola en el siguiente grupo de escrituras.
+     * <p>
+     * Endpoint: {@code POST /api/tareas/diferidas}
+     * </p>
+     *
+     * @param tarea objeto Tarea con los datos de la nueva tarea
+     * @return futuro con la tarea creada y código HTTP 201 (Created)
+     * @throws com.example.tareas.exception.ServiceUnavailableException si la cola está llena (HTTP 503)
+     */
+    @PostMapping
+    public CompletableFuture<ResponseEntity<Tarea>> crear(@RequestBody Tarea tarea) {
+        logger.info("POST /api/tareas/diferidas - Encolando nueva tarea");
+        return escritura.crear(tarea)
+                .thenApply(creada -> ResponseEntity.status(HttpStatus.CREATED)
+                        .eTag(EtagsTarea.deTarea(creada))
+                        .body(creada));
+    }
+
+    /**
+     * Actualiza una tarea confirmándola en el siguiente grupo de escrituras.
+     * <p>
+     * Endpoint: {@code PUT /api/tareas/diferidas/{id}}
+     * </p>
+     * <p>
+     * Si llegan varias actualizaciones de la misma tarea en un grupo, solo
+     * se aplica la última y todas reciben su resultado.
+     * </p>
+     *
+     * @param id identificador único de la tarea a actualizar
+     * @param tarea objeto Tarea con los nuevos datos
+     * @return futuro con la tarea actualizada, sin ETag ni versión, y código HTTP 200 (OK)
+     * @throws com.example.tareas.exception.ServiceUnavailableException si la cola está llena (HTTP 503)
+     */
+    @PutMapping("/{id}")
+    public CompletableFuture<ResponseEntity<?>> actualizar(@PathVariable Long id, @RequestBody Tarea tarea) {
+        logger.info("PUT /api/tareas/diferidas/{} - Encolando actualización", id);
+        return escritura.actualizar(id, tarea)
+                .thenApply(actualizada -> ResponseEntity.ok(TareaController.sinVersion(actualizada)));
+    }
+}
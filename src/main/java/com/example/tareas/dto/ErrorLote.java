@@ -0,0 +1,29 @@
+package com.example.tareas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Clase DTO que describe el error de validación de un elemento de un lote.
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see ResultadoLote
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ErrorLote {
+
+    /**
+     * Posición (base cero) del elemento rechazado dentro del lote recibido.
+     */
+    private int indice;
+
+    /**
+     * Mensaje descriptivo del error de validación.
+     */
+    private String mensaje;
+}
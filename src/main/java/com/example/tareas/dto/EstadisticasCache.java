@@ -0,0 +1,47 @@
+package com.example.tareas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Clase DTO con las estadísticas de uso de una caché.
+ * <p>
+ * Permite dimensionar la caché observando la tasa de aciertos y el número
+ * de desalojos acumulados desde el arranque de la aplicación.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EstadisticasCache {
+
+    /**
+     * Número aproximado de entradas almacenadas actualmente.
+     */
+    private long tamanio;
+
+    /**
+     * Número de lecturas resueltas desde la caché.
+     */
+    private long aciertos;
+
+    /**
+     * Número de lecturas que tuvieron que acudir a la base de datos.
+     */
+    private long fallos;
+
+    /**
+     * Proporción de aciertos sobre el total de lecturas (entre 0 y 1).
+     */
+    private double tasaAciertos;
+
+    /**
+     * Número de entradas desalojadas por tamaño o expiración.
+     */
+    private long desalojos;
+}
@@ -0,0 +1,33 @@
+package com.example.tareas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Clase DTO con el número de tareas por estado de completitud.
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EstadisticasTareas {
+
+    /**
+     * Número total de tareas.
+     */
+    private long total;
+
+    /**
+     * Número de tareas completadas.
+     */
+    private long completadas;
+
+    /**
+     * Número de tareas pendientes.
+     */
+    private long pendientes;
+}
@@ -0,0 +1,40 @@
+package com.example.tareas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Clase DTO que representa una página del listado con solo algunos campos de cada tarea.
+ * <p>
+ * Tiene la misma forma que {@link PaginaTareas}, pero su contenido son
+ * proyecciones en lugar de entidades.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see ProyeccionTarea
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaginaProyecciones {
+
+    /**
+     * Proyecciones de las tareas de la página actual, ordenadas por ID ascendente.
+     */
+    private List<? extends ProyeccionTarea> contenido;
+
+    /**
+     * Tamaño de página aplicado tras recortar al máximo configurado.
+     */
+    private int tamanio;
+
+    /**
+     * Cursor opaco para solicitar la página siguiente, o {@code null} si es la última.
+     */
+    private String siguienteCursor;
+}
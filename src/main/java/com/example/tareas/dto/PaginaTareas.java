@@ -0,0 +1,41 @@
+package com.example.tareas.dto;
+
+import com.example.tareas.model.Tarea;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Clase DTO que representa una página del listado de tareas.
+ * <p>
+ * El listado se pagina por cursor (keyset): cada página incluye un
+ * {@code siguienteCursor} opaco que el cliente debe reenviar para obtener
+ * la página siguiente. Cuando no hay más resultados el cursor es {@code null}.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaginaTareas {
+
+    /**
+     * Tareas de la página actual, ordenadas por ID ascendente.
+     */
+    private List<Tarea> contenido;
+
+    /**
+     * Tamaño de página aplicado tras recortar al máximo configurado.
+     */
+    private int tamanio;
+
+    /**
+     * Cursor opaco para solicitar la página siguiente, o {@code null} si es la última.
+     */
+    private String siguienteCursor;
+}
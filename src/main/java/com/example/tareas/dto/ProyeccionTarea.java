@@ -0,0 +1,48 @@
+package com.example.tareas.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+/**
+ * Vista de solo lectura de una tarea obtenida mediante una proyección.
+ * <p>
+ * Las proyecciones se construyen directamente desde las columnas
+ * seleccionadas, sin crear entidades gestionadas ni instantáneas para
+ * dirty-checking. Se usan cuando el cliente pide un subconjunto de campos
+ * con {@code fields=}; al serializarlas, el filtro Jackson {@value #FILTRO}
+ * deja solo los campos pedidos.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see ResumenTarea
+ * @see VistaTarea
+ */
+@JsonFilter(ProyeccionTarea.FILTRO)
+public interface ProyeccionTarea {
+
+    /**
+     * Nombre del filtro Jackson que selecciona los campos a serializar.
+     */
+    String FILTRO = "campos";
+
+    /**
+     * @return identificador de la tarea
+     */
+    Long getId();
+
+    /**
+     * @return título de la tarea
+     */
+    String getTitulo();
+
+    /**
+     * @return estado de completitud
+     */
+    boolean isCompletada();
+
+    /**
+     * @return versión de la tarea
+     */
+    long getVersion();
+}
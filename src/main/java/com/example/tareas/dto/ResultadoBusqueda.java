@@ -0,0 +1,45 @@
+package com.example.tareas.dto;
+
+import com.example.tareas.model.Tarea;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Clase DTO que representa una página de resultados de la búsqueda de tareas.
+ * <p>
+ * Los resultados se ordenan por relevancia y se paginan por número de
+ * página, ya que el orden no depende del ID.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoBusqueda {
+
+    /**
+     * Tareas de la página actual, de mayor a menor relevancia.
+     */
+    private List<Tarea> contenido;
+
+    /**
+     * Número total de tareas que coinciden con la consulta.
+     */
+    private long total;
+
+    /**
+     * Número de página devuelto, empezando en 0.
+     */
+    private int pagina;
+
+    /**
+     * Tamaño de página aplicado tras recortar al máximo configurado.
+     */
+    private int tamanio;
+}
@@ -0,0 +1,41 @@
+package com.example.tareas.dto;
+
+import com.example.tareas.model.Tarea;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Clase DTO con el resultado de una creación de tareas por lotes.
+ * <p>
+ * Los elementos válidos se persisten y se devuelven con su ID asignado;
+ * los inválidos se informan individualmente con su posición en el lote,
+ * sin impedir la creación del resto.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoLote {
+
+    /**
+     * Número de tareas recibidas en el lote.
+     */
+    private int recibidas;
+
+    /**
+     * Tareas creadas, en el mismo orden relativo en que se recibieron.
+     */
+    private List<Tarea> creadas;
+
+    /**
+     * Errores de validación de los elementos rechazados.
+     */
+    private List<ErrorLote> errores;
+}
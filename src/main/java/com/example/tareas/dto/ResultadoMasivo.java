@@ -0,0 +1,24 @@
+package com.example.tareas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Clase DTO con el resultado de una operación masiva sobre tareas existentes.
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoMasivo {
+
+    /**
+     * Número de tareas modificadas o eliminadas. No incluye las que no
+     * existen ni las que ya estaban en el estado pedido.
+     */
+    private long afectadas;
+}
@@ -0,0 +1,38 @@
+package com.example.tareas.dto;
+
+import lombok.Value;
+
+/**
+ * Proyección de una tarea sin la descripción.
+ * <p>
+ * Es la que se usa cuando el cliente no pide la {@code descripcion}, la
+ * columna más grande de la tabla, que así no llega a leerse.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Value
+public class ResumenTarea implements ProyeccionTarea {
+
+    /**
+     * Identificador de la tarea.
+     */
+    Long id;
+
+    /**
+     * Título de la tarea.
+     */
+    String titulo;
+
+    /**
+     * Estado de completitud.
+     */
+    boolean completada;
+
+    /**
+     * Versión de la tarea, usada para la ETag.
+     */
+    long version;
+}
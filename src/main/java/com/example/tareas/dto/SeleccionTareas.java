@@ -0,0 +1,35 @@
+package com.example.tareas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Clase DTO con las tareas a las que se aplica una operación masiva.
+ * <p>
+ * Se seleccionan por sus IDs, por su estado de completitud o por ambos
+ * (las tareas de la lista con ese estado). Al menos uno de los dos criterios
+ * es obligatorio, para que una petición vacía no afecte a todas las tareas.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SeleccionTareas {
+
+    /**
+     * IDs de las tareas, o {@code null} para no filtrar por ID.
+     */
+    private List<Long> ids;
+
+    /**
+     * Estado de completitud de las tareas, o {@code null} para no filtrar por estado.
+     */
+    private Boolean completada;
+}
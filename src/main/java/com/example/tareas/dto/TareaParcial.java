@@ -0,0 +1,38 @@
+package com.example.tareas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Clase DTO con los cambios de una actualización parcial de una tarea.
+ * <p>
+ * Solo se modifican los campos presentes (no nulos); los campos ausentes
+ * conservan su valor actual. Por ello, con esta operación no es posible
+ * vaciar la descripción: para ello debe usarse la actualización completa.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TareaParcial {
+
+    /**
+     * Nuevo título de la tarea, o {@code null} para no modificarlo.
+     */
+    private String titulo;
+
+    /**
+     * Nueva descripción de la tarea, o {@code null} para no modificarla.
+     */
+    private String descripcion;
+
+    /**
+     * Nuevo estado de completitud, o {@code null} para no modificarlo.
+     */
+    private Boolean completada;
+}
@@ -0,0 +1,77 @@
+package com.example.tareas.dto;
+
+import com.example.tareas.model.Tarea;
+import lombok.Value;
+
+/**
+ * Proyección de una tarea con todas sus columnas.
+ * <p>
+ * Se usa cuando el cliente pide la {@code descripcion} junto con otros
+ * campos: lee las mismas columnas que la entidad, pero sin crear una
+ * entidad gestionada.
+ * </p>
+ * <p>
+ * Al ser inmutable, es también el valor que guarda la caché {@code tareas}:
+ * cada lectura de la caché devuelve una {@link Tarea} nueva, por lo que
+ * modificarla no altera la entrada.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Value
+public class VistaTarea implements ProyeccionTarea {
+
+    /**
+     * Identificador de la tarea.
+     */
+    Long id;
+
+    /**
+     * Título de la tarea.
+     */
+    String titulo;
+
+    /**
+     * Descripción de la tarea.
+     */
+    String descripcion;
+
+    /**
+     * Estado de completitud.
+     */
+    boolean completada;
+
+    /**
+     * Versión de la tarea, usada para la ETag.
+     */
+    long version;
+
+    /**
+     * Crea la vista con los datos actuales de una tarea.
+     *
+     * @param tarea tarea de origen
+     * @return vista inmutable de la tarea
+     */
+    public static VistaTarea de(Tarea tarea) {
+        return new VistaTarea(tarea.getId(), tarea.getTitulo(), tarea.getDescripcion(),
+                tarea.isCompletada(), tarea.getVersion());
+    }
+
+    /**
+     * Convierte la vista en una {@link Tarea} no gestionada, tal como se
+     * devuelve en la API.
+     *
+     * @return tarea nueva con los mismos datos
+     */
+    public Tarea aTarea() {
+        Tarea tarea = new Tarea();
+        tarea.setId(id);
+        tarea.setTitulo(titulo);
+        tarea.setDescripcion(descripcion);
+        tarea.setCompletada(completada);
+        tarea.setVersion(version);
+        return tarea;
+    }
+}
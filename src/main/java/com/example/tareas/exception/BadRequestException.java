@@ -7,6 +7,10 @@ package com.example.tareas.exception;
  * no cumplen con los requisitos de validación o formato esperados.
  * Típicamente resulta en un código de estado HTTP 400 (Bad Request).
  * </p>
+ * <p>
+ * Como {@link ResourceNotFoundException}, se crea sin traza de pila: el
+ * mensaje ya explica qué dato del cliente es inválido.
+ * </p>
  *
  * @author Desarrollador
  * @version 1.0.0
@@ -21,6 +25,6 @@ public class BadRequestException extends RuntimeException {
      * @param message mensaje descriptivo del error de validación
      */
     public BadRequestException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
\ No newline at end of file
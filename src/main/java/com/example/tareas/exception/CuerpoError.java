@@ -0,0 +1,83 @@
+package com.example.tareas.exception;
+
+import com.example.tareas.dto.ErrorResponse;
+import org.springframework.http.HttpStatus;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Construye el cuerpo común de las respuestas de error de la API.
+ * <p>
+ * Devuelve un {@link ErrorResponse} que se serializa con los conversores de
+ * mensajes, de modo que el error llega en el formato negociado con la
+ * cabecera {@code Accept} (JSON o CBOR). La marca de tiempo se calcula una
+ * vez por segundo y se reutiliza, por lo que tiene precisión de segundos.
+ * </p>
+ * <p>
+ * Además de {@link GlobalExceptionHandler}, lo usan los filtros que
+ * responden antes de llegar a los controladores, para que sus errores
+ * tengan el mismo formato.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see GlobalExceptionHandler
+ */
+public final class CuerpoError {
+
+    /**
+     * Valor de {@code Retry-After}: segundos que se sugiere esperar antes de reintentar tras una saturación.
+     */
+    public static final String SEGUNDOS_REINTENTO = "1";
+
+    private static final ZoneId ZONA = ZoneId.systemDefault();
+
+    /**
+     * Última marca de tiempo calculada; se sustituye como un todo al cambiar de segundo.
+     */
+    private static volatile Marca marca = new Marca(Long.MIN_VALUE, null);
+
+    private CuerpoError() {
+    }
+
+    /**
+     * Construye el cuerpo de un error.
+     *
+     * @param estado código de estado HTTP
+     * @param mensaje mensaje para el cliente, o {@code null}
+     * @param ruta ruta de la solicitud
+     * @return error con {@code timestamp}, {@code status}, {@code error}, {@code message} y {@code path}
+     */
+    public static ErrorResponse crear(HttpStatus estado, String mensaje, String ruta) {
+        return new ErrorResponse(marcaActual(), estado.value(), estado.getReasonPhrase(), mensaje, ruta);
+    }
+
+    /**
+     * Obtiene la marca de tiempo del segundo actual.
+     *
+     * @return fecha y hora local sin fracción de segundo
+     */
+    static LocalDateTime marcaActual() {
+        long segundo = Math.floorDiv(System.currentTimeMillis(), 1000);
+        Marca actual = marca;
+        if (actual.segundo() != segundo) {
+            ZoneOffset desfase = ZONA.getRules().getOffset(Instant.ofEpochSecond(segundo));
+            actual = new Marca(segundo, LocalDateTime.ofEpochSecond(segundo, 0, desfase));
+            marca = actual;
+        }
+        return actual.fecha();
+    }
+
+    /**
+     * Marca de tiempo de un segundo.
+     *
+     * @param segundo segundos desde la época
+     * @param fecha fecha y hora local de ese segundo
+     */
+    private record Marca(long segundo, LocalDateTime fecha) {
+    }
+}
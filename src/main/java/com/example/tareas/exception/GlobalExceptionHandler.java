@@ -1,15 +1,22 @@
 package com.example.tareas.exception;
 
+import com.example.tareas.config.MetricasConfig;
 import com.example.tareas.dto.ErrorResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
-import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Manejador global de excepciones para la API REST.
@@ -19,6 +26,21 @@ import java.time.LocalDateTime;
  * estructurada. Utiliza {@link RestControllerAdvice} para aplicar el
  * manejo de excepciones a todos los controladores REST.
  * </p>
+ * <p>
+ * Cada error se contabiliza en la métrica {@code tareas.errores}, etiquetada
+ * por tipo ({@code validacion}, {@code no_encontrada}, {@code precondicion}
+ * o {@code interno}).
+ * </p>
+ * <p>
+ * Los errores del cliente (4xx) son parte del funcionamiento normal de la
+ * API, así que su camino evita asignaciones innecesarias: las excepciones de
+ * dominio no capturan la traza de pila, la marca de tiempo del
+ * {@link ErrorResponse} se reutiliza durante cada segundo ({@link CuerpoError})
+ * y solo se registran a nivel {@code DEBUG}. El cuerpo se devuelve como
+ * objeto, así que se serializa en el formato que pide la cabecera
+ * {@code Accept} (JSON o CBOR), como las respuestas correctas. Los errores del servidor se registran como {@code WARN}
+ * (saturación) o {@code ERROR} (errores internos, con su traza).
+ * </p>
  *
  * @author Desarrollador
  * @version 1.0.0
@@ -34,6 +56,78 @@ public class GlobalExceptionHandler {
      */
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    /**
+     * Tipos en los que los conversores de mensajes pueden escribir el cuerpo de error.
+     */
+    private static final List<MediaType> TIPOS_ERROR = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+
+    /**
+     * Cabeceras de las respuestas de error que no admiten ninguno de {@link #TIPOS_ERROR}, como el feed SSE.
+     */
+    private static final HttpHeaders CABECERAS_JSON = cabeceras(true, false);
+
+    /**
+     * Cabeceras de las respuestas 503, con {@code Retry-After}.
+     */
+    private static final HttpHeaders CABECERAS_REINTENTO = cabeceras(false, true);
+
+    /**
+     * Cabeceras de las respuestas 503 que no admiten ninguno de {@link #TIPOS_ERROR}.
+     */
+    private static final HttpHeaders CABECERAS_REINTENTO_JSON = cabeceras(true, true);
+
+    /**
+     * Contador de solicitudes rechazadas por datos inválidos.
+     */
+    private final Counter erroresValidacion;
+
+    /**
+     * Contador de solicitudes sobre recursos inexistentes.
+     */
+    private final Counter erroresNoEncontrada;
+
+    /**
+     * Contador de actualizaciones rechazadas por conflicto de versión.
+     */
+    private final Counter erroresPrecondicion;
+
+    /**
+     * Contador de escrituras rechazadas por saturación de la cola.
+     */
+    private final Counter erroresSaturacion;
+
+    /**
+     * Contador de errores internos no previstos.
+     */
+    private final Counter erroresInternos;
+
+    /**
+     * Constructor que registra los contadores de errores.
+     *
+     * @param registry registro de métricas de la aplicación
+     */
+    public GlobalExceptionHandler(MeterRegistry registry) {
+        this.erroresValidacion = contador(registry, "validacion");
+        this.erroresNoEncontrada = contador(registry, "no_encontrada");
+        this.erroresPrecondicion = contador(registry, "precondicion");
+        this.erroresSaturacion = contador(registry, "saturacion");
+        this.erroresInternos = contador(registry, "interno");
+    }
+
+    /**
+     * Crea el contador de errores para el tipo indicado.
+     *
+     * @param registry registro de métricas
+     * @param tipo tipo de error usado como etiqueta
+     * @return contador registrado
+     */
+    private static Counter contador(MeterRegistry registry, String tipo) {
+        return Counter.builder(MetricasConfig.METRICA_ERRORES)
+                .description("Errores devueltos por la API de tareas")
+                .tag("tipo", tipo)
+                .register(registry);
+    }
+
     /**
      * Maneja las excepciones de tipo {@link ResourceNotFoundException}.
      * <p>
@@ -48,17 +142,52 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
             ResourceNotFoundException ex, WebRequest request) {
 
-        logger.error("Recurso no encontrado: {}", ex.getMessage());
+        logger.debug("Recurso no encontrado: {}", ex.getMessage());
+        erroresNoEncontrada.increment();
+
+        return respuesta(HttpStatus.NOT_FOUND, ex.getMessage(), request);
+    }
+
+    /**
+     * Maneja las excepciones de tipo {@link ServiceUnavailableException}.
+     * <p>
+     * Retorna un código de estado HTTP 503 (Service Unavailable) con la
+     * cabecera {@code Retry-After}, para que el cliente reintente más tarde.
+     * </p>
+     *
+     * @param ex excepción capturada
+     * @param request información de la solicitud web
+     * @return ResponseEntity con el error y código HTTP 503
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(
+            ServiceUnavailableException ex, WebRequest request) {
+
+        logger.warn("Servicio saturado: {}", ex.getMessage());
+        erroresSaturacion.increment();
+
+        return new ResponseEntity<>(CuerpoError.crear(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), ruta(request)),
+                negociable(request) ? CABECERAS_REINTENTO : CABECERAS_REINTENTO_JSON, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Maneja las excepciones de tipo {@link PreconditionFailedException}.
+     * <p>
+     * Retorna un código de estado HTTP 412 (Precondition Failed) con los detalles del error.
+     * </p>
+     *
+     * @param ex excepción capturada
+     * @param request información de la solicitud web
+     * @return ResponseEntity con el error y código HTTP 412
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(
+            PreconditionFailedException ex, WebRequest request) {
 
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.NOT_FOUND.value(),
-                "Not Found",
-                ex.getMessage(),
-                request.getDescription(false). replace("uri=", "")
-        );
+        logger.debug("Precondición fallida: {}", ex.getMessage());
+        erroresPrecondicion.increment();
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+        return respuesta(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), request);
     }
 
     /**
@@ -75,17 +204,10 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleBadRequestException(
             BadRequestException ex, WebRequest request) {
 
-        logger.error("Solicitud incorrecta: {}", ex.getMessage());
-
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.BAD_REQUEST.value(),
-                "Bad Request",
-                ex.getMessage(),
-                request.getDescription(false).replace("uri=", "")
-        );
+        logger.debug("Solicitud incorrecta: {}", ex.getMessage());
+        erroresValidacion.increment();
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return respuesta(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
     }
 
     /**
@@ -102,17 +224,10 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
             IllegalArgumentException ex, WebRequest request) {
 
-        logger.error("Argumento ilegal: {}", ex.getMessage());
-
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.BAD_REQUEST.value(),
-                "Bad Request",
-                ex.getMessage(),
-                request.getDescription(false).replace("uri=", "")
-        );
+        logger.debug("Argumento ilegal: {}", ex.getMessage());
+        erroresValidacion.increment();
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        return respuesta(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
     }
 
     /**
@@ -131,15 +246,87 @@ public class GlobalExceptionHandler {
             Exception ex, WebRequest request) {
 
         logger.error("Error interno del servidor: ", ex);
+        erroresInternos.increment();
+
+        return respuesta(HttpStatus.INTERNAL_SERVER_ERROR, "Ha ocurrido un error inesperado en el servidor", request);
+    }
 
-        ErrorResponse errorResponse = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                "Internal Server Error",
-                "Ha ocurrido un error inesperado en el servidor",
-                request.getDescription(false).replace("uri=", "")
-        );
+    /**
+     * Construye la respuesta de error común a los manejadores.
+     *
+     * @param estado código de estado HTTP
+     * @param mensaje mensaje para el cliente
+     * @param request información de la solicitud web
+     * @return ResponseEntity con el cuerpo del error
+     */
+    private static ResponseEntity<ErrorResponse> respuesta(HttpStatus estado, String mensaje, WebRequest request) {
+        return new ResponseEntity<>(CuerpoError.crear(estado, mensaje, ruta(request)),
+                negociable(request) ? null : CABECERAS_JSON, estado);
+    }
+
+    /**
+     * Indica si el formato del cuerpo de error se puede negociar con la cabecera {@code Accept}.
+     * <p>
+     * Las peticiones que solo aceptan otros formatos (por ejemplo
+     * {@code text/event-stream}) reciben el error en JSON: si se negociara,
+     * ningún conversor podría escribirlo y el error se perdería.
+     * </p>
+     *
+     * @param request información de la solicitud web
+     * @return {@code true} si la petición no indica {@code Accept} o acepta JSON o CBOR
+     */
+    private static boolean negociable(WebRequest request) {
+        String[] valores = request.getHeaderValues(HttpHeaders.ACCEPT);
+        if (valores == null) {
+            return true;
+        }
+        try {
+            for (String valor : valores) {
+                for (MediaType aceptado : MediaType.parseMediaTypes(valor)) {
+                    for (MediaType tipo : TIPOS_ERROR) {
+                        if (aceptado.isCompatibleWith(tipo)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return false;
+    }
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    /**
+     * Crea las cabeceras de solo lectura de las respuestas de error, compartidas para no crearlas en cada una.
+     *
+     * @param json si se fija el tipo de contenido JSON en lugar de negociarlo
+     * @param reintento si se incluye la cabecera {@code Retry-After}
+     * @return cabeceras de la respuesta
+     */
+    private static HttpHeaders cabeceras(boolean json, boolean reintento) {
+        HttpHeaders cabeceras = new HttpHeaders();
+        if (json) {
+            cabeceras.setContentType(MediaType.APPLICATION_JSON);
+        }
+        if (reintento) {
+            cabeceras.set(HttpHeaders.RETRY_AFTER, CuerpoError.SEGUNDOS_REINTENTO);
+        }
+        return HttpHeaders.readOnlyHttpHeaders(cabeceras);
+    }
+
+    /**
+     * Obtiene la ruta de la solicitud sin construir su descripción completa.
+     *
+     * @param request información de la solicitud web
+     * @return URI de la solicitud
+     */
+    private static String ruta(WebRequest request) {
+        if (request instanceof NativeWebRequest nativa) {
+            HttpServletRequest servlet = nativa.getNativeRequest(HttpServletRequest.class);
+            if (servlet != null) {
+                return servlet.getRequestURI();
+            }
+        }
+        return request.getDescription(false).replace("uri=", "");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package com.example.tareas.exception;
+
+/**
+ * Excepción para indicar que falló una precondición de la solicitud.
+ * <p>
+ * Esta excepción se lanza cuando la versión indicada por el cliente en la
+ * cabecera {@code If-Match} ya no coincide con la versión actual del recurso,
+ * es decir, cuando otro cliente lo modificó entre medias.
+ * Típicamente resulta en un código de estado HTTP 412 (Precondition Failed).
+ * Se crea sin traza de pila: un conflicto de versión es un resultado normal
+ * del control de concurrencia optimista, no un fallo del servidor.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see RuntimeException
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * Crea una nueva excepción de precondición fallida para el recurso indicado.
+     *
+     * @param resource nombre del tipo de recurso
+     * @param id identificador del recurso
+     */
+    public PreconditionFailedException(String resource, Long id) {
+        super(resource + " con ID " + id + " fue modificado por otra solicitud", null, false, false);
+    }
+}
@@ -7,6 +7,11 @@ package com.example.tareas.exception;
  * que no existe en el sistema. Típicamente resulta en un código
  * de estado HTTP 404 (Not Found).
  * </p>
+ * <p>
+ * No captura la traza de pila ni admite excepciones suprimidas: los clientes
+ * consultan a menudo IDs ya eliminados, y recorrer la pila en cada 404 es
+ * un coste sin utilidad para diagnosticar un error esperado.
+ * </p>
  *
  * @author Desarrollador
  * @version 1.0.0
@@ -21,7 +26,7 @@ public class ResourceNotFoundException extends RuntimeException {
      * @param message mensaje descriptivo del error
      */
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     /**
@@ -31,6 +36,6 @@ public class ResourceNotFoundException extends RuntimeException {
      * @param id identificador del recurso buscado
      */
     public ResourceNotFoundException(String resource, Long id) {
-        super(String.format("%s con ID %d no encontrado", resource, id));
+        this(resource + " con ID " + id + " no encontrado");
     }
 }
\ No newline at end of file
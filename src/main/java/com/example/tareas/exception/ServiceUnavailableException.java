@@ -0,0 +1,29 @@
+package com.example.tareas.exception;
+
+/**
+ * Excepción para indicar que el servicio no puede aceptar la solicitud por saturación.
+ * <p>
+ * Esta excepción se lanza cuando la cola de escrituras agrupadas está llena,
+ * de modo que el cliente reduzca el ritmo y reintente en lugar de acumular
+ * trabajo sin límite en memoria.
+ * Típicamente resulta en un código de estado HTTP 503 (Service Unavailable).
+ * Se crea sin traza de pila, ya que se lanza justo cuando el servicio está
+ * más cargado.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see RuntimeException
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Crea una nueva excepción de servicio no disponible con el mensaje especificado.
+     *
+     * @param message mensaje descriptivo del motivo
+     */
+    public ServiceUnavailableException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.tareas.idempotencia;
+
+import com.example.tareas.config.TareasProperties;
+import com.example.tareas.exception.BadRequestException;
+import com.example.tareas.exception.ServiceUnavailableException;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Almacén en memoria de claves de idempotencia, acotado y con caducidad.
+ * <p>
+ * Las claves se reparten por su hash entre {@code tareas.idempotencia.franjas}
+ * franjas, cada una con su propio cerrojo y su mapa, así que las peticiones
+ * con claves distintas casi nunca compiten por el mismo cerrojo, y nunca
+ * mientras se ejecuta la operación: el cerrojo solo protege la consulta y el
+ * registro de la clave. Cada franja guarda sus claves en orden de llegada;
+ * como todas caducan tras el mismo tiempo, las caducadas están siempre al
+ * principio y se eliminan sin recorrer el mapa. Al superar su capacidad, la
+ * franja olvida la clave más antigua.
+ * </p>
+ * <p>
+ * La primera petición con una clave ejecuta la operación. Las que llegan
+ * mientras tanto esperan su resultado y las posteriores lo reciben
+ * directamente, sin volver a ejecutarla. Si la operación falla, la clave se
+ * olvida para que el cliente pueda reintentar, y las peticiones que
+ * esperaban reciben el mismo error.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see IdempotenciaTareas
+ */
+public class AlmacenIdempotencia {
+
+    private final Franja[] franjas;
+
+    /**
+     * Desplazamiento que deja en los bits bajos los que eligen la franja.
+     */
+    private final int desplazamiento;
+
+    private final long retencionNanos;
+
+    private final long esperaNanos;
+
+    /**
+     * Crea el almacén a partir de su configuración.
+     *
+     * @param configuracion capacidad, número de franjas, retención y espera máxima
+     */
+    public AlmacenIdempotencia(TareasProperties.Idempotencia configuracion) {
+        int numero = Integer.highestOneBit(Math.max(1, configuracion.getFranjas()) * 2 - 1);
+        int capacidad = Math.max(1, configuracion.getMaximoClaves() / numero);
+        this.franjas = new Franja[numero];
+        for (int i = 0; i < numero; i++) {
+            franjas[i] = new Franja(capacidad);
+        }
+        this.desplazamiento = Integer.numberOfLeadingZeros(numero) + 1;
+        this.retencionNanos = configuracion.getRetencion().toNanos();
+        this.esperaNanos = configuracion.getEspera().toNanos();
+    }
+
+    /**
+     * Ejecuta una operación una sola vez por clave.
+     *
+     * @param clave clave de idempotencia
+     * @param huella huella del cuerpo de la petición
+     * @param operacion operación a ejecutar si la clave es nueva
+     * @return respuesta de la operación, marcada como repetida si no se ha ejecutado ahora
+     * @throws BadRequestException si la clave ya se usó con un cuerpo distinto
+     * @throws ServiceUnavailableException si la petición original no termina a tiempo
+     */
+    public RespuestaIdempotente ejecutar(String clave, String huella, Supplier<RespuestaIdempotente> operacion) {
+        Franja franja = franjas[indice(clave)];
+        long ahora = System.nanoTime();
+        Entrada entrada;
+        boolean propia = false;
+        franja.cerrojo.lock();
+        try {
+            franja.eliminarCaducadas(ahora, retencionNanos);
+            entrada = franja.entradas.get(clave);
+            if (entrada == null) {
+                entrada = new Entrada(huella, ahora);
+                franja.entradas.put(clave, entrada);
+                propia = true;
+            }
+        } finally {
+            franja.cerrojo.unlock();
+        }
+
+        if (!entrada.huella.equals(huella)) {
+            throw new BadRequestException("La clave de idempotencia ya se usó con otra petición");
+        }
+        if (!propia) {
+            return esperar(entrada).comoRepetida();
+        }
+        try {
+            RespuestaIdempotente respuesta = operacion.get();
+            entrada.resultado.complete(respuesta);
+            return respuesta;
+        } catch (RuntimeException e) {
+            franja.cerrojo.lock();
+            try {
+                franja.entradas.remove(clave, entrada);
+            } finally {
+                franja.cerrojo.unlock();
+            }
+            entrada.resultado.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Espera el resultado de la petición original.
+     *
+     * @param entrada entrada de la clave
+     * @return respuesta de la petición original
+     */
+    private RespuestaIdempotente esperar(Entrada entrada) {
+        try {
+            return entrada.resultado.get(esperaNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("La petición original con esta clave de idempotencia sigue en curso");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Espera interrumpida");
+        }
+    }
+
+    /**
+     * Elige la franja de una clave con los bits altos de su hash multiplicativo.
+     * <p>
+     * No se usan los bits bajos del hash, que son los que eligen la cubeta
+     * dentro del mapa de cada franja: todas las claves de una franja caerían
+     * en una fracción de las cubetas.
+     * </p>
+     */
+    private int indice(String clave) {
+        return (int) (((clave.hashCode() * 0x9E3779B9L) & 0xFFFFFFFFL) >>> desplazamiento);
+    }
+
+    /**
+     * Respuesta de una clave: pendiente mientras la petición original no termina.
+     */
+    private static final class Entrada {
+
+        private final String huella;
+
+        private final long creada;
+
+        private final CompletableFuture<RespuestaIdempotente> resultado = new CompletableFuture<>();
+
+        private Entrada(String huella, long creada) {
+            this.huella = huella;
+            this.creada = creada;
+        }
+    }
+
+    /**
+     * Parte de las claves protegida por un mismo cerrojo.
+     */
+    private static final class Franja {
+
+        private final ReentrantLock cerrojo = new ReentrantLock();
+
+        /**
+         * Claves en orden de llegada; elimina la más antigua al superar la capacidad.
+         */
+        private final LinkedHashMap<String, Entrada> entradas;
+
+        private Franja(int capacidad) {
+            this.entradas = new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entrada> mayor) {
+                    return size() > capacidad;
+                }
+            };
+        }
+
+        /**
+         * Elimina las claves caducadas, que están al principio del mapa.
+         */
+        private void eliminarCaducadas(long ahora, long retencionNanos) {
+            Iterator<Entrada> iterador = entradas.values().iterator();
+            while (iterador.hasNext() && ahora - iterador.next().creada > retencionNanos) {
+                iterador.remove();
+            }
+        }
+    }
+}
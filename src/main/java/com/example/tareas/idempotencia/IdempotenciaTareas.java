@@ -0,0 +1,144 @@
+package com.example.tareas.idempotencia;
+
+import com.example.tareas.config.TareasProperties;
+import com.example.tareas.exception.BadRequestException;
+import com.example.tareas.exception.ServiceUnavailableException;
+import com.example.tareas.model.Tarea;
+import com.example.tareas.service.TareaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Creación de tareas con clave de idempotencia ({@code Idempotency-Key}).
+ * <p>
+ * Un cliente que reintenta {@code POST /api/tareas} tras un timeout envía la
+ * misma clave, y la tarea se crea una sola vez: las peticiones concurrentes
+ * con la misma clave esperan a la primera y las posteriores reciben su
+ * respuesta, marcada con {@value #CABECERA_REPETIDA}. Reutilizar una clave
+ * con un cuerpo distinto es un error del cliente.
+ * </p>
+ * <p>
+ * Las claves se recuerdan en memoria ({@link AlmacenIdempotencia}) durante
+ * {@code tareas.idempotencia.retencion}. Con
+ * {@code tareas.idempotencia.persistente=true} se guardan además en la base
+ * de datos ({@link TablaIdempotencia}), de modo que también se reconocen
+ * cuando el reintento llega a otra instancia o tras un reinicio.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Service
+public class IdempotenciaTareas {
+
+    /**
+     * Cabecera con la clave de idempotencia de la petición.
+     */
+    public static final String CABECERA_CLAVE = "Idempotency-Key";
+
+    /**
+     * Cabecera que marca una respuesta repetida de una petición anterior.
+     */
+    public static final String CABECERA_REPETIDA = "Idempotent-Replayed";
+
+    /**
+     * Longitud máxima de una clave, la de la columna de la tabla.
+     */
+    private static final int LONGITUD_MAXIMA_CLAVE = 255;
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotenciaTareas.class);
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final TareaService service;
+
+    private final AlmacenIdempotencia almacen;
+
+    /**
+     * Tabla de claves, o {@code null} si solo se guardan en memoria.
+     */
+    private final TablaIdempotencia tabla;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param service servicio de tareas
+     * @param properties propiedades de configuración de la aplicación
+     * @param tabla tabla de claves, disponible con {@code tareas.idempotencia.persistente=true}
+     */
+    public IdempotenciaTareas(TareaService service, TareasProperties properties,
+                              ObjectProvider<TablaIdempotencia> tabla) {
+        this.service = service;
+        this.almacen = new AlmacenIdempotencia(properties.getIdempotencia());
+        this.tabla = tabla.getIfAvailable();
+    }
+
+    /**
+     * Crea una tarea una sola vez por clave.
+     *
+     * @param clave valor de la cabecera {@value #CABECERA_CLAVE}
+     * @param tarea tarea a crear
+     * @return tarea creada, o la creada por una petición anterior con la misma clave
+     * @throws BadRequestException si la clave no es válida, se usó con otro cuerpo o la tarea no es válida
+     * @throws ServiceUnavailableException si la petición original con la clave sigue en curso
+     */
+    public RespuestaIdempotente crear(String clave, Tarea tarea) {
+        if (clave.isBlank() || clave.length() > LONGITUD_MAXIMA_CLAVE) {
+            throw new BadRequestException("La clave de idempotencia debe tener entre 1 y "
+                    + LONGITUD_MAXIMA_CLAVE + " caracteres");
+        }
+        String huella = huella(tarea);
+        RespuestaIdempotente respuesta = almacen.ejecutar(clave, huella, () -> tabla == null
+                ? new RespuestaIdempotente(service.crear(tarea), false)
+                : tabla.crear(clave, huella, () -> service.crear(tarea)));
+        if (respuesta.repetida()) {
+            logger.debug("Repetida la respuesta de la clave de idempotencia {}", clave);
+        }
+        return respuesta;
+    }
+
+    /**
+     * Calcula la huella del cuerpo de una petición de creación.
+     *
+     * @param tarea tarea recibida
+     * @return SHA-256 en hexadecimal del título, la descripción y el estado
+     */
+    private static String huella(Tarea tarea) {
+        if (tarea == null) {
+            return "";
+        }
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            actualizar(sha, tarea.getTitulo());
+            actualizar(sha, tarea.getDescripcion());
+            sha.update((byte) (tarea.isCompletada() ? 1 : 0));
+            return HEX.formatHex(sha.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Añade un campo a la huella, distinguiendo {@code null} de la cadena vacía.
+     */
+    private static void actualizar(MessageDigest sha, String campo) {
+        if (campo == null) {
+            sha.update((byte) 0);
+            return;
+        }
+        sha.update((byte) 1);
+        byte[] bytes = campo.getBytes(StandardCharsets.UTF_8);
+        int longitud = bytes.length;
+        sha.update(new byte[]{(byte) (longitud >>> 24), (byte) (longitud >>> 16), (byte) (longitud >>> 8),
+                (byte) longitud});
+        sha.update(bytes);
+    }
+}
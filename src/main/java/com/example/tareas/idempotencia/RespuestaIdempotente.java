@@ -0,0 +1,24 @@
+package com.example.tareas.idempotencia;
+
+import com.example.tareas.model.Tarea;
+
+/**
+ * Resultado de una creación con clave de idempotencia.
+ *
+ * @param tarea tarea creada, tal como se devolvió la primera vez
+ * @param repetida {@code true} si la tarea se creó en una petición anterior con la misma clave
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+public record RespuestaIdempotente(Tarea tarea, boolean repetida) {
+
+    /**
+     * Obtiene la misma respuesta marcada como repetida.
+     *
+     * @return respuesta con {@code repetida} a {@code true}
+     */
+    public RespuestaIdempotente comoRepetida() {
+        return repetida ? this : new RespuestaIdempotente(tarea, true);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.tareas.idempotencia;
+
+import com.example.tareas.config.TareasProperties;
+import com.example.tareas.exception.BadRequestException;
+import com.example.tareas.exception.ServiceUnavailableException;
+import com.example.tareas.model.ClaveIdempotencia;
+import com.example.tareas.model.Tarea;
+import com.example.tareas.repository.ClaveIdempotenciaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Claves de idempotencia guardadas en la tabla {@code tareas_idempotencia},
+ * compartida por todas las instancias.
+ * <p>
+ * Se activa con {@code tareas.idempotencia.persistente=true}. La clave se
+ * reserva con un {@code INSERT} en la misma transacción que crea la tarea,
+ * así que, aunque dos instancias reciban la misma clave a la vez, la clave
+ * primaria solo deja confirmar a una: la otra espera a que termine, falla
+ * al insertar y devuelve la respuesta guardada. Las consultas se hacen en
+ * transacciones de escritura para leer siempre de la primaria, aunque haya
+ * réplica de lectura.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see ClaveIdempotencia
+ */
+@Component
+@ConditionalOnProperty(prefix = "tareas.idempotencia", name = "persistente", havingValue = "true")
+public class TablaIdempotencia {
+
+    private static final Logger logger = LoggerFactory.getLogger(TablaIdempotencia.class);
+
+    private final ClaveIdempotenciaRepository repository;
+
+    private final TransactionTemplate transacciones;
+
+    private final ObjectMapper objectMapper;
+
+    private final TareasProperties.Idempotencia configuracion;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param repository repositorio de la tabla de claves
+     * @param transacciones plantilla de transacciones de la aplicación
+     * @param objectMapper mapper JSON con el que se guardan las respuestas
+     * @param properties propiedades de configuración de la aplicación
+     */
+    public TablaIdempotencia(ClaveIdempotenciaRepository repository, TransactionTemplate transacciones,
+                             ObjectMapper objectMapper, TareasProperties properties) {
+        this.repository = repository;
+        this.transacciones = transacciones;
+        this.objectMapper = objectMapper;
+        this.configuracion = properties.getIdempotencia();
+    }
+
+    /**
+     * Crea una tarea si la clave no está en la tabla, o devuelve la respuesta guardada.
+     *
+     * @param clave clave de idempotencia
+     * @param huella huella del cuerpo de la petición
+     * @param creacion creación de la tarea, que se ejecuta dentro de la transacción de la reserva
+     * @return tarea creada ahora o respuesta guardada
+     * @throws BadRequestException si la clave ya se usó con un cuerpo distinto
+     * @throws ServiceUnavailableException si la clave está reservada pero su transacción no ha confirmado
+     */
+    public RespuestaIdempotente crear(String clave, String huella, Supplier<Tarea> creacion) {
+        try {
+            return transacciones.execute(estado -> {
+                Optional<ClaveIdempotencia> guardada = repository.findById(clave);
+                if (guardada.isPresent()) {
+                    return repetir(guardada.get(), huella);
+                }
+                repository.reservar(clave, huella, LocalDateTime.now());
+                Tarea creada = creacion.get();
+                repository.guardarRespuesta(clave, aJson(creada));
+                return new RespuestaIdempotente(creada, false);
+            });
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Clave de idempotencia reservada por otra petición: {}", clave);
+            return transacciones.execute(estado -> repository.findById(clave))
+                    .map(otra -> repetir(otra, huella))
+                    .orElseThrow(() -> new ServiceUnavailableException(
+                            "La petición original con esta clave de idempotencia sigue en curso"));
+        }
+    }
+
+    /**
+     * Elimina de la tabla las claves más antiguas que el periodo de retención.
+     *
+     * @return número de claves eliminadas
+     */
+    @Scheduled(fixedDelayString = "${tareas.idempotencia.intervalo-poda:PT1H}")
+    public int podar() {
+        int eliminadas = repository.eliminarAnterioresA(LocalDateTime.now().minus(configuracion.getRetencion()));
+        if (eliminadas > 0) {
+            logger.info("Poda de claves de idempotencia: {} claves eliminadas", eliminadas);
+        }
+        return eliminadas;
+    }
+
+    /**
+     * Construye la respuesta repetida de una clave guardada.
+     *
+     * @param guardada clave leída de la tabla
+     * @param huella huella del cuerpo de la petición actual
+     * @return tarea guardada, marcada como repetida
+     */
+    private RespuestaIdempotente repetir(ClaveIdempotencia guardada, String huella) {
+        if (!guardada.getHuella().equals(huella)) {
+            throw new BadRequestException("La clave de idempotencia ya se usó con otra petición");
+        }
+        if (guardada.getRespuesta() == null) {
+            throw new ServiceUnavailableException("La petición original con esta clave de idempotencia sigue en curso");
+        }
+        try {
+            return new RespuestaIdempotente(objectMapper.readValue(guardada.getRespuesta(), Tarea.class), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Respuesta guardada ilegible para la clave " + guardada.getClave(), e);
+        }
+    }
+
+    private String aJson(Tarea tarea) {
+        try {
+            return objectMapper.writeValueAsString(tarea);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo guardar la respuesta de la tarea " + tarea.getId(), e);
+        }
+    }
+}
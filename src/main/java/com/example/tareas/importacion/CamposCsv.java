@@ -0,0 +1,88 @@
+package com.example.tareas.importacion;
+
+import com.example.tareas.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lectura y escritura de campos CSV según RFC 4180: separados por comas y,
+ * si contienen comas, comillas o saltos de línea, entre comillas dobles
+ * (las comillas interiores se duplican).
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+final class CamposCsv {
+
+    private CamposCsv() {
+    }
+
+    /**
+     * Cuenta las comillas dobles de un texto. Un registro está completo
+     * cuando el total es par; si no, continúa en la línea siguiente.
+     *
+     * @param texto línea o registro
+     * @return número de comillas dobles
+     */
+    static int comillas(String texto) {
+        int total = 0;
+        for (int i = texto.indexOf('"'); i >= 0; i = texto.indexOf('"', i + 1)) {
+            total++;
+        }
+        return total;
+    }
+
+    /**
+     * Separa un registro en sus campos.
+     *
+     * @param registro registro completo, que puede ocupar varias líneas
+     * @return campos sin comillas
+     * @throws BadRequestException si un campo entre comillas no se cierra
+     */
+    static List<String> separar(String registro) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < registro.length(); i++) {
+            char c = registro.charAt(i);
+            if (entreComillas) {
+                if (c != '"') {
+                    campo.append(c);
+                } else if (i + 1 < registro.length() && registro.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else {
+                    entreComillas = false;
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        if (entreComillas) {
+            throw new BadRequestException("Hay un campo entre comillas sin cerrar");
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    /**
+     * Escribe un valor como campo CSV, entre comillas si es necesario.
+     *
+     * @param valor valor del campo
+     * @return campo listo para escribir
+     */
+    static String escapar(String valor) {
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0
+                && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.tareas.importacion;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Formatos de fichero admitidos por la importación.
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see ImportadorTareas
+ */
+public enum FormatoImportacion {
+
+    /**
+     * CSV (RFC 4180) separado por comas, con cabecera; las columnas
+     * reconocidas son {@code titulo}, {@code descripcion} y {@code completada}.
+     */
+    CSV,
+
+    /**
+     * Un objeto JSON por línea, como el que genera {@code GET /api/tareas/exportar}.
+     */
+    NDJSON;
+
+    /**
+     * Obtiene el formato a partir de su nombre.
+     *
+     * @param nombre {@code csv}, {@code ndjson} o {@code jsonl}, sin distinguir mayúsculas
+     * @return formato correspondiente
+     * @throws IllegalArgumentException si el nombre no corresponde a ningún formato
+     */
+    public static FormatoImportacion deNombre(String nombre) {
+        return switch (nombre.toLowerCase(Locale.ROOT)) {
+            case "csv" -> CSV;
+            case "ndjson", "jsonl" -> NDJSON;
+            default -> throw new IllegalArgumentException(
+                    "Formato de importación no válido: " + nombre + " (se admiten csv y ndjson)");
+        };
+    }
+
+    /**
+     * Deduce el formato de la extensión del fichero.
+     *
+     * @param archivo ruta del fichero
+     * @return formato correspondiente a la extensión
+     * @throws IllegalArgumentException si la extensión no corresponde a ningún formato
+     */
+    public static FormatoImportacion deRuta(Path archivo) {
+        String nombre = archivo.getFileName().toString();
+        int punto = nombre.lastIndexOf('.');
+        if (punto < 0) {
+            throw new IllegalArgumentException(
+                    "No se puede deducir el formato de " + nombre + "; indíquelo con --formato=csv|ndjson");
+        }
+        return deNombre(nombre.substring(punto + 1));
+    }
+}
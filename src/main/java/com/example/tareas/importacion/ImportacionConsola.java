@@ -0,0 +1,124 @@
+package com.example.tareas.importacion;
+
+import com.example.tareas.TareasApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Modo de importación no interactivo, alternativo al menú de consola.
+ * <p>
+ * Se activa arrancando la aplicación con {@code --importar=ruta};
+ * {@link TareasApplication} activa entonces el perfil {@code importacion},
+ * que no arranca el servidor web ni el menú. Opciones:
+ * </p>
+ * <ul>
+ *   <li>{@code --importar=ruta}: fichero CSV o NDJSON en UTF-8</li>
+ *   <li>{@code --formato=csv|ndjson}: formato, si no se deduce de la extensión</li>
+ *   <li>{@code --rechazos=ruta}: informe CSV de los registros rechazados</li>
+ * </ul>
+ * <p>
+ * Al terminar, la aplicación sale con código 0 si se importaron todos los
+ * registros, 1 si hubo registros rechazados y 2 si la importación no pudo
+ * completarse.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see ImportadorTareas
+ */
+@Component
+@Profile(TareasApplication.PERFIL_IMPORTACION)
+public class ImportacionConsola implements ApplicationRunner, ExitCodeGenerator {
+
+    /**
+     * Logger para registrar los errores de la importación.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ImportacionConsola.class);
+
+    /**
+     * Importador de tareas.
+     */
+    private final ImportadorTareas importador;
+
+    /**
+     * Código de salida de la aplicación.
+     */
+    private int codigoSalida;
+
+    /**
+     * Constructor que inyecta el importador.
+     *
+     * @param importador importador de tareas
+     */
+    public ImportacionConsola(ImportadorTareas importador) {
+        this.importador = importador;
+    }
+
+    /**
+     * Importa el fichero indicado e informa del resultado.
+     *
+     * @param args argumentos de línea de comandos
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        String ruta = opcion(args, TareasApplication.OPCION_IMPORTAR);
+        if (ruta == null || ruta.isBlank()) {
+            System.err.println("✘ Indique el fichero a importar con --importar=ruta");
+            codigoSalida = 2;
+            return;
+        }
+        Path archivo = Path.of(ruta);
+        String formato = opcion(args, "formato");
+        String rechazos = opcion(args, "rechazos");
+
+        try {
+            ResultadoImportacion resultado = importador.importar(archivo,
+                    formato == null ? FormatoImportacion.deRuta(archivo) : FormatoImportacion.deNombre(formato),
+                    rechazos == null ? null : Path.of(rechazos));
+            System.out.printf("✔ Importación finalizada: %d registros, %d tareas importadas, %d rechazados "
+                            + "en %d ms (%d registros/min)%n",
+                    resultado.registros(), resultado.importadas(), resultado.rechazados(),
+                    resultado.duracion().toMillis(), resultado.registrosPorMinuto());
+            if (resultado.rechazados() > 0 && rechazos != null) {
+                System.out.println("Registros rechazados en " + rechazos);
+            }
+            codigoSalida = resultado.rechazados() > 0 ? 1 : 0;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Error al importar {}", archivo, e);
+            System.err.println("✘ Error al importar " + archivo + ": " + e.getMessage());
+            codigoSalida = 2;
+        }
+    }
+
+    /**
+     * Obtiene el código de salida de la aplicación.
+     *
+     * @return 0 si todo se importó, 1 si hubo rechazos, 2 si la importación falló
+     */
+    @Override
+    public int getExitCode() {
+        return codigoSalida;
+    }
+
+    /**
+     * Obtiene el valor de una opción {@code --nombre=valor}.
+     *
+     * @param args argumentos de línea de comandos
+     * @param nombre nombre de la opción
+     * @return último valor de la opción, o {@code null} si no se indicó
+     */
+    private static String opcion(ApplicationArguments args, String nombre) {
+        List<String> valores = args.getOptionValues(nombre);
+        return valores == null || valores.isEmpty() ? null : valores.get(valores.size() - 1);
+    }
+}
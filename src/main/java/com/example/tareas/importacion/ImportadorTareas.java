@@ -0,0 +1,424 @@
+package com.example.tareas.importacion;
+
+import com.example.tareas.config.TareasProperties;
+import com.example.tareas.exception.BadRequestException;
+import com.example.tareas.model.Tarea;
+import com.example.tareas.service.TareaEvento;
+import com.example.tareas.service.ValidadorTarea;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Importación masiva de tareas desde ficheros CSV o NDJSON.
+ * <p>
+ * El hilo que llama lee el fichero de forma secuencial, con un lector con
+ * búfer, y lo reparte en bloques de {@code tareas.importacion.tamanio-bloque}
+ * registros entre {@code tareas.importacion.hilos} hilos. Cada hilo analiza
+ * y valida los registros de su bloque con las mismas reglas que
+ * {@code POST /api/tareas} y crea los válidos en una transacción, con batches
+ * JDBC de {@code tareas.importacion.tamanio-batch} inserciones. Como mucho hay
+ * dos bloques por hilo en memoria, así que el consumo no depende del tamaño
+ * del fichero.
+ * </p>
+ * <p>
+ * Cada tarea creada publica su {@link TareaEvento}, igual que la creación por
+ * lotes. Un registro rechazado no interrumpe la importación: se registra en
+ * el log (los {@value #MAXIMO_RECHAZOS_REGISTRADOS} primeros) y, si se indica,
+ * en un informe CSV con la línea, el motivo y el registro original, en el
+ * orden en que se procesan. Si falla una transacción la importación se
+ * detiene, y los bloques ya confirmados se mantienen.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see ImportacionConsola
+ */
+@Component
+public class ImportadorTareas {
+
+    /**
+     * Logger para registrar el progreso y los rechazos.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ImportadorTareas.class);
+
+    /**
+     * Número de registros rechazados que se escriben en el log; el resto solo se cuenta.
+     */
+    static final int MAXIMO_RECHAZOS_REGISTRADOS = 100;
+
+    /**
+     * Gestor de entidades, para persistir por batches.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Plantilla de transacciones para confirmar cada bloque.
+     */
+    private final TransactionTemplate transacciones;
+
+    /**
+     * Publicador de los eventos de creación.
+     */
+    private final ApplicationEventPublisher eventos;
+
+    /**
+     * Reglas de validación de las tareas.
+     */
+    private final ValidadorTarea validador;
+
+    /**
+     * Lector de tareas en JSON, seguro entre hilos.
+     */
+    private final ObjectReader lectorJson;
+
+    /**
+     * Parámetros de la importación.
+     */
+    private final TareasProperties.Importacion configuracion;
+
+    /**
+     * Constructor que inyecta los colaboradores.
+     *
+     * @param entityManager gestor de entidades
+     * @param transacciones plantilla de transacciones
+     * @param eventos publicador de los eventos de modificación
+     * @param validador reglas de validación de las tareas
+     * @param objectMapper mapeador JSON de la aplicación
+     * @param properties propiedades de configuración de la aplicación
+     */
+    public ImportadorTareas(EntityManager entityManager, TransactionTemplate transacciones,
+                            ApplicationEventPublisher eventos, ValidadorTarea validador,
+                            ObjectMapper objectMapper, TareasProperties properties) {
+        this.entityManager = entityManager;
+        this.transacciones = transacciones;
+        this.eventos = eventos;
+        this.validador = validador;
+        this.lectorJson = objectMapper.readerFor(Tarea.class);
+        this.configuracion = properties.getImportacion();
+    }
+
+    /**
+     * Importa las tareas de un fichero.
+     *
+     * @param archivo fichero a importar, en UTF-8
+     * @param formato formato del fichero
+     * @param informeRechazos fichero donde escribir los registros rechazados, o {@code null} para no escribirlos
+     * @return recuento de registros importados y rechazados
+     * @throws IOException si falla la lectura del fichero o la escritura del informe
+     * @throws IllegalArgumentException si la cabecera CSV no incluye la columna {@code titulo}
+     * @throws IllegalStateException si falla una transacción; los bloques anteriores quedan confirmados
+     */
+    public ResultadoImportacion importar(Path archivo, FormatoImportacion formato, Path informeRechazos)
+            throws IOException {
+        long inicio = System.nanoTime();
+        logger.info("Importando {} ({}) con {} hilos", archivo, formato, configuracion.getHilos());
+
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            LectorRegistros registros = new LectorRegistros(lector, formato);
+            Function<String, Tarea> analizador = this::leerJson;
+            if (formato == FormatoImportacion.CSV) {
+                LectorRegistros.Registro cabecera = registros.siguiente();
+                analizador = cabecera == null ? texto -> null : analizadorCsv(cabecera.texto());
+            }
+            try (Ejecucion ejecucion = new Ejecucion(analizador, informeRechazos)) {
+                ejecucion.procesar(registros);
+                ResultadoImportacion resultado = ejecucion.resultado(Duration.ofNanos(System.nanoTime() - inicio));
+                logger.info("Importación finalizada: {} registros, {} tareas importadas, {} rechazados en {} ms ({} registros/min)",
+                        resultado.registros(), resultado.importadas(), resultado.rechazados(),
+                        resultado.duracion().toMillis(), resultado.registrosPorMinuto());
+                return resultado;
+            }
+        }
+    }
+
+    /**
+     * Crea en una transacción las tareas válidas de un bloque.
+     *
+     * @param tareas tareas validadas
+     */
+    private void insertar(List<Tarea> tareas) {
+        int tamanioBatch = configuracion.getTamanioBatch();
+        transacciones.executeWithoutResult(estado -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(tamanioBatch);
+            for (int i = 0; i < tareas.size(); i++) {
+                entityManager.persist(tareas.get(i));
+                if ((i + 1) % tamanioBatch == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+            tareas.forEach(tarea -> eventos.publishEvent(TareaEvento.creada(tarea)));
+        });
+    }
+
+    /**
+     * Crea el analizador de los registros CSV a partir de la cabecera.
+     *
+     * @param cabecera primer registro del fichero
+     * @return función que convierte un registro en una tarea
+     * @throws IllegalArgumentException si la cabecera no incluye la columna {@code titulo}
+     */
+    private static Function<String, Tarea> analizadorCsv(String cabecera) {
+        List<String> columnas = CamposCsv.separar(cabecera).stream()
+                .map(columna -> columna.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int titulo = columnas.indexOf("titulo");
+        int descripcion = columnas.indexOf("descripcion");
+        int completada = columnas.indexOf("completada");
+        if (titulo < 0) {
+            throw new IllegalArgumentException("La cabecera CSV debe incluir la columna titulo: " + cabecera);
+        }
+        return texto -> {
+            List<String> campos = CamposCsv.separar(texto);
+            if (campos.size() != columnas.size()) {
+                throw new BadRequestException(String.format(
+                        "Se esperaban %d columnas y hay %d", columnas.size(), campos.size()));
+            }
+            Tarea tarea = new Tarea();
+            tarea.setTitulo(campos.get(titulo));
+            if (descripcion >= 0 && !campos.get(descripcion).isEmpty()) {
+                tarea.setDescripcion(campos.get(descripcion));
+            }
+            if (completada >= 0) {
+                tarea.setCompletada(leerCompletada(campos.get(completada)));
+            }
+            return tarea;
+        };
+    }
+
+    /**
+     * Interpreta el valor de la columna {@code completada}; vacía equivale a pendiente.
+     *
+     * @param valor valor del campo
+     * @return estado de completitud
+     * @throws BadRequestException si el valor no es reconocible
+     */
+    private static boolean leerCompletada(String valor) {
+        return switch (valor.trim().toLowerCase(Locale.ROOT)) {
+            case "", "false", "0", "no" -> false;
+            case "true", "1", "si", "sí" -> true;
+            default -> throw new BadRequestException("Valor de completada no válido: " + valor);
+        };
+    }
+
+    /**
+     * Convierte una línea NDJSON en una tarea nueva; el ID y la versión se ignoran.
+     *
+     * @param texto objeto JSON
+     * @return tarea, o {@code null} si la línea es el literal {@code null}
+     * @throws BadRequestException si la línea no es JSON válido
+     */
+    private Tarea leerJson(String texto) {
+        Tarea tarea;
+        try {
+            tarea = lectorJson.readValue(texto);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("JSON no válido: " + e.getOriginalMessage());
+        }
+        if (tarea != null) {
+            tarea.setId(null);
+            tarea.setVersion(0);
+        }
+        return tarea;
+    }
+
+    /**
+     * Crea los hilos del importador.
+     *
+     * @return fábrica de hilos {@code importacion-N}
+     */
+    private static ThreadFactory fabricaHilos() {
+        AtomicInteger contador = new AtomicInteger();
+        return tarea -> {
+            Thread hilo = new Thread(tarea, "importacion-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+    }
+
+    /**
+     * Estado de una importación en curso.
+     */
+    private final class Ejecucion implements Closeable {
+
+        private final Function<String, Tarea> analizador;
+
+        private final BufferedWriter informe;
+
+        private final AtomicLong registros = new AtomicLong();
+
+        private final AtomicLong importadas = new AtomicLong();
+
+        private final AtomicLong rechazados = new AtomicLong();
+
+        /**
+         * Primer error que detiene la importación.
+         */
+        private final AtomicReference<RuntimeException> fallo = new AtomicReference<>();
+
+        Ejecucion(Function<String, Tarea> analizador, Path informeRechazos) throws IOException {
+            this.analizador = analizador;
+            if (informeRechazos == null) {
+                this.informe = null;
+            } else {
+                this.informe = Files.newBufferedWriter(informeRechazos, StandardCharsets.UTF_8);
+                this.informe.write("linea,motivo,registro\n");
+            }
+        }
+
+        /**
+         * Reparte los registros en bloques y espera a que se procesen todos.
+         *
+         * @param lector registros del fichero
+         * @throws IOException si falla la lectura del fichero
+         * @throws IllegalStateException si falla el procesamiento de un bloque
+         */
+        void procesar(LectorRegistros lector) throws IOException {
+            int hilos = configuracion.getHilos();
+            int tamanioBloque = configuracion.getTamanioBloque();
+            long intervalo = configuracion.getIntervaloProgreso().toNanos();
+            ExecutorService ejecutor = Executors.newFixedThreadPool(hilos, fabricaHilos());
+            Semaphore huecos = new Semaphore(2 * hilos);
+            long siguienteInforme = System.nanoTime() + intervalo;
+            try {
+                List<LectorRegistros.Registro> bloque = new ArrayList<>(tamanioBloque);
+                LectorRegistros.Registro registro;
+                while (fallo.get() == null && (registro = lector.siguiente()) != null) {
+                    bloque.add(registro);
+                    if (bloque.size() == tamanioBloque) {
+                        enviar(bloque, ejecutor, huecos);
+                        bloque = new ArrayList<>(tamanioBloque);
+                    }
+                    if (System.nanoTime() - siguienteInforme >= 0) {
+                        informarProgreso();
+                        siguienteInforme = System.nanoTime() + intervalo;
+                    }
+                }
+                if (!bloque.isEmpty() && fallo.get() == null) {
+                    enviar(bloque, ejecutor, huecos);
+                }
+                while (!huecos.tryAcquire(2 * hilos, intervalo, TimeUnit.NANOSECONDS)) {
+                    informarProgreso();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fallo.compareAndSet(null, new IllegalStateException("Importación interrumpida", e));
+            } finally {
+                ejecutor.shutdownNow();
+            }
+
+            RuntimeException causa = fallo.get();
+            if (causa != null) {
+                throw new IllegalStateException(String.format("La importación se ha detenido tras importar %d tareas: %s",
+                        importadas.get(), causa.getMessage()), causa);
+            }
+        }
+
+        /**
+         * Entrega un bloque a los hilos, esperando si ya hay dos bloques por hilo pendientes.
+         */
+        private void enviar(List<LectorRegistros.Registro> bloque, ExecutorService ejecutor, Semaphore huecos)
+                throws InterruptedException {
+            registros.addAndGet(bloque.size());
+            huecos.acquire();
+            ejecutor.execute(() -> {
+                try {
+                    procesarBloque(bloque);
+                } catch (RuntimeException e) {
+                    fallo.compareAndSet(null, e);
+                } finally {
+                    huecos.release();
+                }
+            });
+        }
+
+        /**
+         * Analiza y valida los registros de un bloque e inserta los válidos.
+         */
+        private void procesarBloque(List<LectorRegistros.Registro> bloque) {
+            List<Tarea> validas = new ArrayList<>(bloque.size());
+            for (LectorRegistros.Registro registro : bloque) {
+                try {
+                    Tarea tarea = analizador.apply(registro.texto());
+                    validador.validarTarea(tarea);
+                    validas.add(tarea);
+                } catch (BadRequestException e) {
+                    rechazar(registro, e.getMessage());
+                }
+            }
+            if (!validas.isEmpty() && fallo.get() == null) {
+                insertar(validas);
+                importadas.addAndGet(validas.size());
+            }
+        }
+
+        /**
+         * Cuenta un registro rechazado y lo añade al log y al informe.
+         */
+        private void rechazar(LectorRegistros.Registro registro, String motivo) {
+            if (rechazados.incrementAndGet() <= MAXIMO_RECHAZOS_REGISTRADOS) {
+                logger.warn("Registro rechazado en la línea {}: {}", registro.linea(), motivo);
+            }
+            if (informe != null) {
+                String fila = registro.linea() + "," + CamposCsv.escapar(motivo) + ","
+                        + CamposCsv.escapar(registro.texto()) + "\n";
+                synchronized (informe) {
+                    try {
+                        informe.write(fila);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Error al escribir el informe de rechazos", e);
+                    }
+                }
+            }
+        }
+
+        private void informarProgreso() {
+            logger.info("Importación en curso: {} registros leídos, {} tareas importadas, {} rechazados",
+                    registros.get(), importadas.get(), rechazados.get());
+        }
+
+        ResultadoImportacion resultado(Duration duracion) {
+            return new ResultadoImportacion(registros.get(), importadas.get(), rechazados.get(), duracion);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (informe != null) {
+                informe.close();
+            }
+        }
+    }
+}
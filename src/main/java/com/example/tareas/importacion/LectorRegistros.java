@@ -0,0 +1,100 @@
+package com.example.tareas.importacion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Divide un fichero de importación en registros, conservando el número de
+ * línea en que empieza cada uno para poder informar de los rechazados.
+ * <p>
+ * En NDJSON cada línea no vacía es un registro. En CSV un registro continúa
+ * en las líneas siguientes mientras tenga comillas sin cerrar, porque un
+ * campo entre comillas puede contener saltos de línea. Las líneas vacías
+ * entre registros se ignoran, y también la marca BOM al inicio del fichero.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+final class LectorRegistros {
+
+    /**
+     * Registro leído del fichero.
+     *
+     * @param linea número de línea (base uno) en que empieza
+     * @param texto contenido, con sus saltos de línea interiores si es un registro CSV multilínea
+     */
+    record Registro(long linea, String texto) {
+    }
+
+    /**
+     * Lector del fichero.
+     */
+    private final BufferedReader lector;
+
+    /**
+     * Indica si los registros pueden ocupar varias líneas (CSV).
+     */
+    private final boolean multilinea;
+
+    /**
+     * Número de la última línea leída.
+     */
+    private long numeroLinea;
+
+    /**
+     * Constructor.
+     *
+     * @param lector lector del fichero; lo cierra el llamador
+     * @param formato formato del fichero
+     */
+    LectorRegistros(BufferedReader lector, FormatoImportacion formato) {
+        this.lector = lector;
+        this.multilinea = formato == FormatoImportacion.CSV;
+    }
+
+    /**
+     * Lee el siguiente registro.
+     *
+     * @return registro, o {@code null} al final del fichero
+     * @throws IOException si falla la lectura
+     */
+    Registro siguiente() throws IOException {
+        String linea;
+        while ((linea = lector.readLine()) != null) {
+            if (++numeroLinea == 1 && linea.startsWith("\uFEFF")) {
+                linea = linea.substring(1);
+            }
+            if (linea.isBlank()) {
+                continue;
+            }
+            if (!multilinea || CamposCsv.comillas(linea) % 2 == 0) {
+                return new Registro(numeroLinea, linea);
+            }
+            return completar(linea);
+        }
+        return null;
+    }
+
+    /**
+     * Añade líneas a un registro CSV hasta cerrar sus comillas o llegar al
+     * final del fichero; en ese caso el registro se rechazará al separar sus campos.
+     *
+     * @param primera primera línea del registro
+     * @return registro completo
+     * @throws IOException si falla la lectura
+     */
+    private Registro completar(String primera) throws IOException {
+        long inicio = numeroLinea;
+        StringBuilder texto = new StringBuilder(primera);
+        int comillas = CamposCsv.comillas(primera);
+        String linea;
+        while (comillas % 2 != 0 && (linea = lector.readLine()) != null) {
+            numeroLinea++;
+            texto.append('\n').append(linea);
+            comillas += CamposCsv.comillas(linea);
+        }
+        return new Registro(inicio, texto.toString());
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.tareas.importacion;
+
+import java.time.Duration;
+
+/**
+ * Resultado de la importación de un fichero.
+ *
+ * @param registros registros leídos, sin contar la cabecera CSV ni las líneas vacías
+ * @param importadas tareas creadas
+ * @param rechazados registros rechazados por formato o validación
+ * @param duracion tiempo total de la importación
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+public record ResultadoImportacion(long registros, long importadas, long rechazados, Duration duracion) {
+
+    /**
+     * Calcula el ritmo medio de la importación.
+     *
+     * @return registros procesados por minuto
+     */
+    public long registrosPorMinuto() {
+        long nanos = Math.max(duracion.toNanos(), 1);
+        return (long) (registros * 60e9 / nanos);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.tareas.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa un cambio de una tarea en la tabla outbox "tareas_cambios".
+ * <p>
+ * Se inserta un registro en la misma transacción que cada alta, modificación
+ * o eliminación de una tarea, de modo que el feed de cambios no pierde ni
+ * inventa modificaciones. Los registros se envían a los suscriptores de
+ * {@code GET /api/tareas/cambios} y se eliminan pasado el periodo de retención.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Data
+@Entity
+@Table(name = "tareas_cambios", indexes = @Index(name = "idx_tareas_cambios_creado", columnList = "creado"))
+public class CambioTarea {
+
+    /**
+     * Identificador del cambio, creciente en orden de inserción.
+     * <p>
+     * Se usa como ID del evento SSE y como posición desde la que reanudar
+     * ({@code Last-Event-ID}).
+     * </p>
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID de la tarea modificada.
+     */
+    @Column(nullable = false)
+    private Long tareaId;
+
+    /**
+     * Tipo de cambio: {@code creada}, {@code actualizada},
+     * {@code actualizada_parcialmente}, {@code eliminada} o {@code archivada}.
+     */
+    @Column(nullable = false, length = 32)
+    private String tipo;
+
+    /**
+     * Título tras el cambio, o {@code null} si no cambió o la tarea se eliminó.
+     */
+    private String titulo;
+
+    /**
+     * Descripción tras el cambio, o {@code null} si no cambió o la tarea se eliminó.
+     */
+    private String descripcion;
+
+    /**
+     * Estado de completitud tras el cambio, o {@code null} si no cambió o la tarea se eliminó.
+     */
+    private Boolean completada;
+
+    /**
+     * Momento en que se registró el cambio.
+     */
+    @Column(nullable = false)
+    private LocalDateTime creado;
+
+    /**
+     * Instancia de la aplicación que registró el cambio, o {@code null} si lo
+     * registró otra aplicación (como la variante reactiva). No se difunde.
+     */
+    @JsonIgnore
+    @Column(length = 36)
+    private String origen;
+}
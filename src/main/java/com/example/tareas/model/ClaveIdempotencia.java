@@ -0,0 +1,51 @@
+package com.example.tareas.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa una clave de idempotencia en la tabla "tareas_idempotencia".
+ * <p>
+ * Se inserta en la misma transacción que la tarea creada con esa clave, de
+ * modo que la clave primaria impide que dos instancias creen la misma tarea
+ * dos veces. Solo se usa con {@code tareas.idempotencia.persistente=true} y
+ * los registros se eliminan pasado el periodo de retención.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Data
+@Entity
+@Table(name = "tareas_idempotencia", indexes = @Index(name = "idx_tareas_idempotencia_creado", columnList = "creado"))
+public class ClaveIdempotencia {
+
+    /**
+     * Valor de la cabecera {@code Idempotency-Key}.
+     */
+    @Id
+    @Column(length = 255)
+    private String clave;
+
+    /**
+     * Huella SHA-256, en hexadecimal, del cuerpo de la petición original.
+     */
+    @Column(nullable = false, length = 64)
+    private String huella;
+
+    /**
+     * Tarea creada, en JSON, tal como se devolvió en la respuesta original,
+     * o {@code null} mientras la transacción que la crea no ha terminado.
+     */
+    @Column(length = 4000)
+    private String respuesta;
+
+    /**
+     * Momento en que se registró la clave.
+     */
+    @Column(nullable = false)
+    private LocalDateTime creado;
+}
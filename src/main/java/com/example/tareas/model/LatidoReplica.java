@@ -0,0 +1,36 @@
+package com.example.tareas.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Entidad que representa el latido de la réplica en la tabla "tareas_latido".
+ * <p>
+ * Su única fila se actualiza periódicamente en la primaria con el instante
+ * de la escritura; leída en la réplica, indica hasta qué momento esta ha
+ * aplicado los cambios de la primaria. Solo se usa con
+ * {@code tareas.replica.habilitada=true}.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see com.example.tareas.replica.MonitorRetrasoReplica
+ */
+@Data
+@Entity
+@Table(name = "tareas_latido")
+public class LatidoReplica {
+
+    /**
+     * Identificador de la única fila de la tabla.
+     */
+    @Id
+    private Integer id;
+
+    /**
+     * Instante (epoch en milisegundos) de la última escritura del latido en la primaria.
+     */
+    @Column(nullable = false)
+    private long marca;
+}
@@ -1,14 +1,25 @@
 package com.example.tareas.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 /**
  * Entidad que representa una tarea en el sistema.
  * <p>
  * Esta clase es una entidad JPA que se mapea a la tabla "tareas" en la base de datos.
  * Contiene la información básica de una tarea: título, descripción y estado de completitud.
  * </p>
+ * <p>
+ * El índice {@code (completada, id)} resuelve el listado filtrado por estado
+ * (paginado por ID) y el recuento por estado sin recorrer la tabla.
+ * </p>
+ * <p>
+ * Las tareas completadas que llevan tiempo sin modificarse se trasladan a la
+ * tabla de archivo ({@link TareaArchivada}).
+ * </p>
  *
  * @author Desarrollador
  * @version 1.0.0
@@ -16,17 +27,20 @@ import lombok.Data;
  */
 @Data
 @Entity
-@Table(name = "tareas")
+@Table(name = "tareas", indexes = @Index(name = "idx_tareas_completada_id", columnList = "completada, id"))
 public class Tarea {
 
     /**
      * Identificador único de la tarea.
      * <p>
-     * Se genera automáticamente mediante la estrategia IDENTITY.
+     * Se genera mediante la secuencia {@code tareas_seq} (emulada con una tabla
+     * en MySQL) reservando bloques de 50 valores. A diferencia de IDENTITY,
+     * esta estrategia permite a Hibernate agrupar las inserciones en batches JDBC.
      * </p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tareas_seq")
+    @SequenceGenerator(name = "tareas_seq", sequenceName = "tareas_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -55,4 +69,38 @@ public class Tarea {
      * </p>
      */
     private boolean completada = false;
+
+    /**
+     * Versión de la tarea para el control de concurrencia optimista.
+     * <p>
+     * Empieza en 0 y se incrementa con cada modificación. Se expone como
+     * ETag en las respuestas HTTP y se compara con la cabecera
+     * {@code If-Match} al actualizar.
+     * </p>
+     */
+    @Version
+    private long version;
+
+    /**
+     * Momento de la última modificación de la tarea.
+     * <p>
+     * Se asigna al crearla y lo actualizan todas las sentencias {@code UPDATE}
+     * del repositorio. Decide cuándo se archiva una tarea completada; en las
+     * tareas creadas antes de existir la columna es {@code null} hasta que el
+     * archivador les asigna el momento de su arranque, y mientras tanto no se
+     * archivan. No forma parte de la API.
+     * </p>
+     */
+    @JsonIgnore
+    private LocalDateTime modificada;
+
+    /**
+     * Asigna el momento de creación como última modificación.
+     */
+    @PrePersist
+    void alCrear() {
+        if (modificada == null) {
+            modificada = LocalDateTime.now();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.example.tareas.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa una tarea archivada en la tabla "tareas_archivo".
+ * <p>
+ * Las tareas completadas que llevan {@code tareas.archivo.antiguedad} sin
+ * modificarse se trasladan aquí desde "tareas", con el mismo ID, para que la
+ * tabla principal y sus índices contengan solo las tareas que se consultan
+ * y modifican a diario. Las tareas archivadas se siguen leyendo por ID, pero
+ * ya no se modifican.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see Tarea
+ */
+@Data
+@Entity
+@Table(name = "tareas_archivo", indexes = @Index(name = "idx_tareas_archivo_archivada", columnList = "archivada"))
+public class TareaArchivada {
+
+    /**
+     * Identificador de la tarea, el mismo que tenía en "tareas".
+     */
+    @Id
+    private Long id;
+
+    /**
+     * Título de la tarea.
+     */
+    private String titulo;
+
+    /**
+     * Descripción de la tarea.
+     */
+    private String descripcion;
+
+    /**
+     * Estado de completitud; siempre {@code true}, se conserva para que las
+     * proyecciones de {@link Tarea} sirvan también para el archivo.
+     */
+    private boolean completada;
+
+    /**
+     * Versión de la tarea al archivarla, que sigue siendo su ETag.
+     */
+    private long version;
+
+    /**
+     * Momento de la última modificación de la tarea antes de archivarla.
+     */
+    private LocalDateTime modificada;
+
+    /**
+     * Momento en que se archivó la tarea.
+     */
+    @Column(nullable = false)
+    private LocalDateTime archivada;
+
+    /**
+     * Convierte la tarea archivada en una {@link Tarea} no gestionada, tal
+     * como se devuelve en la API.
+     *
+     * @return tarea con los mismos datos
+     */
+    public Tarea aTarea() {
+        Tarea tarea = new Tarea();
+        tarea.setId(id);
+        tarea.setTitulo(titulo);
+        tarea.setDescripcion(descripcion);
+        tarea.setCompletada(completada);
+        tarea.setVersion(version);
+        tarea.setModificada(modificada);
+        return tarea;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.tareas.reactivo;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Asignación de IDs de tareas en la variante reactiva.
+ * <p>
+ * Reserva bloques de {@value #TAMANIO_BLOQUE} valores de la secuencia
+ * {@code tareas_seq} con la misma semántica que el optimizador
+ * {@code pooled-lo} de Hibernate, de modo que ambas variantes pueden
+ * escribir en la misma tabla sin colisiones. En H2 se usa la secuencia
+ * nativa; en MySQL, la tabla {@code tareas_seq} que Hibernate emplea para
+ * emularla.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Component
+public class AsignadorIds {
+
+    /**
+     * Tamaño de cada bloque reservado; debe coincidir con el {@code allocationSize} de {@code Tarea}.
+     */
+    static final int TAMANIO_BLOQUE = 50;
+
+    /**
+     * Cliente SQL reactivo.
+     */
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Indica si la base de datos es MySQL (secuencia emulada con tabla).
+     */
+    private final boolean mysql;
+
+    /**
+     * Bloque de IDs en uso.
+     */
+    private final AtomicReference<Bloque> bloque = new AtomicReference<>(new Bloque(0, 0));
+
+    /**
+     * Constructor que inyecta el cliente SQL y detecta el tipo de base de datos.
+     *
+     * @param databaseClient cliente SQL reactivo
+     * @param connectionFactory fábrica de conexiones R2DBC
+     */
+    public AsignadorIds(DatabaseClient databaseClient, ConnectionFactory connectionFactory) {
+        this.databaseClient = databaseClient;
+        this.mysql = connectionFactory.getMetadata().getName().toLowerCase().contains("mysql");
+    }
+
+    /**
+     * Obtiene el siguiente ID libre, reservando un bloque nuevo si el actual se ha agotado.
+     * <p>
+     * Si varias suscripciones agotan el bloque a la vez, cada una reserva el
+     * suyo y los valores sobrantes se descartan, igual que ocurre con varias
+     * instancias de la aplicación.
+     * </p>
+     *
+     * @return siguiente ID
+     */
+    public Mono<Long> siguiente() {
+        return Mono.defer(() -> {
+            long id = bloque.get().tomar();
+            if (id > 0) {
+                return Mono.just(id);
+            }
+            return reservarBloque().map(inicio -> {
+                Bloque nuevo = new Bloque(inicio, inicio + TAMANIO_BLOQUE);
+                long propio = nuevo.tomar();
+                bloque.set(nuevo);
+                return propio;
+            });
+        });
+    }
+
+    /**
+     * Reserva un bloque de la secuencia y devuelve su primer valor.
+     *
+     * @return primer ID del bloque reservado
+     */
+    private Mono<Long> reservarBloque() {
+        if (!mysql) {
+            return databaseClient.sql("SELECT NEXT VALUE FOR tareas_seq")
+                    .map(fila -> fila.get(0, Long.class))
+                    .one();
+        }
+        // LAST_INSERT_ID(expr) es propio de la conexión: ambas sentencias deben usar la misma.
+        return databaseClient.inConnection(conexion ->
+                Mono.from(conexion.createStatement("UPDATE tareas_seq SET next_val = LAST_INSERT_ID(next_val + "
+                                + TAMANIO_BLOQUE + ")").execute())
+                        .flatMap(resultado -> Mono.from(resultado.getRowsUpdated()))
+                        .then(ultimoIdInsertado(conexion))
+                        .map(siguienteLibre -> siguienteLibre - TAMANIO_BLOQUE));
+    }
+
+    /**
+     * Lee el valor de {@code LAST_INSERT_ID()} en la conexión indicada.
+     *
+     * @param conexion conexión en la que se actualizó la secuencia
+     * @return último valor asignado
+     */
+    private static Mono<Long> ultimoIdInsertado(Connection conexion) {
+        return Mono.from(conexion.createStatement("SELECT LAST_INSERT_ID()").execute())
+                .flatMap(resultado -> Mono.from(resultado.map((fila, metadatos) -> fila.get(0, Long.class))));
+    }
+
+    /**
+     * Rango de IDs {@code [siguiente, limite)} reservado en la secuencia.
+     */
+    private static final class Bloque {
+
+        private final AtomicLong siguiente;
+        private final long limite;
+
+        Bloque(long inicio, long limite) {
+            this.siguiente = new AtomicLong(inicio);
+            this.limite = limite;
+        }
+
+        /**
+         * Toma el siguiente valor del bloque.
+         *
+         * @return ID tomado, o {@code 0} si el bloque está agotado
+         */
+        long tomar() {
+            long valor = siguiente.getAndIncrement();
+            return valor < limite ? valor : 0;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.tareas.reactivo;
+
+import com.example.tareas.config.MetricasConfig;
+import com.example.tareas.dto.ErrorResponse;
+import com.example.tareas.exception.BadRequestException;
+import com.example.tareas.exception.PreconditionFailedException;
+import com.example.tareas.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.LocalDateTime;
+
+/**
+ * Manejador de excepciones de la API reactiva.
+ * <p>
+ * Equivalente WebFlux de {@link com.example.tareas.exception.GlobalExceptionHandler}:
+ * produce el mismo {@link ErrorResponse}, los mismos códigos de estado y
+ * contabiliza los errores en la misma métrica {@code tareas.errores}.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see ErrorResponse
+ */
+@RestControllerAdvice
+public class ManejadorErroresReactivo {
+
+    /**
+     * Logger para registrar los errores capturados.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ManejadorErroresReactivo.class);
+
+    /**
+     * Contador de solicitudes rechazadas por datos inválidos.
+     */
+    private final Counter erroresValidacion;
+
+    /**
+     * Contador de solicitudes sobre recursos inexistentes.
+     */
+    private final Counter erroresNoEncontrada;
+
+    /**
+     * Contador de actualizaciones rechazadas por versión distinta.
+     */
+    private final Counter erroresPrecondicion;
+
+    /**
+     * Contador de errores internos no previstos.
+     */
+    private final Counter erroresInternos;
+
+    /**
+     * Constructor que registra los contadores de errores.
+     *
+     * @param registry registro de métricas de la aplicación
+     */
+    public ManejadorErroresReactivo(MeterRegistry registry) {
+        this.erroresValidacion = contador(registry, "validacion");
+        this.erroresNoEncontrada = contador(registry, "no_encontrada");
+        this.erroresPrecondicion = contador(registry, "precondicion");
+        this.erroresInternos = contador(registry, "interno");
+    }
+
+    /**
+     * Crea el contador de errores para el tipo indicado.
+     *
+     * @param registry registro de métricas
+     * @param tipo tipo de error usado como etiqueta
+     * @return contador registrado
+     */
+    private static Counter contador(MeterRegistry registry, String tipo) {
+        return Counter.builder(MetricasConfig.METRICA_ERRORES)
+                .description("Errores devueltos por la API de tareas")
+                .tag("tipo", tipo)
+                .register(registry);
+    }
+
+    /**
+     * Maneja las excepciones de tipo {@link ResourceNotFoundException} (HTTP 404).
+     *
+     * @param ex excepción capturada
+     * @param request solicitud en curso
+     * @return ResponseEntity con el error y código HTTP 404
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
+            ResourceNotFoundException ex, ServerHttpRequest request) {
+        logger.debug("Recurso no encontrado: {}", ex.getMessage());
+        erroresNoEncontrada.increment();
+        return respuesta(HttpStatus.NOT_FOUND, "Not Found", ex.getMessage(), request);
+    }
+
+    /**
+     * Maneja las excepciones de tipo {@link PreconditionFailedException} (HTTP 412).
+     *
+     * @param ex excepción capturada
+     * @param request solicitud en curso
+     * @return ResponseEntity con el error y código HTTP 412
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(
+            PreconditionFailedException ex, ServerHttpRequest request) {
+        logger.debug("Precondición fallida: {}", ex.getMessage());
+        erroresPrecondicion.increment();
+        return respuesta(HttpStatus.PRECONDITION_FAILED, "Precondition Failed", ex.getMessage(), request);
+    }
+
+    /**
+     * Maneja las excepciones de tipo {@link BadRequestException} e
+     * {@link IllegalArgumentException} (HTTP 400).
+     *
+     * @param ex excepción capturada
+     * @param request solicitud en curso
+     * @return ResponseEntity con el error y código HTTP 400
+     */
+    @ExceptionHandler({BadRequestException.class, IllegalArgumentException.class})
+    public ResponseEntity<ErrorResponse> handleBadRequestException(
+            RuntimeException ex, ServerHttpRequest request) {
+        logger.debug("Solicitud incorrecta: {}", ex.getMessage());
+        erroresValidacion.increment();
+        return respuesta(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage(), request);
+    }
+
+    /**
+     * Maneja todas las excepciones no capturadas por otros manejadores (HTTP 500).
+     *
+     * @param ex excepción capturada
+     * @param request solicitud en curso
+     * @return ResponseEntity con el error y código HTTP 500
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGlobalException(
+            Exception ex, ServerHttpRequest request) {
+        logger.error("Error interno del servidor: ", ex);
+        erroresInternos.increment();
+        return respuesta(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error",
+                "Ha ocurrido un error inesperado en el servidor", request);
+    }
+
+    /**
+     * Construye la respuesta de error común a todos los manejadores.
+     *
+     * @param estado código de estado HTTP
+     * @param error descripción corta del estado
+     * @param mensaje mensaje para el cliente
+     * @param request solicitud en curso
+     * @return ResponseEntity con el error
+     */
+    private static ResponseEntity<ErrorResponse> respuesta(HttpStatus estado, String error, String mensaje,
+                                                           ServerHttpRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                estado.value(),
+                error,
+                mensaje,
+                request.getPath().value()
+        );
+        return new ResponseEntity<>(errorResponse, estado);
+    }
+}
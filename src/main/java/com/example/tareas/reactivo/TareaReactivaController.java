@@ -0,0 +1,219 @@
+package com.example.tareas.reactivo;
+
+import com.example.tareas.dto.PaginaTareas;
+import com.example.tareas.dto.ResultadoLote;
+import com.example.tareas.dto.TareaParcial;
+import com.example.tareas.controller.EtagsTarea;
+import com.example.tareas.model.Tarea;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Controlador REST reactivo (WebFlux) para la gestión de tareas.
+ * <p>
+ * Expone un subconjunto de los endpoints de
+ * {@link com.example.tareas.controller.TareaController} con las mismas rutas,
+ * códigos de estado y ETags: listado, exportación, creación individual y por
+ * lote, y lectura, actualización (con {@code If-Match}), modificación parcial
+ * y eliminación por ID. Solo se activa con el perfil {@code reactivo}.
+ * </p>
+ * <p>
+ * No admite la cabecera {@code Idempotency-Key} (se ignora), el parámetro
+ * {@code fields}, la búsqueda, el listado del archivo, las operaciones
+ * {@code /lote/completar|reabrir|eliminar}, las estadísticas, el flujo de
+ * cambios, la caché ni las tareas diferidas.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see TareaReactivaService
+ */
+@RestController
+@RequestMapping("/api/tareas")
+@CrossOrigin("*")
+public class TareaReactivaController {
+
+    /**
+     * Logger para registrar eventos y mensajes del controlador.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(TareaReactivaController.class);
+
+    /**
+     * Servicio reactivo de tareas.
+     */
+    private final TareaReactivaService service;
+
+    /**
+     * Constructor que inyecta el servicio reactivo de tareas.
+     *
+     * @param service servicio reactivo de tareas
+     */
+    public TareaReactivaController(TareaReactivaService service) {
+        this.service = service;
+    }
+
+    /**
+     * Lista las tareas paginadas por cursor.
+     * <p>
+     * Endpoint: {@code GET /api/tareas?cursor=&tamanio=&completada=}
+     * </p>
+     *
+     * @param cursor cursor opaco devuelto por la página anterior (opcional)
+     * @param tamanio número de tareas por página (opcional, limitado al máximo configurado)
+     * @param completada filtro opcional por estado de completitud
+     * @return página de tareas con su ETag y código HTTP 200 (OK)
+     */
+    @GetMapping
+    public Mono<ResponseEntity<PaginaTareas>> listar(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanio,
+            @RequestParam(required = false) Boolean completada) {
+        logger.info("GET /api/tareas - Listando tareas paginadas");
+        return service.listarPagina(cursor, tamanio, completada)
+                .map(pagina -> ResponseEntity.ok().eTag(EtagsTarea.dePagina(pagina)).body(pagina));
+    }
+
+    /**
+     * Exporta todas las tareas en formato NDJSON (una tarea JSON por línea).
+     * <p>
+     * Endpoint: {@code GET /api/tareas/exportar}
+     * </p>
+     * <p>
+     * Cada tarea se escribe en cuanto el cliente puede recibirla; la lectura
+     * de la base de datos avanza al ritmo del cliente.
+     * </p>
+     *
+     * @return flujo de tareas serializado como NDJSON
+     */
+    @GetMapping(value = "/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Tarea> exportar() {
+        logger.info("GET /api/tareas/exportar - Exportando tareas");
+        return service.exportar();
+    }
+
+    /**
+     * Crea una nueva tarea en el sistema.
+     * <p>
+     * Endpoint: {@code POST /api/tareas}
+     * </p>
+     *
+     * @param tarea objeto Tarea con los datos de la nueva tarea
+     * @return la tarea creada con código HTTP 201 (Created)
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Tarea>> crear(@RequestBody Tarea tarea) {
+        logger.info("POST /api/tareas - Creando nueva tarea");
+        return service.crear(tarea)
+                .map(tareaCreada -> ResponseEntity.status(HttpStatus.CREATED).body(tareaCreada));
+    }
+
+    /**
+     * Crea varias tareas en una sola petición.
+     * <p>
+     * Endpoint: {@code POST /api/tareas/lote}
+     * </p>
+     *
+     * @param tareas lista de tareas a crear
+     * @return resultado del lote con código HTTP 201 (Created) o 207 (Multi-Status)
+     */
+    @PostMapping("/lote")
+    public Mono<ResponseEntity<ResultadoLote>> crearLote(@RequestBody List<Tarea> tareas) {
+        logger.info("POST /api/tareas/lote - Creando lote de tareas");
+        return service.crearLote(tareas).map(resultado -> {
+            HttpStatus estado = resultado.getErrores().isEmpty() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+            return ResponseEntity.status(estado).body(resultado);
+        });
+    }
+
+    /**
+     * Obtiene una tarea específica por su identificador.
+     * <p>
+     * Endpoint: {@code GET /api/tareas/{id}}
+     * </p>
+     * <p>
+     * La ETag de la respuesta es la versión de la tarea; si coincide con
+     * {@code If-None-Match} se responde 304 (Not Modified).
+     * </p>
+     *
+     * @param id identificador único de la tarea a obtener
+     * @return la tarea encontrada con su ETag y código HTTP 200 (OK)
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Tarea>> obtener(@PathVariable Long id) {
+        logger.info("GET /api/tareas/{} - Obteniendo tarea", id);
+        return service.obtener(id).map(tarea -> ResponseEntity.ok().eTag(EtagsTarea.deTarea(tarea)).body(tarea));
+    }
+
+    /**
+     * Actualiza una tarea existente.
+     * <p>
+     * Endpoint: {@code PUT /api/tareas/{id}}
+     * </p>
+     * <p>
+     * Con la cabecera {@code If-Match}, la tarea solo se modifica si su
+     * versión coincide con la ETag indicada; si no, se responde 412
+     * (Precondition Failed).
+     * </p>
+     *
+     * @param id identificador único de la tarea a actualizar
+     * @param tarea objeto Tarea con los nuevos datos
+     * @param ifMatch ETag de la versión leída por el cliente (opcional)
+     * @return la tarea actualizada, con su nueva ETag si se indicó {@code If-Match}, y código HTTP 200 (OK)
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Tarea>> actualizar(
+            @PathVariable Long id,
+            @RequestBody Tarea tarea,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        logger.info("PUT /api/tareas/{} - Actualizando tarea", id);
+        Long versionEsperada = EtagsTarea.versionDe(ifMatch);
+        return service.actualizar(id, tarea, versionEsperada).map(actualizada -> versionEsperada == null
+                ? ResponseEntity.ok(actualizada)
+                : ResponseEntity.ok().eTag(EtagsTarea.deTarea(actualizada)).body(actualizada));
+    }
+
+    /**
+     * Actualiza solo los campos indicados de una tarea.
+     * <p>
+     * Endpoint: {@code PATCH /api/tareas/{id}}
+     * </p>
+     *
+     * @param id identificador único de la tarea a actualizar
+     * @param cambios campos a modificar
+     * @return respuesta vacía con código HTTP 204 (No Content)
+     */
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Void>> actualizarParcialmente(
+            @PathVariable Long id,
+            @RequestBody TareaParcial cambios) {
+        logger.info("PATCH /api/tareas/{} - Actualizando parcialmente tarea", id);
+        return service.actualizarParcialmente(id, cambios)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    /**
+     * Elimina una tarea del sistema.
+     * <p>
+     * Endpoint: {@code DELETE /api/tareas/{id}}
+     * </p>
+     *
+     * @param id identificador único de la tarea a eliminar
+     * @return respuesta vacía con código HTTP 204 (No Content)
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> eliminar(@PathVariable Long id) {
+        logger.info("DELETE /api/tareas/{} - Eliminando tarea", id);
+        return service.eliminar(id)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
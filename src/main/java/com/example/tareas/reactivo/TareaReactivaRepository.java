@@ -0,0 +1,290 @@
+package com.example.tareas.reactivo;
+
+import com.example.tareas.model.Tarea;
+import com.example.tareas.service.TareaEvento;
+import io.r2dbc.spi.Parameters;
+import io.r2dbc.spi.R2dbcType;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+
+/**
+ * Repositorio reactivo (R2DBC) para la entidad {@link Tarea}.
+ * <p>
+ * Equivalente no bloqueante de
+ * {@link com.example.tareas.repository.TareaRepository}: ofrece las mismas
+ * consultas paginadas por cursor y las mismas modificaciones en una única
+ * sentencia, pero devuelve {@link Mono} y {@link Flux}. Las filas de un
+ * {@link Flux} se leen del driver a medida que el suscriptor las solicita.
+ * </p>
+ * <p>
+ * Se implementa directamente sobre {@link DatabaseClient}, con el SQL
+ * explícito, y comparte la tabla {@code tareas} con la variante JPA. Igual
+ * que en esta, toda modificación incrementa la columna {@code version}, y
+ * cada cambio se registra en la tabla outbox {@code tareas_cambios}.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see Tarea
+ */
+@Repository
+public class TareaReactivaRepository {
+
+    /**
+     * Columnas seleccionadas en todas las consultas de tareas.
+     */
+    private static final String SELECT_TAREAS = "SELECT id, titulo, descripcion, completada, version FROM tareas ";
+
+    /**
+     * Cliente SQL reactivo.
+     */
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Constructor que inyecta el cliente SQL reactivo.
+     *
+     * @param databaseClient cliente SQL reactivo
+     */
+    public TareaReactivaRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Busca una tarea por ID.
+     *
+     * @param id identificador de la tarea
+     * @return la tarea, o vacío si no existe
+     */
+    public Mono<Tarea> findById(Long id) {
+        return databaseClient.sql(SELECT_TAREAS + "WHERE id = :id")
+                .bind("id", id)
+                .map(TareaReactivaRepository::mapear)
+                .one();
+    }
+
+    /**
+     * Busca una tarea archivada por ID en la tabla {@code tareas_archivo}.
+     *
+     * @param id identificador de la tarea
+     * @return la tarea archivada, o vacío si no está en el archivo
+     */
+    public Mono<Tarea> findArchivadaById(Long id) {
+        return databaseClient.sql("SELECT id, titulo, descripcion, completada, version FROM tareas_archivo "
+                        + "WHERE id = :id")
+                .bind("id", id)
+                .map(TareaReactivaRepository::mapear)
+                .one();
+    }
+
+    /**
+     * Comprueba si existe una tarea con el ID indicado.
+     *
+     * @param id identificador de la tarea
+     * @return {@code true} si la tarea existe
+     */
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT 1 FROM tareas WHERE id = :id")
+                .bind("id", id)
+                .map(fila -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    /**
+     * Recorre todas las tareas ordenadas por ID.
+     *
+     * @return flujo de todas las tareas, emitido según la demanda del suscriptor
+     */
+    public Flux<Tarea> findAllByOrderByIdAsc() {
+        return databaseClient.sql(SELECT_TAREAS + "ORDER BY id")
+                .map(TareaReactivaRepository::mapear)
+                .all();
+    }
+
+    /**
+     * Obtiene las tareas con ID mayor que el indicado, ordenadas por ID.
+     *
+     * @param id ID de la última tarea de la página anterior ({@code 0} para la primera)
+     * @param limite número máximo de tareas a devolver
+     * @return flujo de tareas de la página
+     */
+    public Flux<Tarea> findByIdGreaterThanOrderByIdAsc(Long id, int limite) {
+        return databaseClient.sql(SELECT_TAREAS + "WHERE id > :id ORDER BY id LIMIT :limite")
+                .bind("id", id)
+                .bind("limite", limite)
+                .map(TareaReactivaRepository::mapear)
+                .all();
+    }
+
+    /**
+     * Obtiene las tareas con el estado indicado y ID mayor que el indicado, ordenadas por ID.
+     *
+     * @param completada estado de completitud por el que filtrar
+     * @param id ID de la última tarea de la página anterior ({@code 0} para la primera)
+     * @param limite número máximo de tareas a devolver
+     * @return flujo de tareas de la página
+     */
+    public Flux<Tarea> findByCompletadaAndIdGreaterThanOrderByIdAsc(boolean completada, Long id, int limite) {
+        return databaseClient.sql(SELECT_TAREAS
+                        + "WHERE completada = :completada AND id > :id ORDER BY id LIMIT :limite")
+                .bind("completada", completada)
+                .bind("id", id)
+                .bind("limite", limite)
+                .map(TareaReactivaRepository::mapear)
+                .all();
+    }
+
+    /**
+     * Inserta una tarea cuyo ID ya ha sido asignado.
+     *
+     * @param tarea tarea a insertar, con ID
+     * @return la misma tarea una vez insertada
+     */
+    public Mono<Tarea> insertar(Tarea tarea) {
+        tarea.setVersion(0);
+        return databaseClient.sql("INSERT INTO tareas (id, titulo, descripcion, completada, version, modificada) "
+                        + "VALUES (:id, :titulo, :descripcion, :completada, :version, LOCALTIMESTAMP)")
+                .bind("id", tarea.getId())
+                .bind("titulo", tarea.getTitulo())
+                .bind("descripcion", Parameters.in(R2dbcType.VARCHAR, tarea.getDescripcion()))
+                .bind("completada", tarea.isCompletada())
+                .bind("version", tarea.getVersion())
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(tarea);
+    }
+
+    /**
+     * Sobrescribe título, descripción y estado de una tarea con una única sentencia.
+     *
+     * @param id identificador de la tarea
+     * @param titulo nuevo título
+     * @param descripcion nueva descripción
+     * @param completada nuevo estado de completitud
+     * @return número de filas afectadas ({@code 0} si la tarea no existe)
+     */
+    public Mono<Long> actualizarPorId(Long id, String titulo, String descripcion, boolean completada) {
+        return databaseClient.sql("UPDATE tareas SET titulo = :titulo, descripcion = :descripcion, "
+                        + "completada = :completada, version = version + 1, modificada = LOCALTIMESTAMP "
+                        + "WHERE id = :id")
+                .bind("id", id)
+                .bind("titulo", Parameters.in(R2dbcType.VARCHAR, titulo))
+                .bind("descripcion", Parameters.in(R2dbcType.VARCHAR, descripcion))
+                .bind("completada", completada)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Sobrescribe título, descripción y estado de una tarea solo si conserva
+     * la versión indicada, con una única sentencia.
+     *
+     * @param id identificador de la tarea
+     * @param version versión leída por el cliente
+     * @param titulo nuevo título
+     * @param descripcion nueva descripción
+     * @param completada nuevo estado de completitud
+     * @return número de filas afectadas ({@code 0} si la tarea no existe o su versión es otra)
+     */
+    public Mono<Long> actualizarPorIdYVersion(Long id, long version, String titulo, String descripcion,
+                                              boolean completada) {
+        return databaseClient.sql("UPDATE tareas SET titulo = :titulo, descripcion = :descripcion, "
+                        + "completada = :completada, version = version + 1, modificada = LOCALTIMESTAMP "
+                        + "WHERE id = :id AND version = :version")
+                .bind("id", id)
+                .bind("version", version)
+                .bind("titulo", Parameters.in(R2dbcType.VARCHAR, titulo))
+                .bind("descripcion", Parameters.in(R2dbcType.VARCHAR, descripcion))
+                .bind("completada", completada)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Modifica solo los campos no nulos de una tarea con una única sentencia.
+     *
+     * @param id identificador de la tarea
+     * @param titulo nuevo título, o {@code null} para conservar el actual
+     * @param descripcion nueva descripción, o {@code null} para conservar la actual
+     * @param completada nuevo estado, o {@code null} para conservar el actual
+     * @return número de filas afectadas ({@code 0} si la tarea no existe)
+     */
+    public Mono<Long> actualizarParcialmentePorId(Long id, String titulo, String descripcion, Boolean completada) {
+        return databaseClient.sql("UPDATE tareas SET titulo = COALESCE(:titulo, titulo), "
+                        + "descripcion = COALESCE(:descripcion, descripcion), "
+                        + "completada = COALESCE(:completada, completada), version = version + 1, "
+                        + "modificada = LOCALTIMESTAMP WHERE id = :id")
+                .bind("id", id)
+                .bind("titulo", Parameters.in(R2dbcType.VARCHAR, titulo))
+                .bind("descripcion", Parameters.in(R2dbcType.VARCHAR, descripcion))
+                .bind("completada", Parameters.in(R2dbcType.BOOLEAN, completada))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Elimina una tarea por ID con una única sentencia.
+     *
+     * @param id identificador de la tarea
+     * @return número de filas afectadas ({@code 0} si la tarea no existe)
+     */
+    public Mono<Long> eliminarPorId(Long id) {
+        return databaseClient.sql("DELETE FROM tareas WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Registra un cambio en la tabla outbox {@code tareas_cambios}, con las
+     * mismas columnas que {@link com.example.tareas.cambios.RegistroCambios}.
+     *
+     * @param evento modificación de una tarea
+     * @return señal de finalización
+     */
+    public Mono<Void> registrarCambio(TareaEvento evento) {
+        return databaseClient.sql("INSERT INTO tareas_cambios "
+                        + "(tarea_id, tipo, titulo, descripcion, completada, creado) VALUES (:tareaId, :tipo, :titulo, :descripcion, :completada, LOCALTIMESTAMP)")
+                .bind("tareaId", evento.getId())
+                .bind("tipo", evento.getTipo().name().toLowerCase(Locale.ROOT))
+                .bind("titulo", Parameters.in(R2dbcType.VARCHAR, evento.getTitulo()))
+                .bind("descripcion", Parameters.in(R2dbcType.VARCHAR, evento.getDescripcion()))
+                .bind("completada", Parameters.in(R2dbcType.BOOLEAN, evento.getCompletada()))
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    /**
+     * Elimina todas las tareas.
+     *
+     * @return número de filas eliminadas
+     */
+    public Mono<Long> deleteAll() {
+        return databaseClient.sql("DELETE FROM tareas")
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Convierte una fila de la tabla {@code tareas} en una {@link Tarea}.
+     *
+     * @param fila fila leída
+     * @return tarea con los valores de la fila
+     */
+    private static Tarea mapear(Readable fila) {
+        Tarea tarea = new Tarea();
+        tarea.setId(fila.get("id", Long.class));
+        tarea.setTitulo(fila.get("titulo", String.class));
+        tarea.setDescripcion(fila.get("descripcion", String.class));
+        tarea.setCompletada(Boolean.TRUE.equals(fila.get("completada", Boolean.class)));
+        tarea.setVersion(fila.get("version", Long.class));
+        return tarea;
+    }
+}
@@ -0,0 +1,337 @@
+package com.example.tareas.reactivo;
+
+import com.example.tareas.config.TareasProperties;
+import com.example.tareas.dto.ErrorLote;
+import com.example.tareas.dto.PaginaTareas;
+import com.example.tareas.dto.ResultadoLote;
+import com.example.tareas.dto.TareaParcial;
+import com.example.tareas.exception.BadRequestException;
+import com.example.tareas.exception.PreconditionFailedException;
+import com.example.tareas.exception.ResourceNotFoundException;
+import com.example.tareas.model.Tarea;
+import com.example.tareas.service.PaginacionCursor;
+import com.example.tareas.service.TareaEvento;
+import com.example.tareas.service.ValidadorTarea;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Servicio de negocio reactivo para la gestión de tareas.
+ * <p>
+ * Ofrece las mismas operaciones que {@link com.example.tareas.service.TareaService}
+ * sin bloquear hilos: cada método devuelve un {@link Mono} o un {@link Flux}
+ * y los errores de validación se emiten como señal de error. Las reglas de
+ * validación y de paginación son las mismas clases que usa el servicio
+ * bloqueante ({@link ValidadorTarea} y {@link PaginacionCursor}), por lo que
+ * ambas variantes aceptan y rechazan exactamente las mismas peticiones.
+ * </p>
+ * <p>
+ * Cada modificación registra su {@link TareaEvento} en la tabla outbox
+ * dentro de la misma transacción. Este proceso no tiene índice de búsqueda
+ * ni contadores; las instancias JPA que comparten la base de datos aplican
+ * esos cambios a su índice al leerlos del outbox para el feed de cambios.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see TareaReactivaRepository
+ */
+@Service
+@Transactional
+public class TareaReactivaService {
+
+    /**
+     * Logger para registrar eventos y mensajes del servicio.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(TareaReactivaService.class);
+
+    /**
+     * Repositorio reactivo de tareas.
+     */
+    private final TareaReactivaRepository repository;
+
+    /**
+     * Asignador de IDs a partir de la secuencia {@code tareas_seq}.
+     */
+    private final AsignadorIds asignadorIds;
+
+    /**
+     * Propiedades de configuración de la aplicación.
+     */
+    private final TareasProperties properties;
+
+    /**
+     * Reglas de validación de las tareas.
+     */
+    private final ValidadorTarea validador;
+
+    /**
+     * Utilidades de la paginación por cursor.
+     */
+    private final PaginacionCursor paginacion;
+
+    /**
+     * Constructor que inyecta el repositorio reactivo y sus colaboradores.
+     *
+     * @param repository repositorio reactivo de tareas
+     * @param asignadorIds asignador de IDs
+     * @param properties propiedades de configuración de la aplicación
+     * @param validador reglas de validación de las tareas
+     * @param paginacion utilidades de la paginación por cursor
+     */
+    public TareaReactivaService(TareaReactivaRepository repository, AsignadorIds asignadorIds,
+                                TareasProperties properties, ValidadorTarea validador, PaginacionCursor paginacion) {
+        this.repository = repository;
+        this.asignadorIds = asignadorIds;
+        this.properties = properties;
+        this.validador = validador;
+        this.paginacion = paginacion;
+    }
+
+    /**
+     * Lista las tareas paginando por cursor (keyset).
+     *
+     * @param cursor cursor opaco devuelto por la página anterior, o {@code null} para la primera
+     * @param tamanio número de tareas solicitado, o {@code null} para usar el valor por defecto
+     * @param completada filtro opcional por estado de completitud
+     * @return página de tareas con el cursor de la página siguiente
+     */
+    @Transactional(readOnly = true)
+    public Mono<PaginaTareas> listarPagina(String cursor, Integer tamanio, Boolean completada) {
+        return Mono.defer(() -> {
+            int tamanioPagina = paginacion.resolverTamanio(tamanio);
+            long ultimoId = paginacion.decodificar(cursor);
+            logger.info("Listando tareas desde ID {} (tamaño {}, completada {})", ultimoId, tamanioPagina, completada);
+
+            int limite = tamanioPagina + 1;
+            Flux<Tarea> tareas = completada == null
+                    ? repository.findByIdGreaterThanOrderByIdAsc(ultimoId, limite)
+                    : repository.findByCompletadaAndIdGreaterThanOrderByIdAsc(completada, ultimoId, limite);
+
+            return tareas.collectList().map(lista -> {
+                if (lista.size() <= tamanioPagina) {
+                    return new PaginaTareas(lista, tamanioPagina, null);
+                }
+                List<Tarea> pagina = lista.subList(0, tamanioPagina);
+                return new PaginaTareas(pagina, tamanioPagina,
+                        paginacion.codificar(pagina.get(tamanioPagina - 1).getId()));
+            });
+        });
+    }
+
+    /**
+     * Exporta todas las tareas ordenadas por ID.
+     * <p>
+     * Las filas se solicitan al driver en tandas de
+     * {@code tareas.exportacion.tamanio-lote} según la demanda del cliente
+     * HTTP: si este lee despacio, la lectura de la base de datos se detiene
+     * en lugar de acumular tareas en memoria.
+     * </p>
+     *
+     * @return flujo de todas las tareas
+     */
+    @Transactional(readOnly = true)
+    public Flux<Tarea> exportar() {
+        logger.info("Exportando todas las tareas en NDJSON");
+        return repository.findAllByOrderByIdAsc()
+                .limitRate(properties.getExportacion().getTamanioLote());
+    }
+
+    /**
+     * Crea una nueva tarea en el sistema.
+     *
+     * @param tarea objeto Tarea con los datos a guardar
+     * @return la tarea creada con su ID asignado
+     */
+    public Mono<Tarea> crear(Tarea tarea) {
+        return Mono.defer(() -> {
+            logger.info("Creando nueva tarea: {}", tarea != null ? tarea.getTitulo() : "null");
+            validador.validarTarea(tarea);
+            return insertar(tarea);
+        }).doOnNext(creada -> logger.info("Tarea creada exitosamente con ID: {}", creada.getId()));
+    }
+
+    /**
+     * Crea varias tareas en una sola transacción.
+     * <p>
+     * Cada elemento se valida con las mismas reglas que {@link #crear(Tarea)};
+     * los inválidos se informan por posición y no impiden la creación del resto.
+     * </p>
+     *
+     * @param tareas tareas a crear
+     * @return resultado con las tareas creadas y los errores por elemento
+     */
+    public Mono<ResultadoLote> crearLote(List<Tarea> tareas) {
+        return Mono.defer(() -> {
+            if (tareas == null || tareas.isEmpty()) {
+                throw new BadRequestException("El lote de tareas no puede estar vacío");
+            }
+            int maximo = properties.getLote().getTamanioMaximo();
+            if (tareas.size() > maximo) {
+                throw new BadRequestException(String.format("El lote no puede superar las %d tareas", maximo));
+            }
+            logger.info("Creando lote de {} tareas", tareas.size());
+
+            List<Tarea> validas = new ArrayList<>(tareas.size());
+            List<ErrorLote> errores = new ArrayList<>();
+            for (int i = 0; i < tareas.size(); i++) {
+                try {
+                    validador.validarTarea(tareas.get(i));
+                    validas.add(tareas.get(i));
+                } catch (BadRequestException e) {
+                    errores.add(new ErrorLote(i, e.getMessage()));
+                }
+            }
+
+            return Flux.fromIterable(validas)
+                    .concatMap(this::insertar)
+                    .collectList()
+                    .map(creadas -> {
+                        logger.info("Lote procesado: {} creadas, {} rechazadas", creadas.size(), errores.size());
+                        return new ResultadoLote(tareas.size(), creadas, errores);
+                    });
+        });
+    }
+
+    /**
+     * Obtiene una tarea por su identificador.
+     * <p>
+     * Si no está en la tabla principal se busca en el archivo, como en la
+     * variante JPA.
+     * </p>
+     *
+     * @param id identificador único de la tarea
+     * @return la tarea encontrada, o error {@link ResourceNotFoundException} si no existe
+     */
+    @Transactional(readOnly = true)
+    public Mono<Tarea> obtener(Long id) {
+        return Mono.defer(() -> {
+            logger.info("Obteniendo tarea con ID: {}", id);
+            validador.validarId(id);
+            return repository.findById(id)
+                    .switchIfEmpty(repository.findArchivadaById(id))
+                    .switchIfEmpty(noEncontrada(id));
+        });
+    }
+
+    /**
+     * Actualiza una tarea existente con una única sentencia {@code UPDATE}.
+     * <p>
+     * La tarea se vuelve a leer tras la modificación para devolver su nueva versión.
+     * </p>
+     *
+     * @param id identificador único de la tarea a actualizar
+     * @param datos objeto Tarea con los nuevos datos
+     * @return la tarea actualizada
+     */
+    public Mono<Tarea> actualizar(Long id, Tarea datos) {
+        return actualizar(id, datos, null);
+    }
+
+    /**
+     * Actualiza una tarea existente si conserva la versión esperada.
+     * <p>
+     * Con versión esperada, la comprobación forma parte de la propia
+     * sentencia {@code UPDATE}; si no modifica ninguna fila se distingue
+     * entre tarea inexistente (404) y versión distinta (412).
+     * </p>
+     *
+     * @param id identificador único de la tarea a actualizar
+     * @param datos objeto Tarea con los nuevos datos
+     * @param versionEsperada versión leída por el cliente, o {@code null} para no comprobarla
+     * @return la tarea actualizada, o error {@link PreconditionFailedException} si su versión es otra
+     */
+    public Mono<Tarea> actualizar(Long id, Tarea datos, Long versionEsperada) {
+        return Mono.defer(() -> {
+            logger.info("Actualizando tarea con ID: {}", id);
+            validador.validarId(id);
+            validador.validarTarea(datos);
+            if (versionEsperada == null) {
+                return repository.actualizarPorId(id, datos.getTitulo(), datos.getDescripcion(),
+                                datos.isCompletada())
+                        .flatMap(filas -> filas == 0 ? noEncontrada(id) : repository.findById(id));
+            }
+            return repository.actualizarPorIdYVersion(id, versionEsperada, datos.getTitulo(),
+                            datos.getDescripcion(), datos.isCompletada())
+                    .flatMap(filas -> filas == 0
+                            ? repository.existsById(id).flatMap(existe -> existe
+                                    ? Mono.<Tarea>error(new PreconditionFailedException("Tarea", id))
+                                    : noEncontrada(id))
+                            : repository.findById(id));
+        }).flatMap(tarea -> repository.registrarCambio(TareaEvento.actualizada(tarea, null)).thenReturn(tarea));
+    }
+
+    /**
+     * Actualiza solo los campos indicados de una tarea existente.
+     *
+     * @param id identificador único de la tarea a actualizar
+     * @param cambios campos a modificar
+     * @return señal de finalización, o error si la tarea no existe
+     */
+    public Mono<Void> actualizarParcialmente(Long id, TareaParcial cambios) {
+        return Mono.defer(() -> {
+            logger.info("Actualizando parcialmente tarea con ID: {}", id);
+            validador.validarId(id);
+            validador.validarCambios(cambios);
+            return repository.actualizarParcialmentePorId(
+                    id, cambios.getTitulo(), cambios.getDescripcion(), cambios.getCompletada());
+        }).flatMap(filas -> filas == 0
+                ? noEncontrada(id)
+                : repository.registrarCambio(TareaEvento.actualizadaParcialmente(id, cambios, null)));
+    }
+
+    /**
+     * Elimina una tarea con una única sentencia {@code DELETE}.
+     *
+     * @param id identificador único de la tarea a eliminar
+     * @return señal de finalización, o error si la tarea no existe
+     */
+    public Mono<Void> eliminar(Long id) {
+        return Mono.defer(() -> {
+            logger.info("Eliminando tarea con ID: {}", id);
+            validador.validarId(id);
+            return repository.eliminarPorId(id);
+        }).flatMap(filas -> filas == 0
+                ? noEncontrada(id)
+                : repository.registrarCambio(TareaEvento.eliminada(id, null)));
+    }
+
+    /**
+     * Inserta una tarea validada asignándole un ID de la secuencia.
+     *
+     * @param tarea tarea a insertar
+     * @return la tarea insertada
+     */
+    private Mono<Tarea> insertar(Tarea tarea) {
+        return asignadorIds.siguiente()
+                .flatMap(id -> {
+                    tarea.setId(id);
+                    return repository.insertar(tarea);
+                })
+                .flatMap(creada -> repository.registrarCambio(TareaEvento.creada(creada)).thenReturn(creada))
+                .onErrorMap(e -> !(e instanceof BadRequestException),
+                        e -> new RuntimeException("Error al crear la tarea", e));
+    }
+
+    /**
+     * Emite el error de tarea no encontrada.
+     *
+     * @param id identificador buscado
+     * @param <T> tipo del flujo
+     * @return flujo con el error {@link ResourceNotFoundException}
+     */
+    private static <T> Mono<T> noEncontrada(Long id) {
+        return Mono.defer(() -> {
+            logger.warn("Tarea no encontrada con ID: {}", id);
+            return Mono.error(new ResourceNotFoundException("Tarea", id));
+        });
+    }
+}
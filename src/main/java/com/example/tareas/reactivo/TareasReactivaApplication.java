@@ -0,0 +1,37 @@
+package com.example.tareas.reactivo;
+
+import com.example.tareas.config.FormatosConfig;
+import com.example.tareas.config.MetricasConfig;
+import com.example.tareas.config.TareasProperties;
+import com.example.tareas.service.PaginacionCursor;
+import com.example.tareas.service.ValidadorTarea;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Configuración de arranque de la variante reactiva de la API.
+ * <p>
+ * Se selecciona con el perfil {@code reactivo} desde
+ * {@link com.example.tareas.TareasApplication#main(String[])}. Sirve los
+ * mismos endpoints con WebFlux sobre R2DBC y reutiliza las reglas de
+ * validación y paginación del servicio bloqueante; JPA, JDBC y el menú de
+ * consola no se cargan.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class
+})
+@EnableConfigurationProperties(TareasProperties.class)
+@Import({ValidadorTarea.class, PaginacionCursor.class, MetricasConfig.class, FormatosConfig.class})
+public class TareasReactivaApplication {
+}
@@ -0,0 +1,200 @@
+package com.example.tareas.registro;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Appender de Logback que escribe los eventos en un hilo aparte sin bloquear
+ * nunca al hilo que registra.
+ * <p>
+ * Los eventos se encolan en una cola acotada de {@code capacidad} elementos y
+ * un único hilo los entrega a los appenders asociados. Si la cola está llena
+ * el evento se descarta y se cuenta, en lugar de frenar la petición que lo
+ * generó; el total se publica como la métrica
+ * {@value com.example.tareas.config.MetricasConfig#METRICA_REGISTROS_DESCARTADOS}.
+ * A diferencia del {@code AsyncAppender} de Logback, no descarta eventos
+ * antes de llenarse la cola y cuenta todos los descartes.
+ * </p>
+ * <p>
+ * Se configura en {@code logback-produccion.xml}:
+ * </p>
+ * <pre>{@code
+ * <appender name="ASINCRONO" class="com.example.tareas.registro.AppenderAsincrono">
+ *     <capacidad>8192</capacidad>
+ *     <appender-ref ref="CONSOLE"/>
+ * </appender>
+ * }</pre>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+public class AppenderAsincrono extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    /**
+     * Eventos descartados por todas las instancias desde el arranque de la JVM.
+     * Es estático porque Logback crea el appender antes que el contexto de Spring.
+     */
+    private static final LongAdder DESCARTADOS = new LongAdder();
+
+    /**
+     * Número máximo de eventos que el hilo escritor entrega de una vez.
+     */
+    private static final int TAMANIO_LOTE = 256;
+
+    /**
+     * Appenders que reciben los eventos desde el hilo escritor.
+     */
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    /**
+     * Número máximo de eventos pendientes de escribir.
+     */
+    private int capacidad = 8192;
+
+    /**
+     * Tiempo máximo que se espera al detener el appender para vaciar la cola.
+     */
+    private long esperaCierreMs = 1000;
+
+    private BlockingQueue<ILoggingEvent> cola;
+
+    private Thread escritor;
+
+    /**
+     * Obtiene el número de eventos descartados por cola llena.
+     *
+     * @return eventos descartados desde el arranque
+     */
+    public static long descartados() {
+        return DESCARTADOS.sum();
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (capacidad < 1) {
+            addError("La capacidad de la cola debe ser positiva: " + capacidad);
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No hay ningún appender asociado a " + getName());
+            return;
+        }
+        cola = new ArrayBlockingQueue<>(capacidad);
+        super.start();
+        escritor = new Thread(this::escribir, "registro-asincrono-" + getName());
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        try {
+            escritor.join(esperaCierreMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (escritor.isAlive()) {
+            addWarn(cola.size() + " eventos sin escribir al detener " + getName());
+            escritor.interrupt();
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent evento) {
+        // Fija en este hilo lo que depende de él (mensaje formateado, MDC) antes de cederlo
+        evento.prepareForDeferredProcessing();
+        if (!cola.offer(evento)) {
+            DESCARTADOS.increment();
+        }
+    }
+
+    /**
+     * Bucle del hilo escritor: entrega los eventos por lotes hasta que el
+     * appender se detiene y la cola queda vacía.
+     */
+    private void escribir() {
+        List<ILoggingEvent> lote = new ArrayList<>(TAMANIO_LOTE);
+        while (isStarted() || !cola.isEmpty()) {
+            try {
+                ILoggingEvent primero = cola.poll(100, TimeUnit.MILLISECONDS);
+                if (primero == null) {
+                    continue;
+                }
+                lote.add(primero);
+                cola.drainTo(lote, TAMANIO_LOTE - 1);
+                for (ILoggingEvent evento : lote) {
+                    appenders.appendLoopOnAppenders(evento);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                addError("Error al escribir eventos de registro", e);
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    public void setCapacidad(int capacidad) {
+        this.capacidad = capacidad;
+    }
+
+    public void setEsperaCierreMs(long esperaCierreMs) {
+        this.esperaCierreMs = esperaCierreMs;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String nombre) {
+        return appenders.getAppender(nombre);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String nombre) {
+        return appenders.detachAppender(nombre);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.tareas.registro;
+
+/**
+ * Indica, para el hilo actual, si debe registrarse el SQL que ejecuta.
+ * <p>
+ * {@link FiltroRegistroAccesos} lo activa durante las peticiones que lo
+ * solicitan y {@link InspectorSql} lo consulta antes de cada sentencia, de
+ * modo que el SQL se registra solo para esas peticiones y no para todas.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+public final class ContextoRegistro {
+
+    /**
+     * Marca de las peticiones cuyo SQL se registra en el hilo actual.
+     */
+    private static final ThreadLocal<Boolean> SQL = new ThreadLocal<>();
+
+    private ContextoRegistro() {
+    }
+
+    /**
+     * Indica si el hilo actual debe registrar su SQL.
+     *
+     * @return {@code true} si la petición en curso pidió registrar su SQL
+     */
+    public static boolean registrarSql() {
+        return SQL.get() != null;
+    }
+
+    /**
+     * Activa el registro de SQL en el hilo actual hasta llamar a {@link #restablecer()}.
+     */
+    static void activarSql() {
+        SQL.set(Boolean.TRUE);
+    }
+
+    /**
+     * Desactiva el registro de SQL en el hilo actual.
+     */
+    static void restablecer() {
+        SQL.remove();
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.tareas.registro;
+
+import com.example.tareas.config.TareasProperties;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Filtro que registra una muestra de las peticiones y activa el registro de
+ * SQL de las que lo solicitan.
+ * <p>
+ * Sustituye a las trazas {@code INFO} de cada petición en el controlador y el
+ * servicio: las peticiones con error de servidor o más lentas que
+ * {@code tareas.registro.umbral-lento} se registran siempre, y del resto solo
+ * la fracción {@code tareas.registro.muestreo-accesos}. Cada línea lleva el
+ * método, la ruta, el código de estado y la duración como campos
+ * estructurados. Las respuestas asíncronas (exportación, feed de cambios,
+ * escrituras diferidas) se registran al completarse, no al liberar el hilo
+ * de la petición.
+ * </p>
+ * <p>
+ * El ID de traza se toma de la cabecera W3C {@value #CABECERA_TRAZA} si viene,
+ * o se genera, y se deja en el MDC ({@value #MDC_TRAZA}) para que todas las
+ * líneas de la petición puedan correlacionarse. El SQL de la petición se
+ * registra si su traza viene muestreada o si trae la cabecera
+ * {@value #CABECERA_SQL}, cada cosa solo si así se configura: cualquier
+ * cliente puede enviar la cabecera, por lo que solo debe habilitarse si un
+ * proxy de confianza la elimina de las peticiones externas.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see InspectorSql
+ */
+public class FiltroRegistroAccesos extends OncePerRequestFilter {
+
+    /**
+     * Cabecera con la que una petición pide que se registre su SQL.
+     */
+    public static final String CABECERA_SQL = "X-Registro-Sql";
+
+    /**
+     * Cabecera de contexto de traza W3C.
+     */
+    public static final String CABECERA_TRAZA = "traceparent";
+
+    /**
+     * Clave del MDC con el ID de traza de la petición.
+     */
+    public static final String MDC_TRAZA = "traza";
+
+    /**
+     * Nombre del logger de accesos.
+     */
+    public static final String LOGGER = "com.example.tareas.accesos";
+
+    private static final Logger logger = LoggerFactory.getLogger(LOGGER);
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    /**
+     * Parámetros del registro.
+     */
+    private final TareasProperties.Registro configuracion;
+
+    /**
+     * Crea el filtro con la configuración del registro.
+     *
+     * @param configuracion parámetros del muestreo y del registro de SQL
+     */
+    public FiltroRegistroAccesos(TareasProperties.Registro configuracion) {
+        this.configuracion = configuracion;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long inicio = System.nanoTime();
+        String traceparent = request.getHeader(CABECERA_TRAZA);
+        boolean registrarSql = registrarSql(request, traceparent);
+        MDC.put(MDC_TRAZA, idTraza(traceparent));
+        if (registrarSql) {
+            ContextoRegistro.activarSql();
+        }
+        boolean fallida = true;
+        try {
+            chain.doFilter(request, response);
+            fallida = false;
+        } finally {
+            if (!fallida && request.isAsyncStarted()) {
+                // La respuesta aún no está completa: se registra al terminar, con su estado y duración reales
+                String traza = MDC.get(MDC_TRAZA);
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        registrar(request, response.getStatus(), inicio, registrarSql, traza);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                int estado = fallida ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+                registrar(request, estado, inicio, registrarSql, null);
+            }
+            ContextoRegistro.restablecer();
+            MDC.remove(MDC_TRAZA);
+        }
+    }
+
+    /**
+     * Registra el acceso si falla, es lento, pidió su SQL o entra en el muestreo.
+     *
+     * @param request petición HTTP
+     * @param estado código de estado de la respuesta
+     * @param inicio momento de inicio de la petición, según {@link System#nanoTime()}
+     * @param registrarSql {@code true} si la petición registra su SQL
+     * @param traza ID de traza que poner en el MDC, o {@code null} si ya está puesto
+     */
+    private void registrar(HttpServletRequest request, int estado, long inicio, boolean registrarSql, String traza) {
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        if (estado < 500 && !registrarSql && duracionMs < configuracion.getUmbralLento().toMillis()
+                && ThreadLocalRandom.current().nextDouble() >= configuracion.getMuestreoAccesos()) {
+            return;
+        }
+        if (traza != null) {
+            MDC.put(MDC_TRAZA, traza);
+        }
+        try {
+            logger.atInfo()
+                    .addKeyValue("metodo", request.getMethod())
+                    .addKeyValue("ruta", request.getRequestURI())
+                    .addKeyValue("estado", estado)
+                    .addKeyValue("duracionMs", duracionMs)
+                    .log("{} {} {} {} ms", request.getMethod(), request.getRequestURI(), estado, duracionMs);
+        } finally {
+            if (traza != null) {
+                MDC.remove(MDC_TRAZA);
+            }
+        }
+    }
+
+    /**
+     * Indica si debe registrarse el SQL de la petición.
+     *
+     * @param request petición HTTP
+     * @param traceparent cabecera de traza W3C, o {@code null}
+     * @return {@code true} si la petición lo pide y está permitido, o si su traza viene muestreada
+     */
+    private boolean registrarSql(HttpServletRequest request, String traceparent) {
+        if (configuracion.isSqlPorPeticion() && "true".equalsIgnoreCase(request.getHeader(CABECERA_SQL))) {
+            return true;
+        }
+        return configuracion.isSqlEnTrazasMuestreadas() && trazaValida(traceparent)
+                && (Character.digit(traceparent.charAt(54), 16) & 1) == 1;
+    }
+
+    /**
+     * Obtiene el ID de traza de la cabecera W3C o genera uno nuevo.
+     *
+     * @param traceparent cabecera {@code traceparent}, con formato {@code 00-<traza>-<padre>-<opciones>}
+     * @return ID de traza en hexadecimal
+     */
+    private static String idTraza(String traceparent) {
+        if (trazaValida(traceparent)) {
+            return traceparent.substring(3, 35);
+        }
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        return HEX.toHexDigits(aleatorio.nextLong()) + HEX.toHexDigits(aleatorio.nextLong());
+    }
+
+    /**
+     * Comprueba la forma de una cabecera {@code traceparent} de versión 00.
+     *
+     * @param traceparent valor de la cabecera, o {@code null}
+     * @return {@code true} si tiene la longitud y los separadores esperados
+     */
+    private static boolean trazaValida(String traceparent) {
+        return traceparent != null && traceparent.length() == 55 && traceparent.startsWith("00-")
+                && traceparent.charAt(35) == '-' && traceparent.charAt(52) == '-';
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.tareas.registro;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Inspector de sentencias de Hibernate que registra el SQL de las peticiones
+ * que lo solicitan.
+ * <p>
+ * Sustituye a {@code spring.jpa.show-sql}, que escribe todas las sentencias
+ * en la salida estándar de forma síncrona. Para el resto de peticiones el
+ * coste es una consulta a un {@code ThreadLocal}. Las líneas se registran en
+ * el logger {@value #LOGGER} y llevan el ID de traza de la petición en el MDC.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see ContextoRegistro
+ */
+public class InspectorSql implements StatementInspector {
+
+    /**
+     * Nombre del logger del SQL registrado por petición.
+     */
+    public static final String LOGGER = "com.example.tareas.sql";
+
+    private static final Logger logger = LoggerFactory.getLogger(LOGGER);
+
+    @Override
+    public String inspect(String sql) {
+        if (ContextoRegistro.registrarSql()) {
+            logger.info("SQL: {}", sql);
+        }
+        return sql;
+    }
+}
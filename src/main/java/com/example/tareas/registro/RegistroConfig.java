@@ -0,0 +1,71 @@
+package com.example.tareas.registro;
+
+import com.example.tareas.config.MetricasConfig;
+import com.example.tareas.config.TareasProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuración del registro de bajo coste para producción.
+ * <p>
+ * Se activa con {@code tareas.registro.habilitado=true} (perfil
+ * {@code produccion}, que además desactiva {@code spring.jpa.show-sql} y
+ * escribe los logs en JSON a través de {@link AppenderAsincrono}). Registra el
+ * filtro de accesos muestreados, el inspector que registra el SQL solo de
+ * las peticiones que lo piden y la métrica de eventos de registro descartados.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tareas.registro", name = "habilitado", havingValue = "true")
+public class RegistroConfig {
+
+    /**
+     * Filtro de registro de accesos, el primero de la cadena para medir la
+     * petición completa y dejar el ID de traza en el MDC desde el principio.
+     *
+     * @param properties propiedades de configuración de la aplicación
+     * @return registro del filtro sobre {@code /api/*}
+     */
+    @Bean
+    public FilterRegistrationBean<FiltroRegistroAccesos> filtroRegistroAccesos(TareasProperties properties) {
+        FilterRegistrationBean<FiltroRegistroAccesos> registro = new FilterRegistrationBean<>(
+                new FiltroRegistroAccesos(properties.getRegistro()));
+        registro.addUrlPatterns("/api/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+
+    /**
+     * Registra {@link InspectorSql} en la factoría de sesiones de Hibernate.
+     *
+     * @return personalizador de las propiedades de Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer inspectorSql() {
+        return propiedades -> propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, new InspectorSql());
+    }
+
+    /**
+     * Publica el número de eventos de registro descartados por {@link AppenderAsincrono}.
+     *
+     * @return enlazador de la métrica
+     */
+    @Bean
+    public MeterBinder registrosDescartados() {
+        return registry -> FunctionCounter.builder(MetricasConfig.METRICA_REGISTROS_DESCARTADOS,
+                        AppenderAsincrono.class, appender -> AppenderAsincrono.descartados())
+                .description("Eventos de registro descartados por cola llena")
+                .register(registry);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.tareas.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * Indica, para el hilo actual, si las lecturas deben ir a la base de datos primaria.
+ * <p>
+ * Con la réplica de lectura habilitada, las transacciones de solo lectura se
+ * envían a la réplica salvo que este contexto pida la primaria: porque el
+ * cliente acaba de escribir (lectura de las propias escrituras) o porque la
+ * operación no tolera el retraso de replicación. Sin réplica no tiene efecto.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see DataSourceLecturaEscritura
+ */
+public final class ContextoReplica {
+
+    /**
+     * Marca de las lecturas que deben ir a la primaria en el hilo actual.
+     */
+    private static final ThreadLocal<Boolean> PRIMARIA = new ThreadLocal<>();
+
+    private ContextoReplica() {
+    }
+
+    /**
+     * Ejecuta una operación leyendo siempre de la base de datos primaria.
+     *
+     * @param operacion operación a ejecutar
+     * @param <T> tipo del resultado
+     * @return resultado de la operación
+     */
+    public static <T> T enPrimaria(Supplier<T> operacion) {
+        Boolean anterior = PRIMARIA.get();
+        PRIMARIA.set(Boolean.TRUE);
+        try {
+            return operacion.get();
+        } finally {
+            if (anterior == null) {
+                PRIMARIA.remove();
+            }
+        }
+    }
+
+    /**
+     * Envuelve una tarea para que se ejecute, en el hilo que sea, con la
+     * marca del hilo actual: una respuesta asíncrona (por ejemplo, la
+     * exportación en streaming) lee de la misma base que su petición.
+     *
+     * @param tarea tarea creada en el hilo actual
+     * @return tarea que lee de la primaria si el hilo actual lo requiere
+     */
+    public static Runnable propagar(Runnable tarea) {
+        if (!requierePrimaria()) {
+            return tarea;
+        }
+        return () -> enPrimaria(() -> {
+            tarea.run();
+            return null;
+        });
+    }
+
+    /**
+     * Indica si las lecturas del hilo actual deben ir a la primaria.
+     *
+     * @return {@code true} si no deben servirse desde la réplica
+     */
+    public static boolean requierePrimaria() {
+        return PRIMARIA.get() != null;
+    }
+
+    /**
+     * Marca el hilo actual para leer de la primaria hasta {@link #restablecer()}.
+     */
+    static void forzarPrimaria() {
+        PRIMARIA.set(Boolean.TRUE);
+    }
+
+    /**
+     * Elimina la marca del hilo actual.
+     */
+    static void restablecer() {
+        PRIMARIA.remove();
+    }
+}
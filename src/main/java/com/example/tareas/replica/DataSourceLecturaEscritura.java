@@ -0,0 +1,177 @@
+package com.example.tareas.replica;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * {@link DataSource} que reparte las conexiones entre la base de datos
+ * primaria y una réplica de lectura.
+ * <p>
+ * Las conexiones de las transacciones de solo lectura
+ * ({@code @Transactional(readOnly = true)}) se piden a la réplica; el resto,
+ * y las lecturas para las que {@link ContextoReplica} exige la primaria, a la
+ * primaria. Debe envolverse en un
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * para que la conexión se pida cuando la transacción ya está iniciada.
+ * </p>
+ * <p>
+ * Si la réplica no entrega una conexión se marca como no disponible y la
+ * lectura se sirve desde la primaria. Mientras está marcada no se intenta
+ * usar, hasta que {@link #comprobarReplica()} confirme que responde de nuevo.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+public class DataSourceLecturaEscritura extends AbstractDataSource {
+
+    /**
+     * Logger para registrar los cambios de disponibilidad de la réplica.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceLecturaEscritura.class);
+
+    /**
+     * Segundos de espera de la validación de una conexión de la réplica.
+     */
+    private static final int ESPERA_VALIDACION_SEGUNDOS = 1;
+
+    /**
+     * Base de datos primaria, que recibe todas las escrituras.
+     */
+    private final DataSource primaria;
+
+    /**
+     * Réplica de lectura.
+     */
+    private final DataSource replica;
+
+    /**
+     * Indica si la réplica respondió en el último intento.
+     */
+    private volatile boolean replicaDisponible = true;
+
+    /**
+     * Crea el enrutador sobre los dos orígenes de datos.
+     *
+     * @param primaria base de datos primaria
+     * @param replica réplica de lectura
+     */
+    public DataSourceLecturaEscritura(DataSource primaria, DataSource replica) {
+        this.primaria = primaria;
+        this.replica = replica;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conectar(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return conectar(origen -> origen.getConnection(username, password));
+    }
+
+    /**
+     * Obtiene la conexión de la réplica si la transacción en curso puede
+     * usarla y, si no o si la réplica no responde, de la primaria.
+     * <p>
+     * Que un origen no admita la operación (por ejemplo, credenciales por
+     * conexión en un pool de Hikari) no marca la réplica como no disponible.
+     * </p>
+     *
+     * @param obtencion forma de pedir la conexión a cada origen de datos
+     * @return conexión del origen elegido
+     * @throws SQLException si la primaria no entrega la conexión
+     */
+    private Connection conectar(ObtencionConexion obtencion) throws SQLException {
+        if (usarReplica()) {
+            try {
+                return obtencion.obtener(replica);
+            } catch (SQLFeatureNotSupportedException e) {
+                throw e;
+            } catch (SQLException e) {
+                marcarNoDisponible(e);
+            }
+        }
+        return obtencion.obtener(primaria);
+    }
+
+    /**
+     * Indica si la conexión solicitada puede servirse desde la réplica.
+     *
+     * @return {@code true} si la transacción en curso es de solo lectura, no
+     * exige la primaria y la réplica está disponible
+     */
+    private boolean usarReplica() {
+        return replicaDisponible
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ContextoReplica.requierePrimaria();
+    }
+
+    /**
+     * Deja de usar la réplica hasta la siguiente comprobación correcta.
+     *
+     * @param causa error al obtener la conexión
+     */
+    private void marcarNoDisponible(SQLException causa) {
+        if (replicaDisponible) {
+            replicaDisponible = false;
+            logger.warn("Réplica de lectura no disponible; las lecturas se sirven desde la primaria: {}",
+                    causa.getMessage());
+        }
+    }
+
+    /**
+     * Comprueba periódicamente si la réplica responde y, si estaba marcada
+     * como no disponible, la vuelve a usar.
+     */
+    @Scheduled(fixedDelayString = "${tareas.replica.intervalo-comprobacion:PT5S}")
+    public void comprobarReplica() {
+        try (Connection conexion = replica.getConnection()) {
+            if (conexion.isValid(ESPERA_VALIDACION_SEGUNDOS)) {
+                if (!replicaDisponible) {
+                    replicaDisponible = true;
+                    logger.info("Réplica de lectura disponible de nuevo");
+                }
+                return;
+            }
+            marcarNoDisponible(new SQLException("La conexión de la réplica no es válida"));
+        } catch (SQLException e) {
+            marcarNoDisponible(e);
+        }
+    }
+
+    /**
+     * Indica si las lecturas se están enviando a la réplica.
+     *
+     * @return {@code true} si la réplica está disponible
+     */
+    public boolean isReplicaDisponible() {
+        return replicaDisponible;
+    }
+
+    /**
+     * Petición de una conexión a uno de los orígenes de datos.
+     */
+    @FunctionalInterface
+    private interface ObtencionConexion {
+
+        /**
+         * Pide una conexión al origen indicado.
+         *
+         * @param origen primaria o réplica
+         * @return conexión obtenida
+         * @throws SQLException si el origen no entrega la conexión
+         */
+        Connection obtener(DataSource origen) throws SQLException;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.tareas.replica;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Filtro que garantiza que un cliente lee sus propias escrituras aunque la
+ * réplica vaya con retraso.
+ * <p>
+ * Cada petición de escritura ({@code POST}, {@code PUT}, {@code PATCH} o
+ * {@code DELETE}) devuelve la cookie {@value #COOKIE_ESCRITURA} con el
+ * instante de la escritura. Mientras no haya pasado
+ * {@code tareas.replica.ventana-lectura-propia} desde entonces, las lecturas
+ * de ese cliente se sirven desde la primaria; el resto de clientes sigue
+ * leyendo de la réplica.
+ * </p>
+ * <p>
+ * La ventana solo protege al cliente si la réplica va menos retrasada que
+ * ella. Por eso, mientras el retraso medido por {@link MonitorRetrasoReplica}
+ * la alcance, todas las lecturas se sirven desde la primaria.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see ContextoReplica
+ */
+public class FiltroLecturaPropia extends OncePerRequestFilter {
+
+    /**
+     * Nombre de la cookie con el instante (epoch en milisegundos) de la última escritura del cliente.
+     */
+    public static final String COOKIE_ESCRITURA = "tareas-ultima-escritura";
+
+    /**
+     * Tiempo durante el que un cliente lee de la primaria tras escribir.
+     */
+    private final Duration ventana;
+
+    /**
+     * Monitor del retraso de la réplica.
+     */
+    private final MonitorRetrasoReplica monitor;
+
+    /**
+     * Crea el filtro con la ventana de lectura de las propias escrituras.
+     *
+     * @param ventana tiempo durante el que se lee de la primaria tras escribir
+     * @param monitor monitor del retraso de la réplica
+     */
+    public FiltroLecturaPropia(Duration ventana, MonitorRetrasoReplica monitor) {
+        this.ventana = ventana;
+        this.monitor = monitor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long ahora = System.currentTimeMillis();
+        if (esEscritura(request)) {
+            ResponseCookie cookie = ResponseCookie.from(COOKIE_ESCRITURA, Long.toString(ahora))
+                    .path("/")
+                    .maxAge(ventana)
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        }
+        if (!monitor.isRetrasada() && !escrituraReciente(request, ahora)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        ContextoReplica.forzarPrimaria();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ContextoReplica.restablecer();
+        }
+    }
+
+    /**
+     * Indica si la petición modifica datos.
+     *
+     * @param request petición HTTP
+     * @return {@code true} para {@code POST}, {@code PUT}, {@code PATCH} y {@code DELETE}
+     */
+    private static boolean esEscritura(HttpServletRequest request) {
+        HttpMethod metodo = HttpMethod.valueOf(request.getMethod());
+        return HttpMethod.POST.equals(metodo) || HttpMethod.PUT.equals(metodo)
+                || HttpMethod.PATCH.equals(metodo) || HttpMethod.DELETE.equals(metodo);
+    }
+
+    /**
+     * Indica si el cliente escribió dentro de la ventana de lectura de sus propias escrituras.
+     *
+     * @param request petición HTTP
+     * @param ahora instante actual en milisegundos
+     * @return {@code true} si la cookie de escritura es reciente
+     */
+    private boolean escrituraReciente(HttpServletRequest request, long ahora) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_ESCRITURA.equals(cookie.getName())) {
+                try {
+                    long instante = Long.parseLong(cookie.getValue());
+                    return ahora - instante < ventana.toMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.tareas.replica;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Mide el retraso de la réplica de lectura con un latido.
+ * <p>
+ * Periódicamente escribe en la primaria el instante actual en la única fila
+ * de {@code tareas_latido} y lee en la réplica el último valor replicado:
+ * todo lo confirmado en la primaria antes de ese latido ya está en la
+ * réplica. El retraso es el tiempo transcurrido desde ese instante, así que
+ * nunca es menor que el real (incluye hasta un intervalo entre latidos).
+ * </p>
+ * <p>
+ * Si el retraso alcanza la ventana de lectura de las propias escrituras, la
+ * cookie de un cliente puede caducar antes de que la réplica tenga su
+ * escritura; {@link FiltroLecturaPropia} envía entonces todas las lecturas a
+ * la primaria. Lo mismo ocurre antes del primer latido leído o si el latido
+ * deja de escribirse o de leerse. Los instantes de las cookies y de los
+ * latidos proceden de los relojes de las instancias, que se suponen
+ * sincronizados.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see com.example.tareas.model.LatidoReplica
+ */
+public class MonitorRetrasoReplica {
+
+    /**
+     * Logger para registrar los cambios de estado de la réplica.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(MonitorRetrasoReplica.class);
+
+    /**
+     * Identificador de la fila del latido.
+     */
+    private static final int ID_LATIDO = 1;
+
+    /**
+     * Acceso a la primaria, donde se escribe el latido.
+     */
+    private final JdbcTemplate primaria;
+
+    /**
+     * Acceso a la réplica, donde se lee el latido replicado.
+     */
+    private final JdbcTemplate replica;
+
+    /**
+     * Retraso a partir del cual las lecturas dejan de enviarse a la réplica.
+     */
+    private final Duration retrasoMaximo;
+
+    /**
+     * Instante (epoch en milisegundos) del último latido leído en la réplica,
+     * o {@code 0} si aún no se ha leído ninguno.
+     */
+    private volatile long replicadoHasta;
+
+    /**
+     * Indica si el último latido superaba el retraso máximo, para registrar solo los cambios.
+     */
+    private boolean retrasada = true;
+
+    /**
+     * Crea el monitor sobre los pools de la primaria y de la réplica.
+     *
+     * @param primaria pool de la primaria
+     * @param replica pool de la réplica
+     * @param retrasoMaximo retraso a partir del cual las lecturas se envían a la primaria
+     */
+    public MonitorRetrasoReplica(DataSource primaria, DataSource replica, Duration retrasoMaximo) {
+        this.primaria = new JdbcTemplate(primaria);
+        this.replica = new JdbcTemplate(replica);
+        this.retrasoMaximo = retrasoMaximo;
+    }
+
+    /**
+     * Escribe el latido en la primaria y lee en la réplica el último replicado.
+     */
+    @Scheduled(fixedDelayString = "${tareas.replica.intervalo-latido:PT1S}")
+    public synchronized void latir() {
+        long marca = System.currentTimeMillis();
+        try {
+            if (primaria.update("UPDATE tareas_latido SET marca = ? WHERE id = ?", marca, ID_LATIDO) == 0) {
+                primaria.update("INSERT INTO tareas_latido (id, marca) VALUES (?, ?)", ID_LATIDO, marca);
+            }
+        } catch (DuplicateKeyException e) {
+            // Otra instancia ha creado la fila a la vez; su latido sirve igual
+        } catch (DataAccessException e) {
+            logger.debug("No se ha podido escribir el latido en la primaria: {}", e.getMessage());
+        }
+        try {
+            Long replicada = replica.queryForObject(
+                    "SELECT marca FROM tareas_latido WHERE id = ?", Long.class, ID_LATIDO);
+            if (replicada != null) {
+                replicadoHasta = replicada;
+            }
+        } catch (DataAccessException e) {
+            logger.debug("No se ha podido leer el latido en la réplica: {}", e.getMessage());
+        }
+
+        boolean ahoraRetrasada = isRetrasada();
+        if (ahoraRetrasada != retrasada) {
+            retrasada = ahoraRetrasada;
+            if (ahoraRetrasada) {
+                logger.warn("Réplica de lectura retrasada {} ms; las lecturas se sirven desde la primaria",
+                        getRetraso().toMillis());
+            } else {
+                logger.info("Réplica de lectura al día; las lecturas vuelven a la réplica");
+            }
+        }
+    }
+
+    /**
+     * Obtiene el retraso medido de la réplica.
+     *
+     * @return tiempo transcurrido desde el último latido leído en la réplica
+     */
+    public Duration getRetraso() {
+        return Duration.ofMillis(Math.max(0, System.currentTimeMillis() - replicadoHasta));
+    }
+
+    /**
+     * Indica si la réplica va demasiado retrasada para servir lecturas.
+     *
+     * @return {@code true} si el retraso alcanza el máximo
+     */
+    public boolean isRetrasada() {
+        return getRetraso().compareTo(retrasoMaximo) >= 0;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.tareas.replica;
+
+import com.example.tareas.config.TareasProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuración de la réplica de lectura.
+ * <p>
+ * Se activa con {@code tareas.replica.habilitada=true} (perfil {@code replica}).
+ * Crea un pool de conexiones para la primaria ({@code spring.datasource.*})
+ * y otro para la réplica ({@code tareas.replica.datasource.*}), y expone
+ * como {@link DataSource} principal un {@link DataSourceLecturaEscritura}
+ * que envía las transacciones de solo lectura a la réplica.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "tareas.replica.habilitada", havingValue = "true")
+public class ReplicaConfig {
+
+    /**
+     * Pool de conexiones de la base de datos primaria.
+     *
+     * @param properties propiedades {@code spring.datasource.*}
+     * @return pool de la primaria
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimaria(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Pool de conexiones de la réplica de lectura; se inicializa con la primera conexión.
+     *
+     * @return pool de la réplica
+     */
+    @Bean
+    @ConfigurationProperties("tareas.replica.datasource")
+    public HikariDataSource dataSourceReplica() {
+        return new HikariDataSource();
+    }
+
+    /**
+     * Enrutador de conexiones entre la primaria y la réplica.
+     *
+     * @param dataSourcePrimaria pool de la primaria
+     * @param dataSourceReplica pool de la réplica
+     * @return enrutador de lecturas y escrituras
+     */
+    @Bean
+    public DataSourceLecturaEscritura dataSourceLecturaEscritura(HikariDataSource dataSourcePrimaria,
+                                                                 HikariDataSource dataSourceReplica) {
+        return new DataSourceLecturaEscritura(dataSourcePrimaria, dataSourceReplica);
+    }
+
+    /**
+     * Origen de datos principal de la aplicación (JPA, repositorios).
+     * <p>
+     * Retrasa la obtención de la conexión hasta la primera sentencia, cuando
+     * ya se sabe si la transacción es de solo lectura.
+     * </p>
+     *
+     * @param dataSourceLecturaEscritura enrutador de lecturas y escrituras
+     * @return origen de datos principal
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceLecturaEscritura dataSourceLecturaEscritura) {
+        return new LazyConnectionDataSourceProxy(dataSourceLecturaEscritura);
+    }
+
+    /**
+     * Decorador de las tareas asíncronas de Spring MVC (el ejecutor
+     * {@code applicationTaskExecutor}), que les traslada la marca de
+     * {@link ContextoReplica} del hilo de la petición.
+     *
+     * @return decorador que propaga la lectura en la primaria
+     */
+    @Bean
+    public TaskDecorator propagacionContextoReplica() {
+        return ContextoReplica::propagar;
+    }
+
+    /**
+     * Monitor del retraso de la réplica, medido con un latido.
+     *
+     * @param dataSourcePrimaria pool de la primaria
+     * @param dataSourceReplica pool de la réplica
+     * @param properties propiedades de configuración de la aplicación
+     * @return monitor del retraso
+     */
+    @Bean
+    public MonitorRetrasoReplica monitorRetrasoReplica(HikariDataSource dataSourcePrimaria,
+                                                       HikariDataSource dataSourceReplica,
+                                                       TareasProperties properties) {
+        return new MonitorRetrasoReplica(dataSourcePrimaria, dataSourceReplica,
+                properties.getReplica().getVentanaLecturaPropia());
+    }
+
+    /**
+     * Registra el filtro de lectura de las propias escrituras.
+     *
+     * @param properties propiedades de configuración de la aplicación
+     * @param monitor monitor del retraso de la réplica
+     * @return registro del filtro para todas las rutas de la API
+     */
+    @Bean
+    public FilterRegistrationBean<FiltroLecturaPropia> filtroLecturaPropia(TareasProperties properties,
+                                                                           MonitorRetrasoReplica monitor) {
+        FilterRegistrationBean<FiltroLecturaPropia> registro = new FilterRegistrationBean<>(
+                new FiltroLecturaPropia(properties.getReplica().getVentanaLecturaPropia(), monitor));
+        registro.addUrlPatterns("/api/*");
+        return registro;
+    }
+}
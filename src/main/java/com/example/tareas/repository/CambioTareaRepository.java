@@ -0,0 +1,79 @@
+package com.example.tareas.repository;
+
+import com.example.tareas.model.CambioTarea;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio JPA de la tabla outbox de cambios de tareas.
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see CambioTarea
+ */
+public interface CambioTareaRepository extends JpaRepository<CambioTarea, Long> {
+
+    /**
+     * Obtiene los cambios posteriores a uno dado, en orden de ID.
+     *
+     * @param ultimoId ID del último cambio ya procesado
+     * @param limite número máximo de cambios a devolver
+     * @return cambios con ID mayor que {@code ultimoId}
+     */
+    List<CambioTarea> findByIdGreaterThanOrderByIdAsc(Long ultimoId, Limit limite);
+
+    /**
+     * Obtiene los cambios dentro de un rango de IDs, en orden de ID.
+     *
+     * @param desdeId ID a partir del cual devolver cambios (excluido)
+     * @param hastaId ID máximo a devolver (incluido)
+     * @param limite número máximo de cambios a devolver
+     * @return cambios con ID en {@code (desdeId, hastaId]}
+     */
+    List<CambioTarea> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long desdeId, Long hastaId, Limit limite);
+
+    /**
+     * Indica si se conserva algún cambio con ID menor o igual al dado.
+     *
+     * @param id ID del cambio
+     * @return {@code true} si existe algún cambio con ID hasta {@code id}
+     */
+    boolean existsByIdLessThanEqual(Long id);
+
+    /**
+     * Obtiene el ID del último cambio registrado.
+     *
+     * @return mayor ID de la tabla, o vacío si no hay cambios
+     */
+    @Query("select max(c.id) from CambioTarea c")
+    Optional<Long> buscarUltimoId();
+
+    /**
+     * Elimina los cambios registrados antes del instante indicado.
+     *
+     * @param limite instante a partir del cual se conservan los cambios
+     * @return número de cambios eliminados
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from CambioTarea c where c.creado < :limite")
+    int eliminarAnterioresA(@Param("limite") LocalDateTime limite);
+
+    /**
+     * Obtiene los cambios con los IDs indicados que existen, ordenados por ID.
+     *
+     * @param ids IDs de los cambios
+     * @return cambios encontrados
+     */
+    List<CambioTarea> findByIdInOrderByIdAsc(Collection<Long> ids);
+}
@@ -0,0 +1,64 @@
+package com.example.tareas.repository;
+
+import com.example.tareas.model.ClaveIdempotencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositorio JPA de la tabla de claves de idempotencia.
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see ClaveIdempotencia
+ */
+public interface ClaveIdempotenciaRepository extends JpaRepository<ClaveIdempotencia, String> {
+
+    /**
+     * Reserva una clave insertándola sin respuesta.
+     * <p>
+     * Es un {@code INSERT} explícito, y no un {@code save}, para que una clave
+     * ya reservada falle al instante por la clave primaria; si otra
+     * transacción la reservó y aún no ha confirmado, la base de datos espera
+     * a que termine.
+     * </p>
+     *
+     * @param clave clave de idempotencia
+     * @param huella huella del cuerpo de la petición
+     * @param creado momento de la reserva
+     * @return número de filas insertadas
+     * @throws org.springframework.dao.DataIntegrityViolationException si la clave ya existe
+     */
+    @Modifying
+    @Query(value = "insert into tareas_idempotencia (clave, huella, creado) values (:clave, :huella, :creado)",
+            nativeQuery = true)
+    int reservar(@Param("clave") String clave, @Param("huella") String huella,
+                 @Param("creado") LocalDateTime creado);
+
+    /**
+     * Guarda la respuesta de una clave reservada.
+     *
+     * @param clave clave de idempotencia
+     * @param respuesta tarea creada, en JSON
+     * @return número de filas modificadas
+     */
+    @Modifying
+    @Query("update ClaveIdempotencia c set c.respuesta = :respuesta where c.clave = :clave")
+    int guardarRespuesta(@Param("clave") String clave, @Param("respuesta") String respuesta);
+
+    /**
+     * Elimina las claves registradas antes del instante indicado.
+     *
+     * @param limite instante a partir del cual se conservan las claves
+     * @return número de claves eliminadas
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from ClaveIdempotencia c where c.creado < :limite")
+    int eliminarAnterioresA(@Param("limite") LocalDateTime limite);
+}
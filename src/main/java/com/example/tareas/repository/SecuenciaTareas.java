@@ -0,0 +1,90 @@
+package com.example.tareas.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantiene la secuencia {@code tareas_seq} por encima del ID máximo de la tabla.
+ * <p>
+ * Los IDs de {@link com.example.tareas.model.Tarea} se asignan desde
+ * {@code tareas_seq} por bloques ({@code pooled-lo}). En una base de datos
+ * creada cuando los IDs eran {@code AUTO_INCREMENT}, o con filas insertadas
+ * fuera de la aplicación, la secuencia puede quedar por debajo del ID
+ * máximo y las primeras inserciones fallarían por clave duplicada. Al
+ * arrancar, antes de que el servidor acepte peticiones, se adelanta la
+ * secuencia a {@code MAX(id) + 1} si hace falta; nunca se retrasa.
+ * </p>
+ * <p>
+ * En MySQL, que no tiene secuencias, Hibernate la emula con la tabla
+ * {@code tareas_seq} y su columna {@code next_val}, que se actualiza con una
+ * sola sentencia. Con secuencias nativas (H2) se lee el siguiente valor y,
+ * si no basta, se reinicia con {@code ALTER SEQUENCE}.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Component
+public class SecuenciaTareas implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecuenciaTareas.class);
+
+    private static final String SECUENCIA = "tareas_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Dialect dialecto;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * <p>
+     * Depende de la fábrica de {@code EntityManager} para ejecutarse después
+     * de que Hibernate cree o actualice el esquema.
+     * </p>
+     *
+     * @param jdbcTemplate plantilla JDBC de la aplicación
+     * @param entityManagerFactory fábrica de {@code EntityManager}, de la que se obtiene el dialecto
+     */
+    public SecuenciaTareas(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialecto = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        ajustar();
+    }
+
+    /**
+     * Adelanta la secuencia por encima del ID máximo de la tabla de tareas.
+     *
+     * @return {@code true} si la secuencia se ha adelantado
+     */
+    public boolean ajustar() {
+        boolean ajustada;
+        if (dialecto.getSequenceSupport().supportsSequences()) {
+            Long maximo = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tareas", Long.class);
+            Long siguiente = jdbcTemplate.queryForObject(
+                    dialecto.getSequenceSupport().getSequenceNextValString(SECUENCIA), Long.class);
+            ajustada = siguiente <= maximo;
+            if (ajustada) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + SECUENCIA + " RESTART WITH " + (maximo + 1));
+            }
+        } else {
+            ajustada = jdbcTemplate.update("UPDATE " + SECUENCIA + " SET next_val = "
+                    + "(SELECT COALESCE(MAX(id), 0) + 1 FROM tareas) "
+                    + "WHERE next_val <= (SELECT COALESCE(MAX(id), 0) FROM tareas)") > 0;
+        }
+        if (ajustada) {
+            logger.info("Secuencia {} adelantada por encima del ID máximo de la tabla tareas", SECUENCIA);
+        }
+        return ajustada;
+    }
+}
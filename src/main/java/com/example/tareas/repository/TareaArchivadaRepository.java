@@ -0,0 +1,81 @@
+package com.example.tareas.repository;
+
+import com.example.tareas.model.TareaArchivada;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio JPA de la tabla de tareas archivadas.
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see TareaArchivada
+ */
+public interface TareaArchivadaRepository extends JpaRepository<TareaArchivada, Long> {
+
+    /**
+     * Copia varias tareas de "tareas" al archivo en una sola sentencia
+     * {@code INSERT ... SELECT}, sin cargarlas en memoria.
+     *
+     * @param ids IDs de las tareas a copiar
+     * @return número de tareas copiadas
+     */
+    @Modifying
+    @Query("insert into TareaArchivada (id, titulo, descripcion, completada, version, modificada, archivada) "
+            + "select t.id, t.titulo, t.descripcion, t.completada, t.version, t.modificada, local datetime "
+            + "from Tarea t where t.id in :ids")
+    int copiarDesdeTareas(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtiene las tareas archivadas con ID mayor que el indicado, ordenadas por ID.
+     *
+     * @param ultimoId ID de la última tarea de la página anterior ({@code 0} para la primera)
+     * @param limite número máximo de tareas a devolver
+     * @return tareas archivadas siguientes al cursor
+     */
+    List<TareaArchivada> findByIdGreaterThanOrderByIdAsc(Long ultimoId, Limit limite);
+
+    /**
+     * Obtiene una tarea archivada por su ID como proyección del tipo indicado.
+     *
+     * @param id identificador de la tarea
+     * @param tipo clase de la proyección, como {@link com.example.tareas.dto.ResumenTarea}
+     * @param <T> tipo de la proyección
+     * @return proyección de la tarea, o vacío si no está archivada
+     */
+    <T> Optional<T> findProyeccionById(Long id, Class<T> tipo);
+
+    /**
+     * Cuenta las tareas archivadas antes del momento indicado.
+     *
+     * @param hasta momento límite, excluido
+     * @return número de tareas archivadas
+     */
+    long countByArchivadaBefore(LocalDateTime hasta);
+
+    /**
+     * Cuenta las tareas archivadas en el intervalo indicado.
+     *
+     * @param desde inicio del intervalo, incluido
+     * @param hasta fin del intervalo, excluido
+     * @return número de tareas archivadas
+     */
+    long countByArchivadaGreaterThanEqualAndArchivadaBefore(LocalDateTime desde, LocalDateTime hasta);
+
+    /**
+     * Cuenta las tareas archivadas desde el momento indicado.
+     *
+     * @param desde momento de inicio, incluido
+     * @return número de tareas archivadas
+     */
+    long countByArchivadaGreaterThanEqual(LocalDateTime desde);
+}
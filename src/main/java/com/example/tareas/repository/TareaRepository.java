@@ -1,7 +1,23 @@
 package com.example.tareas.repository;
 
+import com.example.tareas.dto.ResumenTarea;
 import com.example.tareas.model.Tarea;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio JPA para la entidad {@link Tarea}.
@@ -19,6 +35,17 @@ import org.springframework.data.jpa.repository.JpaRepository;
  *   <li>{@code findAll()} - Listar todas las tareas</li>
  *   <li>{@code deleteById()} - Eliminar tarea por ID</li>
  * </ul>
+ * <p>
+ * Además declara consultas paginadas por cursor (keyset) que filtran por
+ * {@code id > :ultimoId} en lugar de usar {@code OFFSET}, de modo que el coste
+ * de cada página es constante independientemente del tamaño de la tabla.
+ * </p>
+ * <p>
+ * Las modificaciones y eliminaciones por ID se realizan con una única
+ * sentencia {@code UPDATE}/{@code DELETE} condicional que devuelve el número
+ * de filas afectadas, sin cargar previamente la entidad. Todas incrementan
+ * la columna {@code version} de la tarea y actualizan {@code modificada}.
+ * </p>
  *
  * @author Desarrollador
  * @version 1.0.0
@@ -27,4 +54,320 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * @see Tarea
  */
 public interface TareaRepository extends JpaRepository<Tarea, Long> {
+
+    /**
+     * Tamaño de fetch JDBC usado al recorrer la tabla completa mediante cursor.
+     * <p>
+     * Con MySQL solo tiene efecto si la URL de conexión incluye
+     * {@code useCursorFetch=true}; sin esa opción el driver carga el
+     * resultado completo en memoria.
+     * </p>
+     */
+    String TAMANIO_FETCH_EXPORTACION = "1000";
+
+    /**
+     * Recorre todas las tareas ordenadas por ID mediante un cursor JDBC.
+     * <p>
+     * Las entidades se cargan en modo solo lectura (sin instantánea para
+     * dirty-checking) y nunca se almacenan en caché de segundo nivel. El
+     * {@link Stream} devuelto debe consumirse dentro de una transacción y
+     * cerrarse al terminar.
+     * </p>
+     *
+     * @return flujo perezoso de todas las tareas
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANIO_FETCH_EXPORTACION),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<Tarea> findAllByOrderByIdAsc();
+
+    /**
+     * Obtiene las tareas con ID mayor que el indicado, ordenadas por ID.
+     *
+     * @param ultimoId ID de la última tarea de la página anterior ({@code 0} para la primera)
+     * @param limite número máximo de tareas a devolver
+     * @return tareas siguientes al cursor
+     */
+    List<Tarea> findByIdGreaterThanOrderByIdAsc(Long ultimoId, Limit limite);
+
+    /**
+     * Obtiene las tareas con el estado de completitud indicado y ID mayor
+     * que el cursor, ordenadas por ID.
+     *
+     * @param completada estado de completitud por el que filtrar
+     * @param ultimoId ID de la última tarea de la página anterior ({@code 0} para la primera)
+     * @param limite número máximo de tareas a devolver
+     * @return tareas siguientes al cursor con el estado indicado
+     */
+    List<Tarea> findByCompletadaAndIdGreaterThanOrderByIdAsc(boolean completada, Long ultimoId, Limit limite);
+
+    /**
+     * Obtiene una página del listado como proyecciones del tipo indicado.
+     * <p>
+     * Spring Data genera una consulta {@code select new ...} con solo las
+     * columnas de la proyección, por lo que no se crean entidades gestionadas.
+     * </p>
+     *
+     * @param ultimoId ID de la última tarea de la página anterior ({@code 0} para la primera)
+     * @param limite número máximo de tareas a devolver
+     * @param tipo clase de la proyección, como {@link com.example.tareas.dto.ResumenTarea}
+     * @param <T> tipo de la proyección
+     * @return proyecciones de las tareas siguientes al cursor
+     */
+    <T> List<T> findByIdGreaterThanOrderByIdAsc(Long ultimoId, Limit limite, Class<T> tipo);
+
+    /**
+     * Obtiene una página del listado filtrada por estado como proyecciones del tipo indicado.
+     *
+     * @param completada estado de completitud por el que filtrar
+     * @param ultimoId ID de la última tarea de la página anterior ({@code 0} para la primera)
+     * @param limite número máximo de tareas a devolver
+     * @param tipo clase de la proyección
+     * @param <T> tipo de la proyección
+     * @return proyecciones de las tareas siguientes al cursor con el estado indicado
+     */
+    <T> List<T> findByCompletadaAndIdGreaterThanOrderByIdAsc(boolean completada, Long ultimoId, Limit limite,
+                                                             Class<T> tipo);
+
+    /**
+     * Obtiene una tarea por su ID como proyección del tipo indicado.
+     *
+     * @param id identificador de la tarea
+     * @param tipo clase de la proyección
+     * @param <T> tipo de la proyección
+     * @return proyección de la tarea, o vacío si no existe
+     */
+    <T> Optional<T> findProyeccionById(Long id, Class<T> tipo);
+
+    /**
+     * Sobrescribe el título, la descripción y el estado de una tarea en una
+     * sola sentencia, solo si su estado de completitud actual es el indicado.
+     * <p>
+     * Si modifica la fila, el estado anterior es el indicado sin haberlo
+     * leído antes; si no, quien llama lo lee con {@link #bloquearResumen(Long)}.
+     * </p>
+     *
+     * @param id identificador de la tarea a modificar
+     * @param completadaAnterior estado de completitud que debe tener la tarea
+     * @param titulo nuevo título
+     * @param descripcion nueva descripción (puede ser nula)
+     * @param completada nuevo estado de completitud
+     * @return número de filas modificadas ({@code 0} si la tarea no existe o tiene el otro estado)
+     */
+    @Modifying
+    @Query("update Tarea t set t.titulo = :titulo, t.descripcion = :descripcion, "
+            + "t.completada = :completada, t.version = t.version + 1, t.modificada = local datetime "
+            + "where t.id = :id and t.completada = :completadaAnterior")
+    int actualizarPorIdYEstado(@Param("id") Long id,
+                               @Param("completadaAnterior") boolean completadaAnterior,
+                               @Param("titulo") String titulo,
+                               @Param("descripcion") String descripcion,
+                               @Param("completada") boolean completada);
+
+    /**
+     * Sobrescribe una tarea solo si su versión actual coincide con la esperada
+     * y su estado de completitud actual es el indicado.
+     * <p>
+     * Comparación e incremento de la versión se hacen en la misma sentencia,
+     * por lo que dos escrituras concurrentes con la misma versión esperada
+     * nunca tienen éxito a la vez.
+     * </p>
+     *
+     * @param id identificador de la tarea a modificar
+     * @param version versión que el cliente leyó por última vez
+     * @param completadaAnterior estado de completitud que debe tener la tarea
+     * @param titulo nuevo título
+     * @param descripcion nueva descripción (puede ser nula)
+     * @param completada nuevo estado de completitud
+     * @return número de filas modificadas ({@code 0} si no existe, cambió de versión o tiene el otro estado)
+     */
+    @Modifying
+    @Query("update Tarea t set t.titulo = :titulo, t.descripcion = :descripcion, "
+            + "t.completada = :completada, t.version = t.version + 1, t.modificada = local datetime "
+            + "where t.id = :id and t.version = :version and t.completada = :completadaAnterior")
+    int actualizarPorIdVersionYEstado(@Param("id") Long id,
+                                      @Param("version") long version,
+                                      @Param("completadaAnterior") boolean completadaAnterior,
+                                      @Param("titulo") String titulo,
+                                      @Param("descripcion") String descripcion,
+                                      @Param("completada") boolean completada);
+
+    /**
+     * Modifica solo los campos no nulos de una tarea en una sola sentencia.
+     *
+     * @param id identificador de la tarea a modificar
+     * @param titulo nuevo título, o {@code null} para conservar el actual
+     * @param descripcion nueva descripción, o {@code null} para conservar la actual
+     * @param completada nuevo estado, o {@code null} para conservar el actual
+     * @return número de filas modificadas ({@code 0} si la tarea no existe)
+     */
+    @Modifying
+    @Query("update Tarea t set t.titulo = coalesce(:titulo, t.titulo), "
+            + "t.descripcion = coalesce(:descripcion, t.descripcion), "
+            + "t.completada = coalesce(:completada, t.completada), "
+            + "t.version = t.version + 1, t.modificada = local datetime where t.id = :id")
+    int actualizarParcialmentePorId(@Param("id") Long id,
+                                    @Param("titulo") String titulo,
+                                    @Param("descripcion") String descripcion,
+                                    @Param("completada") Boolean completada);
+
+    /**
+     * Modifica solo los campos no nulos de una tarea y fija su estado de
+     * completitud, solo si su estado actual es el indicado.
+     *
+     * @param id identificador de la tarea a modificar
+     * @param completadaAnterior estado de completitud que debe tener la tarea
+     * @param titulo nuevo título, o {@code null} para conservar el actual
+     * @param descripcion nueva descripción, o {@code null} para conservar la actual
+     * @param completada nuevo estado de completitud
+     * @return número de filas modificadas ({@code 0} si la tarea no existe o tiene el otro estado)
+     */
+    @Modifying
+    @Query("update Tarea t set t.titulo = coalesce(:titulo, t.titulo), "
+            + "t.descripcion = coalesce(:descripcion, t.descripcion), t.completada = :completada, "
+            + "t.version = t.version + 1, t.modificada = local datetime "
+            + "where t.id = :id and t.completada = :completadaAnterior")
+    int actualizarParcialmentePorIdYEstado(@Param("id") Long id,
+                                           @Param("completadaAnterior") boolean completadaAnterior,
+                                           @Param("titulo") String titulo,
+                                           @Param("descripcion") String descripcion,
+                                           @Param("completada") boolean completada);
+
+    /**
+     * Lee el estado de completitud y la versión de una tarea bloqueando su
+     * fila ({@code SELECT ... FOR UPDATE}) hasta el final de la transacción.
+     * <p>
+     * Se usa solo cuando una escritura condicionada al estado probable no
+     * tiene efecto: una única sentencia indica si la tarea existe, su estado
+     * y su versión, que ya no pueden cambiar antes de repetir la escritura.
+     * </p>
+     *
+     * @param id identificador de la tarea
+     * @return resumen de la tarea, o vacío si no existe
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.example.tareas.dto.ResumenTarea(t.id, t.titulo, t.completada, t.version) "
+            + "from Tarea t where t.id = :id")
+    Optional<ResumenTarea> bloquearResumen(@Param("id") Long id);
+
+    /**
+     * Cuenta las tareas con el estado de completitud indicado.
+     * <p>
+     * Se resuelve sobre el índice {@code (completada, id)}.
+     * </p>
+     *
+     * @param completada estado de completitud
+     * @return número de tareas con ese estado
+     */
+    long countByCompletada(boolean completada);
+
+    /**
+     * Elimina una tarea por su ID en una sola sentencia, solo si su estado de
+     * completitud actual es el indicado.
+     *
+     * @param id identificador de la tarea a eliminar
+     * @param completadaAnterior estado de completitud que debe tener la tarea
+     * @return número de filas eliminadas ({@code 0} si la tarea no existe o tiene el otro estado)
+     */
+    @Modifying
+    @Query("delete from Tarea t where t.id = :id and t.completada = :completadaAnterior")
+    int eliminarPorIdYEstado(@Param("id") Long id, @Param("completadaAnterior") boolean completadaAnterior);
+
+    /**
+     * Obtiene, de entre los IDs indicados, los de las tareas con el estado de
+     * completitud indicado, bloqueando sus filas hasta el final de la transacción.
+     * <p>
+     * Las filas se bloquean en orden de ID, el mismo en que las recorren
+     * todas las operaciones masivas, para que dos de ellas no se bloqueen
+     * mutuamente.
+     * </p>
+     *
+     * @param ids IDs candidatos
+     * @param completada estado de completitud
+     * @return IDs existentes con ese estado, ordenados
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id from Tarea t where t.id in :ids and t.completada = :completada order by t.id")
+    List<Long> bloquearIdsConEstado(@Param("ids") Collection<Long> ids, @Param("completada") boolean completada);
+
+    /**
+     * Obtiene los IDs de las tareas con el estado de completitud indicado y
+     * ID mayor que el cursor, bloqueando sus filas hasta el final de la transacción.
+     *
+     * @param completada estado de completitud
+     * @param ultimoId ID de la última tarea del bloque anterior ({@code 0} para el primero)
+     * @param limite número máximo de IDs a devolver
+     * @return IDs siguientes al cursor con ese estado, ordenados
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id from Tarea t where t.completada = :completada and t.id > :ultimoId order by t.id")
+    List<Long> bloquearSiguientesConEstado(@Param("completada") boolean completada,
+                                           @Param("ultimoId") long ultimoId, Limit limite);
+
+    /**
+     * Obtiene los IDs de las tareas completadas sin modificar desde antes del
+     * instante indicado, con ID mayor que el cursor, bloqueando sus filas
+     * hasta el final de la transacción.
+     * <p>
+     * Las tareas sin momento de modificación, anteriores a esa columna, no se
+     * archivan hasta que {@link #fijarModificada} les asigna uno.
+     * </p>
+     *
+     * @param limite instante a partir del cual las tareas se conservan
+     * @param ultimoId ID de la última tarea del bloque anterior ({@code 0} para el primero)
+     * @param lote número máximo de IDs a devolver
+     * @return IDs de las tareas a archivar, ordenados
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id from Tarea t where t.completada = true "
+            + "and t.modificada < :limite and t.id > :ultimoId order by t.id")
+    List<Long> bloquearArchivables(@Param("limite") LocalDateTime limite, @Param("ultimoId") long ultimoId,
+                                   Limit lote);
+
+    /**
+     * Obtiene los IDs de las tareas sin momento de modificación, creadas antes de existir esa columna.
+     *
+     * @param lote número máximo de IDs a devolver
+     * @return IDs ordenados
+     */
+    @Query("select t.id from Tarea t where t.modificada is null order by t.id")
+    List<Long> buscarSinModificada(Limit lote);
+
+    /**
+     * Asigna un momento de modificación a las tareas indicadas que aún no lo tienen.
+     * <p>
+     * No incrementa la versión: la columna no forma parte de la API.
+     * </p>
+     *
+     * @param ids IDs de las tareas
+     * @param modificada momento a asignar
+     * @return número de filas modificadas
+     */
+    @Modifying
+    @Query("update Tarea t set t.modificada = :modificada where t.id in :ids and t.modificada is null")
+    int fijarModificada(@Param("ids") Collection<Long> ids, @Param("modificada") LocalDateTime modificada);
+
+    /**
+     * Cambia el estado de completitud de varias tareas en una sola sentencia.
+     *
+     * @param ids IDs de las tareas a modificar
+     * @param completada nuevo estado de completitud
+     * @return número de filas modificadas
+     */
+    @Modifying
+    @Query("update Tarea t set t.completada = :completada, t.version = t.version + 1, "
+            + "t.modificada = local datetime where t.id in :ids")
+    int actualizarCompletadaPorIds(@Param("ids") Collection<Long> ids, @Param("completada") boolean completada);
+
+    /**
+     * Elimina varias tareas en una sola sentencia.
+     *
+     * @param ids IDs de las tareas a eliminar
+     * @return número de filas eliminadas
+     */
+    @Modifying
+    @Query("delete from Tarea t where t.id in :ids")
+    int eliminarPorIds(@Param("ids") Collection<Long> ids);
 }
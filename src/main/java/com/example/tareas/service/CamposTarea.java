@@ -0,0 +1,84 @@
+package com.example.tareas.service;
+
+import com.example.tareas.dto.ProyeccionTarea;
+import com.example.tareas.dto.ResumenTarea;
+import com.example.tareas.dto.VistaTarea;
+import com.example.tareas.exception.BadRequestException;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Conjunto de campos de una tarea pedidos con el parámetro {@code fields=}.
+ * <p>
+ * Se escribe como una lista separada por comas, por ejemplo
+ * {@code fields=id,titulo,completada}. Determina qué proyección de
+ * {@link com.example.tareas.repository.TareaRepository} se consulta: si no
+ * se pide la {@code descripcion} se usa {@link ResumenTarea}, que no lee esa
+ * columna; en otro caso, {@link VistaTarea}.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+public final class CamposTarea {
+
+    /**
+     * Campos de una tarea que pueden pedirse.
+     */
+    public static final Set<String> DISPONIBLES = Set.of("id", "titulo", "descripcion", "completada", "version");
+
+    /**
+     * Campos pedidos, en el orden en que se indicaron.
+     */
+    private final Set<String> nombres;
+
+    private CamposTarea(Set<String> nombres) {
+        this.nombres = Collections.unmodifiableSet(nombres);
+    }
+
+    /**
+     * Interpreta el valor del parámetro {@code fields}.
+     *
+     * @param fields lista de campos separados por comas
+     * @return campos pedidos
+     * @throws BadRequestException si la lista está vacía o contiene un campo desconocido
+     */
+    public static CamposTarea de(String fields) {
+        Set<String> nombres = new LinkedHashSet<>();
+        for (String campo : fields.split(",")) {
+            String nombre = campo.strip();
+            if (nombre.isEmpty()) {
+                continue;
+            }
+            if (!DISPONIBLES.contains(nombre)) {
+                throw new BadRequestException("Campo desconocido en fields: " + nombre);
+            }
+            nombres.add(nombre);
+        }
+        if (nombres.isEmpty()) {
+            throw new BadRequestException("El parámetro fields debe indicar al menos un campo");
+        }
+        return new CamposTarea(nombres);
+    }
+
+    /**
+     * Obtiene los nombres de los campos pedidos.
+     *
+     * @return nombres de los campos, en el orden en que se indicaron
+     */
+    public Set<String> nombres() {
+        return nombres;
+    }
+
+    /**
+     * Obtiene la proyección más pequeña que contiene los campos pedidos.
+     *
+     * @return {@link VistaTarea} si se pide la descripción, {@link ResumenTarea} en otro caso
+     */
+    public Class<? extends ProyeccionTarea> proyeccion() {
+        return nombres.contains("descripcion") ? VistaTarea.class : ResumenTarea.class;
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.tareas.service;
+
+import com.example.tareas.dto.EstadisticasTareas;
+import com.example.tareas.replica.ContextoReplica;
+import com.example.tareas.repository.TareaArchivadaRepository;
+import com.example.tareas.repository.TareaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Contadores de tareas por estado de completitud.
+ * <p>
+ * Se mantienen en memoria con {@link LongAdder} a partir de los
+ * {@link TareaEvento} que publica {@link TareaService}: las variaciones de
+ * cada transacción se acumulan y se aplican una vez confirmada, de modo que
+ * consultarlos no accede a la base de datos.
+ * </p>
+ * <p>
+ * Al arrancar y cada {@code tareas.estadisticas.intervalo-reconciliacion}
+ * se contrastan con un recuento en la base de datos y se corrigen si se han
+ * desviado (por ejemplo, por escrituras de otra instancia de la aplicación
+ * o realizadas directamente en la tabla).
+ * </p>
+ * <p>
+ * Las tareas archivadas se siguen contando como tareas completadas. Como el
+ * archivo solo crece, no se cuenta entero en cada reconciliación: las tareas
+ * archivadas antes de un corte se acumulan en un total y solo se cuentan,
+ * por el índice de {@code archivada}, las posteriores al corte anterior.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see TareaEvento
+ */
+@Component
+public class ContadoresTareas {
+
+    /**
+     * Logger para registrar las reconciliaciones.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ContadoresTareas.class);
+
+    /**
+     * Antigüedad a partir de la cual una tarea archivada se acumula en el
+     * total del archivo: holgura para los traslados aún sin confirmar y la
+     * diferencia entre el reloj de la aplicación y el de la base de datos.
+     */
+    private static final Duration MARGEN_ARCHIVO = Duration.ofMinutes(10);
+
+    /**
+     * Repositorio de tareas, usado para la reconciliación.
+     */
+    private final TareaRepository repository;
+
+    /**
+     * Repositorio de tareas archivadas, usado para la reconciliación.
+     */
+    private final TareaArchivadaRepository archivo;
+
+    /**
+     * Transacciones de solo lectura con lectura repetible, para que todos
+     * los recuentos de una reconciliación vean la misma instantánea.
+     */
+    private final TransactionTemplate recuentos;
+
+    /**
+     * Acceso JDBC, que comparte la conexión de la transacción de los recuentos.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Número total de tareas.
+     */
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * Número de tareas completadas.
+     */
+    private final LongAdder completadas = new LongAdder();
+
+    /**
+     * Cerrojo que separa la confirmación de las transacciones con variaciones
+     * (lectura, desde antes del commit hasta que se aplican) de la fijación
+     * de la instantánea de una reconciliación (escritura).
+     */
+    private final ReadWriteLock confirmaciones = new ReentrantReadWriteLock();
+
+    /**
+     * Tareas archivadas antes de {@link #corteArchivo}.
+     */
+    private long archivadasAntesDelCorte;
+
+    /**
+     * Momento hasta el que se han acumulado las tareas archivadas, o {@code null} antes de la primera reconciliación.
+     */
+    private LocalDateTime corteArchivo;
+
+    /**
+     * Constructor que inyecta los repositorios de tareas.
+     *
+     * @param repository repositorio de tareas
+     * @param archivo repositorio de tareas archivadas
+     * @param transactionManager gestor de transacciones de la aplicación
+     * @param jdbcTemplate plantilla JDBC de la aplicación
+     */
+    public ContadoresTareas(TareaRepository repository, TareaArchivadaRepository archivo,
+                            PlatformTransactionManager transactionManager, JdbcTemplate jdbcTemplate) {
+        this.repository = repository;
+        this.archivo = archivo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.recuentos = new TransactionTemplate(transactionManager);
+        this.recuentos.setReadOnly(true);
+        this.recuentos.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Acumula en la transacción en curso la variación de los contadores que
+     * produce una modificación, o la aplica directamente si no hay transacción.
+     *
+     * @param evento modificación de una tarea
+     */
+    @EventListener
+    public void alModificarTarea(TareaEvento evento) {
+        Variacion variacion = TransactionSynchronizationManager.isSynchronizationActive()
+                ? variacionDeLaTransaccion() : new Variacion();
+        switch (evento.getTipo()) {
+            case CREADA -> {
+                variacion.total++;
+                if (Boolean.TRUE.equals(evento.getCompletada())) {
+                    variacion.completadas++;
+                }
+            }
+            case ACTUALIZADA, ACTUALIZADA_PARCIALMENTE -> {
+                Boolean anterior = evento.getCompletadaAnterior();
+                Boolean actual = evento.getCompletada();
+                if (anterior != null && actual != null && !anterior.equals(actual)) {
+                    variacion.completadas += actual ? 1 : -1;
+                }
+            }
+            case ELIMINADA -> {
+                variacion.total--;
+                if (Boolean.TRUE.equals(evento.getCompletadaAnterior())) {
+                    variacion.completadas--;
+                }
+            }
+            case ARCHIVADA -> {
+                // Sigue siendo una tarea completada, ahora en el archivo
+            }
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            variacion.aplicar();
+        }
+    }
+
+    /**
+     * Obtiene la variación acumulada en la transacción en curso, registrando
+     * su aplicación tras el commit la primera vez.
+     *
+     * @return variación de los contadores en la transacción en curso
+     */
+    private Variacion variacionDeLaTransaccion() {
+        Variacion variacion = (Variacion) TransactionSynchronizationManager.getResource(this);
+        if (variacion == null) {
+            variacion = new Variacion();
+            TransactionSynchronizationManager.bindResource(this, variacion);
+            TransactionSynchronizationManager.registerSynchronization(variacion);
+        }
+        return variacion;
+    }
+
+    /**
+     * Obtiene el número de tareas por estado sin acceder a la base de datos.
+     *
+     * @return total, completadas y pendientes
+     */
+    public EstadisticasTareas obtener() {
+        long totalActual = total.sum();
+        long completadasActual = completadas.sum();
+        return new EstadisticasTareas(totalActual, completadasActual, totalActual - completadasActual);
+    }
+
+    /**
+     * Inicializa los contadores al arrancar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void alArrancar() {
+        reconciliar();
+    }
+
+    /**
+     * Contrasta los contadores con un recuento en la base de datos y los corrige si difieren.
+     * <p>
+     * Los recuentos se hacen en una misma transacción de solo lectura con
+     * lectura repetible, siempre en la primaria, ya que la réplica puede ir
+     * con retraso. La instantánea se fija con una lectura por clave primaria
+     * mientras ninguna transacción local está entre su commit y la
+     * aplicación de su variación, y en ese mismo momento se toma el valor de
+     * los contadores: ambos reflejan exactamente las mismas transacciones
+     * locales. Las confirmaciones solo esperan a esa lectura, no a los
+     * recuentos; la conexión física se obtiene antes, con una sentencia que
+     * no lee ninguna tabla, para no esperarla con el cerrojo tomado.
+     * </p>
+     * <p>
+     * La corrección se suma como diferencia respecto de ese valor, de modo
+     * que las variaciones aplicadas mientras se cuenta se conservan y la
+     * reconciliación nunca se aplaza. Las tareas se cuentan por estado sobre
+     * el índice {@code (completada, id)}.
+     * </p>
+     *
+     */
+    @Scheduled(initialDelayString = "${tareas.estadisticas.intervalo-reconciliacion:PT5M}",
+            fixedDelayString = "${tareas.estadisticas.intervalo-reconciliacion:PT5M}")
+    public synchronized void reconciliar() {
+        LocalDateTime nuevoCorte = LocalDateTime.now().minus(MARGEN_ARCHIVO);
+        Recuento recuento = ContextoReplica.enPrimaria(() -> recuentos.execute(estado -> {
+            long totalInstantanea;
+            long completadasInstantanea;
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            confirmaciones.writeLock().lock();
+            try {
+                repository.existsById(0L);
+                totalInstantanea = total.sum();
+                completadasInstantanea = completadas.sum();
+            } finally {
+                confirmaciones.writeLock().unlock();
+            }
+            long pendientes = repository.countByCompletada(false);
+            long completadasTabla = repository.countByCompletada(true);
+            return new Recuento(pendientes + completadasTabla, completadasTabla,
+                    corteArchivo == null ? archivo.countByArchivadaBefore(nuevoCorte)
+                            : archivo.countByArchivadaGreaterThanEqualAndArchivadaBefore(corteArchivo, nuevoCorte),
+                    archivo.countByArchivadaGreaterThanEqual(nuevoCorte), totalInstantanea, completadasInstantanea);
+        }));
+        archivadasAntesDelCorte += recuento.archivadasHastaCorte();
+        corteArchivo = nuevoCorte;
+
+        long archivadasBd = archivadasAntesDelCorte + recuento.archivadasRecientes();
+        long totalBd = recuento.tareas() + archivadasBd;
+        long completadasBd = recuento.completadas() + archivadasBd;
+        long desviacionTotal = totalBd - recuento.total();
+        long desviacionCompletadas = completadasBd - recuento.totalCompletadas();
+        if (desviacionTotal != 0 || desviacionCompletadas != 0) {
+            logger.warn("Contadores de tareas corregidos: total {} ({}), completadas {} ({})",
+                    totalBd, desviacionTotal, completadasBd, desviacionCompletadas);
+            total.add(desviacionTotal);
+            completadas.add(desviacionCompletadas);
+        }
+    }
+
+    /**
+     * Recuentos de una reconciliación, tomados de la misma instantánea.
+     *
+     * @param tareas tareas en "tareas"
+     * @param completadas tareas completadas en "tareas"
+     * @param archivadasHastaCorte tareas archivadas desde el corte anterior hasta el nuevo
+     * @param archivadasRecientes tareas archivadas desde el nuevo corte
+     * @param total valor del contador total al fijar la instantánea
+     * @param totalCompletadas valor del contador de completadas al fijar la instantánea
+     */
+    private record Recuento(long tareas, long completadas, long archivadasHastaCorte, long archivadasRecientes,
+                            long total, long totalCompletadas) {
+    }
+
+    /**
+     * Variación de los contadores acumulada en una transacción.
+     * <p>
+     * Desde antes del commit hasta que se aplica (o la transacción termina
+     * sin aplicarse) mantiene el cerrojo de lectura de
+     * {@link #confirmaciones}, para que una reconciliación no fije su
+     * instantánea cuando ya la incluye y los contadores todavía no.
+     * </p>
+     */
+    private final class Variacion implements TransactionSynchronization {
+
+        private long total;
+
+        private long completadas;
+
+        private boolean confirmando;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            confirmaciones.readLock().lock();
+            confirmando = true;
+        }
+
+        @Override
+        public void afterCommit() {
+            aplicar();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ContadoresTareas.this);
+            if (confirmando) {
+                confirmando = false;
+                confirmaciones.readLock().unlock();
+            }
+        }
+
+        /**
+         * Suma la variación a los contadores.
+         */
+        void aplicar() {
+            ContadoresTareas.this.total.add(total);
+            ContadoresTareas.this.completadas.add(completadas);
+        }
+    }
+}
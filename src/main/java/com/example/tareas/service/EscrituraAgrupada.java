@@ -0,0 +1,347 @@
+package com.example.tareas.service;
+
+import com.example.tareas.config.CachesConfig;
+import com.example.tareas.config.MetricasConfig;
+import com.example.tareas.config.TareasProperties;
+import com.example.tareas.exception.ServiceUnavailableException;
+import com.example.tareas.model.Tarea;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escritura agrupada (group commit) de altas y actualizaciones de tareas.
+ * <p>
+ * Las escrituras se validan en el hilo de la petición y se encolan en una
+ * cola acotada. Un único hilo escritor las toma en grupos de hasta
+ * {@code tareas.escritura-agrupada.tamanio-maximo-grupo} elementos, esperando
+ * como mucho {@code tareas.escritura-agrupada.ventana} a que lleguen más, y
+ * confirma cada grupo en una sola transacción: el coste del commit (y del
+ * {@code fsync} del log de la base de datos) se reparte entre todo el grupo.
+ * </p>
+ * <p>
+ * Dentro de un grupo, varias actualizaciones de la misma tarea se combinan
+ * en una sola: se aplica la última y todas sus solicitudes reciben el
+ * resultado. El futuro de cada escritura se completa cuando su transacción
+ * se ha confirmado, por lo que la respuesta sigue garantizando durabilidad.
+ * </p>
+ * <p>
+ * Si la transacción de un grupo falla (por ejemplo, porque una de las
+ * tareas ya no existe), se revierte y sus escrituras se repiten una a una,
+ * de modo que solo la inválida recibe el error. Cuando la cola está llena se
+ * rechaza la escritura con {@link ServiceUnavailableException}.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see TareaService
+ */
+@Component
+@ConditionalOnProperty(name = "tareas.escritura-agrupada.habilitada", havingValue = "true")
+public class EscrituraAgrupada {
+
+    /**
+     * Logger para registrar eventos de la escritura agrupada.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(EscrituraAgrupada.class);
+
+    /**
+     * Tiempo máximo de espera del hilo escritor sobre una cola vacía,
+     * para comprobar periódicamente si debe detenerse.
+     */
+    private static final long ESPERA_COLA_VACIA_MS = 100;
+
+    /**
+     * Servicio de tareas que ejecuta cada escritura dentro de la transacción del grupo.
+     */
+    private final TareaService service;
+
+    /**
+     * Reglas de validación, aplicadas antes de encolar.
+     */
+    private final ValidadorTarea validador;
+
+    /**
+     * Plantilla de transacciones para confirmar cada grupo.
+     */
+    private final TransactionTemplate transacciones;
+
+    /**
+     * Caché de tareas por ID, que se invalida si una escritura falla tras revertir su grupo.
+     */
+    private final Cache cache;
+
+    /**
+     * Parámetros de la escritura agrupada.
+     */
+    private final TareasProperties.EscrituraAgrupada configuracion;
+
+    /**
+     * Escrituras pendientes de confirmar.
+     */
+    private final BlockingQueue<Escritura> cola;
+
+    /**
+     * Número de escrituras confirmadas en cada grupo.
+     */
+    private final DistributionSummary tamanioGrupos;
+
+    /**
+     * Hilo que agrupa y confirma las escrituras.
+     */
+    private final Thread escritor;
+
+    /**
+     * Indica si se siguen aceptando escrituras.
+     */
+    private volatile boolean activa = true;
+
+    /**
+     * Constructor que inyecta los colaboradores y arranca el hilo escritor.
+     *
+     * @param service servicio de tareas
+     * @param validador reglas de validación de las tareas
+     * @param transacciones plantilla de transacciones
+     * @param cacheManager gestor de cachés de la aplicación
+     * @param properties propiedades de configuración de la aplicación
+     * @param registry registro de métricas de la aplicación
+     */
+    public EscrituraAgrupada(TareaService service, ValidadorTarea validador, TransactionTemplate transacciones,
+                             CacheManager cacheManager, TareasProperties properties, MeterRegistry registry) {
+        this.service = service;
+        this.validador = validador;
+        this.transacciones = transacciones;
+        this.cache = cacheManager.getCache(CachesConfig.CACHE_TAREAS);
+        this.configuracion = properties.getEscrituraAgrupada();
+        this.cola = new ArrayBlockingQueue<>(configuracion.getCapacidadCola());
+        this.tamanioGrupos = DistributionSummary.builder(MetricasConfig.METRICA_GRUPOS_ESCRITURA)
+                .description("Escrituras confirmadas en cada transacción agrupada")
+                .register(registry);
+        Gauge.builder(MetricasConfig.METRICA_COLA_ESCRITURA, cola, BlockingQueue::size)
+                .description("Escrituras agrupadas pendientes de confirmar")
+                .register(registry);
+        this.escritor = new Thread(this::ejecutar, "escritura-agrupada");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    /**
+     * Encola el alta de una tarea.
+     *
+     * @param tarea datos de la nueva tarea
+     * @return futuro que se completa con la tarea creada tras confirmar su grupo
+     * @throws com.example.tareas.exception.BadRequestException si los datos no son válidos
+     * @throws ServiceUnavailableException si la cola está llena
+     */
+    public CompletableFuture<Tarea> crear(Tarea tarea) {
+        validador.validarTarea(tarea);
+        return encolar(new Escritura(null, tarea));
+    }
+
+    /**
+     * Encola la actualización completa de una tarea.
+     *
+     * @param id identificador de la tarea
+     * @param datos nuevos datos de la tarea
+     * @return futuro que se completa con la tarea actualizada tras confirmar su grupo
+     * @throws com.example.tareas.exception.BadRequestException si el ID o los datos no son válidos
+     * @throws ServiceUnavailableException si la cola está llena
+     */
+    public CompletableFuture<Tarea> actualizar(Long id, Tarea datos) {
+        validador.validarId(id);
+        validador.validarTarea(datos);
+        return encolar(new Escritura(id, datos));
+    }
+
+    /**
+     * Añade una escritura a la cola sin bloquear.
+     *
+     * @param escritura escritura a encolar
+     * @return futuro de la escritura
+     * @throws ServiceUnavailableException si la cola está llena o la aplicación se está deteniendo
+     */
+    private CompletableFuture<Tarea> encolar(Escritura escritura) {
+        if (!activa || !cola.offer(escritura)) {
+            throw new ServiceUnavailableException("La cola de escrituras está llena; reintente más tarde");
+        }
+        return escritura.resultado;
+    }
+
+    /**
+     * Bucle del hilo escritor: forma grupos y los confirma hasta que se detiene
+     * la aplicación y la cola queda vacía.
+     */
+    private void ejecutar() {
+        int tamanioMaximo = configuracion.getTamanioMaximoGrupo();
+        long ventana = configuracion.getVentana().toNanos();
+        List<Escritura> grupo = new ArrayList<>(tamanioMaximo);
+        try {
+            while (activa || !cola.isEmpty()) {
+                Escritura primera = cola.poll(ESPERA_COLA_VACIA_MS, TimeUnit.MILLISECONDS);
+                if (primera == null) {
+                    continue;
+                }
+                grupo.add(primera);
+                long limite = System.nanoTime() + ventana;
+                while (grupo.size() < tamanioMaximo) {
+                    if (cola.drainTo(grupo, tamanioMaximo - grupo.size()) > 0) {
+                        continue;
+                    }
+                    long restante = limite - System.nanoTime();
+                    Escritura siguiente = restante > 0 ? cola.poll(restante, TimeUnit.NANOSECONDS) : null;
+                    if (siguiente == null) {
+                        break;
+                    }
+                    grupo.add(siguiente);
+                }
+                confirmar(grupo);
+                grupo.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Confirma un grupo de escrituras en una sola transacción o, si falla, una a una.
+     *
+     * @param grupo escrituras tomadas de la cola, en orden de llegada
+     */
+    private void confirmar(List<Escritura> grupo) {
+        List<List<Escritura>> operaciones = combinar(grupo);
+        try {
+            List<Tarea> resultados = transacciones.execute(estado -> aplicar(operaciones));
+            for (int i = 0; i < operaciones.size(); i++) {
+                Tarea resultado = resultados.get(i);
+                operaciones.get(i).forEach(escritura -> escritura.resultado.complete(resultado));
+            }
+            tamanioGrupos.record(grupo.size());
+        } catch (RuntimeException e) {
+            logger.warn("Grupo de {} escrituras revertido ({}); se confirman una a una",
+                    grupo.size(), e.getMessage());
+            operaciones.forEach(this::confirmarIndividualmente);
+        }
+    }
+
+    /**
+     * Agrupa las escrituras en operaciones: cada alta es una operación y las
+     * actualizaciones de una misma tarea se combinan en una sola.
+     * Las actualizaciones van primero para que las inserciones se envíen en
+     * un mismo batch JDBC al confirmar.
+     *
+     * @param grupo escrituras en orden de llegada
+     * @return operaciones; de cada una se aplica su última escritura
+     */
+    private static List<List<Escritura>> combinar(List<Escritura> grupo) {
+        Map<Long, List<Escritura>> actualizaciones = new LinkedHashMap<>();
+        List<List<Escritura>> altas = new ArrayList<>();
+        for (Escritura escritura : grupo) {
+            if (escritura.id == null) {
+                altas.add(List.of(escritura));
+            } else {
+                actualizaciones.computeIfAbsent(escritura.id, id -> new ArrayList<>()).add(escritura);
+            }
+        }
+        List<List<Escritura>> operaciones = new ArrayList<>(actualizaciones.values());
+        operaciones.addAll(altas);
+        return operaciones;
+    }
+
+    /**
+     * Aplica las operaciones dentro de la transacción en curso.
+     *
+     * @param operaciones operaciones a aplicar
+     * @return resultado de cada operación, en el mismo orden
+     */
+    private List<Tarea> aplicar(List<List<Escritura>> operaciones) {
+        List<Tarea> resultados = new ArrayList<>(operaciones.size());
+        for (List<Escritura> operacion : operaciones) {
+            resultados.add(aplicar(operacion.get(operacion.size() - 1)));
+        }
+        return resultados;
+    }
+
+    /**
+     * Aplica una escritura mediante el servicio de tareas, que se une a la transacción en curso.
+     *
+     * @param escritura escritura a aplicar
+     * @return tarea creada o actualizada
+     */
+    private Tarea aplicar(Escritura escritura) {
+        return escritura.id == null
+                ? service.crear(escritura.datos)
+                : service.actualizar(escritura.id, escritura.datos, null);
+    }
+
+    /**
+     * Confirma una operación en su propia transacción y completa sus futuros.
+     *
+     * @param operacion escrituras de la operación
+     */
+    private void confirmarIndividualmente(List<Escritura> operacion) {
+        Escritura ultima = operacion.get(operacion.size() - 1);
+        if (ultima.id == null) {
+            // La transacción revertida pudo asignar ID a la entidad
+            ultima.datos.setId(null);
+            ultima.datos.setVersion(0);
+        }
+        try {
+            Tarea resultado = transacciones.execute(estado -> aplicar(ultima));
+            operacion.forEach(escritura -> escritura.resultado.complete(resultado));
+            tamanioGrupos.record(operacion.size());
+        } catch (RuntimeException e) {
+            if (ultima.id != null) {
+                cache.evict(ultima.id);
+            }
+            operacion.forEach(escritura -> escritura.resultado.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Deja de aceptar escrituras, confirma las pendientes y detiene el hilo escritor.
+     *
+     * @throws InterruptedException si se interrumpe la espera al hilo escritor
+     */
+    @PreDestroy
+    public void detener() throws InterruptedException {
+        activa = false;
+        escritor.join();
+        List<Escritura> restantes = new ArrayList<>();
+        cola.drainTo(restantes);
+        restantes.forEach(escritura -> escritura.resultado.completeExceptionally(
+                new ServiceUnavailableException("La aplicación se está deteniendo")));
+    }
+
+    /**
+     * Escritura pendiente: alta si {@code id} es nulo, actualización en otro caso.
+     */
+    private static final class Escritura {
+
+        private final Long id;
+        private final Tarea datos;
+        private final CompletableFuture<Tarea> resultado = new CompletableFuture<>();
+
+        private Escritura(Long id, Tarea datos) {
+            this.id = id;
+            this.datos = datos;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.tareas.service;
+
+import com.example.tareas.config.CachesConfig;
+import com.example.tareas.config.MetricasConfig;
+import com.example.tareas.config.TareasProperties;
+import com.example.tareas.dto.ResultadoMasivo;
+import com.example.tareas.dto.SeleccionTareas;
+import com.example.tareas.dto.TareaParcial;
+import com.example.tareas.exception.BadRequestException;
+import com.example.tareas.repository.TareaRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Operaciones masivas sobre tareas existentes: completar, reabrir y eliminar.
+ * <p>
+ * En lugar de una lectura y una escritura por tarea, las tareas seleccionadas
+ * se procesan por bloques de {@code tareas.masiva.tamanio-bloque} IDs, cada
+ * uno en su propia transacción con dos sentencias: un {@code SELECT ... FOR
+ * UPDATE} que bloquea las filas afectadas y un único {@code UPDATE} o
+ * {@code DELETE ... WHERE id IN (...)}. Así los bloqueos y el log de
+ * deshacer de cada transacción no crecen con el tamaño de la selección.
+ * Si un bloque falla, los anteriores quedan confirmados; como las tres
+ * operaciones son idempotentes, basta con repetir la petición.
+ * </p>
+ * <p>
+ * Cada tarea afectada publica su {@link TareaEvento}, igual que las
+ * operaciones individuales, de modo que el feed de cambios, el índice de
+ * búsqueda y los contadores por estado se mantienen al día. Sus entradas de
+ * la caché {@code tareas} se invalidan tras confirmar cada bloque.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see TareaService
+ */
+@Service
+public class OperacionesMasivas {
+
+    /**
+     * Logger para registrar las operaciones masivas.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(OperacionesMasivas.class);
+
+    /**
+     * Repositorio de tareas.
+     */
+    private final TareaRepository repository;
+
+    /**
+     * Plantilla de transacciones para confirmar cada bloque.
+     */
+    private final TransactionTemplate transacciones;
+
+    /**
+     * Publicador de los eventos de modificación de tareas.
+     */
+    private final ApplicationEventPublisher eventos;
+
+    /**
+     * Reglas de validación de los IDs.
+     */
+    private final ValidadorTarea validador;
+
+    /**
+     * Caché de tareas por ID, que se invalida tras confirmar cada bloque.
+     */
+    private final Cache cache;
+
+    /**
+     * Parámetros de las operaciones masivas.
+     */
+    private final TareasProperties.Masiva configuracion;
+
+    /**
+     * Constructor que inyecta los colaboradores.
+     *
+     * @param repository repositorio de tareas
+     * @param transacciones plantilla de transacciones
+     * @param eventos publicador de los eventos de modificación
+     * @param validador reglas de validación de las tareas
+     * @param cacheManager gestor de cachés de la aplicación
+     * @param properties propiedades de configuración de la aplicación
+     */
+    public OperacionesMasivas(TareaRepository repository, TransactionTemplate transacciones,
+                              ApplicationEventPublisher eventos, ValidadorTarea validador,
+                              CacheManager cacheManager, TareasProperties properties) {
+        this.repository = repository;
+        this.transacciones = transacciones;
+        this.eventos = eventos;
+        this.validador = validador;
+        this.cache = cacheManager.getCache(CachesConfig.CACHE_TAREAS);
+        this.configuracion = properties.getMasiva();
+    }
+
+    /**
+     * Marca como completadas las tareas seleccionadas que estén pendientes.
+     *
+     * @param seleccion IDs y/o estado de las tareas
+     * @return número de tareas completadas
+     * @throws BadRequestException si la selección no es válida
+     */
+    @Timed(value = MetricasConfig.METRICA_OPERACIONES, extraTags = {"operacion", "completar_masivo"}, histogram = true)
+    public ResultadoMasivo completar(SeleccionTareas seleccion) {
+        return cambiarEstado(seleccion, true);
+    }
+
+    /**
+     * Marca como pendientes las tareas seleccionadas que estén completadas.
+     *
+     * @param seleccion IDs y/o estado de las tareas
+     * @return número de tareas reabiertas
+     * @throws BadRequestException si la selección no es válida
+     */
+    @Timed(value = MetricasConfig.METRICA_OPERACIONES, extraTags = {"operacion", "reabrir_masivo"}, histogram = true)
+    public ResultadoMasivo reabrir(SeleccionTareas seleccion) {
+        return cambiarEstado(seleccion, false);
+    }
+
+    /**
+     * Elimina las tareas seleccionadas.
+     *
+     * @param seleccion IDs y/o estado de las tareas
+     * @return número de tareas eliminadas
+     * @throws BadRequestException si la selección no es válida
+     */
+    @Timed(value = MetricasConfig.METRICA_OPERACIONES, extraTags = {"operacion", "eliminar_masivo"}, histogram = true)
+    public ResultadoMasivo eliminar(SeleccionTareas seleccion) {
+        List<Long> ids = validar(seleccion);
+        logger.info("Eliminando tareas en bloque (IDs {}, completada {})",
+                ids == null ? "todos" : ids.size(), seleccion.getCompletada());
+
+        long afectadas = 0;
+        for (boolean estado : seleccion.getCompletada() == null
+                ? new boolean[]{false, true} : new boolean[]{seleccion.getCompletada()}) {
+            afectadas += procesar(ids, estado, bloque -> {
+                repository.eliminarPorIds(bloque);
+                bloque.forEach(id -> eventos.publishEvent(TareaEvento.eliminada(id, estado)));
+            });
+        }
+        logger.info("Eliminación en bloque finalizada: {} tareas", afectadas);
+        return new ResultadoMasivo(afectadas);
+    }
+
+    /**
+     * Cambia el estado de completitud de las tareas seleccionadas que no lo tengan ya.
+     *
+     * @param seleccion IDs y/o estado de las tareas
+     * @param completada estado final
+     * @return número de tareas modificadas
+     */
+    private ResultadoMasivo cambiarEstado(SeleccionTareas seleccion, boolean completada) {
+        List<Long> ids = validar(seleccion);
+        logger.info("Cambiando a completada={} las tareas en bloque (IDs {}, completada {})",
+                completada, ids == null ? "todos" : ids.size(), seleccion.getCompletada());
+        if (seleccion.getCompletada() != null && seleccion.getCompletada() == completada) {
+            return new ResultadoMasivo(0);
+        }
+
+        boolean anterior = !completada;
+        TareaParcial cambios = new TareaParcial(null, null, completada);
+        long afectadas = procesar(ids, anterior, bloque -> {
+            repository.actualizarCompletadaPorIds(bloque, completada);
+            bloque.forEach(id -> eventos.publishEvent(TareaEvento.actualizadaParcialmente(id, cambios, anterior)));
+        });
+        logger.info("Cambio de estado en bloque finalizado: {} tareas", afectadas);
+        return new ResultadoMasivo(afectadas);
+    }
+
+    /**
+     * Valida la selección.
+     *
+     * @param seleccion selección recibida
+     * @return IDs sin repetir y ordenados, o {@code null} si no se filtra por ID
+     * @throws BadRequestException si no hay criterio, hay demasiados IDs o alguno no es válido
+     */
+    private List<Long> validar(SeleccionTareas seleccion) {
+        if (seleccion == null || (seleccion.getIds() == null && seleccion.getCompletada() == null)) {
+            throw new BadRequestException("Debe indicarse la lista de IDs, el estado completada o ambos");
+        }
+        List<Long> ids = seleccion.getIds();
+        if (ids == null) {
+            return null;
+        }
+        if (ids.size() > configuracion.getMaximoIds()) {
+            throw new BadRequestException(String.format(
+                    "La operación no puede superar los %d IDs", configuracion.getMaximoIds()));
+        }
+        ids.forEach(validador::validarId);
+        return ids.stream().distinct().sorted().toList();
+    }
+
+    /**
+     * Aplica una acción, por bloques, a las tareas seleccionadas con el estado indicado.
+     *
+     * @param ids IDs ordenados, o {@code null} para todas las tareas con ese estado
+     * @param estado estado de completitud de las tareas afectadas
+     * @param accion sentencia y eventos de un bloque de IDs bloqueados
+     * @return número de tareas afectadas
+     */
+    private long procesar(List<Long> ids, boolean estado, Consumer<List<Long>> accion) {
+        int tamanioBloque = configuracion.getTamanioBloque();
+        long afectadas = 0;
+        if (ids != null) {
+            for (int desde = 0; desde < ids.size(); desde += tamanioBloque) {
+                List<Long> candidatos = ids.subList(desde, Math.min(desde + tamanioBloque, ids.size()));
+                afectadas += aplicarBloque(() -> repository.bloquearIdsConEstado(candidatos, estado), accion).size();
+            }
+            return afectadas;
+        }
+
+        Limit limite = Limit.of(tamanioBloque);
+        long ultimoId = 0;
+        List<Long> bloque;
+        do {
+            long cursor = ultimoId;
+            bloque = aplicarBloque(() -> repository.bloquearSiguientesConEstado(estado, cursor, limite), accion);
+            afectadas += bloque.size();
+            if (!bloque.isEmpty()) {
+                ultimoId = bloque.get(bloque.size() - 1);
+            }
+        } while (bloque.size() == tamanioBloque);
+        return afectadas;
+    }
+
+    /**
+     * Bloquea un bloque de filas y le aplica la acción en una transacción,
+     * invalidando sus entradas de la caché tras confirmarla.
+     *
+     * @param bloquear consulta que bloquea las filas y devuelve sus IDs
+     * @param accion sentencia y eventos del bloque
+     * @return IDs afectados
+     */
+    private List<Long> aplicarBloque(Supplier<List<Long>> bloquear, Consumer<List<Long>> accion) {
+        List<Long> bloque = transacciones.execute(estado -> {
+            List<Long> bloqueados = bloquear.get();
+            if (!bloqueados.isEmpty()) {
+                accion.accept(bloqueados);
+            }
+            return bloqueados;
+        });
+        bloque.forEach(cache::evict);
+        return bloque;
+    }
+}
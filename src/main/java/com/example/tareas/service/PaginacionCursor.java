@@ -0,0 +1,90 @@
+package com.example.tareas.service;
+
+import com.example.tareas.config.TareasProperties;
+import com.example.tareas.exception.BadRequestException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Utilidades de la paginación por cursor (keyset) del listado de tareas.
+ * <p>
+ * El cursor es el ID de la última tarea devuelta, codificado en Base64 para
+ * que el cliente lo trate como un valor opaco. El tamaño de página se
+ * recorta al máximo configurado en {@code tareas.paginacion.tamanio-maximo}.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ */
+@Component
+public class PaginacionCursor {
+
+    /**
+     * Propiedades de configuración de la aplicación.
+     */
+    private final TareasProperties properties;
+
+    /**
+     * Constructor que inyecta la configuración de la paginación.
+     *
+     * @param properties propiedades de configuración de la aplicación
+     */
+    public PaginacionCursor(TareasProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Determina el tamaño de página a aplicar, recortándolo al máximo configurado.
+     *
+     * @param tamanio tamaño solicitado por el cliente (puede ser nulo)
+     * @return tamaño de página efectivo
+     * @throws BadRequestException si el tamaño solicitado no es positivo
+     */
+    public int resolverTamanio(Integer tamanio) {
+        TareasProperties.Paginacion paginacion = properties.getPaginacion();
+        if (tamanio == null) {
+            return Math.min(paginacion.getTamanioPorDefecto(), paginacion.getTamanioMaximo());
+        }
+        if (tamanio <= 0) {
+            throw new BadRequestException("El tamaño de página debe ser un número positivo");
+        }
+        return Math.min(tamanio, paginacion.getTamanioMaximo());
+    }
+
+    /**
+     * Codifica el ID de la última tarea de una página como cursor opaco.
+     *
+     * @param ultimoId ID de la última tarea devuelta
+     * @return cursor en Base64 URL-safe
+     */
+    public String codificar(Long ultimoId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(ultimoId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodifica un cursor opaco y devuelve el ID a partir del cual continuar.
+     *
+     * @param cursor cursor recibido del cliente (puede ser nulo o vacío)
+     * @return ID de la última tarea de la página anterior, o {@code 0} si no hay cursor
+     * @throws BadRequestException si el cursor no es válido
+     */
+    public long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            long ultimoId = Long.parseLong(new String(
+                    Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+            if (ultimoId < 0) {
+                throw new BadRequestException("El cursor de paginación no es válido");
+            }
+            return ultimoId;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("El cursor de paginación no es válido");
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.tareas.service;
+
+import com.example.tareas.dto.TareaParcial;
+import com.example.tareas.model.Tarea;
+import lombok.Getter;
+
+/**
+ * Evento publicado por {@link TareaService} tras cada modificación de una tarea.
+ * <p>
+ * Permite mantener estructuras derivadas (como el índice de búsqueda) sin
+ * volver a leer la tabla. Los oyentes deberían procesarlo tras el commit de
+ * la transacción, de modo que las modificaciones revertidas no se reflejen.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see TareaService
+ */
+@Getter
+public class TareaEvento {
+
+    /**
+     * Tipo de modificación.
+     */
+    public enum Tipo {
+        /** Tarea creada; todos los campos tienen su valor. */
+        CREADA,
+        /** Tarea sobrescrita por completo; todos los campos tienen su valor. */
+        ACTUALIZADA,
+        /** Tarea modificada parcialmente; los campos nulos no cambiaron. */
+        ACTUALIZADA_PARCIALMENTE,
+        /** Tarea eliminada; solo el ID y el estado anterior tienen valor. */
+        ELIMINADA,
+        /** Tarea completada trasladada al archivo; solo el ID y el estado anterior tienen valor. */
+        ARCHIVADA
+    }
+
+    /**
+     * Tipo de modificación.
+     */
+    private final Tipo tipo;
+
+    /**
+     * ID de la tarea modificada.
+     */
+    private final Long id;
+
+    /**
+     * Título de la tarea tras la modificación.
+     */
+    private final String titulo;
+
+    /**
+     * Descripción de la tarea tras la modificación.
+     */
+    private final String descripcion;
+
+    /**
+     * Estado de completitud de la tarea tras la modificación.
+     */
+    private final Boolean completada;
+
+    /**
+     * Estado de completitud de la tarea antes de la modificación, o {@code null}
+     * si no se conoce (tareas creadas o modificaciones que no lo cambian).
+     */
+    private final Boolean completadaAnterior;
+
+    private TareaEvento(Tipo tipo, Long id, String titulo, String descripcion, Boolean completada,
+                        Boolean completadaAnterior) {
+        this.tipo = tipo;
+        this.id = id;
+        this.titulo = titulo;
+        this.descripcion = descripcion;
+        this.completada = completada;
+        this.completadaAnterior = completadaAnterior;
+    }
+
+    /**
+     * Crea el evento de una tarea recién creada.
+     *
+     * @param tarea tarea creada, con su ID
+     * @return evento {@link Tipo#CREADA}
+     */
+    public static TareaEvento creada(Tarea tarea) {
+        return new TareaEvento(Tipo.CREADA, tarea.getId(), tarea.getTitulo(), tarea.getDescripcion(),
+                tarea.isCompletada(), null);
+    }
+
+    /**
+     * Crea el evento de una tarea sobrescrita por completo.
+     *
+     * @param tarea tarea con sus nuevos datos
+     * @param completadaAnterior estado de completitud antes de la modificación
+     * @return evento {@link Tipo#ACTUALIZADA}
+     */
+    public static TareaEvento actualizada(Tarea tarea, Boolean completadaAnterior) {
+        return new TareaEvento(Tipo.ACTUALIZADA, tarea.getId(), tarea.getTitulo(), tarea.getDescripcion(),
+                tarea.isCompletada(), completadaAnterior);
+    }
+
+    /**
+     * Crea el evento de una tarea modificada parcialmente.
+     *
+     * @param id ID de la tarea
+     * @param cambios campos modificados; los nulos no cambiaron
+     * @param completadaAnterior estado de completitud antes de la modificación, o {@code null} si no cambia
+     * @return evento {@link Tipo#ACTUALIZADA_PARCIALMENTE}
+     */
+    public static TareaEvento actualizadaParcialmente(Long id, TareaParcial cambios, Boolean completadaAnterior) {
+        return new TareaEvento(Tipo.ACTUALIZADA_PARCIALMENTE, id, cambios.getTitulo(), cambios.getDescripcion(),
+                cambios.getCompletada(), completadaAnterior);
+    }
+
+    /**
+     * Crea el evento de una tarea eliminada.
+     *
+     * @param id ID de la tarea
+     * @param completadaAnterior estado de completitud de la tarea eliminada
+     * @return evento {@link Tipo#ELIMINADA}
+     */
+    public static TareaEvento eliminada(Long id, Boolean completadaAnterior) {
+        return new TareaEvento(Tipo.ELIMINADA, id, null, null, null, completadaAnterior);
+    }
+
+    /**
+     * Crea el evento de una tarea completada trasladada al archivo.
+     *
+     * @param id ID de la tarea
+     * @return evento {@link Tipo#ARCHIVADA}
+     */
+    public static TareaEvento archivada(Long id) {
+        return new TareaEvento(Tipo.ARCHIVADA, id, null, null, null, true);
+    }
+}
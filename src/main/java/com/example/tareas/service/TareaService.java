@@ -1,15 +1,64 @@
 package com.example.tareas.service;
 
+import com.example.tareas.busqueda.IndiceInvertido;
+import com.example.tareas.busqueda.IndiceTareas;
+import com.example.tareas.cambios.DifusorCambios;
+import com.example.tareas.config.CachesConfig;
+import com.example.tareas.config.MetricasConfig;
+import com.example.tareas.config.TareasProperties;
+import com.example.tareas.dto.ErrorLote;
+import com.example.tareas.dto.EstadisticasCache;
+import com.example.tareas.dto.EstadisticasTareas;
+import com.example.tareas.dto.PaginaProyecciones;
+import com.example.tareas.dto.PaginaTareas;
+import com.example.tareas.dto.ProyeccionTarea;
+import com.example.tareas.dto.ResultadoBusqueda;
+import com.example.tareas.dto.ResultadoLote;
+import com.example.tareas.dto.ResumenTarea;
+import com.example.tareas.dto.TareaParcial;
+import com.example.tareas.dto.VistaTarea;
 import com.example.tareas.exception.BadRequestException;
+import com.example.tareas.exception.PreconditionFailedException;
 import com.example.tareas.exception.ResourceNotFoundException;
 import com.example.tareas.model.Tarea;
+import com.example.tareas.model.TareaArchivada;
+import com.example.tareas.replica.ContextoReplica;
+import com.example.tareas.repository.TareaArchivadaRepository;
 import com.example.tareas.repository.TareaRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Servicio de negocio para la gestión de tareas.
@@ -17,6 +66,27 @@ import java.util.List;
  * Esta clase proporciona la lógica de negocio para las operaciones CRUD
  * sobre las tareas. Incluye validaciones de datos y manejo de transacciones.
  * </p>
+ * <p>
+ * Las lecturas por ID pasan por la caché {@code tareas}, que se actualiza o
+ * invalida en cada modificación o eliminación una vez confirmada la
+ * transacción. La caché guarda {@link VistaTarea} inmutables y cada lectura
+ * devuelve una {@link Tarea} nueva.
+ * </p>
+ * <p>
+ * Cada operación se mide con el temporizador {@code tareas.operacion},
+ * etiquetado con el nombre de la operación y con histograma de percentiles.
+ * </p>
+ * <p>
+ * Cada modificación publica un {@link TareaEvento}, que mantiene al día el
+ * índice de búsqueda y los contadores por estado una vez confirmada la
+ * transacción. Las modificaciones y eliminaciones se condicionan a su estado
+ * de completitud anterior probable y solo bloquean la fila para leerlo si
+ * esa escritura no tiene efecto.
+ * </p>
+ * <p>
+ * Las lecturas por ID buscan también en el archivo ({@link TareaArchivada})
+ * las tareas que ya no están en la tabla principal.
+ * </p>
  *
  * @author Desarrollador
  * @version 1.0.0
@@ -26,6 +96,7 @@ import java.util.List;
  */
 @Service
 @Transactional
+@CacheConfig(cacheNames = CachesConfig.CACHE_TAREAS)
 public class TareaService {
 
     /**
@@ -39,12 +110,112 @@ public class TareaService {
     private final TareaRepository repository;
 
     /**
-     * Constructor que inyecta el repositorio de tareas.
+     * Repositorio de las tareas archivadas.
+     */
+    private final TareaArchivadaRepository archivo;
+
+    /**
+     * Propiedades de configuración de la aplicación.
+     */
+    private final TareasProperties properties;
+
+    /**
+     * Contexto de persistencia, usado para liberar entidades durante la exportación.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Mapeador JSON de la aplicación, usado para la exportación en NDJSON.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Caché de tareas por ID.
+     */
+    private final Cache cache;
+
+    /**
+     * Caché de Caffeine subyacente, o {@code null} si la caché no es de Caffeine
+     * (por ejemplo, con {@code spring.cache.type=none}).
+     */
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> cacheCaffeine;
+
+    /**
+     * Plantilla de las transacciones de solo lectura que llenan la caché.
+     */
+    private final TransactionTemplate lecturas;
+
+    /**
+     * Reglas de validación de las tareas.
+     */
+    private final ValidadorTarea validador;
+
+    /**
+     * Utilidades de la paginación por cursor.
+     */
+    private final PaginacionCursor paginacion;
+
+    /**
+     * Publicador de los eventos de modificación de tareas.
+     */
+    private final ApplicationEventPublisher eventos;
+
+    /**
+     * Índice de búsqueda por texto de las tareas.
+     */
+    private final IndiceTareas indice;
+
+    /**
+     * Contadores de tareas por estado de completitud.
+     */
+    private final ContadoresTareas contadores;
+
+    /**
+     * Difusor del feed de cambios de tareas.
+     */
+    private final DifusorCambios difusor;
+
+    /**
+     * Constructor que inyecta el repositorio de tareas y sus colaboradores.
      *
      * @param repository repositorio JPA para operaciones de persistencia
+     * @param archivo repositorio de las tareas archivadas
+     * @param properties propiedades de configuración de la aplicación
+     * @param entityManager contexto de persistencia compartido
+     * @param objectMapper mapeador JSON configurado por Spring Boot
+     * @param cacheManager gestor de cachés de la aplicación
+     * @param transactionManager gestor de transacciones, para las lecturas que llenan la caché
+     * @param validador reglas de validación de las tareas
+     * @param paginacion utilidades de la paginación por cursor
+     * @param eventos publicador de los eventos de modificación
+     * @param indice índice de búsqueda por texto
+     * @param contadores contadores de tareas por estado
+     * @param difusor difusor del feed de cambios
      */
-    public TareaService(TareaRepository repository) {
+    public TareaService(TareaRepository repository, TareaArchivadaRepository archivo,
+                        TareasProperties properties,
+                        EntityManager entityManager, ObjectMapper objectMapper,
+                        CacheManager cacheManager, PlatformTransactionManager transactionManager,
+                        ValidadorTarea validador,
+                        PaginacionCursor paginacion, ApplicationEventPublisher eventos,
+                        IndiceTareas indice, ContadoresTareas contadores,
+                        DifusorCambios difusor) {
         this.repository = repository;
+        this.archivo = archivo;
+        this.properties = properties;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.cache = cacheManager.getCache(CachesConfig.CACHE_TAREAS);
+        Cache destino = cache instanceof TransactionAwareCacheDecorator decorador ? decorador.getTargetCache() : cache;
+        this.cacheCaffeine = destino instanceof CaffeineCache caffeine ? caffeine.getNativeCache() : null;
+        this.lecturas = new TransactionTemplate(transactionManager);
+        this.lecturas.setReadOnly(true);
+        this.validador = validador;
+        this.paginacion = paginacion;
+        this.eventos = eventos;
+        this.indice = indice;
+        this.contadores = contadores;
+        this.difusor = difusor;
     }
 
     /**
@@ -63,6 +234,146 @@ public class TareaService {
         }
     }
 
+    /**
+     * Lista las tareas paginando por cursor (keyset).
+     * <p>
+     * Cada página se obtiene con una consulta {@code id > :ultimoId ORDER BY id}
+     * limitada al tamaño solicitado, por lo que la latencia no depende del
+     * número total de filas. Se solicita un elemento adicional para saber si
+     * existe una página siguiente sin necesidad de contar la tabla.
+     * </p>
+     *
+     * @param cursor cursor opaco devuelto por la página anterior, o {@code null} para la primera
+     * @param tamanio número de tareas solicitado, o {@code null} para usar el valor por defecto
+     * @param completada filtro opcional por estado de completitud
+     * @return página de tareas con el cursor de la página siguiente
+     * @throws BadRequestException si el cursor o el tamaño no son válidos
+     */
+    @Timed(value = MetricasConfig.METRICA_OPERACIONES, extraTags = {"operacion", "listar"}, histogram = true)
+    @Transactional(readOnly = true)
+    public PaginaTareas listarPagina(String cursor, Integer tamanio, Boolean completada) {
+        int tamanioPagina = paginacion.resolverTamanio(tamanio);
+        long ultimoId = paginacion.decodificar(cursor);
+        logger.info("Listando tareas desde ID {} (tamaño {}, completada {})", ultimoId, tamanioPagina, completada);
+
+        Limit limite = Limit.of(tamanioPagina + 1);
+        List<Tarea> tareas = completada == null
+                ? repository.findByIdGreaterThanOrderByIdAsc(ultimoId, limite)
+                : repository.findByCompletadaAndIdGreaterThanOrderByIdAsc(completada, ultimoId, limite);
+
+        String siguienteCursor = null;
+        if (tareas.size() > tamanioPagina) {
+            tareas = tareas.subList(0, tamanioPagina);
+            siguienteCursor = paginacion.codificar(tareas.get(tamanioPagina - 1).getId());
+        }
+        return new PaginaTareas(tareas, tamanioPagina, siguienteCursor);
+    }
+
+    /**
+     * Lista las tareas paginando por cursor, con solo los campos indicados.
+     * <p>
+     * Igual que {@link #listarPagina(String, Integer, Boolean)}, pero consulta
+     * la proyección más pequeña que contiene los campos pedidos: no se leen
+     * las columnas sobrantes ni se crean entidades gestionadas.
+     * </p>
+     *
+     * @param cursor cursor opaco devuelto por la página anterior, o {@code null} para la primera
+     * @param tamanio número de tareas solicitado, o {@code null} para usar el valor por defecto
+     * @param completada filtro opcional por estado de completitud
+     * @param campos campos pedidos por el cliente
+     * @return página de proyecciones con el cursor de la página siguiente
+     * @throws BadRequestException si el cursor o el tamaño no son válidos
+     */
+    @Timed(value = MetricasConfig.METRICA_OPERACIONES, extraTags = {"operacion", "listar"}, histogram = true)
+    @Transactional(readOnly = true)
+    public PaginaProyecciones listarPagina(String cursor, Integer tamanio, Boolean completada, CamposTarea campos) {
+        int tamanioPagina = paginacion.resolverTamanio(tamanio);
+        long ultimoId = paginacion.decodificar(cursor);
+        logger.info("Listando campos {} desde ID {} (tamaño {}, completada {})",
+                campos.nombres(), ultimoId, tamanioPagina, completada);
+
+        Limit limite = Limit.of(tamanioPagina + 1);
+        Class<? extends ProyeccionTarea> tipo = campos.proyeccion();
+        List<? extends ProyeccionTarea> tareas = completada == null
+                ? repository.findByIdGreaterThanOrderByIdAsc(ultimoId, limite, tipo)
+                : repository.findByCompletadaAndIdGreaterThanOrderByIdAsc(completada, ultimoId, limite, tipo);
+
+        String siguienteCursor = null;
+        if (tareas.size() > tamanioPagina) {
+            tareas = tareas.subList(0, tamanioPagina);
+            siguienteCursor = paginacion.codificar(tareas.get(tamanioPagina - 1).getId());
+        }
+        return new PaginaProyecciones(tareas, tamanioPagina, siguienteCursor);
+    }
+
+    /**
+     * Lista las tareas archivadas paginando por cursor (keyset).
+     *
+     * @param cursor cursor opaco devuelto por la página anterior, o {@code null} para la primera
+     * @param tamanio número de tareas solicitado, o {@code null} para usar el valor por defecto
+     * @return página de tareas archivadas con el cursor de la página siguiente
+     * @throws BadRequestException si el cursor o el tamaño no son válidos
+     */
+    @Timed(value = MetricasConfig.METRICA_OPERACIONES, extraTags = {"operacion", "listar_archivo"}, histogram = true)
+    @Transactional(readOnly = true)
+    public PaginaTareas listarArchivadas(String cursor, Integer tamanio) {
+        int tamanioPagina = paginacion.resolverTamanio(tamanio);
+        long ultimoId = paginacion.decodificar(cursor);
+        logger.info("Listando tareas archivadas desde ID {} (tamaño {})", ultimoId, tamanioPagina);
+
+        List<TareaArchivada> archivadas = archivo.findByIdGreaterThanOrderByIdAsc(ultimoId, Limit.of(tamanioPagina + 1));
+        String siguienteCursor = null;
+        if (archivadas.size() > tamanioPagina) {
+            archivadas = archivadas.subList(0, tamanioPagina);
+            siguienteCursor = paginacion.codificar(archivadas.get(tamanioPagina - 1).getId());
+        }
+        return new PaginaTareas(archivadas.stream().map(TareaArchivada::aTarea).toList(),
+                tamanioPagina, siguienteCursor);
+    }
+
+    /**
+     * Exporta todas las tareas como JSON delimitado por saltos de línea (NDJSON).
+     * <p>
+     * Las filas se leen mediante un cursor JDBC y se escriben en la salida a
+     * medida que llegan. Cada {@code tareas.exportacion.tamanio-lote} tareas se
+     * vacía el contexto de persistencia y el buffer de salida, de modo que el
+     * consumo de memoria es constante independientemente del tamaño de la tabla.
+     * </p>
+     *
+     * @param salida flujo de salida donde escribir las tareas; no se cierra
+     * @return número de tareas exportadas
+     * @throws IOException si ocurre un error al escribir en la salida
+     */
+    @Timed(value = MetricasConfig.METRICA_OPERACIONES, extraTags = {"operacion", "exportar"}, histogram = true)
+    @Transactional(readOnly = true)
+    public long exportar(OutputStream salida) throws IOException {
+        logger.info("Exportando todas las tareas en NDJSON");
+        int tamanioLote = properties.getExportacion().getTamanioLote();
+        long total = 0;
+
+        try (Stream<Tarea> tareas = repository.findAllByOrderByIdAsc();
+             SequenceWriter escritor = objectMapper.writer()
+                     .withRootValueSeparator("\n")
+                     .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                     .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .writeValues(salida)) {
+            for (Tarea tarea : (Iterable<Tarea>) tareas::iterator) {
+                escritor.write(tarea);
+                if (++total % tamanioLote == 0) {
+                    entityManager.clear();
+                    escritor.flush();
+                }
+            }
+        }
+        if (total > 0) {
+            salida.write('\n');
+        }
+        salida.flush();
+
+        logger.info("Exportación finalizada: {} tareas", total);
+        return total;
+    }
+
     /**
      * Crea una nueva tarea en el sistema.
      * <p>
@@ -74,14 +385,16 @@ public class TareaService {
      * @throws BadRequestException si los datos de la tarea no son válidos
      * @throws RuntimeException si ocurre un error al guardar en la base de datos
      */
+    @Timed(value = MetricasConfig.METRICA_OPERACIONES, extraTags = {"operacion", "crear"}, histogram = true)
     public Tarea crear(Tarea tarea) {
         logger.info("Creando nueva tarea: {}", tarea != null ? tarea.getTitulo() : "null");
 
         // Validaciones básicas
-        validarTarea(tarea);
+        validador.validarTarea(tarea);
 
         try {
             Tarea tareaGuardada = repository.save(tarea);
+            eventos.publishEvent(TareaEvento.creada(tareaGuardada));
             logger.info("Tarea creada exitosamente con ID: {}", tareaGuardada.getId());
             return tareaGuardada;
         } catch (Exception e) {
@@ -90,22 +403,152 @@ public class TareaService {
         }
     }
 
+    /**
+     * Crea varias tareas en una sola operación.
+     * <p>
+     * Cada elemento se valida con las mismas reglas que {@link #crear(Tarea)};
+     * los inválidos se informan por posición y no impiden la creación del resto.
+     * Los válidos se persisten en batches JDBC de {@code tareas.lote.tamanio-batch}
+     * inserciones, vaciando el contexto de persistencia tras cada batch.
+     * </p>
+     *
+     * @param tareas tareas a crear
+     * @return resultado con las tareas creadas y los errores por elemento
+     * @throws BadRequestException si el lote está vacío o supera el tamaño máximo
+     * @throws RuntimeException si ocurre un error al guardar en la base de datos
+     */
+    @Timed(value = MetricasConfig.METRICA_OPERACIONES, extraTags = {"operacion", "crear_lote"}, histogram = true)
+    public ResultadoLote crearLote(List<Tarea> tareas) {
+        if (tareas == null || tareas.isEmpty()) {
+            throw new BadRequestException("El lote de tareas no puede estar vacío");
+        }
+        TareasProperties.Lote configuracion = properties.getLote();
+        if (tareas.size() > configuracion.getTamanioMaximo()) {
+            throw new BadRequestException(String.format(
+                    "El lote no puede superar las %d tareas", configuracion.getTamanioMaximo()));
+        }
+        logger.info("Creando lote de {} tareas", tareas.size());
+
+        List<Tarea> validas = new ArrayList<>(tareas.size());
+        List<ErrorLote> errores = new ArrayList<>();
+        for (int i = 0; i < tareas.size(); i++) {
+            Tarea tarea = tareas.get(i);
+            try {
+                validador.validarTarea(tarea);
+                tarea.setId(null);
+                tarea.setVersion(0);
+                validas.add(tarea);
+            } catch (BadRequestException e) {
+                errores.add(new ErrorLote(i, e.getMessage()));
+            }
+        }
+
+        try {
+            int tamanioBatch = configuracion.getTamanioBatch();
+            for (int i = 0; i < validas.size(); i++) {
+                entityManager.persist(validas.get(i));
+                if ((i + 1) % tamanioBatch == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        } catch (Exception e) {
+            logger.error("Error al crear lote de tareas", e);
+            throw new RuntimeException("Error al crear el lote de tareas", e);
+        }
+
+        validas.forEach(tarea -> eventos.publishEvent(TareaEvento.creada(tarea)));
+        logger.info("Lote procesado: {} creadas, {} rechazadas", validas.size(), errores.size());
+        return new ResultadoLote(tareas.size(), validas, errores);
+    }
+
     /**
      * Obtiene una tarea por su identificador.
+     * <p>
+     * El resultado se guarda en la caché {@code tareas}; las lecturas
+     * posteriores del mismo ID no acceden a la base de datos hasta que la
+     * entrada se modifique, se elimine o expire. Si la tarea no está en la
+     * tabla principal se busca en el archivo.
+     * </p>
+     * <p>
+     * Solo si la tarea no está en la caché se abre una transacción de solo
+     * lectura, siempre en la primaria: una fila atrasada de la réplica
+     * quedaría en la caché compartida hasta expirar, también para quien
+     * acaba de escribir. La caché guarda una copia inmutable, por lo que la
+     * tarea devuelta puede modificarse sin alterar la entrada.
+     * </p>
+     * <p>
+     * La fila se carga dentro de la operación atómica {@code get} de Caffeine:
+     * la invalidación que hace una escritura al confirmarse espera a que
+     * termine una carga en curso del mismo ID y descarta su resultado, así que
+     * una lectura que obtuvo la fila anterior a la confirmación no puede
+     * dejarla en la caché.
+     * </p>
      *
      * @param id identificador único de la tarea
      * @return la tarea encontrada
      * @throws BadRequestException si el ID es nulo o no positivo
      * @throws ResourceNotFoundException si la tarea no existe
      */
+    @Timed(value = MetricasConfig.METRICA_OPERACIONES, extraTags = {"operacion", "obtener"}, histogram = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Tarea obtener(Long id) {
         logger.info("Obteniendo tarea con ID: {}", id);
 
-        validarId(id);
+        validador.validarId(id);
+
+        VistaTarea vista = cacheCaffeine == null ? cargar(id) : (VistaTarea) cacheCaffeine.get(id, clave -> cargar(id));
+        if (vista == null) {
+            logger.debug("Tarea no encontrada con ID: {}", id);
+            throw new ResourceNotFoundException("Tarea", id);
+        }
+        return vista.aTarea();
+    }
+
+    /**
+     * Lee una tarea de la primaria, en la tabla principal o en el archivo.
+     *
+     * @param id identificador de la tarea
+     * @return copia inmutable de la tarea, o {@code null} si no existe
+     */
+    private VistaTarea cargar(Long id) {
+        Tarea tarea = ContextoReplica.enPrimaria(() -> lecturas.execute(estado -> repository.findById(id)
+                .or(() -> archivo.findById(id).map(TareaArchivada::aTarea))
+                .orElse(null)));
+        return tarea == null ? null : VistaTarea.de(tarea);
+    }
+
+    /**
+     * Obtiene una tarea por su identificador, con solo los campos indicados.
+     * <p>
+     * No pasa por la caché {@code tareas}, que guarda entidades completas:
+     * consulta directamente la proyección más pequeña que contiene los campos
+     * pedidos, en la tabla principal o, si no está, en el archivo.
+     * </p>
+     *
+     * @param id identificador único de la tarea
+     * @param campos campos pedidos por el cliente
+     * @return proyección de la tarea
+     * @throws BadRequestException si el ID es nulo o no positivo
+     * @throws ResourceNotFoundException si la tarea no existe
+     */
+    @Timed(value = MetricasConfig.METRICA_OPERACIONES, extraTags = {"operacion", "obtener"}, histogram = true)
+    @Transactional(readOnly = true)
+    public ProyeccionTarea obtener(Long id, CamposTarea campos) {
+        logger.info("Obteniendo campos {} de la tarea con ID: {}", campos.nombres(), id);
+
+        validador.validarId(id);
 
-        return repository.findById(id)
+        Class<? extends ProyeccionTarea> tipo = campos.proyeccion();
+        Optional<? extends ProyeccionTarea> proyeccion = repository.findProyeccionById(id, tipo);
+        if (proyeccion.isEmpty()) {
+            proyeccion = archivo.findProyeccionById(id, tipo);
+        }
+        return proyeccion
                 .orElseThrow(() -> {
-                    logger.warn("Tarea no encontrada con ID: {}", id);
+                    logger.debug("Tarea no encontrada con ID: {}", id);
                     return new ResourceNotFoundException("Tarea", id);
                 });
     }
@@ -113,116 +556,326 @@ public class TareaService {
     /**
      * Actualiza una tarea existente con nuevos datos.
      * <p>
-     * Valida los datos proporcionados y actualiza el título, descripción
-     * y estado de completitud de la tarea.
+     * Valida los datos proporcionados y sobrescribe el título, descripción y
+     * estado con una sentencia {@code UPDATE} condicionada al estado de
+     * completitud anterior probable, sin cargar la entidad ni bloquearla
+     * antes (véase {@link #escribirSegunEstado}).
+     * </p>
+     * <p>
+     * Si se indica {@code versionEsperada} (cabecera {@code If-Match}), la
+     * sentencia solo modifica la tarea cuando su versión sigue siendo esa;
+     * en caso contrario se rechaza la escritura en lugar de sobrescribir los
+     * cambios de otro cliente. Solo entonces se conoce la nueva versión y se
+     * guarda la tarea en la caché; sin ella, la entrada se invalida.
      * </p>
      *
      * @param id identificador único de la tarea a actualizar
      * @param datos objeto Tarea con los nuevos datos
-     * @return la tarea actualizada
+     * @param versionEsperada versión que el cliente leyó por última vez, o {@code null} para no comprobarla
+     * @return la tarea actualizada; su versión solo es válida si se indicó {@code versionEsperada}
      * @throws BadRequestException si el ID o los datos no son válidos
      * @throws ResourceNotFoundException si la tarea no existe
+     * @throws PreconditionFailedException si la tarea cambió de versión
      * @throws RuntimeException si ocurre un error al actualizar en la base de datos
      */
-    public Tarea actualizar(Long id, Tarea datos) {
-        logger.info("Actualizando tarea con ID: {}", id);
+    @Timed(value = MetricasConfig.METRICA_OPERACIONES, extraTags = {"operacion", "actualizar"}, histogram = true)
+    public Tarea actualizar(Long id, Tarea datos, Long versionEsperada) {
+        logger.info("Actualizando tarea con ID: {} (versión esperada {})", id, versionEsperada);
 
-        validarId(id);
-        validarTarea(datos);
-
-        Tarea tarea = obtener(id); // Lanza excepción si no existe
+        validador.validarId(id);
+        validador.validarTarea(datos);
 
+        Escritura escritura;
         try {
-            tarea.setTitulo(datos.getTitulo());
-            tarea.setDescripcion(datos.getDescripcion());
-            tarea.setCompletada(datos.isCompletada());
-
-            Tarea tareaActualizada = repository.save(tarea);
-            logger.info("Tarea actualizada exitosamente con ID: {}", id);
-            return tareaActualizada;
+            boolean probable = estadoProbable(id, datos.isCompletada());
+            escritura = versionEsperada == null
+                    ? escribirSegunEstado(id, probable, null,
+                            anterior -> repository.actualizarPorIdYEstado(
+                                    id, anterior, datos.getTitulo(), datos.getDescripcion(), datos.isCompletada()))
+                    : escribirSegunEstado(id, probable, versionEsperada,
+                            anterior -> repository.actualizarPorIdVersionYEstado(id, versionEsperada, anterior,
+                                    datos.getTitulo(), datos.getDescripcion(), datos.isCompletada()));
         } catch (Exception e) {
             logger.error("Error al actualizar tarea con ID: {}", id, e);
             throw new RuntimeException("Error al actualizar la tarea", e);
         }
+        Boolean completadaAnterior = escritura.completadaAnterior();
+        if (completadaAnterior == null) {
+            if (escritura.existe()) {
+                logger.debug("Conflicto de versión al actualizar tarea con ID: {}", id);
+                throw new PreconditionFailedException("Tarea", id);
+            }
+            logger.debug("Tarea no encontrada con ID: {}", id);
+            throw new ResourceNotFoundException("Tarea", id);
+        }
+
+        Tarea tareaActualizada = new Tarea();
+        tareaActualizada.setId(id);
+        tareaActualizada.setTitulo(datos.getTitulo());
+        tareaActualizada.setDescripcion(datos.getDescripcion());
+        tareaActualizada.setCompletada(datos.isCompletada());
+        tareaActualizada.setVersion(versionEsperada == null ? 0 : versionEsperada + 1);
+        if (versionEsperada == null) {
+            cache.evict(id);
+        } else {
+            cache.put(id, VistaTarea.de(tareaActualizada));
+        }
+        eventos.publishEvent(TareaEvento.actualizada(tareaActualizada, completadaAnterior));
+        logger.info("Tarea actualizada exitosamente con ID: {}", id);
+        return tareaActualizada;
+    }
+
+    /**
+     * Actualiza solo los campos indicados de una tarea existente.
+     * <p>
+     * Los campos nulos de {@code cambios} conservan su valor actual. La
+     * modificación se realiza con una única sentencia {@code UPDATE} sin
+     * cargar la entidad, y la entrada de la caché se invalida. Si se indica
+     * el estado de completitud, la sentencia se condiciona al estado anterior
+     * probable (véase {@link #escribirSegunEstado}), de modo que en el caso
+     * habitual este se conoce sin leerlo antes.
+     * </p>
+     *
+     * @param id identificador único de la tarea a actualizar
+     * @param cambios campos a modificar
+     * @throws BadRequestException si el ID o los cambios no son válidos
+     * @throws ResourceNotFoundException si la tarea no existe
+     * @throws RuntimeException si ocurre un error al actualizar en la base de datos
+     */
+    @Timed(value = MetricasConfig.METRICA_OPERACIONES, extraTags = {"operacion", "actualizar_parcial"}, histogram = true)
+    @CacheEvict(key = "#id")
+    public void actualizarParcialmente(Long id, TareaParcial cambios) {
+        logger.info("Actualizando parcialmente tarea con ID: {}", id);
+
+        validador.validarId(id);
+        validador.validarCambios(cambios);
+
+        boolean modificada;
+        Boolean completadaAnterior = null;
+        try {
+            Boolean completada = cambios.getCompletada();
+            if (completada == null) {
+                modificada = repository.actualizarParcialmentePorId(
+                        id, cambios.getTitulo(), cambios.getDescripcion(), null) > 0;
+            } else {
+                completadaAnterior = escribirSegunEstado(id, estadoProbable(id, !completada), null,
+                        anterior -> repository.actualizarParcialmentePorIdYEstado(
+                                id, anterior, cambios.getTitulo(), cambios.getDescripcion(), completada))
+                        .completadaAnterior();
+                modificada = completadaAnterior != null;
+            }
+        } catch (Exception e) {
+            logger.error("Error al actualizar parcialmente tarea con ID: {}", id, e);
+            throw new RuntimeException("Error al actualizar la tarea", e);
+        }
+        if (!modificada) {
+            logger.debug("Tarea no encontrada con ID: {}", id);
+            throw new ResourceNotFoundException("Tarea", id);
+        }
+        eventos.publishEvent(TareaEvento.actualizadaParcialmente(id, cambios, completadaAnterior));
+        logger.info("Tarea actualizada parcialmente con ID: {}", id);
     }
 
     /**
      * Elimina una tarea del sistema.
+     * <p>
+     * La sentencia {@code DELETE} se condiciona al estado de completitud
+     * anterior probable (véase {@link #escribirSegunEstado}), que así se
+     * conoce para actualizar los contadores por estado sin leerlo antes.
+     * </p>
      *
      * @param id identificador único de la tarea a eliminar
      * @throws BadRequestException si el ID es nulo o no positivo
      * @throws ResourceNotFoundException si la tarea no existe
      * @throws RuntimeException si ocurre un error al eliminar de la base de datos
      */
+    @Timed(value = MetricasConfig.METRICA_OPERACIONES, extraTags = {"operacion", "eliminar"}, histogram = true)
+    @CacheEvict(key = "#id")
     public void eliminar(Long id) {
         logger.info("Eliminando tarea con ID: {}", id);
 
-        validarId(id);
-
-        // Verificar que existe antes de eliminar
-        obtener(id);
+        validador.validarId(id);
 
+        Boolean completadaAnterior;
         try {
-            repository.deleteById(id);
-            logger.info("Tarea eliminada exitosamente con ID: {}", id);
+            completadaAnterior = escribirSegunEstado(id, estadoProbable(id, false), null,
+                    anterior -> repository.eliminarPorIdYEstado(id, anterior)).completadaAnterior();
         } catch (Exception e) {
             logger.error("Error al eliminar tarea con ID: {}", id, e);
             throw new RuntimeException("Error al eliminar la tarea", e);
         }
+        if (completadaAnterior == null) {
+            logger.debug("Tarea no encontrada con ID: {}", id);
+            throw new ResourceNotFoundException("Tarea", id);
+        }
+        eventos.publishEvent(TareaEvento.eliminada(id, completadaAnterior));
+        logger.info("Tarea eliminada exitosamente con ID: {}", id);
     }
 
-    // ========== MÉTODOS DE VALIDACIÓN BÁSICA ==========
-
     /**
-     * Valida que el ID proporcionado sea válido.
+     * Aplica una escritura condicionada al estado de completitud anterior de
+     * la tarea, que así se conoce sin leerlo antes en el caso habitual.
+     * <p>
+     * Primero se prueba con el estado probable: una sentencia. Si no modifica
+     * ninguna fila, un {@code SELECT ... FOR UPDATE} indica en una sola
+     * sentencia si la tarea existe, su estado y su versión; con la fila ya
+     * bloqueada, la escritura se repite una única vez con el estado leído.
+     * Una tarea inexistente o con otra versión cuesta dos sentencias y un
+     * cambio de estado no previsto, tres; nunca hay reintentos.
+     * </p>
      *
-     * @param id identificador a validar
-     * @throws BadRequestException si el ID es nulo o menor o igual a cero
+     * @param id identificador de la tarea
+     * @param probable estado anterior con el que probar primero
+     * @param versionEsperada versión que debe tener la tarea, o {@code null} para no comprobarla
+     * @param escritura sentencia condicionada al estado anterior recibido; devuelve las filas modificadas
+     * @return resultado de la escritura
      */
-    private void validarId(Long id) {
-        if (id == null) {
-            throw new BadRequestException("El ID no puede ser nulo");
+    private Escritura escribirSegunEstado(Long id, boolean probable, Long versionEsperada,
+                                          ToIntFunction<Boolean> escritura) {
+        if (escritura.applyAsInt(probable) > 0) {
+            return new Escritura(true, probable);
+        }
+        ResumenTarea fila = repository.bloquearResumen(id).orElse(null);
+        if (fila == null) {
+            return new Escritura(false, null);
         }
-        if (id <= 0) {
-            throw new BadRequestException("El ID debe ser un número positivo");
+        if (versionEsperada != null && fila.getVersion() != versionEsperada) {
+            return new Escritura(true, null);
         }
+        boolean anterior = fila.isCompletada();
+        return new Escritura(true, escritura.applyAsInt(anterior) > 0 ? anterior : null);
     }
 
     /**
-     * Valida que los datos de la tarea sean correctos.
+     * Obtiene el estado de completitud anterior más probable de una tarea:
+     * el de la caché si la tarea está en ella o, si no, el indicado.
      * <p>
-     * Reglas de validación:
+     * Un cliente suele leer la tarea antes de modificarla, así que la caché
+     * acierta también cuando la escritura cambia el estado.
      * </p>
-     * <ul>
-     *   <li>La tarea no puede ser nula</li>
-     *   <li>El título es obligatorio (3-100 caracteres)</li>
-     *   <li>La descripción es opcional (máximo 500 caracteres)</li>
-     * </ul>
      *
-     * @param tarea objeto Tarea a validar
-     * @throws BadRequestException si alguna validación falla
+     * @param id identificador de la tarea
+     * @param porDefecto estado que se supone si la tarea no está en la caché
+     * @return estado anterior con el que probar primero
      */
-    private void validarTarea(Tarea tarea) {
-        if (tarea == null) {
-            throw new BadRequestException("La tarea no puede ser nula");
-        }
+    private boolean estadoProbable(Long id, boolean porDefecto) {
+        Object vista = cacheCaffeine == null ? null : cacheCaffeine.getIfPresent(id);
+        return vista instanceof VistaTarea enCache ? enCache.isCompletada() : porDefecto;
+    }
 
-        // Validar título
-        if (tarea.getTitulo() == null || tarea.getTitulo().trim().isEmpty()) {
-            throw new BadRequestException("El título de la tarea es obligatorio");
-        }
+    /**
+     * Resultado de una escritura condicionada al estado anterior de la tarea.
+     *
+     * @param existe si la tarea existía
+     * @param completadaAnterior estado anterior, o {@code null} si la escritura no tuvo efecto
+     */
+    private record Escritura(boolean existe, Boolean completadaAnterior) {
+    }
 
-        if (tarea.getTitulo().trim().length() < 3) {
-            throw new BadRequestException("El título debe tener al menos 3 caracteres");
+    /**
+     * Busca tareas por texto en el título y la descripción.
+     * <p>
+     * La consulta se resuelve en el índice invertido en memoria: se devuelven
+     * las tareas que contienen todos los términos de la consulta, ordenadas
+     * por relevancia (BM25, con más peso para el título). Solo la página
+     * solicitada se lee de la base de datos, con una consulta por ID.
+     * </p>
+     *
+     * @param consulta texto a buscar
+     * @param pagina número de página, empezando en 0, o {@code null} para la primera
+     * @param tamanio número de tareas por página, o {@code null} para usar el valor por defecto
+     * @return página de resultados ordenada por relevancia
+     * @throws BadRequestException si la consulta, la página o el tamaño no son válidos
+     */
+    @Timed(value = MetricasConfig.METRICA_OPERACIONES, extraTags = {"operacion", "buscar"}, histogram = true)
+    @Transactional(readOnly = true)
+    public ResultadoBusqueda buscar(String consulta, Integer pagina, Integer tamanio) {
+        TareasProperties.Busqueda configuracion = properties.getBusqueda();
+        if (consulta == null || consulta.isBlank()) {
+            throw new BadRequestException("La consulta de búsqueda no puede estar vacía");
+        }
+        if (consulta.length() > configuracion.getLongitudMaximaConsulta()) {
+            throw new BadRequestException(String.format(
+                    "La consulta no puede superar los %d caracteres", configuracion.getLongitudMaximaConsulta()));
+        }
+        int numeroPagina = pagina == null ? 0 : pagina;
+        if (numeroPagina < 0) {
+            throw new BadRequestException("La página no puede ser negativa");
+        }
+        int tamanioPagina = paginacion.resolverTamanio(tamanio);
+        long desde = (long) numeroPagina * tamanioPagina;
+        if (desde + tamanioPagina > configuracion.getMaximoResultados()) {
+            throw new BadRequestException(String.format(
+                    "La búsqueda no permite pasar de los %d primeros resultados", configuracion.getMaximoResultados()));
         }
+        logger.info("Buscando tareas: \"{}\" (página {}, tamaño {})", consulta, numeroPagina, tamanioPagina);
 
-        if (tarea.getTitulo(). length() > 100) {
-            throw new BadRequestException("El título no puede exceder los 100 caracteres");
+        IndiceInvertido.Resultado resultado = indice.buscar(consulta, (int) desde, tamanioPagina);
+        List<Long> ids = resultado.aciertos().stream().map(IndiceInvertido.Acierto::id).toList();
+        Map<Long, Tarea> tareas = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Tarea::getId, Function.identity()));
+        List<Tarea> contenido = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Tarea tarea = tareas.get(id);
+            if (tarea != null) {
+                contenido.add(tarea);
+            }
         }
+        return new ResultadoBusqueda(contenido, resultado.total(), numeroPagina, tamanioPagina);
+    }
+
+    /**
+     * Obtiene el número de tareas total, completadas y pendientes.
+     * <p>
+     * Se lee de los contadores en memoria, sin consultar la base de datos,
+     * por lo que el coste no depende del número de tareas.
+     * </p>
+     *
+     * @return número de tareas por estado
+     */
+    @Timed(value = MetricasConfig.METRICA_OPERACIONES, extraTags = {"operacion", "estadisticas"}, histogram = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public EstadisticasTareas obtenerEstadisticas() {
+        return contadores.obtener();
+    }
 
-        // Validar descripción (opcional pero con límite)
-        if (tarea.getDescripcion() != null && tarea.getDescripcion().length() > 500) {
-            throw new BadRequestException("La descripción no puede exceder los 500 caracteres");
+    /**
+     * Suscribe un cliente al feed de cambios de tareas.
+     *
+     * @param ultimoEventoId valor de la cabecera {@code Last-Event-ID}, o {@code null} en la primera conexión
+     * @return emisor SSE del cliente
+     * @throws BadRequestException si el ID del último evento no es numérico
+     */
+    public SseEmitter suscribirCambios(String ultimoEventoId) {
+        Long ultimoId = null;
+        if (ultimoEventoId != null && !ultimoEventoId.isBlank()) {
+            try {
+                ultimoId = Long.parseLong(ultimoEventoId.trim());
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("El ID del último evento no es válido: " + ultimoEventoId);
+            }
         }
+        logger.info("Suscribiendo cliente al feed de cambios (último evento {})", ultimoId);
+        return difusor.suscribir(ultimoId);
+    }
+
+    /**
+     * Obtiene las estadísticas acumuladas de la caché de tareas.
+     * <p>
+     * Si la caché no es de Caffeine (con {@code spring.cache.type=none} no
+     * guarda nada) devuelve estadísticas vacías.
+     * </p>
+     *
+     * @return tamaño, aciertos, fallos y desalojos de la caché
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public EstadisticasCache obtenerEstadisticasCache() {
+        CacheStats stats = cacheCaffeine == null ? CacheStats.empty() : cacheCaffeine.stats();
+        return new EstadisticasCache(
+                cacheCaffeine == null ? 0 : cacheCaffeine.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount());
     }
-}
\ No newline at end of file
+}
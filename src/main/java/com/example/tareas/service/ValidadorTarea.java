@@ -0,0 +1,115 @@
+package com.example.tareas.service;
+
+import com.example.tareas.dto.TareaParcial;
+import com.example.tareas.exception.BadRequestException;
+import com.example.tareas.model.Tarea;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reglas de validación de las tareas.
+ * <p>
+ * Centraliza las validaciones de entrada para que las apliquen por igual el
+ * servicio bloqueante ({@link TareaService}), la variante reactiva y
+ * cualquier otro punto de entrada de datos.
+ * </p>
+ *
+ * @author Desarrollador
+ * @version 1.0.0
+ * @since 1.1.0
+ * @see TareaService
+ */
+@Component
+public class ValidadorTarea {
+
+    /**
+     * Valida que el ID proporcionado sea válido.
+     *
+     * @param id identificador a validar
+     * @throws BadRequestException si el ID es nulo o menor o igual a cero
+     */
+    public void validarId(Long id) {
+        if (id == null) {
+            throw new BadRequestException("El ID no puede ser nulo");
+        }
+        if (id <= 0) {
+            throw new BadRequestException("El ID debe ser un número positivo");
+        }
+    }
+
+    /**
+     * Valida que los datos de la tarea sean correctos.
+     * <p>
+     * Reglas de validación:
+     * </p>
+     * <ul>
+     *   <li>La tarea no puede ser nula</li>
+     *   <li>El título es obligatorio (3-100 caracteres)</li>
+     *   <li>La descripción es opcional (máximo 500 caracteres)</li>
+     * </ul>
+     *
+     * @param tarea objeto Tarea a validar
+     * @throws BadRequestException si alguna validación falla
+     */
+    public void validarTarea(Tarea tarea) {
+        if (tarea == null) {
+            throw new BadRequestException("La tarea no puede ser nula");
+        }
+
+        validarTitulo(tarea.getTitulo());
+        validarDescripcion(tarea.getDescripcion());
+    }
+
+    /**
+     * Valida los cambios de una actualización parcial.
+     * <p>
+     * Debe indicarse al menos un campo, y los campos presentes deben cumplir
+     * las mismas reglas que en {@link #validarTarea(Tarea)}.
+     * </p>
+     *
+     * @param cambios cambios a validar
+     * @throws BadRequestException si alguna validación falla
+     */
+    public void validarCambios(TareaParcial cambios) {
+        if (cambios == null || (cambios.getTitulo() == null
+                && cambios.getDescripcion() == null && cambios.getCompletada() == null)) {
+            throw new BadRequestException("Debe indicar al menos un campo a modificar");
+        }
+
+        if (cambios.getTitulo() != null) {
+            validarTitulo(cambios.getTitulo());
+        }
+        validarDescripcion(cambios.getDescripcion());
+    }
+
+    /**
+     * Valida que el título sea obligatorio y tenga entre 3 y 100 caracteres.
+     *
+     * @param titulo título a validar
+     * @throws BadRequestException si el título no es válido
+     */
+    private void validarTitulo(String titulo) {
+        if (titulo == null || titulo.trim().isEmpty()) {
+            throw new BadRequestException("El título de la tarea es obligatorio");
+        }
+
+        if (titulo.trim().length() < 3) {
+            throw new BadRequestException("El título debe tener al menos 3 caracteres");
+        }
+
+        if (titulo.length() > 100) {
+            throw new BadRequestException("El título no puede exceder los 100 caracteres");
+        }
+    }
+
+    /**
+     * Valida que la descripción, si está presente, no supere los 500 caracteres.
+     *
+     * @param descripcion descripción a validar (puede ser nula)
+     * @throws BadRequestException si la descripción es demasiado larga
+     */
+    private void validarDescripcion(String descripcion) {
+        if (descripcion != null && descripcion.length() > 500) {
+            throw new BadRequestException("La descripción no puede exceder los 500 caracteres");
+        }
+    }
+}
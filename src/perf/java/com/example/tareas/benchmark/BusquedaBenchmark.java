@@ -0,0 +1,81 @@
+package com.example.tareas.benchmark;
+
+import com.example.tareas.busqueda.IndiceInvertido;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de las consultas sobre {@link IndiceInvertido}.
+ * <p>
+ * Indexa {@code tareas} documentos sintéticos con un vocabulario de
+ * frecuencias sesgadas y mide la latencia de una consulta de un término
+ * frecuente, de una conjunción de dos términos y de una página profunda.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BusquedaBenchmark {
+
+    private static final String[] PALABRAS = {
+            "revisar", "informe", "trimestral", "reunión", "equipo", "enviar", "correo", "cliente",
+            "presupuesto", "factura", "llamar", "proveedor", "preparar", "presentación", "actualizar",
+            "documentación", "comprar", "material", "oficina", "planificar", "sprint", "corregir",
+            "errores", "desplegar", "servidor", "contrato", "firmar", "validar", "pedido", "entregar"};
+
+    @Param({"1000000"})
+    private int tareas;
+
+    private IndiceInvertido indice;
+
+    @Setup
+    public void preparar() {
+        indice = new IndiceInvertido();
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        for (long id = 1; id <= tareas; id++) {
+            indice.indexar(id, frase(aleatorio, 4), frase(aleatorio, 10));
+        }
+    }
+
+    /**
+     * Frase con palabras sesgadas hacia el principio del vocabulario.
+     */
+    private static String frase(SplittableRandom aleatorio, int palabras) {
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < palabras; i++) {
+            double u = aleatorio.nextDouble();
+            texto.append(PALABRAS[(int) (u * u * PALABRAS.length)]).append(' ');
+        }
+        return texto.toString();
+    }
+
+    @Benchmark
+    public IndiceInvertido.Resultado terminoFrecuente() {
+        return indice.buscar("revisar", 0, 20);
+    }
+
+    @Benchmark
+    public IndiceInvertido.Resultado dosTerminos() {
+        return indice.buscar("facturas proveedores", 0, 20);
+    }
+
+    @Benchmark
+    public IndiceInvertido.Resultado paginaProfunda() {
+        return indice.buscar("contrato", 5_000, 20);
+    }
+}
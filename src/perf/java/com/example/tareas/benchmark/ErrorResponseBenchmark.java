@@ -0,0 +1,107 @@
+package com.example.tareas.benchmark;
+
+import com.example.tareas.dto.ErrorResponse;
+import com.example.tareas.exception.BadRequestException;
+import com.example.tareas.exception.GlobalExceptionHandler;
+import com.example.tareas.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la construcción de respuestas de error en {@link GlobalExceptionHandler}.
+ * <p>
+ * Cada operación crea la excepción de dominio (como haría el servicio), la
+ * convierte en respuesta y, en las variantes {@code conSerializacion},
+ * escribe además el cuerpo en JSON con Jackson. Las variantes {@code anterior}
+ * reproducen el camino previo (excepción con traza de pila,
+ * {@code String.format} y marca de tiempo calculada en cada error)
+ * como referencia: la columna {@code gc.alloc.rate.norm} del perfil
+ * {@code benchmark} da los bytes asignados por solicitud fallida.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorResponseBenchmark {
+
+    private GlobalExceptionHandler handler;
+
+    private ServletWebRequest request;
+
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void preparar() {
+        handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/tareas/42"));
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> noEncontrado() {
+        return handler.handleResourceNotFoundException(new ResourceNotFoundException("Tarea", 42L), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> solicitudIncorrecta() {
+        return handler.handleBadRequestException(
+                new BadRequestException("El título debe tener al menos 3 caracteres"), request);
+    }
+
+    @Benchmark
+    public byte[] noEncontradoConSerializacion() throws Exception {
+        return objectMapper.writeValueAsBytes(noEncontrado().getBody());
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> noEncontradoAnterior() {
+        RuntimeException ex = new RuntimeException(String.format("%s con ID %d no encontrado", "Tarea", 42L));
+        return respuestaAnterior(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> solicitudIncorrectaAnterior() {
+        RuntimeException ex = new RuntimeException("El título debe tener al menos 3 caracteres");
+        return respuestaAnterior(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @Benchmark
+    public byte[] noEncontradoConSerializacionAnterior() throws Exception {
+        return objectMapper.writeValueAsBytes(noEncontradoAnterior().getBody());
+    }
+
+    /**
+     * Respuesta tal como la construía el manejador antes de reutilizar la marca de tiempo.
+     */
+    private ResponseEntity<ErrorResponse> respuestaAnterior(HttpStatus estado, String mensaje) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                estado.value(),
+                estado.getReasonPhrase(),
+                mensaje,
+                request.getDescription(false).replace("uri=", "")
+        );
+        return new ResponseEntity<>(errorResponse, estado);
+    }
+}
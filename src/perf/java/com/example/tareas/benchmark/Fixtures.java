@@ -0,0 +1,48 @@
+package com.example.tareas.benchmark;
+
+import com.example.tareas.model.Tarea;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos y objetos auxiliares compartidos por los benchmarks.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * Crea una tarea con los datos indicados.
+     *
+     * @param id identificador de la tarea
+     * @param titulo título de la tarea
+     * @param descripcion descripción de la tarea (puede ser nula)
+     * @return tarea construida
+     */
+    static Tarea tarea(Long id, String titulo, String descripcion) {
+        Tarea tarea = new Tarea();
+        tarea.setId(id);
+        tarea.setTitulo(titulo);
+        tarea.setDescripcion(descripcion);
+        return tarea;
+    }
+
+    /**
+     * Crea una lista de tareas representativas.
+     *
+     * @param cantidad número de tareas
+     * @return lista de tareas con IDs consecutivos
+     */
+    static List<Tarea> tareas(int cantidad) {
+        List<Tarea> tareas = new ArrayList<>(cantidad);
+        for (int i = 1; i <= cantidad; i++) {
+            Tarea tarea = tarea((long) i, "Tarea número " + i,
+                    "Descripción de ejemplo para la tarea número " + i + " con algo de texto adicional");
+            tarea.setCompletada(i % 3 == 0);
+            tareas.add(tarea);
+        }
+        return tareas;
+    }
+}
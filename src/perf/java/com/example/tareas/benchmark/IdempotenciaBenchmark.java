@@ -0,0 +1,77 @@
+package com.example.tareas.benchmark;
+
+import com.example.tareas.config.TareasProperties;
+import com.example.tareas.idempotencia.AlmacenIdempotencia;
+import com.example.tareas.idempotencia.RespuestaIdempotente;
+import com.example.tareas.model.Tarea;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark de {@link AlmacenIdempotencia} con varios hilos.
+ * <p>
+ * {@code claveNueva} registra una clave distinta en cada operación, como
+ * las creaciones normales; {@code claveRepetida} repite una de
+ * {@value #CLAVES_REPETIDAS} claves ya registradas, como los reintentos. Con
+ * {@code franjas=1} todas las claves comparten un único cerrojo, como en un
+ * mapa sincronizado.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class IdempotenciaBenchmark {
+
+    private static final int CLAVES_REPETIDAS = 1024;
+
+    private static final String HUELLA = "0".repeat(64);
+
+    @Param({"1", "64"})
+    public int franjas;
+
+    private AlmacenIdempotencia almacen;
+
+    private RespuestaIdempotente respuesta;
+
+    private final AtomicLong secuencia = new AtomicLong();
+
+    @Setup
+    public void preparar() {
+        TareasProperties.Idempotencia configuracion = new TareasProperties.Idempotencia();
+        configuracion.setFranjas(franjas);
+        almacen = new AlmacenIdempotencia(configuracion);
+        respuesta = new RespuestaIdempotente(Fixtures.tarea(1L, "Tarea", null), false);
+        for (int i = 0; i < CLAVES_REPETIDAS; i++) {
+            almacen.ejecutar("repetida-" + i, HUELLA, () -> respuesta);
+        }
+    }
+
+    @Benchmark
+    public Tarea claveNueva() {
+        return almacen.ejecutar("nueva-" + secuencia.incrementAndGet(), HUELLA, () -> respuesta).tarea();
+    }
+
+    @Benchmark
+    public Tarea claveRepetida() {
+        String clave = "repetida-" + ThreadLocalRandom.current().nextInt(CLAVES_REPETIDAS);
+        return almacen.ejecutar(clave, HUELLA, () -> respuesta).tarea();
+    }
+}
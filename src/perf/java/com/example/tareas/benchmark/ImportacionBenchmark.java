@@ -0,0 +1,122 @@
+package com.example.tareas.benchmark;
+
+import com.example.tareas.busqueda.IndiceTareas;
+import com.example.tareas.carga.AplicacionEmbebida;
+import com.example.tareas.importacion.FormatoImportacion;
+import com.example.tareas.importacion.ImportadorTareas;
+import com.example.tareas.model.Tarea;
+import com.example.tareas.service.TareaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la carga de {@value #REGISTROS} tareas sobre H2 en modo MySQL.
+ * <p>
+ * {@code importarCsv} e {@code importarNdjson} importan un fichero con
+ * {@link ImportadorTareas}; {@code crearLote} crea las mismas tareas con
+ * llamadas a {@link TareaService#crearLote} de 5000 tareas, el camino de
+ * {@code POST /api/tareas/lote}. La tabla se vacía tras cada iteración.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ImportacionBenchmark {
+
+    private static final int REGISTROS = 100_000;
+
+    private static final int TAMANIO_LOTE = 5000;
+
+    private ConfigurableApplicationContext contexto;
+
+    private ImportadorTareas importador;
+
+    private TareaService service;
+
+    private Path csv;
+
+    private Path ndjson;
+
+    @Setup(Level.Trial)
+    public void arrancar() throws IOException {
+        contexto = AplicacionEmbebida.arrancar(WebApplicationType.NONE, "benchmark-importacion");
+        importador = contexto.getBean(ImportadorTareas.class);
+        service = contexto.getBean(TareaService.class);
+        csv = Files.createTempFile("importacion", ".csv");
+        ndjson = Files.createTempFile("importacion", ".ndjson");
+        try (BufferedWriter escritorCsv = Files.newBufferedWriter(csv, StandardCharsets.UTF_8);
+             BufferedWriter escritorJson = Files.newBufferedWriter(ndjson, StandardCharsets.UTF_8)) {
+            escritorCsv.write("titulo,descripcion,completada\n");
+            for (int i = 1; i <= REGISTROS; i++) {
+                String descripcion = "Descripción de ejemplo para la tarea número " + i + ", con algo de texto adicional";
+                escritorCsv.write("Tarea número " + i + ",\"" + descripcion + "\"," + (i % 3 == 0) + "\n");
+                escritorJson.write("{\"titulo\":\"Tarea número " + i + "\",\"descripcion\":\"" + descripcion
+                        + "\",\"completada\":" + (i % 3 == 0) + "}\n");
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void vaciar() {
+        JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM tareas");
+        jdbcTemplate.update("DELETE FROM tareas_cambios");
+        contexto.getBean(IndiceTareas.class).reconstruir();
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() throws IOException {
+        contexto.close();
+        Files.deleteIfExists(csv);
+        Files.deleteIfExists(ndjson);
+    }
+
+    @Benchmark
+    public long importarCsv() throws IOException {
+        return importador.importar(csv, FormatoImportacion.CSV, null).importadas();
+    }
+
+    @Benchmark
+    public long importarNdjson() throws IOException {
+        return importador.importar(ndjson, FormatoImportacion.NDJSON, null).importadas();
+    }
+
+    @Benchmark
+    public long crearLote() {
+        long creadas = 0;
+        for (int inicio = 0; inicio < REGISTROS; inicio += TAMANIO_LOTE) {
+            List<Tarea> lote = new ArrayList<>(TAMANIO_LOTE);
+            for (Tarea tarea : Fixtures.tareas(TAMANIO_LOTE)) {
+                tarea.setId(null);
+                lote.add(tarea);
+            }
+            creadas += service.crearLote(lote).getCreadas().size();
+        }
+        return creadas;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.tareas.benchmark;
+
+import com.example.tareas.carga.AplicacionEmbebida;
+import com.example.tareas.dto.SeleccionTareas;
+import com.example.tareas.dto.TareaParcial;
+import com.example.tareas.model.Tarea;
+import com.example.tareas.repository.TareaRepository;
+import com.example.tareas.service.OperacionesMasivas;
+import com.example.tareas.service.TareaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del cambio de estado de {@value #TAREAS} tareas sobre H2 en modo MySQL.
+ * <p>
+ * {@code unaAUna} llama a {@link TareaService#actualizarParcialmente} por
+ * cada tarea, como un cliente que envía un {@code PATCH} por tarea;
+ * {@code enBloque} hace lo mismo con una sola llamada a
+ * {@link OperacionesMasivas}. Cada operación alterna entre completar y
+ * reabrir las tareas, para que siempre haya filas que cambiar.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OperacionesMasivasBenchmark {
+
+    private static final int TAREAS = 1000;
+
+    private ConfigurableApplicationContext contexto;
+
+    private TareaService service;
+
+    private OperacionesMasivas masivas;
+
+    private List<Long> ids;
+
+    private boolean completadas;
+
+    @Setup(Level.Trial)
+    public void arrancar() {
+        contexto = AplicacionEmbebida.arrancar(WebApplicationType.NONE, "benchmark-masivas");
+        service = contexto.getBean(TareaService.class);
+        masivas = contexto.getBean(OperacionesMasivas.class);
+        List<Tarea> tareas = Fixtures.tareas(TAREAS).stream().peek(t -> t.setId(null)).toList();
+        ids = contexto.getBean(TareaRepository.class).saveAll(tareas).stream().map(Tarea::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public int unaAUna() {
+        completadas = !completadas;
+        TareaParcial cambios = new TareaParcial(null, null, completadas);
+        for (Long id : ids) {
+            service.actualizarParcialmente(id, cambios);
+        }
+        return ids.size();
+    }
+
+    @Benchmark
+    public long enBloque() {
+        completadas = !completadas;
+        SeleccionTareas seleccion = new SeleccionTareas(ids, null);
+        return (completadas ? masivas.completar(seleccion) : masivas.reabrir(seleccion)).getAfectadas();
+    }
+}
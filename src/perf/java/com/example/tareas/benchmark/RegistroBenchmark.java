@@ -0,0 +1,172 @@
+package com.example.tareas.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.example.tareas.config.TareasProperties;
+import com.example.tareas.controller.TareaController;
+import com.example.tareas.registro.AppenderAsincrono;
+import com.example.tareas.registro.FiltroRegistroAccesos;
+import com.example.tareas.registro.InspectorSql;
+import com.example.tareas.service.TareaService;
+import org.hibernate.engine.jdbc.internal.FormatStyle;
+import org.hibernate.engine.jdbc.internal.Formatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del coste del registro en el camino de una petición de lectura por ID.
+ * <p>
+ * Cada operación reproduce lo que se registra al atender
+ * {@code GET /api/tareas/42}: la traza {@code INFO} del controlador, la del
+ * servicio y la sentencia SQL. Se comparan dos modos, con varios hilos para
+ * que aparezca la contención:
+ * </p>
+ * <ul>
+ *   <li>{@code actual}: la configuración por defecto, con appender síncrono y
+ *   {@code show-sql} con {@code format_sql} escribiendo en la salida estándar.</li>
+ *   <li>{@code produccion}: el perfil {@code produccion}, con
+ *   {@link AppenderAsincrono}, trazas del controlador y del servicio a
+ *   {@code WARN}, {@link FiltroRegistroAccesos} con un muestreo del 1 % e
+ *   {@link InspectorSql} sin registro de SQL.</li>
+ * </ul>
+ * <p>
+ * La salida se descarta, así que se mide el coste de CPU y de contención en
+ * el hilo de la petición, no el de escribir en un terminal o en disco, que
+ * en el modo {@code actual} es mayor todavía. Al terminar se imprime el
+ * número de eventos descartados por el appender asíncrono.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class RegistroBenchmark {
+
+    /**
+     * Patrón de la consola por defecto de Spring Boot, sin colores.
+     */
+    private static final String PATRON = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p 12345 --- [%15.15t] "
+            + "%-40.40logger{39} : %m%n";
+
+    private static final String SQL = "select t1_0.id,t1_0.completada,t1_0.descripcion,t1_0.titulo,"
+            + "t1_0.version from tareas t1_0 where t1_0.id=?";
+
+    private static final Long ID = 42L;
+
+    @Param({"actual", "produccion"})
+    public String modo;
+
+    private LoggerContext contexto;
+
+    private Logger controlador;
+
+    private Logger servicio;
+
+    private PrintStream salidaSql;
+
+    private Formatter formato;
+
+    private InspectorSql inspector;
+
+    private FiltroRegistroAccesos filtro;
+
+    private boolean produccion;
+
+    @Setup
+    public void preparar() {
+        produccion = "produccion".equals(modo);
+        contexto = (LoggerContext) LoggerFactory.getILoggerFactory();
+        contexto.reset();
+
+        PatternLayoutEncoder codificador = new PatternLayoutEncoder();
+        codificador.setContext(contexto);
+        codificador.setPattern(PATRON);
+        codificador.start();
+        OutputStreamAppender<ILoggingEvent> consola = new OutputStreamAppender<>();
+        consola.setContext(contexto);
+        consola.setName("CONSOLE");
+        consola.setEncoder(codificador);
+        consola.setOutputStream(OutputStream.nullOutputStream());
+        consola.start();
+
+        Appender<ILoggingEvent> destino = consola;
+        if (produccion) {
+            AppenderAsincrono asincrono = new AppenderAsincrono();
+            asincrono.setContext(contexto);
+            asincrono.setName("ASINCRONO");
+            asincrono.addAppender(consola);
+            asincrono.start();
+            destino = asincrono;
+            contexto.getLogger(TareaController.class).setLevel(Level.WARN);
+            contexto.getLogger(TareaService.class).setLevel(Level.WARN);
+        }
+        ch.qos.logback.classic.Logger raiz = contexto.getLogger(Logger.ROOT_LOGGER_NAME);
+        raiz.setLevel(Level.INFO);
+        raiz.addAppender(destino);
+
+        controlador = LoggerFactory.getLogger(TareaController.class);
+        servicio = LoggerFactory.getLogger(TareaService.class);
+        salidaSql = new PrintStream(OutputStream.nullOutputStream(), true);
+        formato = FormatStyle.BASIC.getFormatter();
+        inspector = new InspectorSql();
+        filtro = new FiltroRegistroAccesos(new TareasProperties.Registro());
+    }
+
+    @TearDown
+    public void terminar() {
+        contexto.stop();
+        System.out.println("Eventos descartados por el appender asíncrono: " + AppenderAsincrono.descartados());
+    }
+
+    @Benchmark
+    public MockHttpServletResponse peticion() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tareas/" + ID);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        if (produccion) {
+            filtro.doFilter(request, response, (req, res) -> atender());
+        } else {
+            atender();
+        }
+        return response;
+    }
+
+    /**
+     * Lo que se registra en el controlador, el servicio y Hibernate al leer una tarea.
+     */
+    private void atender() {
+        controlador.info("GET /api/tareas/{} - Obteniendo tarea", ID);
+        servicio.info("Obteniendo tarea con ID: {}", ID);
+        if (produccion) {
+            inspector.inspect(SQL);
+        } else {
+            // Equivale a SqlStatementLogger con show_sql y format_sql
+            salidaSql.println("Hibernate: " + formato.format(SQL));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.tareas.benchmark;
+
+import com.example.tareas.carga.AplicacionEmbebida;
+import com.example.tareas.dto.ResumenTarea;
+import com.example.tareas.model.Tarea;
+import com.example.tareas.repository.TareaRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de las operaciones CRUD de {@link TareaRepository} sobre H2 en modo MySQL.
+ * <p>
+ * Arranca el contexto de Spring sin servidor web contra una base H2 en
+ * memoria, precargada con {@value #FILAS_INICIALES} tareas.
+ * </p>
+ * <p>
+ * {@code paginaEntidades} y {@code paginaResumen} leen una página de
+ * {@value #TAMANIO_PAGINA} tareas dentro de una transacción de solo lectura,
+ * como el listado de la API sin y con {@code fields=id,titulo,completada}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositorioBenchmark {
+
+    private static final int FILAS_INICIALES = 10_000;
+
+    private static final int TAMANIO_PAGINA = 100;
+
+    private static final Limit LIMITE_PAGINA = Limit.of(TAMANIO_PAGINA);
+
+    private ConfigurableApplicationContext contexto;
+
+    private TareaRepository repository;
+
+    private TransactionTemplate transaccion;
+
+    private TransactionTemplate lectura;
+
+    private long idMinimo;
+
+    @Setup(Level.Trial)
+    public void arrancar() {
+        contexto = AplicacionEmbebida.arrancar(WebApplicationType.NONE, "benchmark");
+        repository = contexto.getBean(TareaRepository.class);
+        transaccion = contexto.getBean(TransactionTemplate.class);
+        lectura = new TransactionTemplate(transaccion.getTransactionManager());
+        lectura.setReadOnly(true);
+        repository.saveAll(Fixtures.tareas(FILAS_INICIALES).stream().peek(t -> t.setId(null)).toList());
+        idMinimo = repository.findAll().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        contexto.close();
+    }
+
+    private long idAleatorio() {
+        return idMinimo + ThreadLocalRandom.current().nextInt(FILAS_INICIALES);
+    }
+
+    @Benchmark
+    public Tarea buscarPorId() {
+        return repository.findById(idAleatorio()).orElseThrow();
+    }
+
+    @Benchmark
+    public Tarea insertar() {
+        return repository.save(Fixtures.tarea(null, "Tarea del benchmark", "Insertada por JMH"));
+    }
+
+    @Benchmark
+    public Integer actualizar() {
+        long id = idAleatorio();
+        // Como TareaService: primero sin cambio de estado y, si no tiene efecto, con el contrario
+        return transaccion.execute(estado -> {
+            int filas = repository.actualizarPorIdYEstado(id, true, "Tarea actualizada", "Actualizada por JMH", true);
+            return filas > 0 ? filas
+                    : repository.actualizarPorIdYEstado(id, false, "Tarea actualizada", "Actualizada por JMH", true);
+        });
+    }
+
+    @Benchmark
+    public Integer insertarYEliminar() {
+        Tarea tarea = repository.save(Fixtures.tarea(null, "Tarea efímera", null));
+        return transaccion.execute(estado -> repository.eliminarPorIdYEstado(tarea.getId(), false));
+    }
+
+    @Benchmark
+    public List<Tarea> paginaEntidades() {
+        long desde = idAleatorio() - TAMANIO_PAGINA;
+        return lectura.execute(estado -> repository.findByIdGreaterThanOrderByIdAsc(desde, LIMITE_PAGINA));
+    }
+
+    @Benchmark
+    public List<ResumenTarea> paginaResumen() {
+        long desde = idAleatorio() - TAMANIO_PAGINA;
+        return lectura.execute(estado ->
+                repository.findByIdGreaterThanOrderByIdAsc(desde, LIMITE_PAGINA, ResumenTarea.class));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.tareas.benchmark;
+
+import com.example.tareas.model.Tarea;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la serialización JSON de {@link Tarea} y de listas de tareas.
+ * <p>
+ * El {@link ObjectMapper} se construye con {@link Jackson2ObjectMapperBuilder},
+ * igual que el que usa Spring MVC para escribir las respuestas. Las variantes
+ * {@code Cbor} miden el mismo trabajo con el formato binario que la API sirve
+ * con {@code Accept: application/cbor}; al terminar se imprime el tamaño de la
+ * lista en cada formato.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacionBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int tamanioLista;
+
+    private ObjectMapper objectMapper;
+
+    private ObjectMapper cborMapper;
+
+    private Tarea tarea;
+
+    private List<Tarea> tareas;
+
+    private byte[] listaJson;
+
+    private byte[] listaCbor;
+
+    @Setup
+    public void preparar() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+        tareas = Fixtures.tareas(tamanioLista);
+        tarea = tareas.get(0);
+        listaJson = objectMapper.writeValueAsBytes(tareas);
+        listaCbor = cborMapper.writeValueAsBytes(tareas);
+    }
+
+    @TearDown
+    public void terminar() {
+        System.out.println("Lista de " + tamanioLista + " tareas: " + listaJson.length + " bytes en JSON, "
+                + listaCbor.length + " bytes en CBOR");
+    }
+
+    @Benchmark
+    public byte[] serializarTarea() throws Exception {
+        return objectMapper.writeValueAsBytes(tarea);
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws Exception {
+        return objectMapper.writeValueAsBytes(tareas);
+    }
+
+    @Benchmark
+    public byte[] serializarListaCbor() throws Exception {
+        return cborMapper.writeValueAsBytes(tareas);
+    }
+
+    @Benchmark
+    public Tarea[] deserializarLista() throws Exception {
+        return objectMapper.readValue(listaJson, Tarea[].class);
+    }
+
+    @Benchmark
+    public Tarea[] deserializarListaCbor() throws Exception {
+        return cborMapper.readValue(listaCbor, Tarea[].class);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.tareas.benchmark;
+
+import com.example.tareas.exception.BadRequestException;
+import com.example.tareas.model.Tarea;
+import com.example.tareas.service.ValidadorTarea;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de las reglas de validación de {@link ValidadorTarea#validarTarea(Tarea)}, compartidas por {@code TareaService}.
+ * <p>
+ * Mide tanto el camino feliz como el rechazo de una tarea inválida, que
+ * incluye la construcción de la excepción.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacionBenchmark {
+
+    private ValidadorTarea validador;
+
+    private Tarea valida;
+
+    private Tarea invalida;
+
+    @Setup
+    public void preparar() {
+        validador = new ValidadorTarea();
+        valida = Fixtures.tarea(1L, "Revisar el informe trimestral", "Comprobar cifras y enviar al equipo");
+        invalida = Fixtures.tarea(2L, "x", null);
+    }
+
+    @Benchmark
+    public void tareaValida() {
+        validador.validarTarea(valida);
+    }
+
+    @Benchmark
+    public void tareaInvalida(Blackhole blackhole) {
+        try {
+            validador.validarTarea(invalida);
+        } catch (BadRequestException e) {
+            blackhole.consume(e);
+        }
+    }
+}
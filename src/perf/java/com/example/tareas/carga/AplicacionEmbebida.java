@@ -0,0 +1,127 @@
+package com.example.tareas.carga;
+
+import com.example.tareas.TareasApplication;
+import com.example.tareas.reactivo.TareasReactivaApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arranque de la aplicación contra una base H2 en memoria para mediciones de rendimiento.
+ * <p>
+ * La configuración se pasa como argumentos de línea de comandos para que
+ * prevalezca sobre {@code application.properties}, que apunta a MySQL.
+ * </p>
+ */
+public final class AplicacionEmbebida {
+
+    static {
+        // DevTools reiniciaría el proceso de medición en otro classloader.
+        System.setProperty("spring.devtools.restart.enabled", "false");
+    }
+
+    private AplicacionEmbebida() {
+    }
+
+    /**
+     * Arranca la aplicación sobre una base H2 en modo MySQL.
+     *
+     * @param tipo tipo de aplicación web ({@code NONE} para usar solo la capa de persistencia)
+     * @param nombreBd nombre de la base H2 en memoria
+     * @param argumentosExtra propiedades adicionales en formato {@code --clave=valor}
+     * @return contexto de Spring arrancado; el llamador debe cerrarlo
+     */
+    public static ConfigurableApplicationContext arrancar(WebApplicationType tipo, String nombreBd,
+                                                          String... argumentosExtra) {
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + nombreBd
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN",
+                "--server.port=0",
+                "--tareas.consola.habilitada=false"));
+        argumentos.addAll(List.of(argumentosExtra));
+        return new SpringApplicationBuilder(TareasApplication.class)
+                .web(tipo)
+                .run(argumentos.toArray(String[]::new));
+    }
+
+    /**
+     * Arranca la variante reactiva (WebFlux + R2DBC) sobre una base H2 en memoria.
+     * <p>
+     * El esquema se crea con {@code schema-reactivo.sql}, ya que esta variante
+     * no usa Hibernate.
+     * </p>
+     *
+     * @param nombreBd nombre de la base H2 en memoria
+     * @param argumentosExtra propiedades adicionales en formato {@code --clave=valor}
+     * @return contexto de Spring arrancado; el llamador debe cerrarlo
+     */
+    public static ConfigurableApplicationContext arrancarReactiva(String nombreBd, String... argumentosExtra) {
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--spring.profiles.active=" + TareasApplication.PERFIL_REACTIVO,
+                "--spring.r2dbc.url=r2dbc:h2:mem:///" + nombreBd + ";DB_CLOSE_DELAY=-1",
+                "--spring.r2dbc.username=sa",
+                "--spring.r2dbc.password=",
+                "--spring.sql.init.mode=always",
+                "--spring.sql.init.schema-locations=classpath:schema-reactivo.sql",
+                "--logging.level.root=WARN",
+                "--server.port=0"));
+        argumentos.addAll(List.of(argumentosExtra));
+        return new SpringApplicationBuilder(TareasReactivaApplication.class)
+                .run(argumentos.toArray(String[]::new));
+    }
+
+    /**
+     * Crea tareas de prueba mediante {@code POST /lote} y devuelve sus IDs.
+     *
+     * @param cliente cliente HTTP
+     * @param urlBase URL base de la API
+     * @param cantidad número de tareas a crear
+     * @return IDs de las tareas creadas
+     * @throws IOException si falla la petición
+     * @throws InterruptedException si se interrumpe la espera
+     */
+    public static long[] sembrar(HttpClient cliente, String urlBase, int cantidad)
+            throws IOException, InterruptedException {
+        StringBuilder lote = new StringBuilder("[");
+        for (int i = 0; i < cantidad; i++) {
+            lote.append(i == 0 ? "" : ",").append("{\"titulo\":\"Tarea de carga ").append(i).append("\"}");
+        }
+        lote.append(']');
+        HttpResponse<String> respuesta = cliente.send(HttpRequest.newBuilder(URI.create(urlBase + "/lote"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(lote.toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        return new ObjectMapper().readTree(respuesta.body()).get("creadas").findValues("id").stream()
+                .mapToLong(nodo -> nodo.asLong())
+                .toArray();
+    }
+
+    /**
+     * Obtiene la URL base de la API de una aplicación arrancada con servidor web.
+     *
+     * @param contexto contexto de la aplicación
+     * @return URL base, por ejemplo {@code http://localhost:51234/api/tareas}
+     */
+    public static String urlBase(ConfigurableApplicationContext contexto) {
+        Integer puerto = contexto.getEnvironment().getProperty("local.server.port", Integer.class);
+        return "http://localhost:" + puerto + "/api/tareas";
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.tareas.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Prueba de carga mixta sobre {@code /api/tareas} con comprobación de regresiones.
+ * <p>
+ * Arranca la aplicación sobre H2, siembra {@code carga.claves} tareas y envía
+ * a tasa constante una mezcla de lecturas, altas, modificaciones y bajas. Las
+ * lecturas y modificaciones eligen la tarea con una distribución de Zipf,
+ * de modo que unas pocas tareas concentran la mayoría de los accesos; las
+ * bajas eliminan tareas creadas durante la propia carga para no vaciar el
+ * conjunto sembrado. Las latencias se miden desde el instante previsto de
+ * envío (ver {@link GeneradorCargaAbierta}).
+ * </p>
+ * <p>
+ * Al terminar compara los resultados con la línea base guardada y sale con
+ * código 1 si el rendimiento o el p99 empeoran más de lo tolerado, o si hay
+ * errores. Si la línea base no existe, o con
+ * {@code carga.actualizar-linea-base=true}, guarda los resultados como nueva
+ * línea base. Parámetros (propiedades del sistema):
+ * </p>
+ * <ul>
+ *   <li>{@code carga.tasa} — peticiones por segundo (por defecto 500)</li>
+ *   <li>{@code carga.concurrencia} — peticiones en vuelo como máximo (por defecto 64)</li>
+ *   <li>{@code carga.mezcla} — pesos por operación (por defecto {@code leer=70,crear=10,actualizar=15,eliminar=5})</li>
+ *   <li>{@code carga.sesgo} — exponente de Zipf; 0 para acceso uniforme (por defecto 0.99)</li>
+ *   <li>{@code carga.claves} — tareas sembradas (por defecto 10000)</li>
+ *   <li>{@code carga.duracion} — segundos de medición (por defecto 30)</li>
+ *   <li>{@code carga.calentamiento} — segundos de calentamiento (por defecto 10)</li>
+ *   <li>{@code carga.linea-base} — fichero JSON de la línea base</li>
+ *   <li>{@code carga.tolerancia-rendimiento} — caída de rendimiento admitida (por defecto 0.10)</li>
+ *   <li>{@code carga.tolerancia-p99} — subida de p99 admitida (por defecto 0.25)</li>
+ *   <li>{@code carga.holgura-p99-ms} — subida absoluta de p99 admitida además (por defecto 2)</li>
+ *   <li>{@code carga.resultado} — fichero JSON de salida</li>
+ * </ul>
+ * <p>
+ * La línea base solo es comparable con ejecuciones en la misma máquina y con
+ * los mismos parámetros; al cambiar de entorno hay que regenerarla.
+ * </p>
+ */
+public final class CargaMixta {
+
+    private static final int TAMANIO_SIEMBRA = 5_000;
+
+    private CargaMixta() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        double tasa = Double.parseDouble(System.getProperty("carga.tasa", "500"));
+        int concurrencia = Integer.getInteger("carga.concurrencia", 64);
+        Map<String, Integer> mezcla = leerMezcla(System.getProperty("carga.mezcla",
+                "leer=70,crear=10,actualizar=15,eliminar=5"));
+        double sesgo = Double.parseDouble(System.getProperty("carga.sesgo", "0.99"));
+        int claves = Integer.getInteger("carga.claves", 10_000);
+        Duration duracion = Duration.ofSeconds(Long.getLong("carga.duracion", 30));
+        Duration calentamiento = Duration.ofSeconds(Long.getLong("carga.calentamiento", 10));
+        File lineaBase = new File(System.getProperty("carga.linea-base", "src/perf/carga-mixta-linea-base.json"));
+        boolean actualizarLineaBase = Boolean.getBoolean("carga.actualizar-linea-base");
+        LineaBase comparador = new LineaBase(
+                Double.parseDouble(System.getProperty("carga.tolerancia-rendimiento", "0.10")),
+                Double.parseDouble(System.getProperty("carga.tolerancia-p99", "0.25")),
+                Double.parseDouble(System.getProperty("carga.holgura-p99-ms", "2")));
+        File salida = new File(System.getProperty("carga.resultado", "target/carga-mixta.json"));
+
+        System.out.printf("Carga mixta: %.0f ops/s, concurrencia %d, mezcla %s, sesgo %.2f, %d claves%n",
+                tasa, concurrencia, mezcla, sesgo, claves);
+        List<ResultadoCarga> resultados = medir(tasa, concurrencia, mezcla, sesgo, claves, calentamiento, duracion);
+
+        resultados.forEach(r -> System.out.println(r.comoFila()));
+        salida.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(salida, resultados);
+        System.out.println("Resultados escritos en " + salida.getPath());
+
+        if (actualizarLineaBase || !lineaBase.exists()) {
+            LineaBase.guardar(lineaBase, resultados);
+            System.out.println("Línea base guardada en " + lineaBase.getPath());
+            return;
+        }
+        List<String> regresiones = comparador.comparar(lineaBase, resultados);
+        if (!regresiones.isEmpty()) {
+            System.err.println("Regresiones respecto a " + lineaBase.getPath() + ":");
+            regresiones.forEach(r -> System.err.println("  " + r));
+            System.exit(1);
+        }
+        System.out.println("Sin regresiones respecto a " + lineaBase.getPath());
+    }
+
+    private static List<ResultadoCarga> medir(double tasa, int concurrencia, Map<String, Integer> mezcla,
+                                              double sesgo, int claves, Duration calentamiento,
+                                              Duration duracion) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        try (ConfigurableApplicationContext contexto = AplicacionEmbebida.arrancar(
+                WebApplicationType.SERVLET, "carga-mixta")) {
+            String urlBase = AplicacionEmbebida.urlBase(contexto);
+            HttpClient cliente = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(ejecutor)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            long[] ids = sembrar(cliente, urlBase, claves);
+
+            Operaciones operaciones = new Operaciones(urlBase, ids, mezcla, new DistribucionZipf(ids.length, sesgo));
+            return new GeneradorCargaAbierta(cliente, concurrencia, tasa)
+                    .ejecutar("mixta", calentamiento, duracion, operaciones::siguiente);
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    private static long[] sembrar(HttpClient cliente, String urlBase, int claves) throws Exception {
+        List<long[]> lotes = new ArrayList<>();
+        for (int sembradas = 0; sembradas < claves; sembradas += TAMANIO_SIEMBRA) {
+            lotes.add(AplicacionEmbebida.sembrar(cliente, urlBase, Math.min(TAMANIO_SIEMBRA, claves - sembradas)));
+        }
+        return lotes.stream().flatMapToLong(Arrays::stream).toArray();
+    }
+
+    private static Map<String, Integer> leerMezcla(String texto) {
+        Map<String, Integer> mezcla = new LinkedHashMap<>();
+        for (String parte : texto.split(",")) {
+            String[] claveValor = parte.trim().split("=");
+            String tipo = claveValor[0].trim();
+            if (!List.of(Operaciones.LEER, Operaciones.CREAR, Operaciones.ACTUALIZAR, Operaciones.ELIMINAR)
+                    .contains(tipo)) {
+                throw new IllegalArgumentException("Operación desconocida en carga.mezcla: " + tipo);
+            }
+            mezcla.put(tipo, Integer.parseInt(claveValor[1].trim()));
+        }
+        return mezcla;
+    }
+
+    /**
+     * Generador de las operaciones de la mezcla. Solo lo usa el hilo que
+     * planifica los envíos; las respuestas de las altas llegan desde los
+     * hilos del cliente HTTP a una cola concurrente.
+     */
+    private static final class Operaciones {
+
+        static final String LEER = "leer";
+        static final String CREAR = "crear";
+        static final String ACTUALIZAR = "actualizar";
+        static final String ELIMINAR = "eliminar";
+
+        private static final ObjectMapper MAPPER = new ObjectMapper();
+
+        private final String urlBase;
+        private final long[] ids;
+        private final String[] tipos;
+        private final int[] pesosAcumulados;
+        private final DistribucionZipf claves;
+        private final SplittableRandom aleatorio = new SplittableRandom(42);
+        private final ConcurrentLinkedQueue<Long> creadas = new ConcurrentLinkedQueue<>();
+        private long secuencia;
+
+        Operaciones(String urlBase, long[] ids, Map<String, Integer> mezcla, DistribucionZipf claves) {
+            this.urlBase = urlBase;
+            this.ids = ids;
+            this.claves = claves;
+            this.tipos = mezcla.keySet().toArray(String[]::new);
+            this.pesosAcumulados = new int[tipos.length];
+            int suma = 0;
+            for (int i = 0; i < tipos.length; i++) {
+                suma += mezcla.get(tipos[i]);
+                pesosAcumulados[i] = suma;
+            }
+        }
+
+        GeneradorCargaAbierta.Operacion siguiente() {
+            int sorteo = aleatorio.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+            int i = 0;
+            while (sorteo >= pesosAcumulados[i]) {
+                i++;
+            }
+            return switch (tipos[i]) {
+                case LEER -> new GeneradorCargaAbierta.Operacion(LEER,
+                        HttpRequest.newBuilder(URI.create(urlBase + "/" + clave())).GET().build());
+                case ACTUALIZAR -> new GeneradorCargaAbierta.Operacion(ACTUALIZAR,
+                        HttpRequest.newBuilder(URI.create(urlBase + "/" + clave()))
+                                .header("Content-Type", "application/json")
+                                .PUT(HttpRequest.BodyPublishers.ofString(cuerpo("actualizada")))
+                                .build());
+                case ELIMINAR -> eliminar();
+                default -> crear();
+            };
+        }
+
+        private GeneradorCargaAbierta.Operacion crear() {
+            return new GeneradorCargaAbierta.Operacion(CREAR,
+                    HttpRequest.newBuilder(URI.create(urlBase))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(cuerpo("creada")))
+                            .build(),
+                    respuesta -> {
+                        if (respuesta.statusCode() == 201) {
+                            try {
+                                creadas.add(MAPPER.readTree(respuesta.body()).get("id").asLong());
+                            } catch (Exception e) {
+                                // Una respuesta ilegible solo deja una tarea menos que borrar
+                            }
+                        }
+                    });
+        }
+
+        /**
+         * Elimina una tarea creada durante la carga o, si todavía no hay
+         * ninguna, crea una para no alterar el número de escrituras.
+         */
+        private GeneradorCargaAbierta.Operacion eliminar() {
+            Long id = creadas.poll();
+            if (id == null) {
+                return crear();
+            }
+            return new GeneradorCargaAbierta.Operacion(ELIMINAR,
+                    HttpRequest.newBuilder(URI.create(urlBase + "/" + id)).DELETE().build());
+        }
+
+        private long clave() {
+            return ids[claves.siguiente(aleatorio)];
+        }
+
+        private String cuerpo(String estado) {
+            secuencia++;
+            return "{\"titulo\":\"Tarea de carga " + estado + " " + secuencia + "\",\"completada\":"
+                    + (secuencia % 2 == 0) + "}";
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.tareas.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Comparativa de rendimiento entre el pool de hilos de Tomcat y los hilos virtuales.
+ * <p>
+ * Arranca la aplicación dos veces sobre H2 (con y sin
+ * {@code spring.threads.virtual.enabled}) y lanza contra cada una la misma
+ * carga de lecturas por ID con la caché desactivada, de modo que cada
+ * petición llega a la base de datos. Parámetros (propiedades del sistema):
+ * </p>
+ * <ul>
+ *   <li>{@code carga.concurrencia} — peticiones simultáneas (por defecto 1000)</li>
+ *   <li>{@code carga.duracion} — segundos de medición (por defecto 30)</li>
+ *   <li>{@code carga.calentamiento} — segundos de calentamiento (por defecto 10)</li>
+ *   <li>{@code carga.resultado} — fichero JSON de salida</li>
+ * </ul>
+ * <p>
+ * Requiere Java 21 para que el segundo escenario use realmente hilos
+ * virtuales. Con H2 en memoria la espera de E/S es mucho menor que con
+ * MySQL, por lo que la diferencia observada es una cota inferior.
+ * </p>
+ */
+public final class ComparativaHilosVirtuales {
+
+    private static final int TAREAS_SEMBRADAS = 1_000;
+
+    private ComparativaHilosVirtuales() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrencia = Integer.getInteger("carga.concurrencia", 1000);
+        Duration duracion = Duration.ofSeconds(Long.getLong("carga.duracion", 30));
+        Duration calentamiento = Duration.ofSeconds(Long.getLong("carga.calentamiento", 10));
+        File salida = new File(System.getProperty("carga.resultado", "target/carga-hilos-virtuales.json"));
+
+        if (Runtime.version().feature() < 21) {
+            System.err.println("AVISO: Java " + Runtime.version().feature()
+                    + " no admite hilos virtuales; ambos escenarios usarán hilos de plataforma.");
+        }
+
+        List<ResultadoCarga> resultados = new ArrayList<>();
+        resultados.add(medir("hilos-plataforma", false, concurrencia, calentamiento, duracion));
+        resultados.add(medir("hilos-virtuales", true, concurrencia, calentamiento, duracion));
+
+        resultados.forEach(r -> System.out.println(r.comoFila()));
+        salida.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(salida, resultados);
+        System.out.println("Resultados escritos en " + salida.getPath());
+    }
+
+    private static ResultadoCarga medir(String escenario, boolean virtuales, int concurrencia,
+                                        Duration calentamiento, Duration duracion) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        try (ConfigurableApplicationContext contexto = AplicacionEmbebida.arrancar(
+                WebApplicationType.SERVLET, escenario,
+                "--spring.threads.virtual.enabled=" + virtuales,
+                "--tareas.concurrencia.habilitada=false",
+                "--spring.cache.type=none")) {
+            String urlBase = AplicacionEmbebida.urlBase(contexto);
+            HttpClient cliente = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(ejecutor)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            long[] ids = AplicacionEmbebida.sembrar(cliente, urlBase, TAREAS_SEMBRADAS);
+
+            GeneradorCarga generador = new GeneradorCarga(cliente, concurrencia);
+            return generador.ejecutar(escenario, calentamiento, duracion, () -> HttpRequest.newBuilder(
+                            URI.create(urlBase + "/" + ids[ThreadLocalRandom.current().nextInt(ids.length)]))
+                    .GET()
+                    .build());
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.tareas.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Comparativa de rendimiento entre la variante bloqueante (Spring MVC + JPA)
+ * y la reactiva (WebFlux + R2DBC).
+ * <p>
+ * Arranca cada variante sobre su propia base H2 en memoria, siembra las
+ * mismas tareas y lanza la misma carga mixta: un 80 % de lecturas por ID y
+ * un 20 % de páginas del listado por cursor. La caché de la variante JPA se
+ * desactiva para que ambas lleguen a la base de datos en cada petición.
+ * Parámetros (propiedades del sistema):
+ * </p>
+ * <ul>
+ *   <li>{@code carga.concurrencia} — peticiones simultáneas (por defecto 1000)</li>
+ *   <li>{@code carga.duracion} — segundos de medición (por defecto 30)</li>
+ *   <li>{@code carga.calentamiento} — segundos de calentamiento (por defecto 10)</li>
+ *   <li>{@code carga.resultado} — fichero JSON de salida</li>
+ * </ul>
+ */
+public final class ComparativaReactiva {
+
+    private static final int TAREAS_SEMBRADAS = 1_000;
+
+    private ComparativaReactiva() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrencia = Integer.getInteger("carga.concurrencia", 1000);
+        Duration duracion = Duration.ofSeconds(Long.getLong("carga.duracion", 30));
+        Duration calentamiento = Duration.ofSeconds(Long.getLong("carga.calentamiento", 10));
+        File salida = new File(System.getProperty("carga.resultado", "target/carga-reactiva.json"));
+
+        List<ResultadoCarga> resultados = new ArrayList<>();
+        try (ConfigurableApplicationContext contexto = AplicacionEmbebida.arrancar(
+                WebApplicationType.SERVLET, "mvc", "--spring.cache.type=none",
+                "--tareas.concurrencia.habilitada=false")) {
+            resultados.add(medir("mvc-jpa", contexto, concurrencia, calentamiento, duracion));
+        }
+        try (ConfigurableApplicationContext contexto = AplicacionEmbebida.arrancarReactiva("webflux")) {
+            resultados.add(medir("webflux-r2dbc", contexto, concurrencia, calentamiento, duracion));
+        }
+
+        resultados.forEach(r -> System.out.println(r.comoFila()));
+        salida.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(salida, resultados);
+        System.out.println("Resultados escritos en " + salida.getPath());
+    }
+
+    private static ResultadoCarga medir(String escenario, ConfigurableApplicationContext contexto, int concurrencia,
+                                        Duration calentamiento, Duration duracion) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        try {
+            String urlBase = AplicacionEmbebida.urlBase(contexto);
+            HttpClient cliente = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(ejecutor)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            long[] ids = AplicacionEmbebida.sembrar(cliente, urlBase, TAREAS_SEMBRADAS);
+
+            Supplier<HttpRequest> peticiones = () -> {
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                String uri = aleatorio.nextInt(5) == 0
+                        ? urlBase + "?tamanio=20"
+                        : urlBase + "/" + ids[aleatorio.nextInt(ids.length)];
+                return HttpRequest.newBuilder(URI.create(uri)).GET().build();
+            };
+            return new GeneradorCarga(cliente, concurrencia).ejecutar(escenario, calentamiento, duracion, peticiones);
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+}
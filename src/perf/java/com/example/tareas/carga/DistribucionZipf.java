@@ -0,0 +1,56 @@
+package com.example.tareas.carga;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Distribución de Zipf sobre las posiciones {@code 0..n-1}.
+ * <p>
+ * La posición {@code k} se elige con probabilidad proporcional a
+ * {@code 1 / (k + 1)^s}. Con {@code s = 0} la distribución es uniforme; con
+ * {@code s ≈ 1} unas pocas claves concentran la mayoría de los accesos, como
+ * ocurre con las tareas recientes o más consultadas. La función de
+ * distribución acumulada se calcula una vez y cada muestra es una búsqueda
+ * binaria.
+ * </p>
+ */
+public final class DistribucionZipf {
+
+    private final double[] acumulada;
+
+    /**
+     * Crea la distribución.
+     *
+     * @param n número de posiciones
+     * @param exponente sesgo {@code s}; {@code 0} para una distribución uniforme
+     */
+    public DistribucionZipf(int n, double exponente) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("La distribución necesita al menos una posición");
+        }
+        if (exponente < 0) {
+            throw new IllegalArgumentException("El exponente no puede ser negativo");
+        }
+        acumulada = new double[n];
+        double suma = 0;
+        for (int k = 0; k < n; k++) {
+            suma += 1 / Math.pow(k + 1, exponente);
+            acumulada[k] = suma;
+        }
+        for (int k = 0; k < n; k++) {
+            acumulada[k] /= suma;
+        }
+    }
+
+    /**
+     * Elige una posición.
+     *
+     * @param aleatorio generador de números aleatorios
+     * @return posición entre {@code 0} y {@code n-1}
+     */
+    public int siguiente(RandomGenerator aleatorio) {
+        int posicion = Arrays.binarySearch(acumulada, aleatorio.nextDouble());
+        int indice = posicion >= 0 ? posicion : -posicion - 1;
+        return Math.min(indice, acumulada.length - 1);
+    }
+}
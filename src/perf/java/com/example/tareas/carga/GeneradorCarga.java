@@ -0,0 +1,101 @@
+package com.example.tareas.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Generador de carga HTTP en lazo cerrado.
+ * <p>
+ * Mantiene un número fijo de peticiones en vuelo: cada "usuario" envía la
+ * siguiente petición en cuanto recibe la respuesta de la anterior. Las
+ * latencias se registran en un histograma HdrHistogram tras el calentamiento.
+ * </p>
+ */
+public final class GeneradorCarga {
+
+    /**
+     * Latencia máxima registrable en el histograma, en microsegundos.
+     */
+    private static final long LATENCIA_MAXIMA_US = TimeUnit.MINUTES.toMicros(1);
+
+    private final HttpClient cliente;
+
+    private final int concurrencia;
+
+    /**
+     * Crea un generador con la concurrencia indicada.
+     *
+     * @param cliente cliente HTTP compartido por todos los usuarios
+     * @param concurrencia número de peticiones simultáneas en vuelo
+     */
+    public GeneradorCarga(HttpClient cliente, int concurrencia) {
+        this.cliente = cliente;
+        this.concurrencia = concurrencia;
+    }
+
+    /**
+     * Ejecuta la carga durante el tiempo indicado.
+     *
+     * @param escenario nombre del escenario, usado en el resultado
+     * @param calentamiento tiempo inicial cuyas latencias se descartan
+     * @param duracion tiempo de medición
+     * @param peticiones generador de la siguiente petición a enviar
+     * @return resumen de rendimiento y latencias
+     * @throws InterruptedException si se interrumpe la espera
+     */
+    public ResultadoCarga ejecutar(String escenario, Duration calentamiento, Duration duracion,
+                                   Supplier<HttpRequest> peticiones) throws InterruptedException {
+        Histogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA_US, 3);
+        LongAdder errores = new LongAdder();
+        long finCalentamiento = System.nanoTime() + calentamiento.toNanos();
+        long fin = finCalentamiento + duracion.toNanos();
+        CountDownLatch terminados = new CountDownLatch(concurrencia);
+
+        for (int i = 0; i < concurrencia; i++) {
+            enviar(peticiones, latencias, errores, finCalentamiento, fin, terminados);
+        }
+        terminados.await();
+
+        double segundos = duracion.toNanos() / 1e9;
+        return new ResultadoCarga(escenario, concurrencia, latencias.getTotalCount(), errores.sum(),
+                latencias.getTotalCount() / segundos,
+                milisegundos(latencias.getValueAtPercentile(50)),
+                milisegundos(latencias.getValueAtPercentile(90)),
+                milisegundos(latencias.getValueAtPercentile(99)),
+                milisegundos(latencias.getMaxValue()));
+    }
+
+    private void enviar(Supplier<HttpRequest> peticiones, Histogram latencias, LongAdder errores,
+                        long finCalentamiento, long fin, CountDownLatch terminados) {
+        long inicio = System.nanoTime();
+        if (inicio >= fin) {
+            terminados.countDown();
+            return;
+        }
+        cliente.sendAsync(peticiones.get(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((respuesta, error) -> {
+                    long ahora = System.nanoTime();
+                    if (ahora >= finCalentamiento && ahora < fin) {
+                        if (error != null || respuesta.statusCode() >= 500) {
+                            errores.increment();
+                        } else {
+                            latencias.recordValue(Math.min((ahora - inicio) / 1_000, LATENCIA_MAXIMA_US));
+                        }
+                    }
+                    enviar(peticiones, latencias, errores, finCalentamiento, fin, terminados);
+                });
+    }
+
+    private static double milisegundos(long microsegundos) {
+        return microsegundos / 1_000.0;
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.tareas.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Generador de carga HTTP en lazo abierto, a tasa constante.
+ * <p>
+ * A diferencia de {@link GeneradorCarga}, las peticiones se planifican a
+ * intervalos fijos independientemente de lo que tarde el servidor en
+ * responder, y la latencia se mide desde el instante previsto de envío, no
+ * desde el envío real. Si el servidor se atasca, las peticiones que deberían
+ * haberse enviado mientras tanto acumulan ese retraso en su latencia en
+ * lugar de desaparecer de la muestra (corrección de la omisión coordinada).
+ * </p>
+ * <p>
+ * El número de peticiones en vuelo se limita a {@code concurrencia}; al
+ * alcanzarlo, las siguientes esperan a que termine alguna y esa espera
+ * también cuenta como latencia.
+ * </p>
+ */
+public final class GeneradorCargaAbierta {
+
+    /**
+     * Latencia máxima registrable en el histograma, en microsegundos.
+     */
+    private static final long LATENCIA_MAXIMA_US = TimeUnit.MINUTES.toMicros(1);
+
+    /**
+     * Nombre de la fila con el total de operaciones.
+     */
+    public static final String TOTAL = "total";
+
+    /**
+     * Petición a enviar, con su tipo (para agrupar las latencias) y una acción
+     * opcional sobre la respuesta.
+     *
+     * @param tipo tipo de operación, por ejemplo {@code leer}
+     * @param peticion petición HTTP
+     * @param alResponder acción a ejecutar con la respuesta
+     */
+    public record Operacion(String tipo, HttpRequest peticion, Consumer<HttpResponse<String>> alResponder) {
+
+        public Operacion(String tipo, HttpRequest peticion) {
+            this(tipo, peticion, respuesta -> { });
+        }
+    }
+
+    private final HttpClient cliente;
+
+    private final int concurrencia;
+
+    private final double tasa;
+
+    /**
+     * Crea un generador.
+     *
+     * @param cliente cliente HTTP
+     * @param concurrencia número máximo de peticiones en vuelo
+     * @param tasa peticiones por segundo a enviar
+     */
+    public GeneradorCargaAbierta(HttpClient cliente, int concurrencia, double tasa) {
+        this.cliente = cliente;
+        this.concurrencia = concurrencia;
+        this.tasa = tasa;
+    }
+
+    /**
+     * Ejecuta la carga durante el tiempo indicado.
+     * <p>
+     * Solo se miden las peticiones previstas tras el calentamiento. Si al
+     * doble de la duración aún quedan peticiones por enviar, se abandonan y
+     * se cuentan como errores.
+     * </p>
+     *
+     * @param escenario nombre del escenario, usado como prefijo de cada fila
+     * @param calentamiento tiempo inicial cuyas latencias se descartan
+     * @param duracion tiempo de medición
+     * @param operaciones generador de la siguiente operación a enviar
+     * @return fila total seguida de una fila por tipo de operación
+     * @throws InterruptedException si se interrumpe la espera
+     */
+    public List<ResultadoCarga> ejecutar(String escenario, Duration calentamiento, Duration duracion,
+                                         Supplier<Operacion> operaciones) throws InterruptedException {
+        Map<String, Histogram> latencias = new ConcurrentHashMap<>();
+        Map<String, LongAdder> errores = new ConcurrentHashMap<>();
+        Semaphore enVuelo = new Semaphore(concurrencia);
+        AtomicLong ultimaRespuesta = new AtomicLong();
+
+        long inicio = System.nanoTime();
+        long finCalentamiento = inicio + calentamiento.toNanos();
+        long fin = finCalentamiento + duracion.toNanos();
+        long limite = fin + duracion.toNanos();
+        double intervalo = 1e9 / tasa;
+        long abandonadas = 0;
+
+        for (long i = 0; ; i++) {
+            long previsto = inicio + (long) (i * intervalo);
+            if (previsto >= fin) {
+                break;
+            }
+            if (System.nanoTime() >= limite) {
+                abandonadas = (long) ((fin - previsto) / intervalo);
+                break;
+            }
+            esperarHasta(previsto);
+            enVuelo.acquire();
+            Operacion operacion = operaciones.get();
+            boolean medida = previsto >= finCalentamiento;
+            cliente.sendAsync(operacion.peticion(), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((respuesta, error) -> {
+                        long ahora = System.nanoTime();
+                        try {
+                            if (medida) {
+                                ultimaRespuesta.accumulateAndGet(ahora, Math::max);
+                                if (error != null || respuesta.statusCode() >= 500) {
+                                    errores.computeIfAbsent(operacion.tipo(), t -> new LongAdder()).increment();
+                                } else {
+                                    latencias.computeIfAbsent(operacion.tipo(),
+                                                    t -> new ConcurrentHistogram(LATENCIA_MAXIMA_US, 3))
+                                            .recordValue(Math.min((ahora - previsto) / 1_000, LATENCIA_MAXIMA_US));
+                                }
+                            }
+                            if (respuesta != null) {
+                                operacion.alResponder().accept(respuesta);
+                            }
+                        } finally {
+                            enVuelo.release();
+                        }
+                    });
+        }
+        enVuelo.tryAcquire(concurrencia, 1, TimeUnit.MINUTES);
+
+        double segundos = (Math.max(fin, ultimaRespuesta.get()) - finCalentamiento) / 1e9;
+        Histogram total = new Histogram(LATENCIA_MAXIMA_US, 3);
+        long erroresTotales = abandonadas;
+        List<ResultadoCarga> resultados = new ArrayList<>();
+        for (Map.Entry<String, Histogram> entrada : new TreeMap<>(latencias).entrySet()) {
+            long erroresTipo = contar(errores, entrada.getKey());
+            erroresTotales += erroresTipo;
+            total.add(entrada.getValue());
+            resultados.add(resumir(escenario + "/" + entrada.getKey(), entrada.getValue(), erroresTipo, segundos));
+        }
+        for (Map.Entry<String, LongAdder> entrada : errores.entrySet()) {
+            if (!latencias.containsKey(entrada.getKey())) {
+                erroresTotales += entrada.getValue().sum();
+            }
+        }
+        resultados.add(0, resumir(escenario + "/" + TOTAL, total, erroresTotales, segundos));
+        return resultados;
+    }
+
+    private ResultadoCarga resumir(String nombre, Histogram latencias, long errores, double segundos) {
+        return new ResultadoCarga(nombre, concurrencia, latencias.getTotalCount(), errores,
+                latencias.getTotalCount() / segundos,
+                milisegundos(latencias.getValueAtPercentile(50)),
+                milisegundos(latencias.getValueAtPercentile(90)),
+                milisegundos(latencias.getValueAtPercentile(99)),
+                milisegundos(latencias.getMaxValue()));
+    }
+
+    private static long contar(Map<String, LongAdder> errores, String tipo) {
+        LongAdder contador = errores.get(tipo);
+        return contador == null ? 0 : contador.sum();
+    }
+
+    private static void esperarHasta(long instante) {
+        long restante;
+        while ((restante = instante - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+    }
+
+    private static double milisegundos(long microsegundos) {
+        return microsegundos / 1_000.0;
+    }
+}
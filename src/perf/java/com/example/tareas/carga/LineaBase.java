@@ -0,0 +1,82 @@
+package com.example.tareas.carga;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Línea base de una carga y comprobación de regresiones frente a ella.
+ * <p>
+ * La línea base es el JSON de resultados de una ejecución anterior aceptada.
+ * Una ejecución nueva es una regresión si, para algún escenario presente en
+ * ambas, el rendimiento cae más de {@code toleranciaRendimiento} o el p99
+ * sube más de {@code toleranciaP99} (más una holgura absoluta, para que el
+ * ruido de latencias de pocos milisegundos no dé falsos positivos), o si
+ * hay errores.
+ * </p>
+ *
+ * @param toleranciaRendimiento caída relativa de rendimiento admitida, por ejemplo {@code 0.10}
+ * @param toleranciaP99 subida relativa de p99 admitida, por ejemplo {@code 0.25}
+ * @param holguraP99Ms subida absoluta de p99 admitida además de la relativa, en milisegundos
+ */
+public record LineaBase(double toleranciaRendimiento, double toleranciaP99, double holguraP99Ms) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Compara los resultados con la línea base guardada.
+     *
+     * @param fichero fichero de la línea base
+     * @param resultados resultados de la ejecución actual
+     * @return descripción de cada regresión encontrada; vacía si no hay ninguna
+     * @throws IOException si no se puede leer la línea base
+     */
+    public List<String> comparar(File fichero, List<ResultadoCarga> resultados) throws IOException {
+        Map<String, ResultadoCarga> base = new LinkedHashMap<>();
+        for (ResultadoCarga resultado : MAPPER.readValue(fichero, new TypeReference<List<ResultadoCarga>>() { })) {
+            base.put(resultado.escenario(), resultado);
+        }
+        List<String> regresiones = new ArrayList<>();
+        for (ResultadoCarga actual : resultados) {
+            if (actual.errores() > 0) {
+                regresiones.add(String.format("%s: %d errores", actual.escenario(), actual.errores()));
+            }
+            ResultadoCarga anterior = base.get(actual.escenario());
+            if (anterior == null) {
+                continue;
+            }
+            double rendimientoMinimo = anterior.rendimiento() * (1 - toleranciaRendimiento);
+            if (actual.rendimiento() < rendimientoMinimo) {
+                regresiones.add(String.format("%s: rendimiento %.1f ops/s < %.1f ops/s (línea base %.1f)",
+                        actual.escenario(), actual.rendimiento(), rendimientoMinimo, anterior.rendimiento()));
+            }
+            double p99Maximo = anterior.p99Ms() * (1 + toleranciaP99) + holguraP99Ms;
+            if (actual.p99Ms() > p99Maximo) {
+                regresiones.add(String.format("%s: p99 %.2f ms > %.2f ms (línea base %.2f ms)",
+                        actual.escenario(), actual.p99Ms(), p99Maximo, anterior.p99Ms()));
+            }
+        }
+        return regresiones;
+    }
+
+    /**
+     * Guarda los resultados como nueva línea base.
+     *
+     * @param fichero fichero de la línea base
+     * @param resultados resultados aceptados
+     * @throws IOException si no se puede escribir el fichero
+     */
+    public static void guardar(File fichero, List<ResultadoCarga> resultados) throws IOException {
+        if (fichero.getParentFile() != null) {
+            fichero.getParentFile().mkdirs();
+        }
+        MAPPER.writeValue(fichero, resultados);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.tareas.carga;
+
+/**
+ * Resumen de una ejecución de carga.
+ *
+ * @param escenario nombre del escenario medido
+ * @param concurrencia número de peticiones simultáneas en vuelo
+ * @param operaciones peticiones completadas con éxito durante la medición
+ * @param errores peticiones fallidas o con respuesta 5xx durante la medición
+ * @param rendimiento peticiones completadas por segundo
+ * @param p50Ms mediana de latencia en milisegundos
+ * @param p90Ms percentil 90 de latencia en milisegundos
+ * @param p99Ms percentil 99 de latencia en milisegundos
+ * @param maxMs latencia máxima en milisegundos
+ */
+public record ResultadoCarga(String escenario, int concurrencia, long operaciones, long errores,
+                             double rendimiento, double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+
+    /**
+     * Formatea el resultado como una fila de tabla legible.
+     *
+     * @return línea de texto con las métricas principales
+     */
+    public String comoFila() {
+        return String.format("%-22s conc=%5d ops/s=%10.1f p50=%8.2fms p90=%8.2fms p99=%8.2fms max=%8.2fms errores=%d",
+                escenario, concurrencia, rendimiento, p50Ms, p90Ms, p99Ms, maxMs, errores);
+    }
+}
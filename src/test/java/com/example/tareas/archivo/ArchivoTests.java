@@ -0,0 +1,156 @@
+package com.example.tareas.archivo;
+
+import com.example.tareas.busqueda.IndiceTareas;
+import com.example.tareas.config.CachesConfig;
+import com.example.tareas.model.CambioTarea;
+import com.example.tareas.repository.CambioTareaRepository;
+import com.example.tareas.repository.TareaArchivadaRepository;
+import com.example.tareas.repository.TareaRepository;
+import com.example.tareas.service.ContadoresTareas;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Las tareas completadas se trasladan al archivo por lotes y se siguen
+ * leyendo por ID, sin dejar de contar en las estadísticas.
+ */
+@SpringBootTest(properties = {
+		"tareas.archivo.antiguedad=PT0S",
+		"tareas.archivo.tamanio-lote=2",
+		"tareas.archivo.intervalo=PT1H"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class ArchivoTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private ArchivadorTareas archivador;
+
+	@Autowired
+	private TareaRepository repository;
+
+	@Autowired
+	private TareaArchivadaRepository archivo;
+
+	@Autowired
+	private CambioTareaRepository cambios;
+
+	@Autowired
+	private IndiceTareas indiceTareas;
+
+	@Autowired
+	private ContadoresTareas contadores;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void limpiar() {
+		repository.deleteAll();
+		archivo.deleteAll();
+		indiceTareas.reconstruir();
+		contadores.reconciliar();
+	}
+
+	@Test
+	void archivaLasCompletadasPorLotesYLasSigueSirviendo() throws Exception {
+		long primera = crear("Informe archivado");
+		long segunda = crear("Segunda archivada");
+		long tercera = crear("Tercera archivada");
+		long pendiente = crear("Pendiente activa");
+		for (long id : new long[]{primera, segunda, tercera}) {
+			mockMvc.perform(patch("/api/tareas/" + id).contentType(MediaType.APPLICATION_JSON)
+							.content("{\"completada\": true}"))
+					.andExpect(status().isNoContent());
+		}
+		long ultimoCambio = cambios.buscarUltimoId().orElseThrow();
+		mockMvc.perform(get("/api/tareas/" + primera)).andExpect(status().isOk());
+		assertThat(cacheManager.getCache(CachesConfig.CACHE_TAREAS).get(primera)).isNotNull();
+
+		assertThat(archivador.archivarLote()).isEqualTo(2);
+		assertThat(archivador.archivarLote()).isEqualTo(1);
+		assertThat(archivador.archivarLote()).isZero();
+
+		assertThat(repository.findAll()).extracting(t -> t.getId()).containsExactly(pendiente);
+		assertThat(cacheManager.getCache(CachesConfig.CACHE_TAREAS).get(primera)).isNull();
+		assertThat(cambios.findByIdGreaterThanOrderByIdAsc(ultimoCambio, Limit.unlimited()))
+				.extracting(CambioTarea::getTipo)
+				.containsExactly("archivada", "archivada", "archivada");
+
+		mockMvc.perform(get("/api/tareas/" + primera))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.titulo").value("Informe archivado"))
+				.andExpect(jsonPath("$.completada").value(true));
+		mockMvc.perform(get("/api/tareas/" + segunda).param("fields", "id,titulo"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.titulo").value("Segunda archivada"));
+		mockMvc.perform(get("/api/tareas/archivo").param("tamanio", "2"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.contenido.length()").value(2))
+				.andExpect(jsonPath("$.contenido[0].id").value(primera))
+				.andExpect(jsonPath("$.siguienteCursor").isNotEmpty());
+
+		mockMvc.perform(get("/api/tareas/buscar").param("q", "informe"))
+				.andExpect(jsonPath("$.total").value(0));
+		mockMvc.perform(get("/api/tareas/estadisticas"))
+				.andExpect(jsonPath("$.total").value(4))
+				.andExpect(jsonPath("$.completadas").value(3));
+		contadores.reconciliar();
+		mockMvc.perform(get("/api/tareas/estadisticas"))
+				.andExpect(jsonPath("$.total").value(4))
+				.andExpect(jsonPath("$.completadas").value(3));
+	}
+
+	@Test
+	void lasTareasSinMomentoDeModificacionNoSeArchivanHastaAsignarselo() throws Exception {
+		long anterior = crear("Anterior a la columna");
+		mockMvc.perform(patch("/api/tareas/" + anterior).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"completada\": true}"))
+				.andExpect(status().isNoContent());
+		jdbcTemplate.update("update tareas set modificada = null where id = ?", anterior);
+
+		assertThat(archivador.archivarLote()).isZero();
+		assertThat(repository.existsById(anterior)).isTrue();
+
+		assertThat(archivador.fijarModificadas()).isEqualTo(1);
+		assertThat(archivador.fijarModificadas()).isZero();
+		assertThat(repository.findById(anterior).orElseThrow().getModificada()).isNotNull();
+		assertThat(archivador.archivarLote()).isEqualTo(1);
+	}
+
+	private long crear(String titulo) throws Exception {
+		String respuesta = mockMvc.perform(post("/api/tareas").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"titulo\": \"" + titulo + "\"}"))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(respuesta).get("id").asLong();
+	}
+}
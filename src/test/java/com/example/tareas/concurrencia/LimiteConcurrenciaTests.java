@@ -0,0 +1,120 @@
+package com.example.tareas.concurrencia;
+
+import com.example.tareas.config.MetricasConfig;
+import com.example.tareas.config.TareasProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Las peticiones que superan el límite se rechazan al instante con 503, y
+ * el límite baja ante la sobrecarga y sube cuando las peticiones son rápidas.
+ */
+class LimiteConcurrenciaTests {
+
+	@Test
+	void rechazaConReintentoLasLecturasQueSuperanElLimite() throws Exception {
+		TareasProperties.Concurrencia configuracion = new TareasProperties.Concurrencia();
+		configuracion.getLecturas().setInicial(1);
+		configuracion.getLecturas().setMinimo(1);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		FiltroLimiteConcurrencia filtro = new FiltroLimiteConcurrencia(configuracion, registry,
+				List.of(new MappingJackson2HttpMessageConverter(), new MappingJackson2CborHttpMessageConverter()));
+
+		MockHttpServletResponse rechazada = new MockHttpServletResponse();
+		MockHttpServletResponse rechazadaCbor = new MockHttpServletResponse();
+		MockHttpServletResponse escritura = new MockHttpServletResponse();
+		MockHttpServletRequest peticionCbor = new MockHttpServletRequest("GET", "/api/tareas/2");
+		peticionCbor.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE);
+		filtro.doFilter(new MockHttpServletRequest("GET", "/api/tareas"), new MockHttpServletResponse(),
+				(request, response) -> {
+					filtro.doFilter(new MockHttpServletRequest("GET", "/api/tareas/1"), rechazada,
+							(req, res) -> { });
+					filtro.doFilter(peticionCbor, rechazadaCbor, (req, res) -> { });
+					filtro.doFilter(new MockHttpServletRequest("POST", "/api/tareas"), escritura,
+							(req, res) -> ((MockHttpServletResponse) res).setStatus(201));
+				});
+
+		assertThat(rechazada.getStatus()).isEqualTo(503);
+		assertThat(rechazada.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+		assertThat(rechazada.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+		assertThat(rechazada.getContentAsString()).contains("\"status\":503").contains("\"path\":\"/api/tareas/1\"");
+		assertThat(rechazadaCbor.getContentType()).isEqualTo(MediaType.APPLICATION_CBOR_VALUE);
+		assertThat(new CBORMapper().readTree(rechazadaCbor.getContentAsByteArray()).get("path").asText())
+				.isEqualTo("/api/tareas/2");
+		assertThat(escritura.getStatus()).isEqualTo(201);
+		assertThat(registry.get(MetricasConfig.METRICA_RECHAZOS_CONCURRENCIA).tag("clase", "lectura")
+				.counter().count()).isEqualTo(2);
+		assertThat(filtro.getLecturas().getEnCurso()).isZero();
+	}
+
+	@Test
+	void losLotesLentosNoReducenElLimiteDeLasEscrituras() throws Exception {
+		TareasProperties.Concurrencia configuracion = new TareasProperties.Concurrencia();
+		configuracion.getEscrituras().setLatenciaObjetivo(Duration.ofMillis(1));
+		configuracion.getLotes().setLatenciaObjetivo(Duration.ofMillis(1));
+		FiltroLimiteConcurrencia filtro = new FiltroLimiteConcurrencia(configuracion, new SimpleMeterRegistry(),
+				List.of(new MappingJackson2HttpMessageConverter()));
+		int escrituras = filtro.getEscrituras().getLimite();
+		int lotes = filtro.getLotes().getLimite();
+
+		filtro.doFilter(new MockHttpServletRequest("POST", "/api/tareas/lote/eliminar"),
+				new MockHttpServletResponse(), (request, response) -> dormir());
+
+		assertThat(filtro.getLotes().getLimite()).isLessThan(lotes);
+		assertThat(filtro.getEscrituras().getLimite()).isEqualTo(escrituras);
+		assertThat(filtro.getLotes().getEnCurso()).isZero();
+
+		// Solo las rutas bajo /api/tareas/lote son lotes
+		filtro.doFilter(new MockHttpServletRequest("POST", "/api/tareas/loteria"),
+				new MockHttpServletResponse(), (request, response) -> dormir());
+		assertThat(filtro.getEscrituras().getLimite()).isLessThan(escrituras);
+	}
+
+	@Test
+	void reduceUnaVezPorSobrecargaYCreceConPeticionesRapidas() {
+		LimiteAdaptativo limite = new LimiteAdaptativo(
+				new TareasProperties.Limite(10, 2, 20, Duration.ofSeconds(1)), 0.5);
+
+		long antes = System.nanoTime();
+		assertThat(limite.adquirir()).isTrue();
+		assertThat(limite.adquirir()).isTrue();
+		limite.liberar(antes, true);
+		assertThat(limite.getLimite()).isEqualTo(5);
+		// Empezó antes de la reducción: su error refleja la carga anterior
+		limite.liberar(antes, true);
+		assertThat(limite.getLimite()).isEqualTo(5);
+
+		// Dos rondas con el límite ocupado y todas las peticiones rápidas
+		for (int ronda = 0; ronda < 2; ronda++) {
+			for (int i = 0; i < 5; i++) {
+				assertThat(limite.adquirir()).isTrue();
+			}
+			assertThat(limite.adquirir()).isFalse();
+			for (int i = 0; i < 5; i++) {
+				limite.liberar(System.nanoTime(), false);
+			}
+		}
+		assertThat(limite.getLimite()).isEqualTo(6);
+		assertThat(limite.getEnCurso()).isZero();
+	}
+
+	private static void dormir() {
+		try {
+			Thread.sleep(5);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,594 @@
+package com.example.tareas.controller;
+
+import com.example.tareas.busqueda.IndiceTareas;
+import com.example.tareas.cambios.DifusorCambios;
+import com.example.tareas.model.Tarea;
+import com.example.tareas.repository.CambioTareaRepository;
+import com.example.tareas.repository.TareaRepository;
+import com.example.tareas.service.ContadoresTareas;
+import com.example.tareas.service.TareaService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "tareas.masiva.tamanio-bloque=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TareaControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private TareaRepository repository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private IndiceTareas indiceTareas;
+
+	@Autowired
+	private ContadoresTareas contadores;
+
+	@Autowired
+	private DifusorCambios difusorCambios;
+
+	@Autowired
+	private CambioTareaRepository cambios;
+
+	@Autowired
+	private TareaService service;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transacciones;
+
+	@BeforeEach
+	void limpiar() {
+		repository.deleteAll();
+		indiceTareas.reconstruir();
+		contadores.reconciliar();
+	}
+
+	private Tarea guardar(String titulo, boolean completada) {
+		Tarea tarea = new Tarea();
+		tarea.setTitulo(titulo);
+		tarea.setCompletada(completada);
+		return repository.save(tarea);
+	}
+
+	@Test
+	void listarRecorrePaginasConCursor() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			guardar("Tarea " + i, false);
+		}
+
+		String primera = mockMvc.perform(get("/api/tareas").param("tamanio", "2"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.contenido.length()").value(2))
+				.andExpect(jsonPath("$.siguienteCursor").isNotEmpty())
+				.andReturn().getResponse().getContentAsString();
+
+		String cursor = objectMapper.readTree(primera).get("siguienteCursor").asText();
+		mockMvc.perform(get("/api/tareas").param("tamanio", "2").param("cursor", cursor))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.contenido[0].titulo").value("Tarea 2"));
+
+		String ultima = mockMvc.perform(get("/api/tareas").param("tamanio", "10"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		JsonNode nodo = objectMapper.readTree(ultima);
+		assertThat(nodo.get("contenido").size()).isEqualTo(5);
+		assertThat(nodo.get("siguienteCursor").isNull()).isTrue();
+	}
+
+	@Test
+	void listarFiltraPorCompletadaYRecortaTamanio() throws Exception {
+		guardar("Pendiente", false);
+		guardar("Terminada", true);
+
+		mockMvc.perform(get("/api/tareas").param("completada", "true").param("tamanio", "1000"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.tamanio").value(100))
+				.andExpect(jsonPath("$.contenido.length()").value(1))
+				.andExpect(jsonPath("$.contenido[0].titulo").value("Terminada"));
+	}
+
+	@Test
+	void listarRechazaCursorInvalido() throws Exception {
+		mockMvc.perform(get("/api/tareas").param("cursor", "@@no-es-un-cursor@@"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void exportarEscribeUnaTareaPorLinea() throws Exception {
+		guardar("Primera", false);
+		guardar("Segunda", true);
+
+		MvcResult resultado = mockMvc.perform(get("/api/tareas/exportar"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		String cuerpo = mockMvc.perform(asyncDispatch(resultado))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+				.andReturn().getResponse().getContentAsString();
+
+		String[] lineas = cuerpo.split("\n");
+		assertThat(lineas).hasSize(2);
+		assertThat(objectMapper.readTree(lineas[0]).get("titulo").asText()).isEqualTo("Primera");
+		assertThat(objectMapper.readTree(lineas[1]).get("completada").asBoolean()).isTrue();
+	}
+
+	@Test
+	void crearLoteInformaErroresPorElemento() throws Exception {
+		String lote = """
+				[
+				  {"titulo": "Primera del lote"},
+				  {"titulo": "x"},
+				  {"titulo": "Tercera del lote", "completada": true}
+				]
+				""";
+
+		mockMvc.perform(post("/api/tareas/lote").contentType(MediaType.APPLICATION_JSON).content(lote))
+				.andExpect(status().isMultiStatus())
+				.andExpect(jsonPath("$.recibidas").value(3))
+				.andExpect(jsonPath("$.creadas.length()").value(2))
+				.andExpect(jsonPath("$.creadas[0].id").isNumber())
+				.andExpect(jsonPath("$.errores[0].indice").value(1));
+
+		assertThat(repository.count()).isEqualTo(2);
+	}
+
+	@Test
+	void obtenerSirveDesdeCacheYSeActualizaAlModificar() throws Exception {
+		Tarea tarea = guardar("Original", false);
+		String ruta = "/api/tareas/" + tarea.getId();
+
+		mockMvc.perform(get(ruta)).andExpect(status().isOk());
+		mockMvc.perform(get(ruta)).andExpect(status().isOk());
+		mockMvc.perform(get("/api/tareas/cache"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.aciertos").value(greaterThanOrEqualTo(1)));
+
+		mockMvc.perform(put(ruta).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"titulo\": \"Modificada\", \"completada\": true}"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist("ETag"))
+				.andExpect(jsonPath("$.titulo").value("Modificada"))
+				.andExpect(jsonPath("$.version").doesNotExist());
+		service.obtener(tarea.getId()).setTitulo("Alterada fuera de la caché");
+		mockMvc.perform(get(ruta))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.titulo").value("Modificada"))
+				.andExpect(jsonPath("$.completada").value(true));
+	}
+
+	@Test
+	void patchModificaSoloLosCamposEnviados() throws Exception {
+		Tarea tarea = guardar("Sin tocar", false);
+		String ruta = "/api/tareas/" + tarea.getId();
+
+		mockMvc.perform(patch(ruta).contentType(MediaType.APPLICATION_JSON).content("{\"completada\": true}"))
+				.andExpect(status().isNoContent());
+
+		Tarea guardada = repository.findById(tarea.getId()).orElseThrow();
+		assertThat(guardada.getTitulo()).isEqualTo("Sin tocar");
+		assertThat(guardada.isCompletada()).isTrue();
+
+		mockMvc.perform(patch(ruta).contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void etagsEvitanReenviosYDetectanEscriturasConcurrentes() throws Exception {
+		Tarea tarea = guardar("Versionada", false);
+		String ruta = "/api/tareas/" + tarea.getId();
+
+		String etag = mockMvc.perform(get(ruta))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"0\""))
+				.andReturn().getResponse().getHeader("ETag");
+		mockMvc.perform(get(ruta).header("If-None-Match", etag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+
+		String etagPagina = mockMvc.perform(get("/api/tareas"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader("ETag");
+		mockMvc.perform(get("/api/tareas").header("If-None-Match", etagPagina))
+				.andExpect(status().isNotModified());
+
+		mockMvc.perform(put(ruta).header("If-Match", etag).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"titulo\": \"Primera escritura\"}"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"1\""))
+				.andExpect(jsonPath("$.version").value(1));
+		mockMvc.perform(put(ruta).header("If-Match", etag).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"titulo\": \"Escritura obsoleta\"}"))
+				.andExpect(status().isPreconditionFailed());
+
+		mockMvc.perform(get(ruta).header("If-None-Match", etag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.titulo").value("Primera escritura"));
+		mockMvc.perform(get("/api/tareas").header("If-None-Match", etagPagina))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void buscarEncuentraSinTildesNiPluralesYOrdenaPorRelevancia() throws Exception {
+		long enTitulo = crearPorApi("Preparar la reunión de equipo", "Revisar el orden del día");
+		long enDescripcion = crearPorApi("Enviar correo", "Convocar las reuniones trimestrales");
+		crearPorApi("Comprar café", null);
+
+		mockMvc.perform(get("/api/tareas/buscar").param("q", "REUNIONES"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.total").value(2))
+				.andExpect(jsonPath("$.contenido[0].id").value(enTitulo))
+				.andExpect(jsonPath("$.contenido[1].id").value(enDescripcion));
+		mockMvc.perform(get("/api/tareas/buscar").param("q", "reunion equipo"))
+				.andExpect(jsonPath("$.total").value(1));
+
+		mockMvc.perform(patch("/api/tareas/" + enTitulo).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"titulo\": \"Preparar presentación\"}"))
+				.andExpect(status().isNoContent());
+		mockMvc.perform(delete("/api/tareas/" + enDescripcion))
+				.andExpect(status().isNoContent());
+		mockMvc.perform(get("/api/tareas/buscar").param("q", "reunión"))
+				.andExpect(jsonPath("$.total").value(0));
+		mockMvc.perform(get("/api/tareas/buscar").param("q", "presentaciones"))
+				.andExpect(jsonPath("$.contenido[0].id").value(enTitulo));
+
+		mockMvc.perform(get("/api/tareas/buscar").param("q", " "))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void buscarIncluyeLosCambiosDeOtrasInstanciasLeidosDelOutbox() throws Exception {
+		difusorCambios.sondear();
+		// Escritura de otra instancia (o de la variante reactiva): sin evento en este proceso
+		jdbcTemplate.update("insert into tareas (id, titulo, completada, version, modificada) "
+				+ "values (2000000, 'Escrita por otra instancia', false, 0, current_timestamp)");
+		jdbcTemplate.update("insert into tareas_cambios (tarea_id, tipo, titulo, completada, creado) "
+				+ "values (2000000, 'creada', 'Escrita por otra instancia', false, current_timestamp)");
+		difusorCambios.sondear();
+		mockMvc.perform(get("/api/tareas/buscar").param("q", "instancia"))
+				.andExpect(jsonPath("$.total").value(1))
+				.andExpect(jsonPath("$.contenido[0].id").value(2000000));
+	}
+
+	private long crearPorApi(String titulo, String descripcion) throws Exception {
+		Tarea tarea = new Tarea();
+		tarea.setTitulo(titulo);
+		tarea.setDescripcion(descripcion);
+		String respuesta = mockMvc.perform(post("/api/tareas").contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(tarea)))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(respuesta).get("id").asLong();
+	}
+
+	@Test
+	void fieldsDevuelveSoloLosCamposPedidos() throws Exception {
+		Tarea tarea = guardar("Con campos", true);
+
+		mockMvc.perform(get("/api/tareas").param("fields", "id,titulo,completada"))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andExpect(jsonPath("$.tamanio").value(20))
+				.andExpect(jsonPath("$.contenido[0].id").value(tarea.getId()))
+				.andExpect(jsonPath("$.contenido[0].titulo").value("Con campos"))
+				.andExpect(jsonPath("$.contenido[0].completada").value(true))
+				.andExpect(jsonPath("$.contenido[0].descripcion").doesNotExist())
+				.andExpect(jsonPath("$.contenido[0].version").doesNotExist());
+
+		mockMvc.perform(get("/api/tareas/" + tarea.getId()).param("fields", "descripcion,version"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + tarea.getVersion() + "\""))
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$.version").value(tarea.getVersion()));
+
+		mockMvc.perform(get("/api/tareas").param("fields", "titulo,prioridad"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/tareas/999999").param("fields", "titulo"))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void crearYListarEnCborSegunContentTypeYAccept() throws Exception {
+		CBORMapper cbor = new CBORMapper();
+		byte[] cuerpo = cbor.writeValueAsBytes(Map.of("titulo", "Tarea en CBOR", "descripcion", "Binaria"));
+		byte[] creada = mockMvc.perform(post("/api/tareas").contentType(MediaType.APPLICATION_CBOR)
+						.accept(MediaType.APPLICATION_CBOR).content(cuerpo))
+				.andExpect(status().isCreated())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andReturn().getResponse().getContentAsByteArray();
+		assertThat(cbor.readTree(creada).get("titulo").asText()).isEqualTo("Tarea en CBOR");
+
+		byte[] pagina = mockMvc.perform(get("/api/tareas").accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+				.andReturn().getResponse().getContentAsByteArray();
+		JsonNode contenido = cbor.readTree(pagina).get("contenido");
+		assertThat(contenido).hasSize(1);
+		assertThat(contenido.get(0).get("descripcion").asText()).isEqualTo("Binaria");
+
+		mockMvc.perform(get("/api/tareas"))
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+	}
+
+	@Test
+	void estadisticasSiguenAltasCambiosDeEstadoYBorrados() throws Exception {
+		long primera = crearPorApi("Primera pendiente", null);
+		long segunda = crearPorApi("Segunda pendiente", null);
+		crearPorApi("Tercera pendiente", null);
+
+		mockMvc.perform(patch("/api/tareas/" + primera).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"completada\": true}"))
+				.andExpect(status().isNoContent());
+		mockMvc.perform(put("/api/tareas/" + segunda).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"titulo\": \"Segunda terminada\", \"completada\": true}"))
+				.andExpect(status().isOk());
+		mockMvc.perform(delete("/api/tareas/" + segunda))
+				.andExpect(status().isNoContent());
+
+		mockMvc.perform(get("/api/tareas/estadisticas"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.total").value(2))
+				.andExpect(jsonPath("$.completadas").value(1))
+				.andExpect(jsonPath("$.pendientes").value(1));
+
+		mockMvc.perform(get("/api/tareas/" + primera)).andExpect(jsonPath("$.completada").value(true));
+		mockMvc.perform(put("/api/tareas/" + primera).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"titulo\": \"Primera reabierta\", \"completada\": false}"))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/tareas/estadisticas"))
+				.andExpect(jsonPath("$.completadas").value(0))
+				.andExpect(jsonPath("$.pendientes").value(2));
+
+		guardar("Insertada fuera del servicio", true);
+		contadores.reconciliar();
+		mockMvc.perform(get("/api/tareas/estadisticas"))
+				.andExpect(jsonPath("$.total").value(3))
+				.andExpect(jsonPath("$.completadas").value(1));
+	}
+
+	@Test
+	void reconciliarDuranteUnaConfirmacionNoCuentaDosVecesLaEscritura() throws Exception {
+		crearPorApi("Anterior", null);
+
+		// Escritura confirmada en la base de datos cuya variación aún no se ha aplicado
+		CountDownLatch confirmada = new CountDownLatch(1);
+		CountDownLatch aplicar = new CountDownLatch(1);
+		Thread escritura = new Thread(() -> transacciones.executeWithoutResult(estado -> {
+			guardar("En confirmación", true);
+			Tarea tarea = new Tarea();
+			tarea.setTitulo("Creada por el servicio");
+			service.crear(tarea);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public int getOrder() {
+					return 0;
+				}
+
+				@Override
+				public void afterCommit() {
+					confirmada.countDown();
+					try {
+						aplicar.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			});
+		}));
+		escritura.start();
+		confirmada.await();
+		Thread reconciliacion = new Thread(contadores::reconciliar);
+		reconciliacion.start();
+		Thread.sleep(200);
+		aplicar.countDown();
+		escritura.join();
+		reconciliacion.join();
+
+		mockMvc.perform(get("/api/tareas/estadisticas"))
+				.andExpect(jsonPath("$.total").value(3))
+				.andExpect(jsonPath("$.completadas").value(1));
+	}
+
+	@Test
+	void operacionesMasivasProcesanPorBloquesYMantienenCacheContadoresYFeed() throws Exception {
+		long primera = crearPorApi("Primera masiva", null);
+		long segunda = crearPorApi("Segunda masiva", null);
+		for (int i = 0; i < 3; i++) {
+			crearPorApi("Otra masiva " + i, null);
+		}
+		mockMvc.perform(get("/api/tareas/" + primera)).andExpect(jsonPath("$.completada").value(false));
+		long ultimoCambio = cambios.buscarUltimoId().orElseThrow();
+
+		mockMvc.perform(post("/api/tareas/lote/completar").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"completada\": false}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.afectadas").value(5));
+		mockMvc.perform(get("/api/tareas/" + primera)).andExpect(jsonPath("$.completada").value(true));
+		assertThat(cambios.findByIdGreaterThanOrderByIdAsc(ultimoCambio, Limit.unlimited()))
+				.hasSize(5)
+				.allSatisfy(cambio -> assertThat(cambio.getCompletada()).isTrue());
+
+		String reabrir = "{\"ids\": [" + primera + ", " + segunda + ", " + segunda + ", 999999]}";
+		mockMvc.perform(post("/api/tareas/lote/reabrir").contentType(MediaType.APPLICATION_JSON).content(reabrir))
+				.andExpect(jsonPath("$.afectadas").value(2));
+		mockMvc.perform(post("/api/tareas/lote/reabrir").contentType(MediaType.APPLICATION_JSON).content(reabrir))
+				.andExpect(jsonPath("$.afectadas").value(0));
+		mockMvc.perform(get("/api/tareas/estadisticas"))
+				.andExpect(jsonPath("$.total").value(5))
+				.andExpect(jsonPath("$.completadas").value(3));
+
+		mockMvc.perform(post("/api/tareas/lote/eliminar").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"completada\": true}"))
+				.andExpect(jsonPath("$.afectadas").value(3));
+		mockMvc.perform(post("/api/tareas/lote/eliminar").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"ids\": [" + primera + "]}"))
+				.andExpect(jsonPath("$.afectadas").value(1));
+		mockMvc.perform(get("/api/tareas/" + primera)).andExpect(status().isNotFound());
+		mockMvc.perform(get("/api/tareas/estadisticas"))
+				.andExpect(jsonPath("$.total").value(1))
+				.andExpect(jsonPath("$.completadas").value(0));
+		assertThat(repository.findAll()).extracting(Tarea::getId).containsExactly(segunda);
+
+		mockMvc.perform(post("/api/tareas/lote/eliminar").contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void cambiosSeDifundenPorSseYSeReanudanConLastEventId() throws Exception {
+		difusorCambios.sondear();
+		MvcResult suscripcion = mockMvc.perform(get("/api/tareas/cambios"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		long primera = crearPorApi("Primera difundida", null);
+		long primerCambio = cambios.buscarUltimoId().orElseThrow();
+		esperarDifusion(suscripcion, "id:" + primerCambio);
+		esperarDifusion(suscripcion, "\"tareaId\":" + primera);
+		assertThat(suscripcion.getResponse().getContentAsString())
+				.contains("event:creada")
+				.contains("\"tareaId\":" + primera);
+
+		mockMvc.perform(delete("/api/tareas/" + primera)).andExpect(status().isNoContent());
+		long segundoCambio = cambios.buscarUltimoId().orElseThrow();
+		esperarDifusion(suscripcion, "id:" + segundoCambio);
+
+		MvcResult reanudada = mockMvc.perform(get("/api/tareas/cambios")
+						.header("Last-Event-ID", Long.toString(primerCambio)))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		esperarDifusion(reanudada, "id:" + segundoCambio);
+		String recuperado = reanudada.getResponse().getContentAsString();
+		assertThat(recuperado).contains("event:eliminada");
+		assertThat(recuperado).doesNotContain("id:" + primerCambio + "\n");
+
+		mockMvc.perform(get("/api/tareas/cambios").header("Last-Event-ID", "no-numerico"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void unHuecoRellenadoDespuesDeSaltarloPideReiniciarALosSuscriptores() throws Exception {
+		difusorCambios.sondear();
+		MvcResult suscripcion = mockMvc.perform(get("/api/tareas/cambios"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		// Transacción lenta: su ID del outbox queda reservado pero sin confirmar
+		CountDownLatch insertado = new CountDownLatch(1);
+		CountDownLatch confirmar = new CountDownLatch(1);
+		Thread lenta = new Thread(() -> transacciones.executeWithoutResult(estado -> {
+			jdbcTemplate.update("insert into tareas_cambios (tarea_id, tipo, creado) "
+					+ "values (3000000, 'eliminada', current_timestamp)");
+			insertado.countDown();
+			try {
+				confirmar.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}));
+		lenta.start();
+		insertado.await();
+		long posterior = crearPorApi("Posterior al hueco", null);
+		esperarDifusion(suscripcion, "\"tareaId\":" + posterior);
+		assertThat(suscripcion.getResponse().getContentAsString()).doesNotContain("event:reinicio");
+
+		confirmar.countDown();
+		lenta.join();
+		esperarDifusion(suscripcion, "event:reinicio");
+	}
+
+	private void esperarDifusion(MvcResult suscripcion, String esperado) throws Exception {
+		long limite = System.currentTimeMillis() + 5_000;
+		while (!suscripcion.getResponse().getContentAsString().contains(esperado)
+				&& System.currentTimeMillis() < limite) {
+			difusorCambios.sondear();
+			Thread.sleep(20);
+		}
+		assertThat(suscripcion.getResponse().getContentAsString()).contains(esperado);
+	}
+
+	@Test
+	void escriturasSobreTareaInexistenteDevuelven404() throws Exception {
+		mockMvc.perform(put("/api/tareas/999999").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"titulo\": \"No existe\"}"))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(patch("/api/tareas/999999").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"completada\": true}"))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(delete("/api/tareas/999999"))
+				.andExpect(status().isNotFound())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.timestamp").isNotEmpty())
+				.andExpect(jsonPath("$.status").value(404))
+				.andExpect(jsonPath("$.error").value("Not Found"))
+				.andExpect(jsonPath("$.message").value("Tarea con ID 999999 no encontrado"))
+				.andExpect(jsonPath("$.path").value("/api/tareas/999999"));
+
+		byte[] error = mockMvc.perform(get("/api/tareas/999999").accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isNotFound())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andReturn().getResponse().getContentAsByteArray();
+		JsonNode cuerpo = new CBORMapper().readTree(error);
+		assertThat(cuerpo.get("status").asInt()).isEqualTo(404);
+		assertThat(cuerpo.get("message").asText()).isEqualTo("Tarea con ID 999999 no encontrado");
+	}
+
+	@Test
+	void registraMetricasDeOperacionesYErrores() throws Exception {
+		Tarea tarea = guardar("Medida", false);
+		mockMvc.perform(get("/api/tareas/" + tarea.getId())).andExpect(status().isOk());
+		mockMvc.perform(get("/api/tareas/999999")).andExpect(status().isNotFound());
+
+		assertThat(meterRegistry.get("tareas.operacion").tag("operacion", "obtener").timer().count())
+				.isGreaterThanOrEqualTo(1);
+		assertThat(meterRegistry.get("tareas.errores").tag("tipo", "no_encontrada").counter().count())
+				.isGreaterThanOrEqualTo(1);
+	}
+}
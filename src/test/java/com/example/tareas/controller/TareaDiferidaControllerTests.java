@@ -0,0 +1,88 @@
+package com.example.tareas.controller;
+
+import com.example.tareas.exception.ResourceNotFoundException;
+import com.example.tareas.model.Tarea;
+import com.example.tareas.repository.TareaRepository;
+import com.example.tareas.service.EscrituraAgrupada;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"tareas.escritura-agrupada.habilitada=true",
+		"tareas.escritura-agrupada.ventana=200ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TareaDiferidaControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TareaRepository repository;
+
+	@Autowired
+	private EscrituraAgrupada escritura;
+
+	private static Tarea tarea(String titulo) {
+		Tarea tarea = new Tarea();
+		tarea.setTitulo(titulo);
+		return tarea;
+	}
+
+	@Test
+	void crearRespondeTrasConfirmarElGrupo() throws Exception {
+		MvcResult resultado = mockMvc.perform(post("/api/tareas/diferidas").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"titulo\": \"Diferida\"}"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(resultado))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.id").isNumber())
+				.andExpect(jsonPath("$.titulo").value("Diferida"));
+	}
+
+	@Test
+	void combinaActualizacionesYAislaLasQueFallan() throws Exception {
+		Tarea existente = repository.save(tarea("Original"));
+
+		List<CompletableFuture<Tarea>> actualizaciones = List.of(
+				escritura.actualizar(existente.getId(), tarea("Primera")),
+				escritura.actualizar(existente.getId(), tarea("Segunda")),
+				escritura.actualizar(existente.getId(), tarea("Tercera")));
+		CompletableFuture<Tarea> inexistente = escritura.actualizar(999_999L, tarea("No existe"));
+		CompletableFuture<Tarea> alta = escritura.crear(tarea("Nueva en el grupo"));
+
+		for (CompletableFuture<Tarea> actualizacion : actualizaciones) {
+			assertThat(actualizacion.get().getTitulo()).isEqualTo("Tercera");
+		}
+		assertThat(alta.get().getId()).isNotNull();
+		assertThatThrownBy(inexistente::get)
+				.isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(ResourceNotFoundException.class);
+
+		Tarea guardada = repository.findById(existente.getId()).orElseThrow();
+		assertThat(guardada.getTitulo()).isEqualTo("Tercera");
+		assertThat(guardada.getVersion()).isEqualTo(1);
+		assertThat(repository.existsById(alta.get().getId())).isTrue();
+	}
+}
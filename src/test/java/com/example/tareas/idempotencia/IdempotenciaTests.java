@@ -0,0 +1,124 @@
+package com.example.tareas.idempotencia;
+
+import com.example.tareas.config.TareasProperties;
+import com.example.tareas.model.Tarea;
+import com.example.tareas.repository.TareaRepository;
+import com.example.tareas.service.TareaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Con la tabla de claves activada, una clave crea una sola tarea aunque sus
+ * peticiones lleguen a la vez, se repitan más tarde o lleguen a otra instancia.
+ */
+@SpringBootTest(properties = "tareas.idempotencia.persistente=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class IdempotenciaTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private IdempotenciaTareas idempotencia;
+
+	@Autowired
+	private TareaService service;
+
+	@Autowired
+	private TareaRepository repository;
+
+	@Autowired
+	private TareasProperties properties;
+
+	@Autowired
+	private ApplicationContext contexto;
+
+	@Test
+	void repiteLaRespuestaDeUnaClaveYRechazaOtroCuerpo() throws Exception {
+		String cuerpo = "{\"titulo\":\"Tarea idempotente\"}";
+		String creada = mockMvc.perform(post("/api/tareas").contentType(MediaType.APPLICATION_JSON)
+						.header(IdempotenciaTareas.CABECERA_CLAVE, "clave-http").content(cuerpo))
+				.andExpect(status().isCreated())
+				.andExpect(header().string(IdempotenciaTareas.CABECERA_REPETIDA, "false"))
+				.andReturn().getResponse().getContentAsString();
+		long id = objectMapper.readTree(creada).get("id").asLong();
+
+		mockMvc.perform(post("/api/tareas").contentType(MediaType.APPLICATION_JSON)
+						.header(IdempotenciaTareas.CABECERA_CLAVE, "clave-http").content(cuerpo))
+				.andExpect(status().isCreated())
+				.andExpect(header().string(IdempotenciaTareas.CABECERA_REPETIDA, "true"))
+				.andExpect(jsonPath("$.id").value(id));
+
+		mockMvc.perform(post("/api/tareas").contentType(MediaType.APPLICATION_JSON)
+						.header(IdempotenciaTareas.CABECERA_CLAVE, "clave-http")
+						.content("{\"titulo\":\"Otra tarea\"}"))
+				.andExpect(status().isBadRequest());
+
+		// Otra instancia, con su memoria vacía, encuentra la clave en la tabla
+		IdempotenciaTareas otraInstancia = new IdempotenciaTareas(service, properties,
+				contexto.getBeanProvider(TablaIdempotencia.class));
+		RespuestaIdempotente repetida = otraInstancia.crear("clave-http", tarea("Tarea idempotente"));
+		assertThat(repetida.repetida()).isTrue();
+		assertThat(repetida.tarea().getId()).isEqualTo(id);
+		assertThat(repository.findAll()).extracting(Tarea::getTitulo).containsOnlyOnce("Tarea idempotente");
+	}
+
+	@Test
+	void lasPeticionesConcurrentesConLaMismaClaveSeEjecutanUnaVez() throws Exception {
+		int peticiones = 8;
+		ExecutorService hilos = Executors.newFixedThreadPool(peticiones);
+		CountDownLatch salida = new CountDownLatch(1);
+		List<Future<RespuestaIdempotente>> respuestas = new ArrayList<>();
+		try {
+			for (int i = 0; i < peticiones; i++) {
+				respuestas.add(hilos.submit(() -> {
+					salida.await();
+					return idempotencia.crear("clave-concurrente", tarea("Tarea concurrente"));
+				}));
+			}
+			salida.countDown();
+			List<RespuestaIdempotente> resultados = new ArrayList<>();
+			for (Future<RespuestaIdempotente> respuesta : respuestas) {
+				resultados.add(respuesta.get());
+			}
+
+			assertThat(resultados).filteredOn(r -> !r.repetida()).hasSize(1);
+			assertThat(resultados).extracting(r -> r.tarea().getId()).containsOnly(resultados.get(0).tarea().getId());
+			assertThat(repository.findAll()).extracting(Tarea::getTitulo).containsOnlyOnce("Tarea concurrente");
+		} finally {
+			hilos.shutdownNow();
+		}
+	}
+
+	private static Tarea tarea(String titulo) {
+		Tarea tarea = new Tarea();
+		tarea.setTitulo(titulo);
+		return tarea;
+	}
+}
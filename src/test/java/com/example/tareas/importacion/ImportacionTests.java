@@ -0,0 +1,148 @@
+package com.example.tareas.importacion;
+
+import com.example.tareas.model.CambioTarea;
+import com.example.tareas.model.Tarea;
+import com.example.tareas.repository.CambioTareaRepository;
+import com.example.tareas.repository.SecuenciaTareas;
+import com.example.tareas.repository.TareaRepository;
+import com.example.tareas.service.ContadoresTareas;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * La importación reparte el fichero en bloques entre varios hilos, crea las
+ * tareas válidas y deja constancia de las rechazadas con su línea. Los IDs
+ * salen de la secuencia, que se mantiene por encima de los existentes.
+ */
+@SpringBootTest(properties = {"tareas.importacion.tamanio-bloque=2", "tareas.importacion.hilos=2"})
+@ActiveProfiles("test")
+@DirtiesContext
+class ImportacionTests {
+
+	@Autowired
+	private ImportadorTareas importador;
+
+	@Autowired
+	private TareaRepository repository;
+
+	@Autowired
+	private CambioTareaRepository cambios;
+
+	@Autowired
+	private ContadoresTareas contadores;
+
+	@Autowired
+	private SecuenciaTareas secuencia;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@TempDir
+	private Path directorio;
+
+	@BeforeEach
+	void limpiar() {
+		repository.deleteAll();
+		contadores.reconciliar();
+	}
+
+	@Test
+	void importaCsvConCamposEntreComillasEInformaDeLosRechazos() throws Exception {
+		Path archivo = escribir("tareas.csv", "\uFEFFcompletada,Titulo,descripcion\n"
+				+ "true,Preparar informe,\"Con coma, y \"\"comillas\"\"\"\n"
+				+ "\n"
+				+ "false,Revisar notas,\"Primera línea\n"
+				+ "segunda línea\"\n"
+				+ ",Sin descripción,\n"
+				+ "false,ab,corta\n"
+				+ "quizás,Estado raro,x\n"
+				+ "false,Faltan columnas\n");
+		Path informe = directorio.resolve("rechazos.csv");
+		long ultimoCambio = cambios.buscarUltimoId().orElse(0L);
+
+		ResultadoImportacion resultado = importador.importar(archivo, FormatoImportacion.CSV, informe);
+
+		assertThat(resultado.registros()).isEqualTo(6);
+		assertThat(resultado.importadas()).isEqualTo(3);
+		assertThat(resultado.rechazados()).isEqualTo(3);
+		List<Tarea> tareas = repository.findAll().stream()
+				.sorted(Comparator.comparing(Tarea::getTitulo)).toList();
+		assertThat(tareas).extracting(Tarea::getTitulo)
+				.containsExactly("Preparar informe", "Revisar notas", "Sin descripción");
+		assertThat(tareas).extracting(Tarea::getDescripcion)
+				.containsExactly("Con coma, y \"comillas\"", "Primera línea\nsegunda línea", null);
+		assertThat(tareas).extracting(Tarea::isCompletada).containsExactly(true, false, false);
+		assertThat(contadores.obtener().getTotal()).isEqualTo(3);
+		assertThat(contadores.obtener().getCompletadas()).isEqualTo(1);
+		assertThat(cambios.findByIdGreaterThanOrderByIdAsc(ultimoCambio, Limit.unlimited()))
+				.extracting(CambioTarea::getTipo)
+				.containsExactly("creada", "creada", "creada");
+
+		assertThat(Files.readAllLines(informe, StandardCharsets.UTF_8)).containsExactlyInAnyOrder(
+				"linea,motivo,registro",
+				"7,El título debe tener al menos 3 caracteres,\"false,ab,corta\"",
+				"8,Valor de completada no válido: quizás,\"quizás,Estado raro,x\"",
+				"9,Se esperaban 3 columnas y hay 2,\"false,Faltan columnas\"");
+	}
+
+	@Test
+	void importaNdjsonIgnorandoIdsYRechazaLineasNoValidas() throws Exception {
+		Path archivo = escribir("tareas.ndjson", "{\"id\":1000000,\"titulo\":\"Desde exportación\",\"completada\":true,\"version\":3}\n"
+				+ "{\"titulo\":\"Otra tarea\",\"descripcion\":\"Detalle\"}\n"
+				+ "{\"titulo\":\n"
+				+ "{\"descripcion\":\"Sin título\"}\n");
+
+		ResultadoImportacion resultado = importador.importar(archivo, FormatoImportacion.NDJSON, null);
+
+		assertThat(resultado.importadas()).isEqualTo(2);
+		assertThat(resultado.rechazados()).isEqualTo(2);
+		assertThat(repository.findAll()).extracting(Tarea::getTitulo, Tarea::getVersion)
+				.containsExactlyInAnyOrder(
+						tuple("Desde exportación", 0L),
+						tuple("Otra tarea", 0L));
+		assertThat(repository.findAll()).extracting(Tarea::getId).doesNotContain(1_000_000L);
+	}
+
+	@Test
+	void exigeLaColumnaTituloEnLaCabecera() throws Exception {
+		Path archivo = escribir("sin-titulo.csv", "nombre,descripcion\nUna tarea,x\n");
+
+		assertThatThrownBy(() -> importador.importar(archivo, FormatoImportacion.CSV, null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("titulo");
+		assertThat(repository.count()).isZero();
+		assertThat(FormatoImportacion.deRuta(Path.of("datos.jsonl"))).isEqualTo(FormatoImportacion.NDJSON);
+	}
+
+	@Test
+	void adelantaLaSecuenciaPorEncimaDeLosIdsExistentes() {
+		jdbcTemplate.update("insert into tareas (id, titulo, completada, version) "
+				+ "values (9000000, 'Insertada con AUTO_INCREMENT', false, 0)");
+
+		assertThat(secuencia.ajustar()).isTrue();
+		assertThat(secuencia.ajustar()).isFalse();
+		assertThat(jdbcTemplate.queryForObject("select next value for tareas_seq", Long.class))
+				.isGreaterThan(9_000_000L);
+	}
+
+	private Path escribir(String nombre, String contenido) throws Exception {
+		return Files.writeString(directorio.resolve(nombre), contenido, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,268 @@
+package com.example.tareas.reactivo;
+
+import com.example.tareas.model.Tarea;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = TareasReactivaApplication.class, properties = {
+		"spring.r2dbc.url=r2dbc:h2:mem:///reactivo;DB_CLOSE_DELAY=-1",
+		"spring.r2dbc.username=sa",
+		"spring.r2dbc.password=",
+		"spring.sql.init.mode=always",
+		"spring.sql.init.schema-locations=classpath:schema-reactivo.sql"
+})
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactivo")
+class TareaReactivaControllerTests {
+
+	@Autowired
+	private WebTestClient cliente;
+
+	@Autowired
+	private TareaReactivaRepository repository;
+
+	@Autowired
+	private DatabaseClient databaseClient;
+
+	@Autowired
+	private ServerCodecConfigurer codecs;
+
+	@BeforeEach
+	void limpiar() {
+		repository.deleteAll().block();
+		databaseClient.sql("DELETE FROM tareas_cambios").then().block();
+		databaseClient.sql("DELETE FROM tareas_archivo").then().block();
+	}
+
+	@Test
+	void crearListarYExportar() {
+		cliente.post().uri("/api/tareas/lote")
+				.bodyValue(List.of(Map.of("titulo", "Tarea 0"), Map.of("titulo", "Tarea 1"),
+						Map.of("titulo", "no"), Map.of("titulo", "Tarea 3", "completada", true)))
+				.exchange()
+				.expectStatus().isEqualTo(207)
+				.expectBody()
+				.jsonPath("$.creadas.length()").isEqualTo(3)
+				.jsonPath("$.errores[0].indice").isEqualTo(2);
+
+		cliente.get().uri("/api/tareas?tamanio=2")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.contenido.length()").isEqualTo(2)
+				.jsonPath("$.siguienteCursor").isNotEmpty();
+
+		cliente.get().uri("/api/tareas?completada=true")
+				.exchange()
+				.expectBody()
+				.jsonPath("$.contenido.length()").isEqualTo(1)
+				.jsonPath("$.contenido[0].titulo").isEqualTo("Tarea 3");
+
+		List<Tarea> exportadas = cliente.get().uri("/api/tareas/exportar")
+				.accept(MediaType.APPLICATION_NDJSON)
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(Tarea.class)
+				.getResponseBody()
+				.collectList()
+				.block();
+		assertThat(exportadas).extracting(Tarea::getTitulo).containsExactly("Tarea 0", "Tarea 1", "Tarea 3");
+	}
+
+	@Test
+	void modificarYEliminarConLasMismasReglasQueLaVarianteJpa() {
+		Tarea creada = cliente.post().uri("/api/tareas")
+				.bodyValue(Map.of("titulo", "Original"))
+				.exchange()
+				.expectStatus().isCreated()
+				.expectBody(Tarea.class)
+				.returnResult().getResponseBody();
+
+		cliente.post().uri("/api/tareas")
+				.bodyValue(Map.of("titulo", "ab"))
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody()
+				.jsonPath("$.message").isEqualTo("El título debe tener al menos 3 caracteres");
+
+		cliente.patch().uri("/api/tareas/{id}", creada.getId())
+				.bodyValue(Map.of("completada", true))
+				.exchange()
+				.expectStatus().isNoContent();
+		cliente.get().uri("/api/tareas/{id}", creada.getId())
+				.exchange()
+				.expectBody()
+				.jsonPath("$.titulo").isEqualTo("Original")
+				.jsonPath("$.completada").isEqualTo(true);
+
+		cliente.put().uri("/api/tareas/{id}", creada.getId())
+				.bodyValue(Map.of("titulo", "Cambiada"))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.titulo").isEqualTo("Cambiada");
+
+		creada.setTitulo("Cambiada en CBOR");
+		Tarea enCbor = cliente.put().uri("/api/tareas/{id}", creada.getId())
+				.contentType(MediaType.APPLICATION_CBOR)
+				.accept(MediaType.APPLICATION_CBOR)
+				.bodyValue(creada)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentType(MediaType.APPLICATION_CBOR)
+				.expectBody(Tarea.class)
+				.returnResult().getResponseBody();
+		assertThat(enCbor.getTitulo()).isEqualTo("Cambiada en CBOR");
+
+		cliente.delete().uri("/api/tareas/{id}", creada.getId())
+				.exchange()
+				.expectStatus().isNoContent();
+		cliente.get().uri("/api/tareas/{id}", creada.getId())
+				.exchange()
+				.expectStatus().isNotFound();
+		cliente.get().uri("/api/tareas?cursor=%%%")
+				.exchange()
+				.expectStatus().isBadRequest();
+
+		List<String> cambios = databaseClient.sql("SELECT tipo FROM tareas_cambios WHERE tarea_id = :id ORDER BY id")
+				.bind("id", creada.getId())
+				.map(fila -> fila.get("tipo", String.class))
+				.all()
+				.collectList()
+				.block();
+		assertThat(cambios).containsExactly("creada", "actualizada_parcialmente", "actualizada", "actualizada",
+				"eliminada");
+	}
+
+	@Test
+	void actualizarConIfMatchRechazaVersionesAntiguasComoLaVarianteJpa() {
+		Tarea creada = cliente.post().uri("/api/tareas")
+				.bodyValue(Map.of("titulo", "Original"))
+				.exchange()
+				.expectStatus().isCreated()
+				.expectBody(Tarea.class)
+				.returnResult().getResponseBody();
+
+		cliente.get().uri("/api/tareas/{id}", creada.getId())
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals("ETag", "\"0\"");
+
+		cliente.put().uri("/api/tareas/{id}", creada.getId())
+				.header("If-Match", "\"0\"")
+				.bodyValue(Map.of("titulo", "Primera"))
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals("ETag", "\"1\"");
+
+		cliente.put().uri("/api/tareas/{id}", creada.getId())
+				.header("If-Match", "\"0\"")
+				.bodyValue(Map.of("titulo", "Perdida"))
+				.exchange()
+				.expectStatus().isEqualTo(412);
+		cliente.put().uri("/api/tareas/{id}", 999_999)
+				.header("If-Match", "\"0\"")
+				.bodyValue(Map.of("titulo", "Perdida"))
+				.exchange()
+				.expectStatus().isNotFound();
+
+		cliente.get().uri("/api/tareas/{id}", creada.getId())
+				.header("If-None-Match", "\"1\"")
+				.exchange()
+				.expectStatus().isNotModified();
+		cliente.get().uri("/api/tareas/{id}", creada.getId())
+				.exchange()
+				.expectBody()
+				.jsonPath("$.titulo").isEqualTo("Primera");
+	}
+
+	@Test
+	void obtenerEncuentraLasTareasArchivadas() {
+		databaseClient.sql("INSERT INTO tareas_archivo (id, titulo, completada, version, archivada) "
+						+ "VALUES (77, 'Archivada', TRUE, 3, LOCALTIMESTAMP)")
+				.then().block();
+
+		cliente.get().uri("/api/tareas/77")
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals("ETag", "\"3\"")
+				.expectBody()
+				.jsonPath("$.titulo").isEqualTo("Archivada");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void losFlujosEnCborSeCodificanElementoAElemento() throws Exception {
+		ResolvableType tipo = ResolvableType.forClass(Tarea.class);
+		Encoder<Tarea> codificador = (Encoder<Tarea>) codecs.getWriters().stream()
+				.filter(EncoderHttpMessageWriter.class::isInstance)
+				.map(escritor -> ((EncoderHttpMessageWriter<?>) escritor).getEncoder())
+				.filter(encoder -> encoder.canEncode(tipo, MediaType.APPLICATION_CBOR))
+				.findFirst()
+				.orElseThrow();
+		DataBufferFactory buffers = DefaultDataBufferFactory.sharedInstance;
+		CBORMapper mapper = new CBORMapper();
+
+		// Un flujo sin fin: si se reuniera antes de codificarlo, nunca emitiría nada
+		Flux<Tarea> sinFin = Flux.generate(sink -> sink.next(tarea("Infinita")));
+		List<byte[]> primeros = codificador.encode(sinFin, buffers, tipo, MediaType.APPLICATION_CBOR, Map.of())
+				.take(3)
+				.map(TareaReactivaControllerTests::bytes)
+				.collectList()
+				.block(Duration.ofSeconds(5));
+		assertThat(primeros.get(0)).containsExactly(0x9F);
+		assertThat(mapper.readValue(primeros.get(2), Tarea.class).getTitulo()).isEqualTo("Infinita");
+
+		byte[] completo = codificador.encode(Flux.just(tarea("Primera"), tarea("Segunda")), buffers, tipo,
+						MediaType.APPLICATION_CBOR, Map.of())
+				.map(TareaReactivaControllerTests::bytes)
+				.reduce(new ByteArrayOutputStream(), (salida, parte) -> {
+					salida.writeBytes(parte);
+					return salida;
+				})
+				.map(ByteArrayOutputStream::toByteArray)
+				.block(Duration.ofSeconds(5));
+		List<Tarea> leidas = mapper.readValue(completo, new TypeReference<>() {
+		});
+		assertThat(leidas).extracting(Tarea::getTitulo).containsExactly("Primera", "Segunda");
+	}
+
+	private static Tarea tarea(String titulo) {
+		Tarea tarea = new Tarea();
+		tarea.setTitulo(titulo);
+		return tarea;
+	}
+
+	private static byte[] bytes(DataBuffer buffer) {
+		byte[] contenido = new byte[buffer.readableByteCount()];
+		buffer.read(contenido);
+		DataBufferUtils.release(buffer);
+		return contenido;
+	}
+}
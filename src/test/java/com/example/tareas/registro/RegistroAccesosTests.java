@@ -0,0 +1,73 @@
+package com.example.tareas.registro;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Con el muestreo a cero, solo se registran las peticiones que piden su SQL
+ * (o que fallan o son lentas), y el SQL solo de esas peticiones.
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"tareas.registro.habilitado=true",
+		"tareas.registro.muestreo-accesos=0",
+		"tareas.registro.umbral-lento=PT1M",
+		"tareas.registro.sql-por-peticion=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+@ExtendWith(OutputCaptureExtension.class)
+class RegistroAccesosTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void registraSqlYAccesoSoloDeLasPeticionesQueLoPiden(CapturedOutput salida) throws Exception {
+		mockMvc.perform(post("/api/tareas").contentType(MediaType.APPLICATION_JSON)
+						.header(FiltroRegistroAccesos.CABECERA_SQL, "true")
+						.content("{\"titulo\":\"Tarea con SQL registrado\"}"))
+				.andExpect(status().isCreated());
+
+		assertThat(salida.getOut()).contains("SQL: insert into tareas").contains("POST /api/tareas 201");
+
+		int registrado = salida.getOut().length();
+		mockMvc.perform(get("/api/tareas")).andExpect(status().isOk());
+
+		String posterior = salida.getOut().substring(registrado);
+		assertThat(posterior).doesNotContain("SQL: ").doesNotContain("GET /api/tareas 200");
+	}
+
+	@Test
+	void registraLasRespuestasAsincronasAlCompletarse(CapturedOutput salida) throws Exception {
+		MvcResult exportacion = mockMvc.perform(get("/api/tareas/exportar")
+						.header(FiltroRegistroAccesos.CABECERA_SQL, "true"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		assertThat(salida.getOut()).doesNotContain("GET /api/tareas/exportar 200");
+
+		mockMvc.perform(asyncDispatch(exportacion)).andExpect(status().isOk());
+		// Tras el despacho asíncrono, el contenedor completa la petición
+		exportacion.getRequest().getAsyncContext().complete();
+
+		assertThat(salida.getOut()).contains("GET /api/tareas/exportar 200");
+	}
+}
@@ -0,0 +1,147 @@
+package com.example.tareas.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.Cookie;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Dos bases H2 en memoria hacen de primaria y réplica; como no se replican,
+ * el origen de cada lectura se distingue por los datos que devuelve.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:primaria;DB_CLOSE_DELAY=-1",
+		"tareas.replica.habilitada=true",
+		"tareas.replica.datasource.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+		"tareas.replica.datasource.username=sa",
+		"tareas.replica.datasource.pool-name=tareas-replica-pool"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class ReplicaLecturaTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private HikariDataSource dataSourceReplica;
+
+	@Autowired
+	private MonitorRetrasoReplica monitor;
+
+	@BeforeEach
+	void prepararReplica() {
+		JdbcTemplate replica = new JdbcTemplate(dataSourceReplica);
+		replica.execute("CREATE TABLE IF NOT EXISTS tareas (id BIGINT PRIMARY KEY, titulo VARCHAR(255), "
+				+ "descripcion VARCHAR(255), completada BOOLEAN NOT NULL, version BIGINT NOT NULL, modificada TIMESTAMP)");
+		replica.update("DELETE FROM tareas");
+		replica.update("INSERT INTO tareas VALUES (1000000, 'Solo en la réplica', NULL, FALSE, 0, NULL)");
+		replica.execute("CREATE TABLE IF NOT EXISTS tareas_latido (id INT PRIMARY KEY, marca BIGINT NOT NULL)");
+		replica.update("MERGE INTO tareas_latido KEY (id) VALUES (1, ?)", Long.MAX_VALUE);
+		monitor.latir();
+	}
+
+	@Test
+	@DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+	void enviaLecturasALaReplicaSalvoTrasEscribirOSiNoResponde() throws Exception {
+		mockMvc.perform(get("/api/tareas"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.contenido[*].titulo").value(hasItem("Solo en la réplica")));
+
+		Cookie escritura = mockMvc.perform(post("/api/tareas").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"titulo\": \"Escrita en la primaria\"}"))
+				.andExpect(status().isCreated())
+				.andExpect(cookie().exists(FiltroLecturaPropia.COOKIE_ESCRITURA))
+				.andReturn().getResponse().getCookie(FiltroLecturaPropia.COOKIE_ESCRITURA);
+
+		mockMvc.perform(get("/api/tareas").cookie(escritura))
+				.andExpect(jsonPath("$.contenido[*].titulo").value(hasItem("Escrita en la primaria")))
+				.andExpect(jsonPath("$.contenido[*].titulo").value(not(hasItem("Solo en la réplica"))));
+		mockMvc.perform(get("/api/tareas"))
+				.andExpect(jsonPath("$.contenido[*].titulo").value(not(hasItem("Escrita en la primaria"))));
+
+		MvcResult exportacion = mockMvc.perform(get("/api/tareas/exportar").cookie(escritura))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(exportacion))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("Escrita en la primaria")))
+				.andExpect(content().string(not(containsString("Solo en la réplica"))));
+		mockMvc.perform(get("/api/tareas/1000000"))
+				.andExpect(status().isNotFound());
+
+		dataSourceReplica.close();
+		mockMvc.perform(get("/api/tareas"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.contenido[*].titulo").value(hasItem("Escrita en la primaria")));
+		assertThat(dataSourceReplica.isClosed()).isTrue();
+	}
+
+	@Test
+	void lasConexionesConCredencialesSiguenLaMismaRuta() throws Exception {
+		JdbcDataSource primaria = new JdbcDataSource();
+		primaria.setURL("jdbc:h2:mem:credenciales-primaria");
+		JdbcDataSource replica = new JdbcDataSource();
+		replica.setURL("jdbc:h2:mem:credenciales-replica");
+		DataSourceLecturaEscritura enrutador = new DataSourceLecturaEscritura(primaria, replica);
+
+		try (Connection conexion = enrutador.getConnection("sa", "")) {
+			assertThat(conexion.getMetaData().getURL()).isEqualTo("jdbc:h2:mem:credenciales-primaria");
+		}
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		try (Connection conexion = enrutador.getConnection("sa", "")) {
+			assertThat(conexion.getMetaData().getURL()).isEqualTo("jdbc:h2:mem:credenciales-replica");
+		} finally {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		}
+		assertThat(enrutador.isReplicaDisponible()).isTrue();
+	}
+
+	@Test
+	void siLaReplicaSuperaLaVentanaTodasLasLecturasVanALaPrimaria() throws Exception {
+		mockMvc.perform(get("/api/tareas"))
+				.andExpect(jsonPath("$.contenido[*].titulo").value(hasItem("Solo en la réplica")));
+
+		// Latido replicado hace un minuto: la cookie de un cliente ya habría caducado
+		JdbcTemplate replica = new JdbcTemplate(dataSourceReplica);
+		replica.update("UPDATE tareas_latido SET marca = ?", System.currentTimeMillis() - 60_000);
+		monitor.latir();
+		assertThat(monitor.isRetrasada()).isTrue();
+		mockMvc.perform(get("/api/tareas"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.contenido[*].titulo").value(not(hasItem("Solo en la réplica"))));
+
+		replica.update("UPDATE tareas_latido SET marca = ?", System.currentTimeMillis());
+		monitor.latir();
+		assertThat(monitor.isRetrasada()).isFalse();
+		mockMvc.perform(get("/api/tareas"))
+				.andExpect(jsonPath("$.contenido[*].titulo").value(hasItem("Solo en la réplica")));
+	}
+}
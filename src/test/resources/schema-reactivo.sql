@@ -0,0 +1,27 @@
+CREATE TABLE IF NOT EXISTS tareas (
+    id BIGINT PRIMARY KEY,
+    titulo VARCHAR(255),
+    descripcion VARCHAR(255),
+    completada BOOLEAN NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    modificada TIMESTAMP
+);
+CREATE SEQUENCE IF NOT EXISTS tareas_seq START WITH 1 INCREMENT BY 50;
+CREATE TABLE IF NOT EXISTS tareas_cambios (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tarea_id BIGINT NOT NULL,
+    tipo VARCHAR(32) NOT NULL,
+    titulo VARCHAR(255),
+    descripcion VARCHAR(255),
+    completada BOOLEAN,
+    creado TIMESTAMP NOT NULL
+);
+CREATE TABLE IF NOT EXISTS tareas_archivo (
+    id BIGINT PRIMARY KEY,
+    titulo VARCHAR(255),
+    descripcion VARCHAR(255),
+    completada BOOLEAN NOT NULL,
+    version BIGINT NOT NULL,
+    modificada TIMESTAMP,
+    archivada TIMESTAMP NOT NULL
+);